@@ -31,16 +31,7 @@ public class DuplicateAssertionValidatorImpl implements DuplicateAssertionValida
     }
 
     private boolean valid(Assertion assertion) {
-        if (isDuplicateNonExpired(assertion))
-            return false;
-
         DateTime expire = assertion.getSubject().getSubjectConfirmations().get(0).getSubjectConfirmationData().getNotOnOrAfter();
-        idExpirationCache.setExpiration(assertion.getID(), expire);
-        return true;
-    }
-
-    private boolean isDuplicateNonExpired(Assertion assertion) {
-        return idExpirationCache.contains(assertion.getID())
-                && idExpirationCache.getExpiration(assertion.getID()).isAfterNow();
+        return idExpirationCache.setExpirationIfAbsent(assertion.getID(), expire);
     }
 }
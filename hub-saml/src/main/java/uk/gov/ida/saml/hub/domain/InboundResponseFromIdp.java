@@ -1,6 +1,7 @@
 package uk.gov.ida.saml.hub.domain;
 
 import org.joda.time.DateTime;
+import org.opensaml.saml.saml2.core.Assertion;
 import org.opensaml.xmlsec.signature.Signature;
 import uk.gov.ida.saml.core.domain.IdaSamlResponse;
 import uk.gov.ida.saml.core.domain.PassthroughAssertion;
@@ -11,6 +12,8 @@ import java.util.Optional;
 public class InboundResponseFromIdp extends IdaSamlResponse {
     private Optional<PassthroughAssertion> matchingDatasetAssertion;
     private Optional<PassthroughAssertion> authnStatementAssertion;
+    private Optional<Assertion> validatedMatchingDatasetAssertion;
+    private Optional<Assertion> validatedAuthnStatementAssertion;
     private Optional<DateTime> notOnOrAfter;
     private Optional<Signature> signature;
     private IdpIdaStatus status;
@@ -26,11 +29,29 @@ public class InboundResponseFromIdp extends IdaSamlResponse {
             Optional<PassthroughAssertion> matchingDatasetAssertion,
             URI destination,
             Optional<PassthroughAssertion> authnStatementAssertion) {
+        this(id, inResponseTo, issuer, issueInstant, notOnOrAfter, status, signature, matchingDatasetAssertion, destination, authnStatementAssertion, Optional.empty(), Optional.empty());
+    }
+
+    public InboundResponseFromIdp(
+            String id,
+            String inResponseTo,
+            String issuer,
+            DateTime issueInstant,
+            Optional<DateTime> notOnOrAfter,
+            IdpIdaStatus status,
+            Optional<Signature> signature,
+            Optional<PassthroughAssertion> matchingDatasetAssertion,
+            URI destination,
+            Optional<PassthroughAssertion> authnStatementAssertion,
+            Optional<Assertion> validatedMatchingDatasetAssertion,
+            Optional<Assertion> validatedAuthnStatementAssertion) {
         super(id, issueInstant, inResponseTo, issuer, destination);
         this.notOnOrAfter = notOnOrAfter;
         this.signature = signature;
         this.matchingDatasetAssertion = matchingDatasetAssertion;
         this.authnStatementAssertion = authnStatementAssertion;
+        this.validatedMatchingDatasetAssertion = validatedMatchingDatasetAssertion;
+        this.validatedAuthnStatementAssertion = validatedAuthnStatementAssertion;
         this.status = status;
     }
 
@@ -42,6 +63,20 @@ public class InboundResponseFromIdp extends IdaSamlResponse {
         return authnStatementAssertion;
     }
 
+    /**
+     * The decrypted and validated matching dataset assertion the passthrough assertion was made from.
+     */
+    public Optional<Assertion> getValidatedMatchingDatasetAssertion() {
+        return validatedMatchingDatasetAssertion;
+    }
+
+    /**
+     * The decrypted and validated authn statement assertion the passthrough assertion was made from.
+     */
+    public Optional<Assertion> getValidatedAuthnStatementAssertion() {
+        return validatedAuthnStatementAssertion;
+    }
+
     public Optional<Signature> getSignature() {
         return signature;
     }
@@ -44,7 +44,9 @@ public class IdaResponseFromIdpUnmarshaller {
                 Optional.ofNullable(validatedResponse.getSignature()),
                 matchingDatasetAssertion,
                 destination,
-                authnStatementAssertion);
+                authnStatementAssertion,
+                validatedAssertions.getMatchingDatasetAssertion(),
+                validatedAssertions.getAuthnStatementAssertion());
     }
 
 }
@@ -17,12 +17,7 @@ public class DuplicateAuthnRequestValidator {
 
     public boolean valid(String requestId) {
         AuthnRequestIdKey key = new AuthnRequestIdKey(requestId);
-
-        if (previousRequests.contains(key) && previousRequests.getExpiration(key).isAfterNow()) {
-            return false;
-        }
         DateTime expire = DateTime.now().plus(expirationDuration);
-        previousRequests.setExpiration(key, expire);
-        return true;
+        return previousRequests.setExpirationIfAbsent(key, expire);
     }
 }
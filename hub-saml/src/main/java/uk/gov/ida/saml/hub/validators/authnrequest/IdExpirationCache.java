@@ -8,4 +8,12 @@ public interface IdExpirationCache<T> {
     DateTime getExpiration(T key);
 
     void setExpiration(T key, DateTime dateTime);
+
+    /**
+     * Atomically records the expiration for a key unless the key is already present with an
+     * expiration in the future.
+     *
+     * @return true if the expiration was recorded, false if an unexpired entry already existed
+     */
+    boolean setExpirationIfAbsent(T key, DateTime dateTime);
 }
@@ -64,5 +64,7 @@ public class IdaResponseFromIdpUnmarshallerTest {
         assertThat(inboundResponseFromIdp.getSignature().get()).isEqualTo(signature);
         assertThat(inboundResponseFromIdp.getAuthnStatementAssertion().get()).isEqualTo(passthroughAuthnAssertion);
         assertThat(inboundResponseFromIdp.getMatchingDatasetAssertion().get()).isEqualTo(passthroughMdsAssertion);
+        assertThat(inboundResponseFromIdp.getValidatedMatchingDatasetAssertion()).contains(mdsAssertion);
+        assertThat(inboundResponseFromIdp.getValidatedAuthnStatementAssertion()).contains(authnStatementAssertion);
     }
 }
@@ -25,4 +25,17 @@ public class ConcurrentMapIdExpirationCache<T> implements IdExpirationCache<T> {
     public void setExpiration(T key, DateTime expirationTime) {
         map.put(key, expirationTime);
     }
+
+    @Override
+    public boolean setExpirationIfAbsent(T key, DateTime expirationTime) {
+        boolean[] recorded = {false};
+        map.compute(key, (k, existing) -> {
+            if (existing != null && existing.isAfterNow()) {
+                return existing;
+            }
+            recorded[0] = true;
+            return expirationTime;
+        });
+        return recorded[0];
+    }
 }
@@ -0,0 +1,90 @@
+package uk.gov.ida.integrationtest.hub.config.apprule;
+
+import helpers.JerseyClientConfigurationBuilder;
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.util.Duration;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import uk.gov.ida.hub.config.Urls;
+import uk.gov.ida.hub.config.dto.ConfigVersionDto;
+import uk.gov.ida.integrationtest.hub.config.apprule.support.ConfigAppRule;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.ida.hub.config.domain.builders.MatchingServiceConfigBuilder.aMatchingServiceConfig;
+import static uk.gov.ida.hub.config.domain.builders.TransactionConfigBuilder.aTransactionConfigData;
+
+public class ConfigVersionResourceIntegrationTest {
+
+    public static Client client;
+
+    @ClassRule
+    public static ConfigAppRule configAppRule = new ConfigAppRule()
+            .addTransaction(aTransactionConfigData()
+                    .withEntityId("rp-entity-id")
+                    .withMatchingServiceEntityId("ms-entity-id")
+                    .build())
+            .addMatchingService(aMatchingServiceConfig()
+                    .withEntityId("ms-entity-id")
+                    .build());
+
+    @BeforeClass
+    public static void setUp() {
+        JerseyClientConfiguration jerseyClientConfiguration = JerseyClientConfigurationBuilder.aJerseyClientConfiguration().withTimeout(Duration.seconds(10)).build();
+        client = new JerseyClientBuilder(configAppRule.getEnvironment()).using(jerseyClientConfiguration).build(ConfigVersionResourceIntegrationTest.class.getSimpleName());
+    }
+
+    @Test
+    public void getConfigVersion_returnsCurrentVersionImmediatelyWhenClientIsBehind() {
+        URI uri = configAppRule.getUri(Urls.ConfigUrls.CONFIG_VERSION_RESOURCE)
+                .queryParam(Urls.ConfigUrls.CONFIG_VERSION_SINCE_PARAM, "unknown")
+                .queryParam(Urls.ConfigUrls.CONFIG_VERSION_TIMEOUT_PARAM, 5)
+                .build();
+
+        Response response = client.target(uri).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        assertThat(response.readEntity(ConfigVersionDto.class).getVersion()).isNotEqualTo("unknown");
+    }
+
+    @Test
+    public void getConfigVersion_returnsSameVersionAfterTimeoutWhenNothingChanges() {
+        String version = currentVersion();
+        URI uri = configAppRule.getUri(Urls.ConfigUrls.CONFIG_VERSION_RESOURCE)
+                .queryParam(Urls.ConfigUrls.CONFIG_VERSION_SINCE_PARAM, version)
+                .queryParam(Urls.ConfigUrls.CONFIG_VERSION_TIMEOUT_PARAM, 1)
+                .build();
+
+        Response response = client.target(uri).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        assertThat(response.readEntity(ConfigVersionDto.class).getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    public void versionedResource_returnsNotModifiedWhenETagMatches() {
+        URI uri = configAppRule.getUri(Urls.ConfigUrls.MATCHING_SERVICE_ROOT).build();
+
+        Response first = client.target(uri).request().get();
+        assertThat(first.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        String etag = first.getHeaderString(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("W/\"" + currentVersion() + "\"");
+
+        Response second = client.target(uri).request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertThat(second.getStatus()).isEqualTo(Response.Status.NOT_MODIFIED.getStatusCode());
+
+        Response stale = client.target(uri).request().header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\"").get();
+        assertThat(stale.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+    }
+
+    private String currentVersion() {
+        URI uri = configAppRule.getUri(Urls.ConfigUrls.CONFIG_VERSION_RESOURCE).build();
+        return client.target(uri).request().get(ConfigVersionDto.class).getVersion();
+    }
+}
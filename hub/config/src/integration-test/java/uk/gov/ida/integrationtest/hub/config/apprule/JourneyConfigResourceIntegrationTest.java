@@ -0,0 +1,84 @@
+package uk.gov.ida.integrationtest.hub.config.apprule;
+
+import helpers.JerseyClientConfigurationBuilder;
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.util.Duration;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import uk.gov.ida.hub.config.Urls;
+import uk.gov.ida.hub.config.domain.LevelOfAssurance;
+import uk.gov.ida.hub.config.dto.JourneyConfigDto;
+import uk.gov.ida.integrationtest.hub.config.apprule.support.ConfigAppRule;
+import uk.gov.ida.shared.utils.string.StringEncoding;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.ida.hub.config.domain.builders.IdentityProviderConfigDataBuilder.anIdentityProviderConfigData;
+import static uk.gov.ida.hub.config.domain.builders.MatchingServiceConfigBuilder.aMatchingServiceConfig;
+import static uk.gov.ida.hub.config.domain.builders.TransactionConfigBuilder.aTransactionConfigData;
+
+public class JourneyConfigResourceIntegrationTest {
+
+    public static Client client;
+    private static final String ENTITY_ID = "rp-entity-id";
+    private static final String MS_ENTITY_ID = "ms-entity-id";
+    private static final String IDP_ENTITY_ID = "idp-entity-id";
+    private static final String MATCHING_URI = "http://foo.bar/matching-service-uri";
+
+    @ClassRule
+    public static ConfigAppRule configAppRule = new ConfigAppRule()
+            .addTransaction(aTransactionConfigData()
+                    .withEntityId(ENTITY_ID)
+                    .withMatchingServiceEntityId(MS_ENTITY_ID)
+                    .withUsingMatching(true)
+                    .build())
+            .addMatchingService(aMatchingServiceConfig()
+                    .withEntityId(MS_ENTITY_ID)
+                    .withUri(URI.create(MATCHING_URI))
+                    .build())
+            .addIdp(anIdentityProviderConfigData()
+                    .withEntityId(IDP_ENTITY_ID)
+                    .withOnboarding(singletonList(ENTITY_ID))
+                    .withSupportedLevelsOfAssurance(singletonList(LevelOfAssurance.LEVEL_2))
+                    .build());
+
+    @BeforeClass
+    public static void setUp() {
+        configAppRule.newApplication();
+        JerseyClientConfiguration jerseyClientConfiguration = JerseyClientConfigurationBuilder.aJerseyClientConfiguration().withTimeout(Duration.seconds(10)).build();
+        client = new JerseyClientBuilder(configAppRule.getEnvironment()).using(jerseyClientConfiguration).build(JourneyConfigResourceIntegrationTest.class.getSimpleName());
+    }
+
+    @Test
+    public void getJourneyConfig_returnsEverythingNeededForTransaction() {
+        URI uri = configAppRule.getUri(Urls.ConfigUrls.JOURNEY_CONFIG_RESOURCE)
+                .buildFromEncoded(StringEncoding.urlEncode(ENTITY_ID).replace("+", "%20"));
+
+        Response response = client.target(uri).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        JourneyConfigDto journeyConfig = response.readEntity(JourneyConfigDto.class);
+        assertThat(journeyConfig.isUsingMatching()).isTrue();
+        assertThat(journeyConfig.getMatchingServiceEntityId()).isEqualTo(MS_ENTITY_ID);
+        assertThat(journeyConfig.getMatchingService().getUri()).isEqualTo(URI.create(MATCHING_URI));
+        assertThat(journeyConfig.getEnabledIdentityProvidersForSignIn()).containsOnly(IDP_ENTITY_ID);
+        assertThat(journeyConfig.getEnabledIdentityProvidersForRegistration().get(LevelOfAssurance.LEVEL_2)).containsOnly(IDP_ENTITY_ID);
+        assertThat(journeyConfig.getIdentityProviderLevelsOfAssurance().get(IDP_ENTITY_ID)).containsOnly(LevelOfAssurance.LEVEL_2);
+    }
+
+    @Test
+    public void getJourneyConfig_returnsNotFoundForEntityThatDoesNotExist() {
+        URI uri = configAppRule.getUri(Urls.ConfigUrls.JOURNEY_CONFIG_RESOURCE)
+                .buildFromEncoded(StringEncoding.urlEncode("not-found").replace("+", "%20"));
+
+        Response response = client.target(uri).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_FOUND.getStatusCode());
+    }
+}
@@ -10,6 +10,7 @@ import io.dropwizard.setup.Bootstrap;
 import uk.gov.ida.hub.config.ConfigApplication;
 import uk.gov.ida.hub.config.ConfigConfiguration;
 import uk.gov.ida.hub.config.configuration.SelfServiceConfig;
+import uk.gov.ida.hub.config.data.ConfigVersion;
 import uk.gov.ida.hub.config.data.S3ConfigSource;
 
 import javax.inject.Singleton;
@@ -38,14 +39,15 @@ public class ConfigIntegrationApplication extends ConfigApplication {
             @Provides
             @Singleton
             @SuppressWarnings("unused")
-            private S3ConfigSource getS3ConfigSource(ConfigConfiguration configConfiguration, ObjectMapper objectMapper){
+            private S3ConfigSource getS3ConfigSource(ConfigConfiguration configConfiguration, ObjectMapper objectMapper, ConfigVersion configVersion){
                 SelfServiceConfig selfServiceConfig = configConfiguration.getSelfService();
                 if (selfServiceConfig.isEnabled()){
                     AmazonS3 amazonS3 = s3ClientSupplier != null ? s3ClientSupplier.get() : AmazonS3ClientBuilder.defaultClient();
                     return new S3ConfigSource(
                             selfServiceConfig,
                             amazonS3,
-                            objectMapper);
+                            objectMapper,
+                            configVersion);
                 }
                 return new S3ConfigSource();
             }
@@ -9,13 +9,17 @@ import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
 import io.dropwizard.configuration.SubstitutingSourceProvider;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
 import uk.gov.ida.bundles.LoggingBundle;
 import uk.gov.ida.bundles.MonitoringBundle;
 import uk.gov.ida.bundles.ServiceStatusBundle;
 import uk.gov.ida.common.shared.security.TrustStoreMetrics;
+import uk.gov.ida.hub.config.filters.ConfigVersionETagFilter;
 import uk.gov.ida.hub.config.filters.SessionIdQueryParamLoggingFilter;
 import uk.gov.ida.hub.config.resources.CertificatesResource;
+import uk.gov.ida.hub.config.resources.ConfigVersionResource;
 import uk.gov.ida.hub.config.resources.IdentityProviderResource;
+import uk.gov.ida.hub.config.resources.JourneyConfigResource;
 import uk.gov.ida.hub.config.resources.MatchingServiceResource;
 import uk.gov.ida.hub.config.resources.TransactionsResource;
 import uk.gov.ida.truststore.ClientTrustStoreConfiguration;
@@ -27,6 +31,8 @@ import java.util.EnumSet;
 
 public class ConfigApplication extends Application<ConfigConfiguration> {
 
+    private static final String OCSP_TIMEOUT_PROPERTY = "com.sun.security.ocsp.timeout";
+
     private GuiceBundle<ConfigConfiguration> guiceBundle;
 
     public static void main(String[] args) throws Exception {
@@ -66,6 +72,7 @@ public class ConfigApplication extends Application<ConfigConfiguration> {
     @Override
     public void run(ConfigConfiguration configuration, Environment environment) {
         environment.getObjectMapper().setDateFormat(new StdDateFormat());
+        setOcspRequestTimeout(configuration.getCertificateOcspRevocationStatusCheckServiceConfiguration().getOcspRequestTimeout());
         registerResources(environment);
         environment.servlets().addFilter("Logging SessionId registration Filter", SessionIdQueryParamLoggingFilter.class).addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), true, "/*");
 
@@ -74,6 +81,14 @@ public class ConfigApplication extends Application<ConfigConfiguration> {
         registerMetrics(trustStoreMetrics, "client", configuration.getClientTrustStoreConfiguration());
     }
 
+    /**
+     * The JDK's OCSP client reads this timeout once, for both connecting and reading, so it is set
+     * before any certificate can be checked. It only has a precision of seconds.
+     */
+    private static void setOcspRequestTimeout(Duration timeout) {
+        System.setProperty(OCSP_TIMEOUT_PROPERTY, String.valueOf(Math.max(1, timeout.toSeconds())));
+    }
+
     private void registerMetrics(TrustStoreMetrics metrics, String trustStoreName, ClientTrustStoreConfiguration trustStoreConfiguration) {
         KeyStore trustStore = new KeyStoreLoader().load(trustStoreConfiguration.getPath(), trustStoreConfiguration.getPassword());
         metrics.registerTrustStore(trustStoreName, trustStore);
@@ -84,5 +99,8 @@ public class ConfigApplication extends Application<ConfigConfiguration> {
         environment.jersey().register(IdentityProviderResource.class);
         environment.jersey().register(TransactionsResource.class);
         environment.jersey().register(MatchingServiceResource.class);
+        environment.jersey().register(JourneyConfigResource.class);
+        environment.jersey().register(ConfigVersionResource.class);
+        environment.jersey().register(ConfigVersionETagFilter.class);
     }
 }
@@ -7,6 +7,7 @@ import io.dropwizard.Configuration;
 import io.dropwizard.util.Duration;
 import uk.gov.ida.common.ServiceInfoConfiguration;
 import uk.gov.ida.configuration.ServiceNameConfiguration;
+import uk.gov.ida.hub.config.configuration.OcspRevocationStatusCheckServiceConfiguration;
 import uk.gov.ida.hub.config.configuration.PrometheusClientServiceConfiguration;
 import uk.gov.ida.hub.config.configuration.SelfServiceConfig;
 import uk.gov.ida.truststore.ClientTrustStoreConfiguration;
@@ -60,6 +61,11 @@ public class ConfigConfiguration extends Configuration implements TrustStoreConf
     @JsonProperty
     protected Duration certificateWarningPeriod = Duration.days(30);
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration certificateValidityCacheExpiry = Duration.minutes(5);
+
     @Valid
     @JsonProperty
     protected SelfServiceConfig selfService = new SelfServiceConfig(false);
@@ -70,7 +76,7 @@ public class ConfigConfiguration extends Configuration implements TrustStoreConf
 
     @Valid
     @JsonProperty
-    private PrometheusClientServiceConfiguration certificateOcspRevocationStatusCheckServiceConfiguration = new PrometheusClientServiceConfiguration();
+    private OcspRevocationStatusCheckServiceConfiguration certificateOcspRevocationStatusCheckServiceConfiguration = new OcspRevocationStatusCheckServiceConfiguration();
 
     protected ConfigConfiguration() {}
 
@@ -89,6 +95,10 @@ public class ConfigConfiguration extends Configuration implements TrustStoreConf
         return new org.joda.time.Duration(certificateWarningPeriod.toMilliseconds());
     }
 
+    public org.joda.time.Duration getCertificateValidityCacheExpiry() {
+        return new org.joda.time.Duration(certificateValidityCacheExpiry.toMilliseconds());
+    }
+
     public ServiceInfoConfiguration getServiceInfo() {
         return serviceInfo;
     }
@@ -126,7 +136,7 @@ public class ConfigConfiguration extends Configuration implements TrustStoreConf
         return certificateExpiryDateCheckServiceConfiguration;
     }
 
-    public PrometheusClientServiceConfiguration getCertificateOcspRevocationStatusCheckServiceConfiguration() {
+    public OcspRevocationStatusCheckServiceConfiguration getCertificateOcspRevocationStatusCheckServiceConfiguration() {
         return certificateOcspRevocationStatusCheckServiceConfiguration;
     }
 }
@@ -1,11 +1,13 @@
 package uk.gov.ida.hub.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMultimap;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.TypeLiteral;
 import io.dropwizard.configuration.ConfigurationFactoryFactory;
 import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
+import io.dropwizard.servlets.tasks.Task;
 import io.dropwizard.setup.Environment;
 import org.joda.time.Duration;
 import uk.gov.ida.common.shared.security.X509CertificateFactory;
@@ -14,7 +16,9 @@ import uk.gov.ida.common.shared.security.verification.OCSPCertificateChainValida
 import uk.gov.ida.common.shared.security.verification.OCSPPKIXParametersProvider;
 import uk.gov.ida.common.shared.security.verification.PKIXParametersProvider;
 import uk.gov.ida.hub.config.application.CertificateService;
+import uk.gov.ida.hub.config.application.CertificateValidityCache;
 import uk.gov.ida.hub.config.application.PrometheusClientService;
+import uk.gov.ida.hub.config.application.ReloadConfigTask;
 import uk.gov.ida.hub.config.data.ConfigDataBootstrap;
 import uk.gov.ida.hub.config.data.ConfigDataSource;
 import uk.gov.ida.hub.config.data.FileBackedIdentityProviderConfigDataSource;
@@ -22,6 +26,7 @@ import uk.gov.ida.hub.config.data.FileBackedMatchingServiceConfigDataSource;
 import uk.gov.ida.hub.config.data.FileBackedTransactionConfigDataSource;
 import uk.gov.ida.hub.config.data.FileBackedTranslationsDataSource;
 import uk.gov.ida.hub.config.data.LevelsOfAssuranceConfigValidator;
+import uk.gov.ida.hub.config.data.LocalConfigData;
 import uk.gov.ida.hub.config.data.LocalConfigRepository;
 import uk.gov.ida.hub.config.data.ManagedEntityConfigRepository;
 import uk.gov.ida.hub.config.domain.CertificateChainConfigValidator;
@@ -42,6 +47,7 @@ import uk.gov.ida.truststore.TrustStoreConfiguration;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.io.PrintWriter;
 
 public class ConfigModule extends AbstractModule {
 
@@ -53,6 +59,7 @@ public class ConfigModule extends AbstractModule {
     protected void configure() {
         bind(ConfigHealthCheck.class).asEagerSingleton();
         bind(ConfigDataBootstrap.class).asEagerSingleton();
+        bind(ReloadConfigTask.class).asEagerSingleton();
         bind(CertificateChainConfigValidator.class).asEagerSingleton();
         bind(TrustStoreConfiguration.class).to(ConfigConfiguration.class);
         bind(new TypeLiteral<ConfigurationFactoryFactory<IdentityProviderConfig>>() {}).toInstance(new DefaultConfigurationFactoryFactory<>());
@@ -63,10 +70,6 @@ public class ConfigModule extends AbstractModule {
         bind(new TypeLiteral<ConfigDataSource<TranslationData>>() {}).to(FileBackedTranslationsDataSource.class).asEagerSingleton();
         bind(new TypeLiteral<ConfigDataSource<MatchingServiceConfig>>() {}).to(FileBackedMatchingServiceConfigDataSource.class).asEagerSingleton();
         bind(new TypeLiteral<ConfigDataSource<IdentityProviderConfig>>() {}).to(FileBackedIdentityProviderConfigDataSource.class).asEagerSingleton();
-        bind(new TypeLiteral<LocalConfigRepository<TransactionConfig>>(){}).asEagerSingleton();
-        bind(new TypeLiteral<LocalConfigRepository<TranslationData>>(){}).asEagerSingleton();
-        bind(new TypeLiteral<LocalConfigRepository<MatchingServiceConfig>>(){}).asEagerSingleton();
-        bind(new TypeLiteral<LocalConfigRepository<IdentityProviderConfig>>(){}).asEagerSingleton();
         bind(new TypeLiteral<ManagedEntityConfigRepository<TransactionConfig>>(){}).asEagerSingleton();
         bind(new TypeLiteral<ManagedEntityConfigRepository<MatchingServiceConfig>>(){}).asEagerSingleton();
         bind(LevelsOfAssuranceConfigValidator.class).toInstance(new LevelsOfAssuranceConfigValidator());
@@ -83,13 +86,61 @@ public class ConfigModule extends AbstractModule {
         bind(PKIXParametersProvider.class).toInstance(new PKIXParametersProvider());
     }
 
+    @Provides
+    @Singleton
+    @SuppressWarnings("unused")
+    private LocalConfigRepository<IdentityProviderConfig> getIdentityProviderConfigRepository(LocalConfigData localConfigData) {
+        return new LocalConfigRepository<>(() -> localConfigData.snapshot().getIdentityProviders());
+    }
+
+    @Provides
+    @Singleton
+    @SuppressWarnings("unused")
+    private LocalConfigRepository<MatchingServiceConfig> getMatchingServiceConfigRepository(LocalConfigData localConfigData) {
+        return new LocalConfigRepository<>(() -> localConfigData.snapshot().getMatchingServices());
+    }
+
+    @Provides
+    @Singleton
+    @SuppressWarnings("unused")
+    private LocalConfigRepository<TransactionConfig> getTransactionConfigRepository(LocalConfigData localConfigData) {
+        return new LocalConfigRepository<>(() -> localConfigData.snapshot().getTransactions());
+    }
+
+    @Provides
+    @Singleton
+    @SuppressWarnings("unused")
+    private LocalConfigRepository<TranslationData> getTranslationsRepository(LocalConfigData localConfigData) {
+        return new LocalConfigRepository<>(() -> localConfigData.snapshot().getTranslations());
+    }
+
     @Provides
     @Singleton
     @SuppressWarnings("unused")
     private CertificateService getCertificateService(ManagedEntityConfigRepository<TransactionConfig> connectedServiceConfigRepository,
                                                      ManagedEntityConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository,
-                                                     CertificateValidityChecker certificateValidityChecker){
-        return new CertificateService(connectedServiceConfigRepository, matchingServiceConfigRepository, certificateValidityChecker);
+                                                     CertificateValidityCache certificateValidityCache){
+        return new CertificateService(connectedServiceConfigRepository, matchingServiceConfigRepository, certificateValidityCache);
+    }
+
+    @Provides
+    @Singleton
+    @SuppressWarnings("unused")
+    private CertificateValidityCache getCertificateValidityCache(Environment environment,
+                                                                 ConfigConfiguration configConfiguration,
+                                                                 CertificateValidityChecker certificateValidityChecker,
+                                                                 TrustStoreForCertificateProvider trustStoreForCertificateProvider) {
+        CertificateValidityCache certificateValidityCache = new CertificateValidityCache(
+                certificateValidityChecker,
+                trustStoreForCertificateProvider,
+                configConfiguration.getCertificateValidityCacheExpiry());
+        environment.admin().addTask(new Task("certificate-validity-cache-flush") {
+            @Override
+            public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) {
+                certificateValidityCache.invalidateAll();
+            }
+        });
+        return certificateValidityCache;
     }
 
     @Provides
@@ -18,7 +18,6 @@ import uk.gov.ida.hub.config.data.FileBackedMatchingServiceConfigDataSource;
 import uk.gov.ida.hub.config.data.FileBackedTransactionConfigDataSource;
 import uk.gov.ida.hub.config.data.FileBackedTranslationsDataSource;
 import uk.gov.ida.hub.config.data.LevelsOfAssuranceConfigValidator;
-import uk.gov.ida.hub.config.data.LocalConfigRepository;
 import uk.gov.ida.hub.config.domain.CertificateChainConfigValidator;
 import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
 import uk.gov.ida.hub.config.domain.MatchingServiceConfig;
@@ -50,10 +49,6 @@ public class ConfigValidCommand extends ConfiguredCommand<ConfigConfiguration> {
                         bind(new TypeLiteral<ConfigDataSource<TranslationData>>() {}).to(FileBackedTranslationsDataSource.class).asEagerSingleton();
                         bind(new TypeLiteral<ConfigDataSource<MatchingServiceConfig>>() {}).to(FileBackedMatchingServiceConfigDataSource.class).asEagerSingleton();
                         bind(new TypeLiteral<ConfigDataSource<IdentityProviderConfig>>() {}).to(FileBackedIdentityProviderConfigDataSource.class).asEagerSingleton();
-                        bind(new TypeLiteral<LocalConfigRepository<TransactionConfig>>() { }).asEagerSingleton();
-                        bind(new TypeLiteral<LocalConfigRepository<TranslationData>>() { }).asEagerSingleton();
-                        bind(new TypeLiteral<LocalConfigRepository<MatchingServiceConfig>>() { }).asEagerSingleton();
-                        bind(new TypeLiteral<LocalConfigRepository<IdentityProviderConfig>>() { }).asEagerSingleton();
                         bind(ConfigConfiguration.class).toInstance(configuration);
                         bind(LevelsOfAssuranceConfigValidator.class).toInstance(new LevelsOfAssuranceConfigValidator());
                         bind(TrustStoreConfiguration.class).to(ConfigConfiguration.class);
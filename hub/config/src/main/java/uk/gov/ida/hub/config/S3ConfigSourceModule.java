@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import uk.gov.ida.hub.config.configuration.SelfServiceConfig;
+import uk.gov.ida.hub.config.data.ConfigVersion;
 import uk.gov.ida.hub.config.data.S3ConfigSource;
 
 import javax.inject.Singleton;
@@ -18,13 +19,14 @@ public class S3ConfigSourceModule extends AbstractModule {
     @Provides
     @Singleton
     @SuppressWarnings("unused")
-    private S3ConfigSource getS3ConfigSource(ConfigConfiguration configConfiguration, ObjectMapper objectMapper) {
+    private S3ConfigSource getS3ConfigSource(ConfigConfiguration configConfiguration, ObjectMapper objectMapper, ConfigVersion configVersion) {
         SelfServiceConfig selfServiceConfig = configConfiguration.getSelfService();
         if (selfServiceConfig.isEnabled()) {
             return new S3ConfigSource(
                     selfServiceConfig,
                     AmazonS3ClientBuilder.standard().withRegion("eu-west-2").build(),
-                    objectMapper);
+                    objectMapper,
+                    configVersion);
         }
         return new S3ConfigSource();
     }
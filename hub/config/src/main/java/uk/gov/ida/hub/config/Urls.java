@@ -96,5 +96,14 @@ public interface Urls {
 
         String MATCHING_ENABLED_FOR_TRANSACTION_PATH = ENTITY_ID_PATH_PARAM + "/matching-enabled";
         String MATCHING_ENABLED_FOR_TRANSACTION_RESOURCE = TRANSACTIONS_ROOT + MATCHING_ENABLED_FOR_TRANSACTION_PATH;
+
+        String JOURNEY_CONFIG_ROOT = CONFIG_ROOT + "/journey-config";
+        String JOURNEY_CONFIG_PATH = ENTITY_ID_PATH_PARAM;
+        String JOURNEY_CONFIG_RESOURCE = JOURNEY_CONFIG_ROOT + JOURNEY_CONFIG_PATH;
+
+        String CONFIG_VERSION_PATH = "/version";
+        String CONFIG_VERSION_RESOURCE = CONFIG_ROOT + CONFIG_VERSION_PATH;
+        String CONFIG_VERSION_SINCE_PARAM = "since";
+        String CONFIG_VERSION_TIMEOUT_PARAM = "timeout";
     }
 }
@@ -6,7 +6,6 @@ import org.slf4j.LoggerFactory;
 import uk.gov.ida.hub.config.data.ManagedEntityConfigRepository;
 import uk.gov.ida.hub.config.domain.Certificate;
 import uk.gov.ida.hub.config.domain.CertificateConfigurable;
-import uk.gov.ida.hub.config.domain.CertificateValidityChecker;
 import uk.gov.ida.hub.config.domain.MatchingServiceConfig;
 import uk.gov.ida.hub.config.domain.TransactionConfig;
 import uk.gov.ida.hub.config.exceptions.CertificateDisabledException;
@@ -27,16 +26,16 @@ public class CertificateService{
 
     private final ManagedEntityConfigRepository<TransactionConfig> connectedServiceConfigRepository;
     private final ManagedEntityConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository;
-    private CertificateValidityChecker certificateValidityChecker;
+    private final CertificateValidityCache certificateValidityCache;
 
     @Inject
     public CertificateService(
             ManagedEntityConfigRepository<TransactionConfig> connectedServiceConfigRepository,
             ManagedEntityConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository,
-            CertificateValidityChecker certificateValidityChecker) {
+            CertificateValidityCache certificateValidityCache) {
         this.connectedServiceConfigRepository = connectedServiceConfigRepository;
         this.matchingServiceConfigRepository = matchingServiceConfigRepository;
-        this.certificateValidityChecker = certificateValidityChecker;
+        this.certificateValidityCache = certificateValidityCache;
     }
 
     public Set<Certificate> getAllCertificates() {
@@ -48,7 +47,7 @@ public class CertificateService{
     public  Certificate encryptionCertificateFor(String entityId) {
         CertificateConfigurable<?> config = getConfig(entityId);
         Certificate cert = config.getEncryptionCertificate();
-        if (!certificateValidityChecker.isValid(cert)){
+        if (!certificateValidityCache.isValid(cert)){
             LOG.warn("Encryption certificate for entityId '{}' was requested but is invalid", entityId);
             throw new NoCertificateFoundException();
         }
@@ -63,7 +62,7 @@ public class CertificateService{
 
         Map<Boolean, List<Certificate>> certsByValidity = config.getSignatureVerificationCertificates()
                 .stream()
-                .collect(partitioningBy(cd -> certificateValidityChecker.isValid(cd)));
+                .collect(partitioningBy(cd -> certificateValidityCache.isValid(cd)));
 
         int numberOfBadCerts = certsByValidity.get(false).size();
         String isOrAre = numberOfBadCerts == 1 ? "is" : "are";
@@ -0,0 +1,122 @@
+package uk.gov.ida.hub.config.application;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.prometheus.client.Counter;
+import org.joda.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.ida.hub.config.domain.Certificate;
+import uk.gov.ida.hub.config.domain.CertificateValidityChecker;
+import uk.gov.ida.hub.config.truststore.TrustStoreForCertificateProvider;
+
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers {@link CertificateValidityChecker#isValid} verdicts so that certificate lookups
+ * don't repeat the PKIX chain validation on every request. A verdict is kept for at most
+ * the configured max age and never beyond the certificate's notAfter date.
+ */
+public class CertificateValidityCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CertificateValidityCache.class);
+
+    static final Counter lookups = Counter.build(
+            "verify_config_certificate_validity_cache_lookups_total",
+            "Total number of certificate validity lookups, by cache result")
+            .labelNames("result")
+            .register();
+
+    private final CertificateValidityChecker certificateValidityChecker;
+    private final TrustStoreForCertificateProvider trustStoreForCertificateProvider;
+    private final Cache<VerdictKey, Verdict> verdicts;
+
+    public CertificateValidityCache(
+            CertificateValidityChecker certificateValidityChecker,
+            TrustStoreForCertificateProvider trustStoreForCertificateProvider,
+            Duration maxAge) {
+        this.certificateValidityChecker = certificateValidityChecker;
+        this.trustStoreForCertificateProvider = trustStoreForCertificateProvider;
+        this.verdicts = CacheBuilder.newBuilder()
+                .expireAfterWrite(maxAge.getMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public boolean isValid(Certificate certificate) {
+        if (certificate.getX509Certificate().isEmpty()) {
+            return false;
+        }
+
+        VerdictKey key;
+        try {
+            key = new VerdictKey(certificate.getFingerprint(), trustStoreFor(certificate));
+        } catch (CertificateException e) {
+            LOG.warn("Could not fingerprint certificate for entityId '{}'; validating without cache", certificate.getIssuerEntityId(), e);
+            return certificateValidityChecker.isValid(certificate);
+        }
+
+        Verdict verdict = verdicts.getIfPresent(key);
+        if (verdict != null && verdict.isCurrent()) {
+            lookups.labels("hit").inc();
+            return verdict.valid;
+        }
+
+        lookups.labels("miss").inc();
+        boolean valid = certificateValidityChecker.isValid(certificate);
+        verdicts.put(key, new Verdict(valid, certificate.getNotAfter()));
+        return valid;
+    }
+
+    public void invalidateAll() {
+        verdicts.invalidateAll();
+    }
+
+    private KeyStore trustStoreFor(Certificate certificate) {
+        if (!certificate.getCertificateOrigin().shouldCheckTrustChain()) {
+            return null;
+        }
+        return trustStoreForCertificateProvider.getTrustStoreFor(certificate.getFederationEntityType());
+    }
+
+    private static class VerdictKey {
+        private final String fingerprint;
+        private final KeyStore trustStore;
+
+        VerdictKey(String fingerprint, KeyStore trustStore) {
+            this.fingerprint = fingerprint;
+            this.trustStore = trustStore;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            VerdictKey that = (VerdictKey) o;
+            // Trust stores are compared by identity so a reloaded trust store gets fresh verdicts
+            return fingerprint.equals(that.fingerprint) && trustStore == that.trustStore;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fingerprint, System.identityHashCode(trustStore));
+        }
+    }
+
+    private static class Verdict {
+        private final boolean valid;
+        private final Date notAfter;
+
+        Verdict(boolean valid, Date notAfter) {
+            this.valid = valid;
+            this.notAfter = notAfter;
+        }
+
+        boolean isCurrent() {
+            return notAfter != null && new Date().before(notAfter);
+        }
+    }
+}
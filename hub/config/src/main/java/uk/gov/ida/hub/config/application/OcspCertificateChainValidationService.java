@@ -1,5 +1,9 @@
 package uk.gov.ida.hub.config.application;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dropwizard.util.Duration;
+import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
@@ -8,65 +12,180 @@ import org.slf4j.LoggerFactory;
 import uk.gov.ida.hub.config.domain.Certificate;
 import uk.gov.ida.hub.config.domain.OCSPCertificateChainValidityChecker;
 
-import java.security.cert.CertificateException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Publishes the OCSP revocation status of every certificate in config. Certificates are checked
+ * a few at a time, and a check that takes longer than the certificate timeout is abandoned for
+ * this run so that one slow OCSP responder can't hold up the metrics for everyone else. Good
+ * statuses are remembered for the result cache expiry, and never beyond the certificate's
+ * notAfter date.
+ */
 public class OcspCertificateChainValidationService implements Runnable {
     private static final Logger LOG = LoggerFactory.getLogger(OcspCertificateChainValidationService.class);
     public static final double VALID = 1.0;
     public static final double INVALID = 0.0;
+
+    static final Counter checks = Counter.build(
+            "verify_config_certificate_ocsp_checks_total",
+            "Total number of certificate OCSP revocation status checks, by result")
+            .labelNames("result")
+            .register();
+
     private final OCSPCertificateChainValidityChecker ocspCertificateChainValidityChecker;
     private final CertificateService certificateService;
     private final Gauge ocspStatusGauge;
     private final Gauge lastUpdatedGauge;
+    private final ExecutorService ocspExecutor;
+    private final Semaphore permits;
+    private final long certificateTimeoutMillis;
+    private final Cache<String, GoodStatus> goodStatuses;
 
     public OcspCertificateChainValidationService(final OCSPCertificateChainValidityChecker ocspCertificateChainValidityChecker,
                                                  final CertificateService certificateService,
                                                  final Gauge ocspStatusGauge,
-                                                 final Gauge lastUpdatedGauge) {
+                                                 final Gauge lastUpdatedGauge,
+                                                 final ExecutorService ocspExecutor,
+                                                 final int parallelism,
+                                                 final Duration certificateTimeout,
+                                                 final Duration resultCacheExpiry) {
         this.ocspCertificateChainValidityChecker = ocspCertificateChainValidityChecker;
         this.certificateService = certificateService;
         this.ocspStatusGauge = ocspStatusGauge;
         this.lastUpdatedGauge = lastUpdatedGauge;
+        this.ocspExecutor = ocspExecutor;
+        this.permits = new Semaphore(parallelism);
+        this.certificateTimeoutMillis = certificateTimeout.toMilliseconds();
+        this.goodStatuses = CacheBuilder.newBuilder()
+                .expireAfterWrite(resultCacheExpiry.toMilliseconds(), TimeUnit.MILLISECONDS)
+                .build();
     }
 
     @Override
     public void run() {
         try {
-            final Set<Certificate> certificatesSet = certificateService.getAllCertificates();
-            final double timestamp = DateTime.now(DateTimeZone.UTC).getMillis();
-            for (Certificate certificate: certificatesSet) {
-                try {
-                    if (ocspCertificateChainValidityChecker.isValid(certificate)) {
-                        updateAGauge(ocspStatusGauge, certificate, VALID);
-                        updateAGauge(lastUpdatedGauge, certificate, timestamp);
-                    } else {
-                        updateAGauge(ocspStatusGauge, certificate, INVALID);
-                    }
-                } catch (Exception e) {
-                    if (Objects.nonNull(certificate)) {
-                        // TODO: change this back to error; once we figure how to deal with this in https://govukverify.atlassian.net/browse/HUB-457.
-                        LOG.warn(String.format("Unable to set certificates OCSP revocation status metrics for the certificate [issuer id: %s]", certificate.getIssuerEntityId()), e);
-                    } else {
-                        LOG.error("Unable to set certificates OCSP revocation status metrics.", e);
-                    }
+            final Map<String, List<LabelledCertificate>> certificatesByCheck = groupByCheck(certificateService.getAllCertificates());
+            final List<CompletableFuture<Void>> pendingChecks = new ArrayList<>();
+            for (Map.Entry<String, List<LabelledCertificate>> entry : certificatesByCheck.entrySet()) {
+                GoodStatus goodStatus = goodStatuses.getIfPresent(entry.getKey());
+                if (goodStatus != null && goodStatus.isCurrent()) {
+                    checks.labels("cached").inc();
+                    entry.getValue().forEach(certificate -> updateGauges(certificate, VALID, goodStatus.checkedAt));
+                } else {
+                    permits.acquire();
+                    pendingChecks.add(check(entry.getKey(), entry.getValue()));
                 }
             }
+            CompletableFuture.allOf(pendingChecks.toArray(new CompletableFuture[0])).join();
             LOG.info("Updated Certificates OCSP Revocation Statuses Metrics.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while updating Certificates OCSP Revocation Statuses Metrics");
         } catch (Exception e) {
             LOG.error("Failed to update Certificates OCSP Revocation Statuses Metrics", e);
         }
     }
 
-    private void updateAGauge(final Gauge gauge,
-                              final Certificate certificate,
-                              final double value) throws CertificateException {
-        gauge.labels(certificate.getIssuerEntityId(),
-            certificate.getCertificateUse().toString(),
-            certificate.getSubject(),
-            certificate.getFingerprint(),
-            String.valueOf(certificate.getSerialNumber()))
-             .set(value);
+    private CompletableFuture<Void> check(final String checkKey, final List<LabelledCertificate> certificates) {
+        final Certificate certificate = certificates.get(0).certificate;
+        final CompletableFuture<Boolean> task = CompletableFuture.supplyAsync(() -> ocspCertificateChainValidityChecker.isValid(certificate), ocspExecutor);
+        // A timed out check is left to finish in the background and its result is ignored. It
+        // keeps its permit until then, so hung OCSP responders can't tie up more threads than
+        // there are permits; the OCSP request timeout bounds how long that can be.
+        task.whenComplete((valid, e) -> permits.release());
+        return task.copy()
+                .orTimeout(certificateTimeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((valid, e) -> {
+                    if (e != null) {
+                        logFailedCheck(certificate, e);
+                    } else if (valid) {
+                        checks.labels("valid").inc();
+                        double timestamp = DateTime.now(DateTimeZone.UTC).getMillis();
+                        goodStatuses.put(checkKey, new GoodStatus(timestamp, certificate.getNotAfter()));
+                        certificates.forEach(labelled -> updateGauges(labelled, VALID, timestamp));
+                    } else {
+                        checks.labels("invalid").inc();
+                        certificates.forEach(labelled -> ocspStatusGauge.labels(labelled.labels).set(INVALID));
+                    }
+                    return null;
+                });
+    }
+
+    private Map<String, List<LabelledCertificate>> groupByCheck(final Set<Certificate> certificates) {
+        final Map<String, List<LabelledCertificate>> certificatesByCheck = new LinkedHashMap<>();
+        for (Certificate certificate : certificates) {
+            try {
+                final LabelledCertificate labelled = new LabelledCertificate(certificate);
+                // The same certificate may be used by several entities, but the outcome of
+                // the check only depends on the certificate and the trust store it chains to.
+                final String checkKey = String.join("/", labelled.fingerprint(), certificate.getFederationEntityType().name(), certificate.getCertificateOrigin().name());
+                certificatesByCheck.computeIfAbsent(checkKey, key -> new ArrayList<>()).add(labelled);
+            } catch (Exception e) {
+                logFailedCheck(certificate, e);
+            }
+        }
+        return certificatesByCheck;
+    }
+
+    private void updateGauges(final LabelledCertificate certificate, final double status, final double timestamp) {
+        ocspStatusGauge.labels(certificate.labels).set(status);
+        lastUpdatedGauge.labels(certificate.labels).set(timestamp);
+    }
+
+    private void logFailedCheck(final Certificate certificate, final Throwable e) {
+        final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+        checks.labels(cause instanceof TimeoutException ? "timeout" : "error").inc();
+        if (Objects.nonNull(certificate)) {
+            // TODO: change this back to error; once we figure how to deal with this in https://govukverify.atlassian.net/browse/HUB-457.
+            LOG.warn(String.format("Unable to set certificates OCSP revocation status metrics for the certificate [issuer id: %s]", certificate.getIssuerEntityId()), cause);
+        } else {
+            LOG.error("Unable to set certificates OCSP revocation status metrics.", cause);
+        }
+    }
+
+    private static class LabelledCertificate {
+        private final Certificate certificate;
+        private final String[] labels;
+
+        LabelledCertificate(Certificate certificate) throws Exception {
+            this.certificate = certificate;
+            this.labels = new String[] {
+                    certificate.getIssuerEntityId(),
+                    certificate.getCertificateUse().toString(),
+                    certificate.getSubject(),
+                    certificate.getFingerprint(),
+                    String.valueOf(certificate.getSerialNumber())
+            };
+        }
+
+        String fingerprint() {
+            return labels[3];
+        }
+    }
+
+    private static class GoodStatus {
+        private final double checkedAt;
+        private final Date notAfter;
+
+        GoodStatus(double checkedAt, Date notAfter) {
+            this.checkedAt = checkedAt;
+            this.notAfter = notAfter;
+        }
+
+        boolean isCurrent() {
+            return notAfter != null && new Date().before(notAfter);
+        }
     }
 }
@@ -3,10 +3,12 @@ package uk.gov.ida.hub.config.application;
 import io.dropwizard.setup.Environment;
 import io.prometheus.client.Gauge;
 import uk.gov.ida.hub.config.ConfigConfiguration;
+import uk.gov.ida.hub.config.configuration.OcspRevocationStatusCheckServiceConfiguration;
 import uk.gov.ida.hub.config.configuration.PrometheusClientServiceConfiguration;
 import uk.gov.ida.hub.config.domain.OCSPCertificateChainValidityChecker;
 
 import javax.inject.Inject;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -55,7 +57,7 @@ public class PrometheusClientService {
     }
 
     public void createCertificateOcspRevocationStatusCheckMetrics() {
-        final PrometheusClientServiceConfiguration configuration = configConfiguration.getCertificateOcspRevocationStatusCheckServiceConfiguration();
+        final OcspRevocationStatusCheckServiceConfiguration configuration = configConfiguration.getCertificateOcspRevocationStatusCheckServiceConfiguration();
         if (configuration.getEnable()) {
             Gauge ocspStatusGauge = Gauge.build(VERIFY_CONFIG_CERTIFICATE_OCSP_REVOCATION_STATUS, VERIFY_CONFIG_CERTIFICATE_OCSP_REVOCATION_STATUS_HELP)
                                          .labelNames("entity_id", "use", "subject", "fingerprint", "serial")
@@ -63,12 +65,22 @@ public class PrometheusClientService {
             Gauge lastUpdatedGauge = Gauge.build(VERIFY_CONFIG_CERTIFICATE_OCSP_LAST_SUCCESS_TIMESTAMP, VERIFY_CONFIG_CERTIFICATE_OCSP_LAST_SUCCESS_TIMESTAMP_HELP)
                                           .labelNames("entity_id", "use", "subject", "fingerprint", "serial")
                                           .register();
+            // One thread per permit; a check keeps its permit until it finishes, even once abandoned.
+            ExecutorService ocspExecutor = environment.lifecycle()
+                                                      .executorService(VERIFY_CONFIG_CERTIFICATE_OCSP_REVOCATION_STATUS + "-check-%d")
+                                                      .minThreads(configuration.getParallelism())
+                                                      .maxThreads(configuration.getParallelism())
+                                                      .build();
 
             OcspCertificateChainValidationService ocspCertificateChainValidationService = new OcspCertificateChainValidationService(
                 ocspCertificateChainValidityChecker,
                 certificateService,
                 ocspStatusGauge,
-                lastUpdatedGauge);
+                lastUpdatedGauge,
+                ocspExecutor,
+                configuration.getParallelism(),
+                configuration.getCertificateTimeout(),
+                configuration.getResultCacheExpiry());
 
             createScheduledExecutorService(configuration, VERIFY_CONFIG_CERTIFICATE_OCSP_REVOCATION_STATUS, ocspCertificateChainValidationService);
         }
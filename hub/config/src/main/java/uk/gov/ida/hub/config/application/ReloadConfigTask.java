@@ -0,0 +1,29 @@
+package uk.gov.ida.hub.config.application;
+
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+import uk.gov.ida.hub.config.data.ConfigDataBootstrap;
+
+import javax.inject.Inject;
+import java.io.PrintWriter;
+
+/**
+ * Reloads the local config data files without a restart. The new config is only served if it
+ * all loads and validates.
+ */
+public class ReloadConfigTask extends Task {
+
+    private final ConfigDataBootstrap configDataBootstrap;
+
+    @Inject
+    public ReloadConfigTask(ConfigDataBootstrap configDataBootstrap) {
+        super("reload-config");
+        this.configDataBootstrap = configDataBootstrap;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) {
+        configDataBootstrap.reload();
+        output.println("Config reloaded");
+    }
+}
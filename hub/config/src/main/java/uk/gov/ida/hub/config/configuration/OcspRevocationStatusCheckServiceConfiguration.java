@@ -0,0 +1,60 @@
+package uk.gov.ida.hub.config.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class OcspRevocationStatusCheckServiceConfiguration extends PrometheusClientServiceConfiguration {
+    /**
+     * Number of certificates whose OCSP status is checked at the same time.
+     */
+    @Min(1)
+    @JsonProperty
+    private int parallelism = 4;
+
+    /**
+     * How long a single certificate's check may take before it is abandoned for this run.
+     */
+    @NotNull
+    @Valid
+    @JsonProperty
+    private Duration certificateTimeout = Duration.seconds(10);
+
+    /**
+     * Connect and read timeout for each request to an OCSP responder. The JDK's OCSP client reads
+     * this once for the whole JVM, so it also applies to checks made outside this service.
+     */
+    @NotNull
+    @Valid
+    @JsonProperty
+    private Duration ocspRequestTimeout = Duration.seconds(5);
+
+    /**
+     * How long a good OCSP status is trusted before the certificate is checked again.
+     */
+    @NotNull
+    @Valid
+    @JsonProperty
+    private Duration resultCacheExpiry = Duration.hours(1);
+
+    public OcspRevocationStatusCheckServiceConfiguration() { }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public Duration getCertificateTimeout() {
+        return certificateTimeout;
+    }
+
+    public Duration getOcspRequestTimeout() {
+        return ocspRequestTimeout;
+    }
+
+    public Duration getResultCacheExpiry() {
+        return resultCacheExpiry;
+    }
+}
@@ -1,6 +1,13 @@
 package uk.gov.ida.hub.config.data;
 
+import com.google.common.base.Throwables;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.dropwizard.lifecycle.Managed;
+import io.prometheus.client.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import uk.gov.ida.hub.config.domain.CertificateChainConfigValidator;
 import uk.gov.ida.hub.config.domain.EntityIdentifiable;
 import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
@@ -15,22 +22,35 @@ import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public class ConfigDataBootstrap implements Managed {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigDataBootstrap.class);
+
+    static final Gauge bootstrapDuration = Gauge.build(
+            "verify_config_data_bootstrap_duration_seconds",
+            "Time taken by each phase of the last load of config data")
+            .labelNames("phase")
+            .register();
+
     private final ConfigDataSource<IdentityProviderConfig> identityProviderConfigDataSource;
     private final ConfigDataSource<MatchingServiceConfig> matchingServiceConfigDataSource;
     private final ConfigDataSource<TransactionConfig> transactionConfigDataSource;
     private final ConfigDataSource<TranslationData> translationsDataSource;
 
-    private final LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository;
-    private final LocalConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository;
-    private final LocalConfigRepository<TransactionConfig> transactionConfigRepository;
-    private final LocalConfigRepository<TranslationData> translationsRepository;
+    private final LocalConfigData localConfigData;
     private final CertificateChainConfigValidator certificateChainConfigValidator;
     private final LevelsOfAssuranceConfigValidator levelsOfAssuranceConfigValidator;
+    private final ConfigVersion configVersion;
 
     @Inject
     public ConfigDataBootstrap(
@@ -38,34 +58,24 @@ public class ConfigDataBootstrap implements Managed {
             ConfigDataSource<MatchingServiceConfig> matchingServiceConfigDataSource,
             ConfigDataSource<TransactionConfig> transactionConfigDataSource,
             ConfigDataSource<TranslationData> translationsDataSource,
-            LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository,
-            LocalConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository,
-            LocalConfigRepository<TransactionConfig> transactionConfigRepository,
-            LocalConfigRepository<TranslationData> translationsRepository,
+            LocalConfigData localConfigData,
             CertificateChainConfigValidator certificateChainConfigValidator,
-            LevelsOfAssuranceConfigValidator levelsOfAssuranceConfigValidator) {
+            LevelsOfAssuranceConfigValidator levelsOfAssuranceConfigValidator,
+            ConfigVersion configVersion) {
 
         this.identityProviderConfigDataSource = identityProviderConfigDataSource;
         this.matchingServiceConfigDataSource = matchingServiceConfigDataSource;
         this.transactionConfigDataSource = transactionConfigDataSource;
         this.translationsDataSource = translationsDataSource;
-        this.identityProviderConfigRepository = identityProviderConfigRepository;
-        this.matchingServiceConfigRepository = matchingServiceConfigRepository;
-        this.transactionConfigRepository = transactionConfigRepository;
-        this.translationsRepository = translationsRepository;
+        this.localConfigData = localConfigData;
         this.certificateChainConfigValidator = certificateChainConfigValidator;
         this.levelsOfAssuranceConfigValidator = levelsOfAssuranceConfigValidator;
+        this.configVersion = configVersion;
     }
 
     @Override
     public void start() {
-        cacheConfigData();
-
-        checkForDuplicateEntityIds();
-        checkEachTransactionHasCorrespondingEntryInMatchingService();
-        checkEachOnboardingIdentityProviderHasACorrespondingTransaction();
-        checkThereAreNoInvalidCertificates();
-        checkIdpAndTransactionsHaveValidLevelsOfAssurance();
+        reload();
     }
 
     @Override
@@ -73,52 +83,147 @@ public class ConfigDataBootstrap implements Managed {
         // don't need to do anything
     }
 
-    private void cacheConfigData() {
-        identityProviderConfigRepository.addData(identityProviderConfigDataSource.loadConfig());
-        matchingServiceConfigRepository.addData(matchingServiceConfigDataSource.loadConfig());
-        transactionConfigRepository.addData(transactionConfigDataSource.loadConfig());
-        translationsRepository.addData(translationsDataSource.loadConfig());
+    /**
+     * Loads and validates the config data into new repositories, and only once it is all valid
+     * publishes it as a single snapshot in place of the config being served. If anything fails
+     * to load or validate, the exception is thrown and the config already being served is kept.
+     */
+    public synchronized void reload() {
+        long started = System.nanoTime();
+
+        // the data sources are independent, so load them side by side
+        ExecutorService loader = Executors.newFixedThreadPool(4, new ThreadFactoryBuilder().setNameFormat("config-data-loader-%d").setDaemon(true).build());
+        LoadedConfigData<IdentityProviderConfig> loadedIdentityProviders;
+        LoadedConfigData<MatchingServiceConfig> loadedMatchingServices;
+        LoadedConfigData<TransactionConfig> loadedTransactions;
+        LoadedConfigData<TranslationData> loadedTranslations;
+        try {
+            CompletableFuture<LoadedConfigData<IdentityProviderConfig>> identityProvidersLoading = load("load_identity_providers", identityProviderConfigDataSource, loader);
+            CompletableFuture<LoadedConfigData<MatchingServiceConfig>> matchingServicesLoading = load("load_matching_services", matchingServiceConfigDataSource, loader);
+            CompletableFuture<LoadedConfigData<TransactionConfig>> transactionsLoading = load("load_transactions", transactionConfigDataSource, loader);
+            CompletableFuture<LoadedConfigData<TranslationData>> translationsLoading = load("load_translations", translationsDataSource, loader);
+            loadedIdentityProviders = await(identityProvidersLoading);
+            loadedMatchingServices = await(matchingServicesLoading);
+            loadedTransactions = await(transactionsLoading);
+            loadedTranslations = await(translationsLoading);
+        } finally {
+            loader.shutdownNow();
+        }
+        // the version is taken from the content that was actually loaded, so it moves whenever that does
+        String contentDigest = contentDigest(loadedIdentityProviders, loadedMatchingServices, loadedTransactions, loadedTranslations);
+        LocalConfigRepository<IdentityProviderConfig> identityProviders = staged(loadedIdentityProviders);
+        LocalConfigRepository<MatchingServiceConfig> matchingServices = staged(loadedMatchingServices);
+        LocalConfigRepository<TransactionConfig> transactions = staged(loadedTransactions);
+        LocalConfigRepository<TranslationData> translations = staged(loadedTranslations);
+
+        timed("validate", () -> {
+            checkForDuplicateEntityIds(identityProviders, matchingServices, transactions, translations);
+            checkEachTransactionHasCorrespondingEntryInMatchingService(transactions, matchingServices);
+            checkEachOnboardingIdentityProviderHasACorrespondingTransaction(identityProviders, transactions);
+            checkIdpAndTransactionsHaveValidLevelsOfAssurance(identityProviders, transactions);
+        });
+        timed("validate_certificate_chains", () -> checkThereAreNoInvalidCertificates(transactions, matchingServices));
+
+        localConfigData.publish(new LocalConfigData.Snapshot(
+                identityProviders.snapshot(),
+                matchingServices.snapshot(),
+                transactions.snapshot(),
+                translations.snapshot()));
+        configVersion.localConfigLoaded(contentDigest);
+
+        bootstrapDuration.labels("total").set(secondsSince(started));
+        LOG.info("Config data loaded and validated in {}s: {} IdPs, {} matching services, {} transactions, {} translations",
+                bootstrapDuration.labels("total").get(),
+                identityProviders.snapshot().size(),
+                matchingServices.snapshot().size(),
+                transactions.snapshot().size(),
+                translations.snapshot().size());
+    }
+
+    private <T> CompletableFuture<LoadedConfigData<T>> load(String phase, ConfigDataSource<T> configDataSource, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long started = System.nanoTime();
+            LoadedConfigData<T> loaded = configDataSource.loadConfig();
+            bootstrapDuration.labels(phase).set(secondsSince(started));
+            return loaded;
+        }, executor);
+    }
+
+    private static <T extends EntityIdentifiable> StagedConfigRepository<T> staged(LoadedConfigData<T> loaded) {
+        StagedConfigRepository<T> repository = new StagedConfigRepository<>();
+        repository.addData(loaded.getConfig());
+        return repository;
+    }
+
+    private static String contentDigest(LoadedConfigData<?>... loadedConfigData) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (LoadedConfigData<?> loaded : loadedConfigData) {
+            hasher.putString(loaded.getContentDigest(), UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static <T> T await(CompletableFuture<T> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static void timed(String phase, Runnable step) {
+        long started = System.nanoTime();
+        step.run();
+        bootstrapDuration.labels(phase).set(secondsSince(started));
+    }
+
+    private static double secondsSince(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1e9;
     }
 
-    private void checkForDuplicateEntityIds(){
+    private void checkForDuplicateEntityIds(LocalConfigRepository<?>... repositories){
         Collection<EntityIdentifiable> allConfigEntityData = new ArrayList<>();
-        allConfigEntityData.addAll(identityProviderConfigRepository.getAllData());
-        allConfigEntityData.addAll(matchingServiceConfigRepository.getAllData());
-        allConfigEntityData.addAll(transactionConfigRepository.getAllData());
-        allConfigEntityData.addAll(translationsRepository.getAllData());
+        for (LocalConfigRepository<?> repository : repositories) {
+            allConfigEntityData.addAll(repository.getAllData());
+        }
 
         new DuplicateEntityIdConfigValidator()
                 .validate(allConfigEntityData);
     }
 
-    private void checkEachTransactionHasCorrespondingEntryInMatchingService() {
-        TransactionConfigMatchingServiceValidator validator = new TransactionConfigMatchingServiceValidator(matchingServiceConfigRepository);
-        transactionConfigRepository.getAllData().forEach(validator::validate);
+    private void checkEachTransactionHasCorrespondingEntryInMatchingService(LocalConfigRepository<TransactionConfig> transactions,
+                                                                           LocalConfigRepository<MatchingServiceConfig> matchingServices) {
+        TransactionConfigMatchingServiceValidator validator = new TransactionConfigMatchingServiceValidator(matchingServices);
+        transactions.getAllData().forEach(validator::validate);
     }
 
-    private void checkEachOnboardingIdentityProviderHasACorrespondingTransaction() {
-        IdentityProviderConfigOnboardingTransactionValidator validator = new IdentityProviderConfigOnboardingTransactionValidator(transactionConfigRepository);
-        identityProviderConfigRepository.getAllData()
+    private void checkEachOnboardingIdentityProviderHasACorrespondingTransaction(LocalConfigRepository<IdentityProviderConfig> identityProviders,
+                                                                                 LocalConfigRepository<TransactionConfig> transactions) {
+        IdentityProviderConfigOnboardingTransactionValidator validator = new IdentityProviderConfigOnboardingTransactionValidator(transactions);
+        identityProviders.getAllData()
                 .forEach(idpConfig -> validator.validate(idpConfig));
     }
 
-    private void checkThereAreNoInvalidCertificates() {
+    private void checkThereAreNoInvalidCertificates(LocalConfigRepository<TransactionConfig> transactions,
+                                                    LocalConfigRepository<MatchingServiceConfig> matchingServices) {
         var configs = Stream.concat(
-                transactionConfigRepository.getAllData().stream(),
-                matchingServiceConfigRepository.getAllData().stream())
+                transactions.getAllData().stream(),
+                matchingServices.getAllData().stream())
                 .collect(Collectors.toSet());
 
         certificateChainConfigValidator.validate(configs);
     }
 
-    private void checkIdpAndTransactionsHaveValidLevelsOfAssurance() {
-        final Set<IdentityProviderConfig> enabledIdentityProviders = identityProviderConfigRepository
+    private void checkIdpAndTransactionsHaveValidLevelsOfAssurance(LocalConfigRepository<IdentityProviderConfig> identityProviders,
+                                                                   LocalConfigRepository<TransactionConfig> transactions) {
+        final Set<IdentityProviderConfig> enabledIdentityProviders = identityProviders
                 .getAllData()
                 .stream()
                 .filter(IdentityProviderConfig::isEnabled)
                 .collect(Collectors.toSet());
 
-        Set<TransactionConfig> transactionConfigs = transactionConfigRepository.getAllData();
+        Set<TransactionConfig> transactionConfigs = transactions.getAllData();
         levelsOfAssuranceConfigValidator.validateLevelsOfAssurance(enabledIdentityProviders, transactionConfigs);
     }
 
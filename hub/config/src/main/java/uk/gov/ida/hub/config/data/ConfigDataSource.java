@@ -1,7 +1,5 @@
 package uk.gov.ida.hub.config.data;
 
-import java.util.Collection;
-
 public interface ConfigDataSource<T> {
-    Collection<T> loadConfig();
+    LoadedConfigData<T> loadConfig();
 }
@@ -0,0 +1,88 @@
+package uk.gov.ida.hub.config.data;
+
+import com.google.common.hash.Hashing;
+
+import javax.inject.Singleton;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Identifies the config currently served by this instance, so clients can tell when their cached
+ * config might be out of date. The version is derived from the content of the local config and
+ * the last modified time of the self-service config, so every instance serving the same config
+ * reports the same version.
+ */
+@Singleton
+public class ConfigVersion {
+
+    private final Set<Consumer<String>> waiters = ConcurrentHashMap.newKeySet();
+    private String localConfigDigest = "";
+    private Date remoteConfigLastModified;
+    private volatile String version = versionOf(localConfigDigest, remoteConfigLastModified);
+
+    public String get() {
+        return version;
+    }
+
+    /**
+     * Records the digest of the local config now being served.
+     */
+    public void localConfigLoaded(String digest) {
+        synchronized (this) {
+            localConfigDigest = digest;
+        }
+        update();
+    }
+
+    /**
+     * Records the last modified time of the self-service config now being served.
+     */
+    public void remoteConfigLoaded(Date lastModified) {
+        synchronized (this) {
+            remoteConfigLastModified = lastModified;
+        }
+        update();
+    }
+
+    /**
+     * Calls back once with the current version as soon as it differs from knownVersion, which
+     * may be immediately. Returns a handle that cancels the callback if it hasn't happened yet.
+     */
+    public Runnable onChange(String knownVersion, Consumer<String> callback) {
+        waiters.add(callback);
+        String current = get();
+        if (!current.equals(knownVersion) && waiters.remove(callback)) {
+            callback.accept(current);
+        }
+        return () -> waiters.remove(callback);
+    }
+
+    private void update() {
+        String updated;
+        synchronized (this) {
+            updated = versionOf(localConfigDigest, remoteConfigLastModified);
+            if (updated.equals(version)) {
+                return;
+            }
+            version = updated;
+        }
+        for (Consumer<String> waiter : waiters) {
+            if (waiters.remove(waiter)) {
+                waiter.accept(updated);
+            }
+        }
+    }
+
+    private static String versionOf(String localConfigDigest, Date remoteConfigLastModified) {
+        return Hashing.sha256().newHasher()
+                .putString(localConfigDigest, UTF_8)
+                .putLong(remoteConfigLastModified == null ? 0 : remoteConfigLastModified.getTime())
+                .hash()
+                .toString()
+                .substring(0, 16);
+    }
+}
@@ -1,16 +1,26 @@
 package uk.gov.ida.hub.config.data;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.dropwizard.configuration.ConfigurationException;
 import io.dropwizard.configuration.ConfigurationFactory;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import uk.gov.ida.hub.config.ConfigConfiguration;
 import uk.gov.ida.hub.config.exceptions.ConfigValidationException;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class FileBackedConfigDataSource<T> implements ConfigDataSource<T> {
 
@@ -28,25 +38,50 @@ public class FileBackedConfigDataSource<T> implements ConfigDataSource<T> {
         this.dataDirectory = dataDirectory;
     }
 
+    /**
+     * Reads each data file once, and parses what was read in parallel, as parsing and validating
+     * each one is independent. The digest is a SHA-256 of the names and contents of the data
+     * files, in name order, taken from the same bytes that are parsed.
+     */
     @Override
-    public Collection<T> loadConfig() {
-        Collection<T> configData = new ArrayList<>();
+    public LoadedConfigData<T> loadConfig() {
+        final File[] dataFiles = dataFiles();
+        Arrays.sort(dataFiles, Comparator.comparing(File::getName));
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final Map<File, byte[]> contents = new LinkedHashMap<>();
+        for (File dataFile : dataFiles) {
+            final byte[] content = read(dataFile);
+            hasher.putString(dataFile.getName(), UTF_8).putBytes(content);
+            contents.put(dataFile, content);
+        }
+        final Collection<T> config = contents.entrySet().parallelStream()
+                .map(dataFile -> build(dataFile.getKey(), dataFile.getValue()))
+                .collect(Collectors.toList());
+        return new LoadedConfigData<>(config, hasher.hash().toString());
+    }
+
+    private File[] dataFiles() {
         final File configDirectory = new File(configuration.getDataDirectory(), dataDirectory);
         final File[] dataFiles = configDirectory.listFiles((FilenameFilter) new WildcardFileFilter("*.yml"));
         if (dataFiles == null) {
             throw ConfigValidationException.createFileReadError(configDirectory.getAbsolutePath());
         }
+        return dataFiles;
+    }
 
-        for (File dataFile : dataFiles) {
-            T data;
-            try {
-                data = configurationFactory.build(dataFile);
-            } catch (IOException | ConfigurationException e) {
-                throw new RuntimeException(e);
-            }
-            configData.add(data);
+    private static byte[] read(File dataFile) {
+        try {
+            return Files.readAllBytes(dataFile.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
+    private T build(File dataFile, byte[] content) {
+        try {
+            return configurationFactory.build(path -> new ByteArrayInputStream(content), dataFile.getPath());
+        } catch (IOException | ConfigurationException e) {
+            throw new RuntimeException(e);
         }
-        return configData;
     }
 }
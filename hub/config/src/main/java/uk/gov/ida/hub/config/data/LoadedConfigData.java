@@ -0,0 +1,29 @@
+package uk.gov.ida.hub.config.data;
+
+import java.util.Collection;
+
+/**
+ * Config loaded by a {@link ConfigDataSource}, with a digest of exactly the content it was
+ * parsed from.
+ */
+public class LoadedConfigData<T> {
+    private final Collection<T> config;
+    private final String contentDigest;
+
+    public LoadedConfigData(Collection<T> config, String contentDigest) {
+        this.config = config;
+        this.contentDigest = contentDigest;
+    }
+
+    public Collection<T> getConfig() {
+        return config;
+    }
+
+    /**
+     * Identifies the content of the config, so that instances loading the same config agree on
+     * its version.
+     */
+    public String getContentDigest() {
+        return contentDigest;
+    }
+}
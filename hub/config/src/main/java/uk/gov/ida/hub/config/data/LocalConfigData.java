@@ -0,0 +1,71 @@
+package uk.gov.ida.hub.config.data;
+
+import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
+import uk.gov.ida.hub.config.domain.MatchingServiceConfig;
+import uk.gov.ida.hub.config.domain.TransactionConfig;
+import uk.gov.ida.hub.config.domain.TranslationData;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * The local config currently being served. Each load is published as one immutable snapshot, so
+ * a reader holding a snapshot sees IdPs, matching services, transactions and translations from
+ * the same load.
+ */
+@Singleton
+public class LocalConfigData {
+
+    private volatile Snapshot snapshot = new Snapshot(emptyMap(), emptyMap(), emptyMap(), emptyMap());
+
+    @Inject
+    public LocalConfigData() {
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    void publish(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public static class Snapshot {
+        private final Map<String, IdentityProviderConfig> identityProviders;
+        private final Map<String, MatchingServiceConfig> matchingServices;
+        private final Map<String, TransactionConfig> transactions;
+        private final Map<String, TranslationData> translations;
+
+        /**
+         * Takes maps that never change, such as {@link StagedConfigRepository#snapshot()}.
+         */
+        Snapshot(Map<String, IdentityProviderConfig> identityProviders,
+                 Map<String, MatchingServiceConfig> matchingServices,
+                 Map<String, TransactionConfig> transactions,
+                 Map<String, TranslationData> translations) {
+            this.identityProviders = identityProviders;
+            this.matchingServices = matchingServices;
+            this.transactions = transactions;
+            this.translations = translations;
+        }
+
+        public Map<String, IdentityProviderConfig> getIdentityProviders() {
+            return identityProviders;
+        }
+
+        public Map<String, MatchingServiceConfig> getMatchingServices() {
+            return matchingServices;
+        }
+
+        public Map<String, TransactionConfig> getTransactions() {
+            return transactions;
+        }
+
+        public Map<String, TranslationData> getTranslations() {
+            return translations;
+        }
+    }
+}
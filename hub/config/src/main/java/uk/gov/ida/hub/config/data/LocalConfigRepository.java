@@ -2,46 +2,48 @@ package uk.gov.ida.hub.config.data;
 
 import uk.gov.ida.hub.config.domain.EntityIdentifiable;
 
-import javax.inject.Inject;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+/**
+ * Read-only view of config loaded from the local data files. Reads see an immutable snapshot and
+ * never block. The repositories served to the application are views of one kind of config in
+ * {@link LocalConfigData}, which is only replaced as a whole, so readers always see either all
+ * or none of a change.
+ */
 public class LocalConfigRepository<T extends EntityIdentifiable> {
 
-    private Map<String, T> dataMap = new HashMap<>();
+    private final Supplier<Map<String, T>> snapshots;
 
-    @Inject
-    public LocalConfigRepository() {
+    public LocalConfigRepository(Supplier<Map<String, T>> snapshots) {
+        this.snapshots = snapshots;
     }
 
     public boolean containsKey(String entityId){
-        return dataMap.containsKey(entityId);
+        return snapshot().containsKey(entityId);
     }
 
     public Optional<T> getData(String entityId) {
-        return Optional.ofNullable(dataMap.get(entityId));
+        return Optional.ofNullable(snapshot().get(entityId));
     }
 
     public Set<T> getAllData() {
-        return new HashSet<>(dataMap.values());
+        return new HashSet<>(snapshot().values());
     }
 
-    public void addData(T datum) {
-        dataMap.put(datum.getEntityId(), datum);
-    }
-
-    public void addData(Collection<T> data) {
-        for(T datum : data) {
-            addData(datum);
-        }
+    /**
+     * The current config, which never changes once returned. A different instance is returned
+     * after every change, so it can be used to tell when the config has changed.
+     */
+    public Map<String, T> snapshot() {
+        return snapshots.get();
     }
 
     public Stream<T> stream() {
-        return dataMap.values().stream();
+        return snapshot().values().stream();
     }
 }
@@ -6,6 +6,7 @@ import uk.gov.ida.hub.config.domain.Certificate;
 import uk.gov.ida.hub.config.domain.CertificateConfigurable;
 import uk.gov.ida.hub.config.domain.CertificateOrigin;
 import uk.gov.ida.hub.config.domain.remoteconfig.RemoteComponentConfig;
+import uk.gov.ida.hub.config.domain.remoteconfig.RemoteConfigCollection;
 import uk.gov.ida.hub.config.exceptions.NoCertificateFoundException;
 import javax.inject.Inject;
 import java.security.Principal;
@@ -13,7 +14,10 @@ import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -22,6 +26,7 @@ public class ManagedEntityConfigRepository<T extends CertificateConfigurable<T>>
     private static final Logger LOG = LoggerFactory.getLogger(ManagedEntityConfigRepository.class);
     private final LocalConfigRepository<T> localConfigRepository;
     private final S3ConfigSource s3ConfigSource;
+    private volatile OverriddenConfigs<T> overriddenConfigs = new OverriddenConfigs<>(null, null);
 
     @Inject
     public ManagedEntityConfigRepository(LocalConfigRepository<T> localConfigRepository, S3ConfigSource s3ConfigSource) {
@@ -51,8 +56,24 @@ public class ManagedEntityConfigRepository<T extends CertificateConfigurable<T>>
 
     private T overrideWithRemote(T local) {
         if (!local.isSelfService()) return local;
-        
-        return s3ConfigSource.getRemoteConfig()
+
+        RemoteConfigCollection remoteConfig = s3ConfigSource.getRemoteConfig();
+        Map<String, T> localConfig = localConfigRepository.snapshot();
+        OverriddenConfigs<T> current = overriddenConfigs;
+        if (current.remoteConfig != remoteConfig || current.localConfig != localConfig) {
+            current = new OverriddenConfigs<>(remoteConfig, localConfig);
+            overriddenConfigs = current;
+        }
+        OverriddenConfig<T> overridden = current.configs.get(local.getEntityId());
+        if (overridden == null) {
+            overridden = current.configs.computeIfAbsent(local.getEntityId(), entityId -> new OverriddenConfig<>(local, override(local, remoteConfig)));
+        }
+        // local came from an older snapshot than the one the overrides were built from
+        return overridden.local == local ? overridden.config : override(local, remoteConfig);
+    }
+
+    private T override(T local, RemoteConfigCollection remoteConfig) {
+        return remoteConfig
                 .getRemoteComponent(local)
                 .map(remote -> getRemoteOverrides(local, remote))
                 .orElseGet(() -> logWarningAndReturnUnOverriddenConfig(local));
@@ -96,4 +117,31 @@ public class ManagedEntityConfigRepository<T extends CertificateConfigurable<T>>
                             .orElseGet(String::new)));
         }
     }
+
+    /**
+     * Overridden configs built from a single remote config collection and a single snapshot of the local config.
+     * S3ConfigSource returns the same collection until the remote config changes, so overrides (and their parsed
+     * certificates) are built once per change rather than on every lookup. A new set is started whenever either
+     * changes, so entities removed from the local config drop out with the old set.
+     */
+    private static class OverriddenConfigs<T> {
+        private final RemoteConfigCollection remoteConfig;
+        private final Map<String, T> localConfig;
+        private final ConcurrentMap<String, OverriddenConfig<T>> configs = new ConcurrentHashMap<>();
+
+        private OverriddenConfigs(RemoteConfigCollection remoteConfig, Map<String, T> localConfig) {
+            this.remoteConfig = remoteConfig;
+            this.localConfig = localConfig;
+        }
+    }
+
+    private static class OverriddenConfig<T> {
+        private final T local;
+        private final T config;
+
+        private OverriddenConfig(T local, T config) {
+            this.local = local;
+            this.config = config;
+        }
+    }
 }
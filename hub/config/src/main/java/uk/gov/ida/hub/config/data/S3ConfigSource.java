@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class S3ConfigSource {
     private static final Logger LOG = LoggerFactory.getLogger(S3ConfigSource.class);
@@ -32,12 +33,19 @@ public class S3ConfigSource {
     private CacheLoader<String, RemoteConfigCollection> cacheLoader;
     private LoadingCache<String, RemoteConfigCollection> cache;
     private ObjectMapper objectMapper;
+    private ConfigVersion configVersion = new ConfigVersion();
+    private final AtomicReference<RemoteConfigCollection> lastServed = new AtomicReference<>();
 
 
     public S3ConfigSource() {
     }
 
     public S3ConfigSource(SelfServiceConfig selfServiceConfig, AmazonS3 s3Client, ObjectMapper objectMapper) {
+        this(selfServiceConfig, s3Client, objectMapper, new ConfigVersion());
+    }
+
+    public S3ConfigSource(SelfServiceConfig selfServiceConfig, AmazonS3 s3Client, ObjectMapper objectMapper, ConfigVersion configVersion) {
+        this.configVersion = configVersion;
         this.enabled = selfServiceConfig.isEnabled();
         this.bucket = selfServiceConfig.getS3BucketName();
         this.objectKey = selfServiceConfig.getS3ObjectKey();
@@ -54,7 +62,12 @@ public class S3ConfigSource {
     public RemoteConfigCollection getRemoteConfig() {
         try {
             if (enabled) {
-                return cache.get(objectKey);
+                RemoteConfigCollection remoteConfig = cache.get(objectKey);
+                RemoteConfigCollection previous = lastServed.getAndSet(remoteConfig);
+                if (previous != remoteConfig) {
+                    configVersion.remoteConfigLoaded(remoteConfig.getLastModified());
+                }
+                return remoteConfig;
             }
         } catch (ExecutionException | UncheckedExecutionException e) {
             LOG.warn("Unable to get {} from cache.", objectKey);
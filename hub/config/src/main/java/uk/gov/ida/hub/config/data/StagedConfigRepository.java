@@ -0,0 +1,35 @@
+package uk.gov.ida.hub.config.data;
+
+import uk.gov.ida.hub.config.domain.EntityIdentifiable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Config being loaded by {@link ConfigDataBootstrap}, which can be validated as it would be
+ * served before it is published to {@link LocalConfigData}.
+ */
+class StagedConfigRepository<T extends EntityIdentifiable> extends LocalConfigRepository<T> {
+
+    private final AtomicReference<Map<String, T>> dataMap;
+
+    StagedConfigRepository() {
+        this(new AtomicReference<>(Collections.emptyMap()));
+    }
+
+    private StagedConfigRepository(AtomicReference<Map<String, T>> dataMap) {
+        super(dataMap::get);
+        this.dataMap = dataMap;
+    }
+
+    synchronized void addData(Collection<T> data) {
+        Map<String, T> newDataMap = new HashMap<>(dataMap.get());
+        for (T datum : data) {
+            newDataMap.put(datum.getEntityId(), datum);
+        }
+        dataMap.set(Collections.unmodifiableMap(newDataMap));
+    }
+}
@@ -1,5 +1,7 @@
 package uk.gov.ida.hub.config.domain;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.ida.hub.config.dto.FederationEntityType;
@@ -17,10 +19,18 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 public class Certificate {
     private static final Logger LOG = LoggerFactory.getLogger(Certificate.class);
     private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+    private static final Pattern PEM_NOISE = Pattern.compile("(-----BEGIN CERTIFICATE-----)|(\\n)|(-----END CERTIFICATE-----)");
+
+    // Config builds a new Certificate every time one is asked for, so parsed certificates are
+    // shared between all the Certificates made from the same string.
+    private static final Cache<String, ParsedCertificate> PARSED_CERTIFICATES = CacheBuilder.newBuilder()
+            .maximumSize(5_000)
+            .build();
 
     private final String issuerEntityId;
     private final FederationEntityType federationEntityType;
@@ -28,8 +38,7 @@ public class Certificate {
     private final CertificateUse certificateUse;
     private CertificateOrigin certificateOrigin;
     private final boolean enabled;
-    private final X509Certificate x509Certificate;
-    private final boolean valid;
+    private final ParsedCertificate parsedCertificate;
 
     public Certificate(String issuerEntityId, FederationEntityType federationEntityType, String base64EncodedCertificate, CertificateUse certificateUse, CertificateOrigin certificateOrigin, boolean enabled){
         this.issuerEntityId = issuerEntityId;
@@ -38,8 +47,7 @@ public class Certificate {
         this.certificateUse = certificateUse;
         this.certificateOrigin = certificateOrigin;
         this.enabled = enabled;
-        this.x509Certificate = decodeBase64(base64EncodedCertificate);
-        this.valid = x509Certificate != null;
+        this.parsedCertificate = parse(base64EncodedCertificate);
     }
 
     public String getIssuerEntityId() {
@@ -51,31 +59,36 @@ public class Certificate {
     }
 
     public boolean isValid() {
-        return valid;
+        return parsedCertificate != null;
     }
 
     public Optional<String> getBase64Encoded() {
-        return getX509Certificate().map(x509 -> {
-            try {
-                return Base64.getEncoder().encodeToString(x509.getEncoded());
-            } catch (CertificateEncodingException e) {
-                LOG.warn("Certificate ({}) in entity {} could not be Base64Encoded.", certificateUse, issuerEntityId, e);
-                return null;
-            }
-        });
+        return Optional.ofNullable(parsedCertificate).map(parsed -> parsed.base64Encoded);
     }
 
     public Optional<X509Certificate> getX509Certificate() {
-        return Optional.ofNullable(x509Certificate);
+        return Optional.ofNullable(parsedCertificate).map(parsed -> parsed.x509Certificate);
     }
 
-    private X509Certificate decodeBase64(String base64EncodedCertificate) {
+    private ParsedCertificate parse(String base64EncodedCertificate) {
         if (base64EncodedCertificate == null || base64EncodedCertificate.isBlank()){
             return null;
         }
 
-        String cleanUpRegex = "(-----BEGIN CERTIFICATE-----)|(\\n)|(-----END CERTIFICATE-----)";
-        String clean64 = base64EncodedCertificate.replaceAll(cleanUpRegex, "");
+        ParsedCertificate parsed = PARSED_CERTIFICATES.getIfPresent(base64EncodedCertificate);
+        if (parsed == null) {
+            X509Certificate x509Certificate = decodeBase64(base64EncodedCertificate);
+            if (x509Certificate == null) {
+                return null;
+            }
+            parsed = new ParsedCertificate(x509Certificate);
+            PARSED_CERTIFICATES.put(base64EncodedCertificate, parsed);
+        }
+        return parsed;
+    }
+
+    private X509Certificate decodeBase64(String base64EncodedCertificate) {
+        String clean64 = PEM_NOISE.matcher(base64EncodedCertificate).replaceAll("");
         try {
             byte[] certBytes = Base64.getDecoder().decode(clean64);
             return (X509Certificate) CertificateFactory
@@ -89,32 +102,26 @@ public class Certificate {
     }
 
     public Date getNotAfter() {
-        return x509Certificate.getNotAfter();
+        return new Date(parsedCertificate.notAfter);
     }
 
     public String getSubject() {
-        return x509Certificate.getSubjectDN().getName();
+        return parsedCertificate.subject;
     }
 
     public String getFingerprint() throws CertificateException{
-        try {
-            final MessageDigest md = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
-            byte[] der = x509Certificate.getEncoded();
-            md.update(der);
-            final byte[] digest = md.digest();
-            return DatatypeConverter.printHexBinary(digest);
-        } catch (NoSuchAlgorithmException e) {
-            LOG.warn(String.format("Algorithm [algorithm = %s] is not available.", FINGERPRINT_ALGORITHM));
+        if (parsedCertificate.fingerprint == null) {
+            throw new CertificateEncodingException("Certificate could not be encoded for entity " + issuerEntityId);
         }
-        return "";
+        return parsedCertificate.fingerprint;
     }
 
     public BigInteger getSerialNumber() {
-        return x509Certificate.getSerialNumber();
+        return parsedCertificate.x509Certificate.getSerialNumber();
     }
 
     public Date getNotBefore() {
-        return x509Certificate.getNotBefore();
+        return new Date(parsedCertificate.notBefore);
     }
 
     public CertificateUse getCertificateUse(){
@@ -143,4 +150,44 @@ public class Certificate {
     public int hashCode() {
         return Objects.hash(issuerEntityId, base64EncodedCertificate, certificateUse);
     }
+
+    /**
+     * The parts of a certificate that are expensive to work out, computed once when it is parsed.
+     */
+    private static class ParsedCertificate {
+        private final X509Certificate x509Certificate;
+        private final String base64Encoded;
+        private final String fingerprint;
+        private final String subject;
+        private final long notBefore;
+        private final long notAfter;
+
+        ParsedCertificate(X509Certificate x509Certificate) {
+            this.x509Certificate = x509Certificate;
+            byte[] der = encode(x509Certificate);
+            this.base64Encoded = der == null ? null : Base64.getEncoder().encodeToString(der);
+            this.fingerprint = der == null ? null : fingerprint(der);
+            this.subject = x509Certificate.getSubjectDN().getName();
+            this.notBefore = x509Certificate.getNotBefore().getTime();
+            this.notAfter = x509Certificate.getNotAfter().getTime();
+        }
+
+        private static byte[] encode(X509Certificate x509Certificate) {
+            try {
+                return x509Certificate.getEncoded();
+            } catch (CertificateEncodingException e) {
+                LOG.warn("Certificate with subject {} could not be encoded.", x509Certificate.getSubjectDN(), e);
+                return null;
+            }
+        }
+
+        private static String fingerprint(byte[] der) {
+            try {
+                return DatatypeConverter.printHexBinary(MessageDigest.getInstance(FINGERPRINT_ALGORITHM).digest(der));
+            } catch (NoSuchAlgorithmException e) {
+                LOG.warn(String.format("Algorithm [algorithm = %s] is not available.", FINGERPRINT_ALGORITHM));
+                return "";
+            }
+        }
+    }
 }
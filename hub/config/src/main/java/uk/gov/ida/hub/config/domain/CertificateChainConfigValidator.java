@@ -27,8 +27,12 @@ public class CertificateChainConfigValidator {
         this.chainValidityChecker = createNonOCSPCheckingCertificateValidityChecker(trustStoreForCertificateProvider, certificateChainValidator);
     }
 
+    /**
+     * Validates the configs in parallel, as each chain validation is independent and this is
+     * on the critical path of config starting up.
+     */
     public void validate(Set<CertificateConfigurable<? extends CertificateConfigurable<?>>> configs) {
-        configs.stream().forEach(this::validate);
+        configs.parallelStream().forEach(this::validate);
     }
 
     private void validate(CertificateConfigurable<? extends CertificateConfigurable<?>> config){
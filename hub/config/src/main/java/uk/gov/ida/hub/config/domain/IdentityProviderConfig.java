@@ -110,6 +110,18 @@ public class IdentityProviderConfig implements EntityIdentifiable {
         return Strings.isNullOrEmpty(provideRegistrationUntil) || provideRegistrationUntilDate().withDurationAdded(sessionDuration, 1).isAfterNow();
     }
 
+    /**
+     * The times at which {@link #canReceiveRegistrationRequests()} and
+     * {@link #canSendRegistrationResponses(Duration)} change from true to false.
+     */
+    public List<DateTime> registrationCutOffTimes(Duration sessionDuration) {
+        if (Strings.isNullOrEmpty(provideRegistrationUntil)) {
+            return emptyList();
+        }
+        DateTime provideRegistrationUntilDate = provideRegistrationUntilDate();
+        return List.of(provideRegistrationUntilDate, provideRegistrationUntilDate.withDurationAdded(sessionDuration, 1));
+    }
+
     @JsonProperty("authenticationEnabled")
     public Boolean isAuthenticationEnabled() {
         if (Strings.isNullOrEmpty(provideAuthenticationUntil)) {
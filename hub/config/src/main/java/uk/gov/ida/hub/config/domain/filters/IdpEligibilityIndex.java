@@ -0,0 +1,153 @@
+package uk.gov.ida.hub.config.domain.filters;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.Duration;
+import uk.gov.ida.hub.config.data.LocalConfigRepository;
+import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
+import uk.gov.ida.hub.config.domain.LevelOfAssurance;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers which IdPs are eligible for each journey, transaction and level of assurance, so
+ * the IdP lists don't filter every IdP on every request.
+ *
+ * Eligibility for registration depends on the time as well as the config, so the whole index
+ * is thrown away as soon as the next registration cut-off of any IdP passes, as well as when
+ * the IdP config is reloaded.
+ */
+@Singleton
+public class IdpEligibilityIndex {
+
+    public enum Journey {
+        SIGN_IN,
+        SINGLE_IDP,
+        REGISTRATION,
+        REGISTRATION_RESPONSE,
+        DISCONNECTED_FOR_REGISTRATION
+    }
+
+    private static final long MAXIMUM_ENTRIES = 10_000;
+
+    private final LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository;
+    private final IdpPredicateFactory idpPredicateFactory;
+    private final Duration sessionDuration;
+    private volatile Snapshot snapshot;
+
+    @Inject
+    public IdpEligibilityIndex(
+            LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository,
+            IdpPredicateFactory idpPredicateFactory,
+            @Named("userHubSessionDuration") Duration userHubSessionDuration) {
+        this.identityProviderConfigRepository = identityProviderConfigRepository;
+        this.idpPredicateFactory = idpPredicateFactory;
+        this.sessionDuration = userHubSessionDuration;
+    }
+
+    public List<IdentityProviderConfig> getEligibleIdps(Journey journey, String transactionEntityId, LevelOfAssurance levelOfAssurance) {
+        Snapshot current = currentSnapshot();
+        Key key = new Key(journey, transactionEntityId, levelOfAssurance);
+        try {
+            return current.eligibleIdps.get(key, () -> current.filter(predicateFor(key)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        Map<String, IdentityProviderConfig> identityProviders = identityProviderConfigRepository.snapshot();
+        long now = DateTimeUtils.currentTimeMillis();
+        if (current == null || current.identityProviders != identityProviders || now >= current.validUntilMillis) {
+            current = new Snapshot(identityProviders, now);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Predicate<IdentityProviderConfig> predicateFor(Key key) {
+        switch (key.journey) {
+            case SIGN_IN:
+                return idpPredicateFactory.createPredicateForSignIn(key.transactionEntityId);
+            case SINGLE_IDP:
+                return idpPredicateFactory.createPredicateForSingleIdp(key.transactionEntityId);
+            case REGISTRATION:
+                return idpPredicateFactory.createPredicateForSendingRegistrationRequest(key.transactionEntityId, key.levelOfAssurance);
+            case REGISTRATION_RESPONSE:
+                return idpPredicateFactory.createPredicateForReceivingRegistrationResponse(key.transactionEntityId, key.levelOfAssurance);
+            case DISCONNECTED_FOR_REGISTRATION:
+                return idpPredicateFactory.createPredicateForIdpsDisconnectedForRegistration(key.transactionEntityId, key.levelOfAssurance);
+            default:
+                throw new IllegalArgumentException("Unknown journey " + key.journey);
+        }
+    }
+
+    private class Snapshot {
+        private final Map<String, IdentityProviderConfig> identityProviders;
+        private final long validUntilMillis;
+        private final Cache<Key, List<IdentityProviderConfig>> eligibleIdps = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_ENTRIES)
+                .build();
+
+        private Snapshot(Map<String, IdentityProviderConfig> identityProviders, long nowMillis) {
+            this.identityProviders = identityProviders;
+            this.validUntilMillis = identityProviders.values().stream()
+                    .flatMap(idp -> idp.registrationCutOffTimes(sessionDuration).stream())
+                    .mapToLong(DateTime::getMillis)
+                    .filter(cutOff -> cutOff > nowMillis)
+                    .min()
+                    .orElse(Long.MAX_VALUE);
+        }
+
+        private List<IdentityProviderConfig> filter(Predicate<IdentityProviderConfig> predicate) {
+            return identityProviders.values().stream()
+                    .filter(predicate)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    private static final class Key {
+        private final Journey journey;
+        private final String transactionEntityId;
+        private final LevelOfAssurance levelOfAssurance;
+
+        private Key(Journey journey, String transactionEntityId, LevelOfAssurance levelOfAssurance) {
+            this.journey = journey;
+            this.transactionEntityId = transactionEntityId;
+            this.levelOfAssurance = levelOfAssurance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return journey == key.journey &&
+                    Objects.equals(transactionEntityId, key.transactionEntityId) &&
+                    levelOfAssurance == key.levelOfAssurance;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(journey, transactionEntityId, levelOfAssurance);
+        }
+    }
+}
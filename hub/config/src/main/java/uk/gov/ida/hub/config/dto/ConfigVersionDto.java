@@ -0,0 +1,17 @@
+package uk.gov.ida.hub.config.dto;
+
+public class ConfigVersionDto {
+    private String version;
+
+    @SuppressWarnings("unused") // NEEDED BY JAXB
+    protected ConfigVersionDto() {
+    }
+
+    public ConfigVersionDto(String version) {
+        this.version = version;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
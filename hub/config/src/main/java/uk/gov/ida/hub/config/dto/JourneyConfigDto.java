@@ -0,0 +1,76 @@
+package uk.gov.ida.hub.config.dto;
+
+import uk.gov.ida.hub.config.domain.LevelOfAssurance;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything policy needs from config to process an IdP response for a transaction, so it can
+ * be fetched in one request.
+ */
+public class JourneyConfigDto {
+
+    private String transactionEntityId;
+    private boolean usingMatching;
+    private String matchingServiceEntityId;
+    private MatchingServiceConfigDto matchingService;
+    private List<String> enabledIdentityProvidersForSignIn;
+    private Map<LevelOfAssurance, List<String>> enabledIdentityProvidersForRegistration;
+    private Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance;
+
+    @SuppressWarnings("unused") // NEEDED BY JAXB
+    protected JourneyConfigDto() {
+    }
+
+    public JourneyConfigDto(
+            String transactionEntityId,
+            boolean usingMatching,
+            String matchingServiceEntityId,
+            MatchingServiceConfigDto matchingService,
+            List<String> enabledIdentityProvidersForSignIn,
+            Map<LevelOfAssurance, List<String>> enabledIdentityProvidersForRegistration,
+            Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance) {
+        this.transactionEntityId = transactionEntityId;
+        this.usingMatching = usingMatching;
+        this.matchingServiceEntityId = matchingServiceEntityId;
+        this.matchingService = matchingService;
+        this.enabledIdentityProvidersForSignIn = enabledIdentityProvidersForSignIn;
+        this.enabledIdentityProvidersForRegistration = enabledIdentityProvidersForRegistration;
+        this.identityProviderLevelsOfAssurance = identityProviderLevelsOfAssurance;
+    }
+
+    public String getTransactionEntityId() {
+        return transactionEntityId;
+    }
+
+    public boolean isUsingMatching() {
+        return usingMatching;
+    }
+
+    public String getMatchingServiceEntityId() {
+        return matchingServiceEntityId;
+    }
+
+    public MatchingServiceConfigDto getMatchingService() {
+        return matchingService;
+    }
+
+    public List<String> getEnabledIdentityProvidersForSignIn() {
+        return enabledIdentityProvidersForSignIn;
+    }
+
+    /**
+     * IdPs that may respond to a registration request, by requested level of assurance.
+     */
+    public Map<LevelOfAssurance, List<String>> getEnabledIdentityProvidersForRegistration() {
+        return enabledIdentityProvidersForRegistration;
+    }
+
+    /**
+     * Supported levels of assurance for each IdP enabled for this transaction.
+     */
+    public Map<String, List<LevelOfAssurance>> getIdentityProviderLevelsOfAssurance() {
+        return identityProviderLevelsOfAssurance;
+    }
+}
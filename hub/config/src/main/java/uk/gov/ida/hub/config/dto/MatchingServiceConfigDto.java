@@ -1,5 +1,7 @@
 package uk.gov.ida.hub.config.dto;
 
+import uk.gov.ida.hub.config.domain.MatchingServiceConfig;
+
 import java.net.URI;
 
 public class MatchingServiceConfigDto {
@@ -29,6 +31,16 @@ public class MatchingServiceConfigDto {
         this.userAccountCreationUri = userAccountCreationUri;
     }
 
+    public static MatchingServiceConfigDto fromConfig(MatchingServiceConfig config) {
+        return new MatchingServiceConfigDto(
+                config.getEntityId(),
+                config.getUri(),
+                config.getEntityId(),
+                config.getHealthCheckEnabled(),
+                config.getOnboarding(),
+                config.getUserAccountCreationUri());
+    }
+
     public String getEntityId() {
         return entityId;
     }
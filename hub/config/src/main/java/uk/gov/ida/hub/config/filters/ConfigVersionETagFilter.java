@@ -0,0 +1,60 @@
+package uk.gov.ida.hub.config.filters;
+
+import uk.gov.ida.hub.config.data.ConfigVersion;
+import uk.gov.ida.hub.config.data.S3ConfigSource;
+
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+/**
+ * Tags successful GETs with a weak ETag of the current config version and answers 304 Not
+ * Modified when the client already holds a response for that version. The tag covers the
+ * whole of config rather than the individual resource, so any change invalidates every tag.
+ */
+@ConfigVersioned
+public class ConfigVersionETagFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private final ConfigVersion configVersion;
+    private final S3ConfigSource s3ConfigSource;
+
+    @Inject
+    public ConfigVersionETagFilter(ConfigVersion configVersion, S3ConfigSource s3ConfigSource) {
+        this.configVersion = configVersion;
+        this.s3ConfigSource = s3ConfigSource;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String ifNoneMatch = requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || !HttpMethod.GET.equals(requestContext.getMethod())) {
+            return;
+        }
+
+        EntityTag current = currentTag();
+        if (ifNoneMatch.contains(current.toString())) {
+            requestContext.abortWith(Response.notModified(current).build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (HttpMethod.GET.equals(requestContext.getMethod())
+                && responseContext.getStatus() == Response.Status.OK.getStatusCode()
+                && !responseContext.getHeaders().containsKey(HttpHeaders.ETAG)) {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, currentTag());
+        }
+    }
+
+    private EntityTag currentTag() {
+        // picks up any self-service config that has landed, so the tag matches other instances
+        s3ConfigSource.getRemoteConfig();
+        return new EntityTag(configVersion.get(), true);
+    }
+}
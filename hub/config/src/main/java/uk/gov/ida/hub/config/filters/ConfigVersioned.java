@@ -0,0 +1,17 @@
+package uk.gov.ida.hub.config.filters;
+
+import javax.ws.rs.NameBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks resources whose responses only change when the config version does, so they can be
+ * tagged with it and revalidated by clients. See {@link ConfigVersionETagFilter}.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConfigVersioned {
+}
@@ -0,0 +1,63 @@
+package uk.gov.ida.hub.config.resources;
+
+import uk.gov.ida.hub.config.Urls;
+import uk.gov.ida.hub.config.data.ConfigVersion;
+import uk.gov.ida.hub.config.data.S3ConfigSource;
+import uk.gov.ida.hub.config.dto.ConfigVersionDto;
+
+import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Long-poll feed of config changes. A client passes the last version it saw and the request
+ * is held open until the version changes or the timeout passes, whichever is first. Either
+ * way the response carries the current version.
+ */
+@Path(Urls.ConfigUrls.CONFIG_ROOT)
+@Produces(MediaType.APPLICATION_JSON)
+public class ConfigVersionResource {
+
+    private static final long MAXIMUM_TIMEOUT_SECONDS = 60;
+
+    private final ConfigVersion configVersion;
+    private final S3ConfigSource s3ConfigSource;
+
+    @Inject
+    public ConfigVersionResource(ConfigVersion configVersion, S3ConfigSource s3ConfigSource) {
+        this.configVersion = configVersion;
+        this.s3ConfigSource = s3ConfigSource;
+    }
+
+    @GET
+    @Path(Urls.ConfigUrls.CONFIG_VERSION_PATH)
+    public void getConfigVersion(
+            @QueryParam(Urls.ConfigUrls.CONFIG_VERSION_SINCE_PARAM) String since,
+            @QueryParam(Urls.ConfigUrls.CONFIG_VERSION_TIMEOUT_PARAM) @DefaultValue("0") long timeoutSeconds,
+            @Suspended AsyncResponse asyncResponse) {
+        // picks up any self-service config that has landed since the last request
+        s3ConfigSource.getRemoteConfig();
+
+        long timeout = Math.min(Math.max(timeoutSeconds, 0), MAXIMUM_TIMEOUT_SECONDS);
+        if (since == null || timeout == 0) {
+            asyncResponse.resume(new ConfigVersionDto(configVersion.get()));
+            return;
+        }
+
+        AtomicReference<Runnable> cancel = new AtomicReference<>(() -> {});
+        asyncResponse.setTimeoutHandler(response -> {
+            cancel.get().run();
+            response.resume(new ConfigVersionDto(configVersion.get()));
+        });
+        asyncResponse.setTimeout(timeout, TimeUnit.SECONDS);
+        cancel.set(configVersion.onChange(since, version -> asyncResponse.resume(new ConfigVersionDto(version))));
+    }
+}
@@ -5,10 +5,12 @@ import uk.gov.ida.hub.config.Urls;
 import uk.gov.ida.hub.config.data.LocalConfigRepository;
 import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
 import uk.gov.ida.hub.config.domain.LevelOfAssurance;
-import uk.gov.ida.hub.config.domain.filters.IdpPredicateFactory;
+import uk.gov.ida.hub.config.domain.filters.IdpEligibilityIndex;
+import uk.gov.ida.hub.config.domain.filters.IdpEligibilityIndex.Journey;
 import uk.gov.ida.hub.config.dto.IdpConfigDto;
 import uk.gov.ida.hub.config.dto.IdpDto;
 import uk.gov.ida.hub.config.exceptions.ExceptionFactory;
+import uk.gov.ida.hub.config.filters.ConfigVersioned;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
@@ -18,25 +20,25 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import java.util.Collection;
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+@ConfigVersioned
 @Path(Urls.ConfigUrls.IDENTITY_PROVIDER_ROOT)
 @Produces(MediaType.APPLICATION_JSON)
 public class IdentityProviderResource {
 
     private final LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository;
-    private final IdpPredicateFactory idpPredicateFactory;
+    private final IdpEligibilityIndex idpEligibilityIndex;
     private final ExceptionFactory exceptionFactory;
 
     @Inject
     public IdentityProviderResource(
             LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository,
-            IdpPredicateFactory idpPredicateFactory,
+            IdpEligibilityIndex idpEligibilityIndex,
             ExceptionFactory exceptionFactory) {
 
         this.identityProviderConfigRepository = identityProviderConfigRepository;
-        this.idpPredicateFactory = idpPredicateFactory;
+        this.idpEligibilityIndex = idpEligibilityIndex;
         this.exceptionFactory = exceptionFactory;
     }
 
@@ -45,7 +47,7 @@ public class IdentityProviderResource {
     @Timed
     public List<IdpDto> getIdpListForRegistration(@PathParam(Urls.SharedUrls.TRANSACTION_ENTITY_ID_PARAM) final String transactionEntityId,
                                                   @PathParam(Urls.SharedUrls.LEVEL_OF_ASSURANCE_PARAM) final LevelOfAssurance levelOfAssurance) {
-        return idpsFilteredBy(idpPredicateFactory.createPredicateForSendingRegistrationRequest(transactionEntityId, levelOfAssurance));
+        return eligibleIdps(Journey.REGISTRATION, transactionEntityId, levelOfAssurance);
     }
 
     @GET
@@ -53,21 +55,21 @@ public class IdentityProviderResource {
     @Timed
     public List<IdpDto> getDisconnectedForRegistrationIdpList(@PathParam(Urls.SharedUrls.TRANSACTION_ENTITY_ID_PARAM) final String transactionEntityId,
                                                               @PathParam(Urls.SharedUrls.LEVEL_OF_ASSURANCE_PARAM) final LevelOfAssurance levelOfAssurance) {
-        return idpsFilteredBy(idpPredicateFactory.createPredicateForIdpsDisconnectedForRegistration(transactionEntityId, levelOfAssurance));
+        return eligibleIdps(Journey.DISCONNECTED_FOR_REGISTRATION, transactionEntityId, levelOfAssurance);
     }
 
     @GET
     @Path(Urls.ConfigUrls.IDP_LIST_FOR_SIGN_IN_PATH)
     @Timed
     public List<IdpDto> getIdpListForSignIn(@PathParam(Urls.SharedUrls.TRANSACTION_ENTITY_ID_PARAM) final String transactionEntityId) {
-        return idpsFilteredBy(idpPredicateFactory.createPredicateForSignIn(transactionEntityId));
+        return eligibleIdps(Journey.SIGN_IN, transactionEntityId, null);
     }
 
     @GET
     @Path(Urls.ConfigUrls.IDP_LIST_FOR_SINGLE_IDP_PATH)
     @Timed
     public List<IdpDto> getIdpListForSingleIdp(@PathParam(Urls.SharedUrls.TRANSACTION_ENTITY_ID_PARAM) final String transactionEntityId) {
-        return idpsFilteredBy(idpPredicateFactory.createPredicateForSingleIdp(transactionEntityId));
+        return eligibleIdps(Journey.SINGLE_IDP, transactionEntityId, null);
     }
 
     @GET
@@ -107,9 +109,9 @@ public class IdentityProviderResource {
     public Collection<String> getEnabledIdentityProviderEntityIdsForRegistrationResponseProcessing(
             @PathParam(Urls.SharedUrls.ENTITY_ID_PARAM) final String transactionEntityId,
             @PathParam(Urls.SharedUrls.LEVEL_OF_ASSURANCE_PARAM) final LevelOfAssurance levelOfAssurance) {
-        return idpsFilteredBy(idpPredicateFactory.createPredicateForReceivingRegistrationResponse(transactionEntityId, levelOfAssurance))
+        return idpEligibilityIndex.getEligibleIdps(Journey.REGISTRATION_RESPONSE, transactionEntityId, levelOfAssurance)
                 .stream()
-                .map(IdpDto::getEntityId)
+                .map(IdentityProviderConfig::getEntityId)
                 .collect(Collectors.toList());
     }
 
@@ -124,10 +126,9 @@ public class IdentityProviderResource {
         return configData;
     }
 
-    private List<IdpDto> idpsFilteredBy(Predicate<IdentityProviderConfig> predicateForTransactionEntity) {
-        return identityProviderConfigRepository.getAllData()
+    private List<IdpDto> eligibleIdps(Journey journey, String transactionEntityId, LevelOfAssurance levelOfAssurance) {
+        return idpEligibilityIndex.getEligibleIdps(journey, transactionEntityId, levelOfAssurance)
                 .stream()
-                .filter(predicateForTransactionEntity)
                 .map(configData ->
                         new IdpDto(
                                 configData.getSimpleId(),
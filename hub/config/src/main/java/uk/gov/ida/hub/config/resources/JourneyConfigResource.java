@@ -0,0 +1,104 @@
+package uk.gov.ida.hub.config.resources;
+
+import com.codahale.metrics.annotation.Timed;
+import uk.gov.ida.hub.config.Urls;
+import uk.gov.ida.hub.config.data.LocalConfigRepository;
+import uk.gov.ida.hub.config.data.ManagedEntityConfigRepository;
+import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
+import uk.gov.ida.hub.config.domain.LevelOfAssurance;
+import uk.gov.ida.hub.config.domain.MatchingServiceConfig;
+import uk.gov.ida.hub.config.domain.TransactionConfig;
+import uk.gov.ida.hub.config.domain.filters.IdpPredicateFactory;
+import uk.gov.ida.hub.config.dto.JourneyConfigDto;
+import uk.gov.ida.hub.config.dto.MatchingServiceConfigDto;
+import uk.gov.ida.hub.config.exceptions.ExceptionFactory;
+import uk.gov.ida.hub.config.filters.ConfigVersioned;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@ConfigVersioned
+@Path(Urls.ConfigUrls.JOURNEY_CONFIG_ROOT)
+@Produces(MediaType.APPLICATION_JSON)
+public class JourneyConfigResource {
+
+    private final ManagedEntityConfigRepository<TransactionConfig> transactionConfigRepository;
+    private final ManagedEntityConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository;
+    private final LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository;
+    private final IdpPredicateFactory idpPredicateFactory;
+    private final ExceptionFactory exceptionFactory;
+
+    @Inject
+    public JourneyConfigResource(
+            ManagedEntityConfigRepository<TransactionConfig> transactionConfigRepository,
+            ManagedEntityConfigRepository<MatchingServiceConfig> matchingServiceConfigRepository,
+            LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository,
+            IdpPredicateFactory idpPredicateFactory,
+            ExceptionFactory exceptionFactory) {
+        this.transactionConfigRepository = transactionConfigRepository;
+        this.matchingServiceConfigRepository = matchingServiceConfigRepository;
+        this.identityProviderConfigRepository = identityProviderConfigRepository;
+        this.idpPredicateFactory = idpPredicateFactory;
+        this.exceptionFactory = exceptionFactory;
+    }
+
+    @GET
+    @Path(Urls.ConfigUrls.JOURNEY_CONFIG_PATH)
+    @Timed
+    public JourneyConfigDto getJourneyConfig(@PathParam(Urls.SharedUrls.ENTITY_ID_PARAM) String entityId) {
+        TransactionConfig transactionConfig = transactionConfigRepository.get(entityId)
+                .orElseThrow(() -> exceptionFactory.createNoDataForEntityException(entityId));
+        if (!transactionConfig.isEnabled()) {
+            throw exceptionFactory.createDisabledTransactionException(entityId);
+        }
+
+        Collection<IdentityProviderConfig> identityProviders = identityProviderConfigRepository.getAllData();
+        Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance = new HashMap<>();
+
+        List<String> enabledForSignIn = entityIdsMatching(identityProviders, idpPredicateFactory.createPredicateForSignIn(entityId), identityProviderLevelsOfAssurance);
+
+        Map<LevelOfAssurance, List<String>> enabledForRegistration = new EnumMap<>(LevelOfAssurance.class);
+        for (LevelOfAssurance levelOfAssurance : LevelOfAssurance.values()) {
+            Predicate<IdentityProviderConfig> predicate = idpPredicateFactory.createPredicateForReceivingRegistrationResponse(entityId, levelOfAssurance);
+            enabledForRegistration.put(levelOfAssurance, entityIdsMatching(identityProviders, predicate, identityProviderLevelsOfAssurance));
+        }
+
+        String matchingServiceEntityId = transactionConfig.getMatchingServiceEntityId();
+        MatchingServiceConfigDto matchingService = matchingServiceEntityId == null ? null :
+                matchingServiceConfigRepository.get(matchingServiceEntityId)
+                        .map(MatchingServiceConfigDto::fromConfig)
+                        .orElse(null);
+
+        return new JourneyConfigDto(
+                entityId,
+                transactionConfig.isUsingMatching(),
+                matchingServiceEntityId,
+                matchingService,
+                enabledForSignIn,
+                enabledForRegistration,
+                identityProviderLevelsOfAssurance);
+    }
+
+    private List<String> entityIdsMatching(Collection<IdentityProviderConfig> identityProviders,
+                                           Predicate<IdentityProviderConfig> predicate,
+                                           Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance) {
+        List<IdentityProviderConfig> matching = identityProviders.stream()
+                .filter(predicate)
+                .collect(Collectors.toList());
+        matching.forEach(idp -> identityProviderLevelsOfAssurance.putIfAbsent(idp.getEntityId(), idp.getSupportedLevelsOfAssurance()));
+        return matching.stream()
+                .map(IdentityProviderConfig::getEntityId)
+                .collect(Collectors.toList());
+    }
+}
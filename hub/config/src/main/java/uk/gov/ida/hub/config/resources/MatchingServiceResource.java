@@ -5,6 +5,7 @@ import uk.gov.ida.hub.config.Urls;
 import uk.gov.ida.hub.config.data.ManagedEntityConfigRepository;
 import uk.gov.ida.hub.config.domain.MatchingServiceConfig;
 import uk.gov.ida.hub.config.dto.MatchingServiceConfigDto;
+import uk.gov.ida.hub.config.filters.ConfigVersioned;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
@@ -16,6 +17,7 @@ import java.util.Collection;
 
 import static java.util.stream.Collectors.toList;
 
+@ConfigVersioned
 @Path(Urls.ConfigUrls.MATCHING_SERVICE_ROOT)
 @Produces(MediaType.APPLICATION_JSON)
 public class MatchingServiceResource {
@@ -32,24 +34,14 @@ public class MatchingServiceResource {
     public MatchingServiceConfigDto getMatchingService(
             @PathParam(Urls.SharedUrls.ENTITY_ID_PARAM) String entityId) {
         MatchingServiceConfig config = matchingServiceConfigRepository.get(entityId).get();
-        return toMatchingServiceDto(config);
+        return MatchingServiceConfigDto.fromConfig(config);
     }
 
     @GET
     @Timed
     public Collection<MatchingServiceConfigDto> getMatchingServices() {
         return matchingServiceConfigRepository.getAll().stream()
-                .map(this::toMatchingServiceDto)
+                .map(MatchingServiceConfigDto::fromConfig)
                 .collect(toList());
     }
-
-    private MatchingServiceConfigDto toMatchingServiceDto(MatchingServiceConfig config) {
-        return new MatchingServiceConfigDto(
-                config.getEntityId(),
-                config.getUri(),
-                config.getEntityId(),
-                config.getHealthCheckEnabled(),
-                config.getOnboarding(),
-                config.getUserAccountCreationUri());
-    }
 }
@@ -13,6 +13,7 @@ import uk.gov.ida.hub.config.dto.ResourceLocationDto;
 import uk.gov.ida.hub.config.dto.TransactionDisplayData;
 import uk.gov.ida.hub.config.dto.TransactionSingleIdpData;
 import uk.gov.ida.hub.config.exceptions.ExceptionFactory;
+import uk.gov.ida.hub.config.filters.ConfigVersioned;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
@@ -28,6 +29,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+@ConfigVersioned
 @Path(Urls.ConfigUrls.TRANSACTIONS_ROOT)
 @Produces(MediaType.APPLICATION_JSON)
 public class TransactionsResource {
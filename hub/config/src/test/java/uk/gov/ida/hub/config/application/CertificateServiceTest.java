@@ -6,6 +6,7 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import org.junit.Before;
 import org.junit.Test;
+import org.joda.time.Duration;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -20,6 +21,7 @@ import uk.gov.ida.hub.config.domain.TransactionConfig;
 import uk.gov.ida.hub.config.dto.FederationEntityType;
 import uk.gov.ida.hub.config.exceptions.CertificateDisabledException;
 import uk.gov.ida.hub.config.exceptions.NoCertificateFoundException;
+import uk.gov.ida.hub.config.truststore.TrustStoreForCertificateProvider;
 import uk.gov.ida.saml.core.test.TestCertificateStrings;
 
 import java.util.ArrayList;
@@ -52,12 +54,17 @@ public class CertificateServiceTest {
 
     @Mock
     private CertificateValidityChecker certificateValidityChecker;
+
+    @Mock
+    private TrustStoreForCertificateProvider trustStoreForCertificateProvider;
+
     private CertificateService certificateService;
     private ListAppender<ILoggingEvent> logsListAppender = null;
 
     @Before
     public void createService() {
-        certificateService = new CertificateService(connectedServiceConfigRepository, matchingServiceConfigRepository, certificateValidityChecker);
+        certificateService = new CertificateService(connectedServiceConfigRepository, matchingServiceConfigRepository,
+                new CertificateValidityCache(certificateValidityChecker, trustStoreForCertificateProvider, Duration.standardMinutes(5)));
 
         Logger certificateServiceLogger = (Logger) LoggerFactory.getLogger(CertificateService.class);
         logsListAppender = new ListAppender<>();
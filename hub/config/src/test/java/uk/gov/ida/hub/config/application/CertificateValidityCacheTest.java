@@ -0,0 +1,92 @@
+package uk.gov.ida.hub.config.application;
+
+import org.joda.time.DateTime;
+import org.joda.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.ida.hub.config.domain.Certificate;
+import uk.gov.ida.hub.config.domain.CertificateOrigin;
+import uk.gov.ida.hub.config.domain.CertificateValidityChecker;
+import uk.gov.ida.hub.config.dto.FederationEntityType;
+import uk.gov.ida.hub.config.truststore.TrustStoreForCertificateProvider;
+
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CertificateValidityCacheTest {
+
+    @Mock
+    private CertificateValidityChecker certificateValidityChecker;
+
+    @Mock
+    private TrustStoreForCertificateProvider trustStoreForCertificateProvider;
+
+    @Mock
+    private Certificate certificate;
+
+    private CertificateValidityCache certificateValidityCache;
+
+    @Before
+    public void setUp() throws Exception {
+        certificateValidityCache = new CertificateValidityCache(certificateValidityChecker, trustStoreForCertificateProvider, Duration.standardMinutes(5));
+        when(certificate.getX509Certificate()).thenReturn(Optional.of(mock(X509Certificate.class)));
+        when(certificate.getFingerprint()).thenReturn("FINGERPRINT");
+        when(certificate.getCertificateOrigin()).thenReturn(CertificateOrigin.FEDERATION);
+        when(certificate.getFederationEntityType()).thenReturn(FederationEntityType.RP);
+        when(trustStoreForCertificateProvider.getTrustStoreFor(FederationEntityType.RP)).thenReturn(mock(KeyStore.class));
+        when(certificateValidityChecker.isValid(certificate)).thenReturn(true);
+    }
+
+    @Test
+    public void shouldReuseVerdictForSameCertificateAndTrustStore() {
+        when(certificate.getNotAfter()).thenReturn(DateTime.now().plusDays(1).toDate());
+
+        assertThat(certificateValidityCache.isValid(certificate)).isTrue();
+        assertThat(certificateValidityCache.isValid(certificate)).isTrue();
+
+        verify(certificateValidityChecker, times(1)).isValid(certificate);
+    }
+
+    @Test
+    public void shouldRevalidateWhenTrustStoreChanges() {
+        when(certificate.getNotAfter()).thenReturn(DateTime.now().plusDays(1).toDate());
+
+        certificateValidityCache.isValid(certificate);
+        when(trustStoreForCertificateProvider.getTrustStoreFor(FederationEntityType.RP)).thenReturn(mock(KeyStore.class));
+        certificateValidityCache.isValid(certificate);
+
+        verify(certificateValidityChecker, times(2)).isValid(certificate);
+    }
+
+    @Test
+    public void shouldNotServeVerdictPastCertificateNotAfter() {
+        when(certificate.getNotAfter()).thenReturn(DateTime.now().minusSeconds(1).toDate());
+
+        certificateValidityCache.isValid(certificate);
+        certificateValidityCache.isValid(certificate);
+
+        verify(certificateValidityChecker, times(2)).isValid(certificate);
+    }
+
+    @Test
+    public void shouldRevalidateAfterFlush() {
+        when(certificate.getNotAfter()).thenReturn(DateTime.now().plusDays(1).toDate());
+
+        certificateValidityCache.isValid(certificate);
+        certificateValidityCache.invalidateAll();
+        certificateValidityCache.isValid(certificate);
+
+        verify(certificateValidityChecker, times(2)).isValid(certificate);
+    }
+}
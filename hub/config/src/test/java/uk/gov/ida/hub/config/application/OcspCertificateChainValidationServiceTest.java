@@ -1,6 +1,9 @@
 package uk.gov.ida.hub.config.application;
 
+import io.dropwizard.util.Duration;
 import io.prometheus.client.Gauge;
+import org.joda.time.DateTime;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -12,10 +15,21 @@ import uk.gov.ida.hub.config.domain.OCSPCertificateChainValidityChecker;
 import uk.gov.ida.hub.config.dto.FederationEntityType;
 import uk.gov.ida.saml.core.test.TestCertificateStrings;
 
+import java.math.BigInteger;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OcspCertificateChainValidationServiceTest {
@@ -30,20 +44,31 @@ public class OcspCertificateChainValidationServiceTest {
     @Mock
     private CertificateService certificateService;
 
+    private final ExecutorService ocspExecutor = Executors.newCachedThreadPool();
+
+    private final Gauge ocspStatusGauge = Gauge.build("ocspStatusGauge", "whatever")
+            .labelNames("entity_id", "use", "subject", "fingerprint", "serial")
+            .create();
+    private final Gauge lastUpdatedGauge = Gauge.build("lastUpdatedGauge", "whatever")
+            .labelNames("entity_id", "use", "subject", "fingerprint", "serial")
+            .create();
+
+    @After
+    public void tearDown() {
+        ocspExecutor.shutdownNow();
+    }
+
     @Test
     public void gaugesAreUpdatedForCertsWithValidChains() throws Exception {
-        Gauge ocspStatusGauge = Gauge.build("ocspStatusGauge", "whatever")
-                .labelNames("entity_id", "use", "subject", "fingerprint", "serial")
-                .create();
-        Gauge lastUpdatedGauge = Gauge.build("lastUpdatedGauge", "whatever")
-                .labelNames("entity_id", "use", "subject", "fingerprint", "serial")
-                .create();
-
         OcspCertificateChainValidationService ocspCertificateChainValidationService = new OcspCertificateChainValidationService(
                 ocspCertificateChainValidityChecker,
                 certificateService,
                 ocspStatusGauge,
-                lastUpdatedGauge
+                lastUpdatedGauge,
+                ocspExecutor,
+                2,
+                Duration.seconds(5),
+                Duration.milliseconds(0)
         );
 
 
@@ -89,6 +114,104 @@ public class OcspCertificateChainValidationServiceTest {
         assertThat(getGaugeValue(lastUpdatedGauge, cert3)).isEqualTo(0);
     }
 
+    @Test
+    public void goodStatusesAreReusedUntilTheResultCacheExpires() throws Exception {
+        Certificate certificate = aMockCertificate("issuer", "FINGERPRINT");
+        when(certificateService.getAllCertificates()).thenReturn(Set.of(certificate));
+        when(ocspCertificateChainValidityChecker.isValid(certificate)).thenReturn(true);
+
+        OcspCertificateChainValidationService service = aService(Duration.seconds(5), Duration.hours(1));
+        service.run();
+        double firstCheckedAt = getGaugeValue(lastUpdatedGauge, certificate);
+        service.run();
+
+        verify(ocspCertificateChainValidityChecker, times(1)).isValid(certificate);
+        assertThat(getGaugeValue(ocspStatusGauge, certificate)).isEqualTo(1);
+        assertThat(getGaugeValue(lastUpdatedGauge, certificate)).isEqualTo(firstCheckedAt);
+    }
+
+    @Test
+    public void certificateSharedByEntitiesIsCheckedOnce() throws Exception {
+        Certificate certificate = aMockCertificate("issuer", "FINGERPRINT");
+        Certificate sameCertificateForAnotherEntity = aMockCertificate("other-issuer", "FINGERPRINT");
+        when(certificateService.getAllCertificates()).thenReturn(Set.of(certificate, sameCertificateForAnotherEntity));
+        when(ocspCertificateChainValidityChecker.isValid(any(Certificate.class))).thenReturn(true);
+
+        aService(Duration.seconds(5), Duration.milliseconds(0)).run();
+
+        verify(ocspCertificateChainValidityChecker, times(1)).isValid(any(Certificate.class));
+        assertThat(getGaugeValue(ocspStatusGauge, certificate)).isEqualTo(1);
+        assertThat(getGaugeValue(ocspStatusGauge, sameCertificateForAnotherEntity)).isEqualTo(1);
+    }
+
+    @Test
+    public void slowCheckDoesNotHoldUpOtherCertificates() throws Exception {
+        Certificate slowCertificate = aMockCertificate("slow-issuer", "SLOW");
+        Certificate certificate = aMockCertificate("issuer", "FINGERPRINT");
+        CountDownLatch slowResponder = new CountDownLatch(1);
+        when(certificateService.getAllCertificates()).thenReturn(Set.of(slowCertificate, certificate));
+        when(ocspCertificateChainValidityChecker.isValid(slowCertificate)).thenAnswer(invocation -> slowResponder.await(1, TimeUnit.MINUTES));
+        when(ocspCertificateChainValidityChecker.isValid(certificate)).thenReturn(true);
+
+        long start = System.nanoTime();
+        aService(2, Duration.milliseconds(200), Duration.milliseconds(0)).run();
+        slowResponder.countDown();
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(10);
+        assertThat(getGaugeValue(ocspStatusGauge, certificate)).isEqualTo(1);
+        assertThat(getGaugeValue(lastUpdatedGauge, slowCertificate)).isEqualTo(0);
+    }
+
+    @Test
+    public void timedOutCheckKeepsItsPermitUntilItFinishes() throws Exception {
+        Certificate slowCertificate = aMockCertificate("slow-issuer", "SLOW");
+        Certificate certificate = aMockCertificate("issuer", "FINGERPRINT");
+        CountDownLatch slowResponder = new CountDownLatch(1);
+        when(certificateService.getAllCertificates()).thenReturn(Set.of(slowCertificate), Set.of(certificate));
+        when(ocspCertificateChainValidityChecker.isValid(slowCertificate)).thenAnswer(invocation -> slowResponder.await(1, TimeUnit.MINUTES));
+        when(ocspCertificateChainValidityChecker.isValid(certificate)).thenReturn(true);
+        OcspCertificateChainValidationService service = aService(1, Duration.milliseconds(200), Duration.milliseconds(0));
+
+        service.run();
+        Thread nextRun = new Thread(service);
+        nextRun.start();
+
+        verify(ocspCertificateChainValidityChecker, after(500).never()).isValid(certificate);
+        slowResponder.countDown();
+        nextRun.join(TimeUnit.SECONDS.toMillis(10));
+        verify(ocspCertificateChainValidityChecker).isValid(certificate);
+        assertThat(getGaugeValue(ocspStatusGauge, certificate)).isEqualTo(1);
+    }
+
+    private OcspCertificateChainValidationService aService(Duration certificateTimeout, Duration resultCacheExpiry) {
+        return aService(1, certificateTimeout, resultCacheExpiry);
+    }
+
+    private OcspCertificateChainValidationService aService(int parallelism, Duration certificateTimeout, Duration resultCacheExpiry) {
+        return new OcspCertificateChainValidationService(
+                ocspCertificateChainValidityChecker,
+                certificateService,
+                ocspStatusGauge,
+                lastUpdatedGauge,
+                ocspExecutor,
+                parallelism,
+                certificateTimeout,
+                resultCacheExpiry);
+    }
+
+    private static Certificate aMockCertificate(String issuerEntityId, String fingerprint) throws Exception {
+        Certificate certificate = mock(Certificate.class, withSettings().lenient());
+        when(certificate.getIssuerEntityId()).thenReturn(issuerEntityId);
+        when(certificate.getCertificateUse()).thenReturn(CertificateUse.SIGNING);
+        when(certificate.getSubject()).thenReturn("CN=" + issuerEntityId);
+        when(certificate.getFingerprint()).thenReturn(fingerprint);
+        when(certificate.getSerialNumber()).thenReturn(BigInteger.ONE);
+        when(certificate.getFederationEntityType()).thenReturn(FederationEntityType.RP);
+        when(certificate.getCertificateOrigin()).thenReturn(CertificateOrigin.FEDERATION);
+        when(certificate.getNotAfter()).thenReturn(DateTime.now().plusDays(1).toDate());
+        return certificate;
+    }
+
     private static Certificate makeCertificate(String x509) {
         return new Certificate(
                 "issuerEntityId",
@@ -128,6 +128,54 @@ public class ConfigDataBootstrapTest {
     }
 
 
+    @Test
+    public void reload_shouldSwapInNewConfigOnlyWhenItIsValid() {
+        final MatchingServiceConfig matchingService = aMatchingServiceConfig().withEntityId(MATCHING_SERVICE_ENTITY_ID).build();
+        final TransactionConfig transaction = aTransactionConfigData().withEntityId("transaction-entity-id").withMatchingServiceEntityId(MATCHING_SERVICE_ENTITY_ID).build();
+        final TestConfigDataSource<IdentityProviderConfig> identityProviderDataSource = new TestConfigDataSource<>(anIdentityProviderConfigData().withEntityId("idp-entity-id").build());
+        final TestConfigDataSource<TransactionConfig> transactionDataSource = new TestConfigDataSource<>(transaction);
+        final LocalConfigData localConfigData = new LocalConfigData();
+        final LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository = new LocalConfigRepository<>(() -> localConfigData.snapshot().getIdentityProviders());
+        final LocalConfigRepository<TransactionConfig> transactionConfigRepository = new LocalConfigRepository<>(() -> localConfigData.snapshot().getTransactions());
+        final ConfigVersion configVersion = new ConfigVersion();
+
+        ConfigDataBootstrap configDataBootstrap = new ConfigDataBootstrap(
+                identityProviderDataSource,
+                new TestConfigDataSource<>(matchingService),
+                transactionDataSource,
+                new TestConfigDataSource<>(aTranslationData().withSimpleId("simple-id").build()),
+                localConfigData,
+                certificateChainConfigValidator,
+                levelsOfAssuranceConfigValidator,
+                configVersion);
+        configDataBootstrap.start();
+        String startedVersion = configVersion.get();
+
+        identityProviderDataSource.replace(anIdentityProviderConfigData().withEntityId("new-idp-entity-id").build());
+        transactionDataSource.replace(aTransactionConfigData().withEntityId("transaction-entity-id").withMatchingServiceEntityId(NON_EXISTENT_MATCHING_SERVICE_ENTITY_ID).build());
+        try {
+            configDataBootstrap.reload();
+            fail("Invalid config was reloaded.");
+        } catch (ConfigValidationException e) {
+            assertThat(identityProviderConfigRepository.containsKey("idp-entity-id")).isTrue();
+            assertThat(transactionConfigRepository.getData("transaction-entity-id")).contains(transaction);
+            assertThat(configVersion.get()).isEqualTo(startedVersion);
+        }
+
+        LocalConfigData.Snapshot beforeReload = localConfigData.snapshot();
+        transactionDataSource.replace(transaction);
+        configDataBootstrap.reload();
+
+        assertThat(beforeReload.getIdentityProviders()).containsOnlyKeys("idp-entity-id");
+        assertThat(localConfigData.snapshot().getIdentityProviders()).containsOnlyKeys("new-idp-entity-id");
+        assertThat(localConfigData.snapshot().getTransactions()).containsOnlyKeys("transaction-entity-id");
+        assertThat(identityProviderConfigRepository.containsKey("idp-entity-id")).isFalse();
+        assertThat(identityProviderConfigRepository.containsKey("new-idp-entity-id")).isTrue();
+        assertThat(configVersion.get()).isNotEqualTo(startedVersion);
+        assertThat(ConfigDataBootstrap.bootstrapDuration.labels("total").get()).isPositive();
+        assertThat(ConfigDataBootstrap.bootstrapDuration.labels("load_identity_providers").get()).isPositive();
+    }
+
     @Ignore
     public void continuesToStart_WhenCertificateCheckHasInvalidCertificates() {
         final String idpEntityId = "idp-entity-id";
@@ -165,12 +213,10 @@ public class ConfigDataBootstrapTest {
                 new TestConfigDataSource<>(matchingServiceConfigData),
                 new TestConfigDataSource<>(transactionConfigData),
                 new TestConfigDataSource<>(translationData),
-                new LocalConfigRepository<IdentityProviderConfig>(),
-                new LocalConfigRepository<MatchingServiceConfig>(),
-                new LocalConfigRepository<TransactionConfig>(),
-                new LocalConfigRepository<TranslationData>(),
+                new LocalConfigData(),
                 certificateChainConfigValidator,
-                levelsOfAssuranceConfigValidator);
+                levelsOfAssuranceConfigValidator,
+                new ConfigVersion());
     }
 
     private static class TestConfigDataSource<T> implements ConfigDataSource<T> {
@@ -181,9 +227,14 @@ public class ConfigDataBootstrapTest {
             Collections.addAll(configData, configDataItems);
         }
 
+        public void replace(T... configDataItems) {
+            configData.clear();
+            Collections.addAll(configData, configDataItems);
+        }
+
         @Override
-        public Collection<T> loadConfig() {
-            return configData;
+        public LoadedConfigData<T> loadConfig() {
+            return new LoadedConfigData<>(new ArrayList<>(configData), String.valueOf(configData.hashCode()));
         }
     }
 
@@ -0,0 +1,83 @@
+package uk.gov.ida.hub.config.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigVersionTest {
+
+    private final ConfigVersion configVersion = new ConfigVersion();
+    private final List<String> notified = new ArrayList<>();
+
+    @Test
+    public void shouldChangeVersionWhenLocalConfigChanges() {
+        String before = configVersion.get();
+
+        configVersion.localConfigLoaded("new-digest");
+
+        assertThat(configVersion.get()).isNotEqualTo(before);
+    }
+
+    @Test
+    public void shouldChangeVersionWhenRemoteConfigChanges() {
+        String before = configVersion.get();
+
+        configVersion.remoteConfigLoaded(new Date(1000));
+
+        assertThat(configVersion.get()).isNotEqualTo(before);
+    }
+
+    @Test
+    public void shouldReportTheSameVersionForTheSameConfig() {
+        ConfigVersion otherInstance = new ConfigVersion();
+
+        configVersion.localConfigLoaded("digest");
+        configVersion.remoteConfigLoaded(new Date(1000));
+        otherInstance.remoteConfigLoaded(new Date(1000));
+        otherInstance.localConfigLoaded("digest");
+
+        assertThat(otherInstance.get()).isEqualTo(configVersion.get());
+    }
+
+    @Test
+    public void shouldNotNotifyWhenTheSameConfigIsLoadedAgain() {
+        configVersion.localConfigLoaded("digest");
+        configVersion.onChange(configVersion.get(), notified::add);
+
+        configVersion.localConfigLoaded("digest");
+
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    public void shouldNotifyImmediatelyWhenVersionIsAlreadyDifferent() {
+        configVersion.onChange("some-old-version", notified::add);
+
+        assertThat(notified).containsExactly(configVersion.get());
+    }
+
+    @Test
+    public void shouldNotifyOnceWhenVersionChanges() {
+        configVersion.onChange(configVersion.get(), notified::add);
+        assertThat(notified).isEmpty();
+
+        configVersion.localConfigLoaded("first-digest");
+        configVersion.localConfigLoaded("second-digest");
+
+        assertThat(notified).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotNotifyAfterCancelling() {
+        Runnable cancel = configVersion.onChange(configVersion.get(), notified::add);
+
+        cancel.run();
+        configVersion.localConfigLoaded("new-digest");
+
+        assertThat(notified).isEmpty();
+    }
+}
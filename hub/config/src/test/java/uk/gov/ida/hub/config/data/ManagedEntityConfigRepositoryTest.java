@@ -15,6 +15,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Map;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -54,13 +55,15 @@ public class ManagedEntityConfigRepositoryTest {
             .withSelfService(false)
             .build();
 
+    private SelfServiceMetadata selfServiceMetadata;
+
     @Before
     public void setUp() throws Exception{
         URL url = this.getClass().getResource("/remote-test-config.json");
         File initialFile = new File(url.getFile());
         InputStream inputStream = new FileInputStream(initialFile);
         ObjectMapper om = new ObjectMapper();
-        SelfServiceMetadata selfServiceMetadata = om.readValue(inputStream, SelfServiceMetadata.class);
+        selfServiceMetadata = om.readValue(inputStream, SelfServiceMetadata.class);
         RemoteConfigCollection remoteConfigCollection = new RemoteConfigCollection(null, selfServiceMetadata);
         when(s3ConfigSource.getRemoteConfig()).thenReturn(remoteConfigCollection);
         when(localConfigRepository.getData(LOCAL_ONLY_ENTITY_ID)).thenReturn(Optional.of(localOnlyTransaction));
@@ -112,6 +115,41 @@ public class ManagedEntityConfigRepositoryTest {
         assertThat(result.get().getEncryptionCertificate().getCertificateOrigin()).isEqualTo(CertificateOrigin.SELFSERVICE);
     }
     
+    @Test
+    public void getReusesOverriddenConfigUntilRemoteConfigChanges() {
+        ManagedEntityConfigRepository<TransactionConfig> configRepo = new ManagedEntityConfigRepository<>(localConfigRepository, s3ConfigSource);
+        TransactionConfig first = configRepo.get(REMOTE_ENABLED_ENTITY_ID).get();
+        TransactionConfig second = configRepo.get(REMOTE_ENABLED_ENTITY_ID).get();
+
+        assertThat(second).isSameAs(first);
+
+        RemoteConfigCollection refreshedRemoteConfig = new RemoteConfigCollection(null, selfServiceMetadata);
+        when(s3ConfigSource.getRemoteConfig()).thenReturn(refreshedRemoteConfig);
+        TransactionConfig afterRefresh = configRepo.get(REMOTE_ENABLED_ENTITY_ID).get();
+
+        assertThat(afterRefresh).isNotSameAs(first);
+        assertThat(afterRefresh.getEncryptionCertificate().getBase64Encoded().get()).isEqualTo(REMOTE_CERT);
+    }
+
+    @Test
+    public void getRebuildsOverriddenConfigWhenLocalConfigIsReloaded() {
+        ManagedEntityConfigRepository<TransactionConfig> configRepo = new ManagedEntityConfigRepository<>(localConfigRepository, s3ConfigSource);
+        when(localConfigRepository.snapshot()).thenReturn(Map.of(REMOTE_ENABLED_ENTITY_ID, remoteEnabledTransaction));
+        TransactionConfig beforeReload = configRepo.get(REMOTE_ENABLED_ENTITY_ID).get();
+
+        TransactionConfig reloadedTransaction = aTransactionConfigData()
+                .withEntityId(REMOTE_ENABLED_ENTITY_ID)
+                .withSelfService(true)
+                .build();
+        when(localConfigRepository.snapshot()).thenReturn(Map.of(REMOTE_ENABLED_ENTITY_ID, reloadedTransaction));
+        when(localConfigRepository.getData(REMOTE_ENABLED_ENTITY_ID)).thenReturn(Optional.of(reloadedTransaction));
+        TransactionConfig afterReload = configRepo.get(REMOTE_ENABLED_ENTITY_ID).get();
+
+        assertThat(afterReload).isNotSameAs(beforeReload);
+        assertThat(configRepo.get(REMOTE_ENABLED_ENTITY_ID).get()).isSameAs(afterReload);
+        assertThat(afterReload.getEncryptionCertificate().getBase64Encoded().get()).isEqualTo(REMOTE_CERT);
+    }
+
     public void getThrowsAnExceptionWhenOverrideConfigIsWithoutEncryptionCertificate() {
         var configRepo = new ManagedEntityConfigRepository<>(localConfigRepository, s3ConfigSource);
         
@@ -8,6 +8,10 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 import uk.gov.ida.hub.config.dto.FederationEntityType;
 
+import javax.xml.bind.DatatypeConverter;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,4 +45,24 @@ public class CertificateTest {
         assertThat(logsList.isEmpty()).isTrue();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void sharesParsedCertificateBetweenCertificatesMadeFromTheSameString() {
+        Certificate certificate = new Certificate("entityId", FederationEntityType.RP, HUB_TEST_PUBLIC_SIGNING_CERT, CertificateUse.SIGNING, CertificateOrigin.FEDERATION, true);
+        Certificate sameCertificate = new Certificate("otherEntityId", FederationEntityType.IDP, HUB_TEST_PUBLIC_SIGNING_CERT, CertificateUse.ENCRYPTION, CertificateOrigin.SELFSERVICE, true);
+
+        assertThat(sameCertificate.getX509Certificate().get()).isSameAs(certificate.getX509Certificate().get());
+        assertThat(sameCertificate.getIssuerEntityId()).isEqualTo("otherEntityId");
+    }
+
+    @Test
+    public void precomputedMetadataMatchesTheX509Certificate() throws Exception {
+        Certificate certificate = new Certificate("entityId", FederationEntityType.RP, HUB_TEST_PUBLIC_SIGNING_CERT, CertificateUse.SIGNING, CertificateOrigin.FEDERATION, true);
+        X509Certificate x509 = certificate.getX509Certificate().get();
+
+        assertThat(certificate.getFingerprint()).isEqualTo(DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(x509.getEncoded())));
+        assertThat(certificate.getBase64Encoded()).contains(Base64.getEncoder().encodeToString(x509.getEncoded()));
+        assertThat(certificate.getSubject()).isEqualTo(x509.getSubjectDN().getName());
+        assertThat(certificate.getNotBefore()).isEqualTo(x509.getNotBefore());
+        assertThat(certificate.getNotAfter()).isEqualTo(x509.getNotAfter());
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.ida.hub.config.domain.filters;
+
+import org.joda.time.DateTime;
+import org.joda.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.ida.hub.config.data.LocalConfigRepository;
+import uk.gov.ida.hub.config.domain.IdentityProviderConfig;
+import uk.gov.ida.hub.config.domain.LevelOfAssurance;
+import uk.gov.ida.hub.config.domain.filters.IdpEligibilityIndex.Journey;
+import uk.gov.ida.shared.utils.datetime.DateTimeFreezer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.ida.hub.config.domain.builders.IdentityProviderConfigDataBuilder.anIdentityProviderConfigData;
+
+public class IdpEligibilityIndexTest {
+
+    private static final String TRANSACTION_ENTITY_ID = "transaction-entity-id";
+    private static final Duration SESSION_DURATION = Duration.standardMinutes(90);
+
+    private final DateTime now = DateTime.now();
+    private final IdentityProviderConfig connectedIdp = anIdentityProviderConfigData()
+            .withEntityId("connected-idp")
+            .withSupportedLevelsOfAssurance(List.of(LevelOfAssurance.LEVEL_2))
+            .build();
+    private final IdentityProviderConfig disconnectingIdp = anIdentityProviderConfigData()
+            .withEntityId("disconnecting-idp")
+            .withSupportedLevelsOfAssurance(List.of(LevelOfAssurance.LEVEL_2))
+            .withProvideRegistrationUntil(now.plusHours(1))
+            .build();
+    private final Map<String, IdentityProviderConfig> identityProviders = Map.of(
+            connectedIdp.getEntityId(), connectedIdp,
+            disconnectingIdp.getEntityId(), disconnectingIdp);
+    private final LocalConfigRepository<IdentityProviderConfig> identityProviderConfigRepository = new LocalConfigRepository<>(() -> identityProviders);
+    private final IdpEligibilityIndex index = new IdpEligibilityIndex(identityProviderConfigRepository, new IdpPredicateFactory(SESSION_DURATION), SESSION_DURATION);
+
+    @Before
+    public void setUp() {
+        DateTimeFreezer.freezeTime(now);
+    }
+
+    @After
+    public void tearDown() {
+        DateTimeFreezer.unfreezeTime();
+    }
+
+    @Test
+    public void shouldReturnTheSameIdpsAsFilteringEachTime() {
+        IdpPredicateFactory idpPredicateFactory = new IdpPredicateFactory(SESSION_DURATION);
+
+        assertThat(index.getEligibleIdps(Journey.SIGN_IN, TRANSACTION_ENTITY_ID, null))
+                .containsExactlyInAnyOrderElementsOf(filtered(idpPredicateFactory.createPredicateForSignIn(TRANSACTION_ENTITY_ID)));
+        assertThat(index.getEligibleIdps(Journey.REGISTRATION, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2))
+                .containsExactlyInAnyOrder(connectedIdp, disconnectingIdp);
+        assertThat(index.getEligibleIdps(Journey.REGISTRATION, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_1)).isEmpty();
+        assertThat(index.getEligibleIdps(Journey.DISCONNECTED_FOR_REGISTRATION, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2)).isEmpty();
+    }
+
+    @Test
+    public void shouldRebuildWhenARegistrationCutOffPasses() {
+        assertThat(index.getEligibleIdps(Journey.REGISTRATION, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2)).hasSize(2);
+
+        DateTimeFreezer.freezeTime(now.plusHours(1).plusMinutes(1));
+
+        assertThat(index.getEligibleIdps(Journey.REGISTRATION, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2)).containsExactly(connectedIdp);
+        assertThat(index.getEligibleIdps(Journey.DISCONNECTED_FOR_REGISTRATION, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2)).containsExactly(disconnectingIdp);
+        assertThat(index.getEligibleIdps(Journey.REGISTRATION_RESPONSE, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2)).hasSize(2);
+
+        DateTimeFreezer.freezeTime(now.plusHours(1).plus(SESSION_DURATION).plusMinutes(1));
+
+        assertThat(index.getEligibleIdps(Journey.REGISTRATION_RESPONSE, TRANSACTION_ENTITY_ID, LevelOfAssurance.LEVEL_2)).containsExactly(connectedIdp);
+    }
+
+    private List<IdentityProviderConfig> filtered(Predicate<IdentityProviderConfig> predicate) {
+        return identityProviderConfigRepository.stream().filter(predicate).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,92 @@
+package uk.gov.ida.integrationtest.hub.policy;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.joda.time.DateTime;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+import uk.gov.ida.hub.policy.PolicyModule;
+import uk.gov.ida.hub.policy.domain.SessionId;
+import uk.gov.ida.hub.policy.domain.State;
+import uk.gov.ida.hub.policy.domain.state.SessionStartedState;
+import uk.gov.ida.hub.policy.redis.SessionStateEncoding;
+import uk.gov.ida.hub.policy.redis.SessionStoreRedisCodec;
+import uk.gov.ida.hub.policy.session.RedisAsyncSessionStore;
+import uk.gov.ida.hub.policy.session.RedisSessionStore;
+import uk.gov.ida.integrationtest.hub.policy.apprule.support.RedisTestRule;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.ida.hub.policy.builder.domain.SessionIdBuilder.aSessionId;
+
+public class RedisAsyncSessionStoreIntegrationTest {
+
+    private static final int REDIS_PORT = 6383;
+
+    @ClassRule
+    public static ExternalResource redis = new RedisTestRule(REDIS_PORT);
+
+    private static RedisClient redisClient;
+    private static StatefulRedisConnection<SessionId, State> connection;
+    private static RedisSessionStore sessionStore;
+    private static RedisAsyncSessionStore asyncSessionStore;
+
+    @BeforeClass
+    public static void connect() {
+        redisClient = RedisClient.create();
+        connection = redisClient.connect(
+                new SessionStoreRedisCodec(PolicyModule.getRedisObjectMapper(), PolicyModule.getRedisSmileObjectMapper(), SessionStateEncoding.JSON),
+                new RedisURI("localhost", REDIS_PORT, Duration.ofSeconds(2)));
+        sessionStore = new RedisSessionStore(connection.sync(), 3600L);
+        asyncSessionStore = new RedisAsyncSessionStore(connection.async());
+    }
+
+    @AfterClass
+    public static void disconnect() {
+        connection.close();
+        redisClient.shutdown();
+    }
+
+    @Test
+    public void shouldReportWhetherASessionExists() throws Exception {
+        SessionId sessionId = aSessionId().build();
+
+        assertThat(asyncSessionStore.hasSession(sessionId).toCompletableFuture().get(2, TimeUnit.SECONDS)).isFalse();
+
+        sessionStore.insert(sessionId, aState(sessionId, "first-request"));
+
+        assertThat(asyncSessionStore.hasSession(sessionId).toCompletableFuture().get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldGetTheLatestStateOfASession() throws Exception {
+        SessionId sessionId = aSessionId().build();
+        sessionStore.insert(sessionId, aState(sessionId, "first-request"));
+
+        State inserted = asyncSessionStore.get(sessionId).toCompletableFuture().get(2, TimeUnit.SECONDS);
+        sessionStore.replace(sessionId, aState(sessionId, "second-request"));
+        State replaced = asyncSessionStore.get(sessionId).toCompletableFuture().get(2, TimeUnit.SECONDS);
+
+        assertThat(inserted.getRequestId()).isEqualTo("first-request");
+        assertThat(replaced.getRequestId()).isEqualTo("second-request");
+        assertThat(connection.sync().ttl(sessionId)).isPositive();
+    }
+
+    @Test
+    public void shouldGetNothingForAMissingSession() throws Exception {
+        assertThat(asyncSessionStore.get(aSessionId().build()).toCompletableFuture().get(2, TimeUnit.SECONDS)).isNull();
+    }
+
+    private static State aState(SessionId sessionId, String requestId) {
+        return new SessionStartedState(
+                requestId, "a-relay-state", "a-request-issuer", URI.create("/an-endpoint"), false,
+                DateTime.now().plusMinutes(5), sessionId);
+    }
+}
@@ -7,6 +7,7 @@ import uk.gov.ida.common.ErrorStatusDto;
 import uk.gov.ida.common.ExceptionType;
 import uk.gov.ida.hub.policy.Urls;
 import uk.gov.ida.hub.policy.builder.domain.IdpConfigDtoBuilder;
+import uk.gov.ida.hub.policy.contracts.JourneyConfigDto;
 import uk.gov.ida.hub.policy.contracts.MatchingServiceConfigEntityDataDto;
 import uk.gov.ida.hub.policy.domain.IdpConfigDto;
 import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
@@ -18,8 +19,12 @@ import uk.gov.ida.shared.utils.string.StringEncoding;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -31,6 +36,13 @@ import static java.util.Arrays.asList;
 public class ConfigStubRule extends HttpStubRule {
 
     private final int OK = Response.Status.OK.getStatusCode();
+    private final Map<String, JourneyConfigStub> journeyConfigs = new HashMap<>();
+
+    @Override
+    public void reset() {
+        super.reset();
+        journeyConfigs.clear();
+    }
 
     public void setupStubForEnabledIdps(String transactionEntityId, boolean registering, LevelOfAssurance supportedLoa, Collection<String> enabledIdps) throws JsonProcessingException {
         setupStubForEnabledIdps(transactionEntityId, registering, supportedLoa, enabledIdps, enabledIdps);
@@ -48,6 +60,15 @@ public class ConfigStubRule extends HttpStubRule {
         }
 
         setupStubForIdpConfig(allIdps, supportedLoa);
+
+        JourneyConfigStub journeyConfig = journeyConfigFor(transactionEntityId);
+        if (registering) {
+            journeyConfig.enabledIdentityProvidersForRegistration.put(supportedLoa, new ArrayList<>(enabledIdpsForResponseProcessing));
+        } else {
+            journeyConfig.enabledIdentityProvidersForSignIn = new ArrayList<>(allIdps);
+        }
+        allIdps.forEach(idpEntityId -> journeyConfig.identityProviderLevelsOfAssurance.put(idpEntityId, List.of(supportedLoa)));
+        registerJourneyConfig(transactionEntityId);
     }
 
     public void setUpStubForAssertionConsumerServiceUri(String entityId) throws JsonProcessingException {
@@ -109,6 +130,12 @@ public class ConfigStubRule extends HttpStubRule {
         MatchingServiceConfigEntityDataDto matchingServiceUri = new MatchingServiceConfigEntityDataDto(matchingServiceEntityId, URI.create("matchingServiceUri"), rpEntityId, false, isOnboarding, null);
 
         register(msaUri, OK, matchingServiceUri);
+
+        JourneyConfigStub journeyConfig = journeyConfigFor(rpEntityId);
+        journeyConfig.usingMatching = true;
+        journeyConfig.matchingServiceEntityId = matchingServiceEntityId;
+        journeyConfig.matchingService = matchingServiceUri;
+        registerJourneyConfig(rpEntityId);
     }
 
     public void setUpStubForNonMatchingServiceRequest(String rpEntityId) throws JsonProcessingException {
@@ -119,6 +146,9 @@ public class ConfigStubRule extends HttpStubRule {
                 .getPath();
 
         register(isUsingMatchingUri, OK, ContentType.APPLICATION_JSON.toString(), "false");
+
+        journeyConfigFor(rpEntityId).usingMatching = false;
+        registerJourneyConfig(rpEntityId);
     }
 
     public void setUpStubForMatchingServiceEntityId(String rpEntityId, String matchingServiceEntityId) throws JsonProcessingException {
@@ -126,6 +156,9 @@ public class ConfigStubRule extends HttpStubRule {
             .build(StringEncoding.urlEncode(rpEntityId).replace("+", "%20"))
             .getPath();
         register(uri, OK, ContentType.TEXT_PLAIN.toString(), matchingServiceEntityId);
+
+        journeyConfigFor(rpEntityId).matchingServiceEntityId = matchingServiceEntityId;
+        registerJourneyConfig(rpEntityId);
     }
 
 
@@ -174,4 +207,32 @@ public class ConfigStubRule extends HttpStubRule {
             register(UriBuilder.fromPath(Urls.ConfigUrls.IDENTITY_PROVIDER_CONFIG_DATA_RESOURCE).build(idpEntityId).getPath(), OK, IdpConfigDtoBuilder.anIdpConfigDto().withLevelsOfAssurance(supportedLoa).build());
         }
     }
+
+    private JourneyConfigStub journeyConfigFor(String transactionEntityId) {
+        return journeyConfigs.computeIfAbsent(transactionEntityId, entityId -> new JourneyConfigStub());
+    }
+
+    private void registerJourneyConfig(String transactionEntityId) throws JsonProcessingException {
+        JourneyConfigStub journeyConfig = journeyConfigFor(transactionEntityId);
+        String uri = UriBuilder.fromPath(Urls.ConfigUrls.JOURNEY_CONFIG_RESOURCE)
+            .buildFromEncoded(StringEncoding.urlEncode(transactionEntityId))
+            .getPath();
+        register(uri, OK, new JourneyConfigDto(
+            transactionEntityId,
+            journeyConfig.usingMatching,
+            journeyConfig.matchingServiceEntityId,
+            journeyConfig.matchingService,
+            journeyConfig.enabledIdentityProvidersForSignIn,
+            journeyConfig.enabledIdentityProvidersForRegistration,
+            journeyConfig.identityProviderLevelsOfAssurance));
+    }
+
+    private static class JourneyConfigStub {
+        private boolean usingMatching;
+        private String matchingServiceEntityId;
+        private MatchingServiceConfigEntityDataDto matchingService;
+        private List<String> enabledIdentityProvidersForSignIn = new ArrayList<>();
+        private final Map<LevelOfAssurance, List<String>> enabledIdentityProvidersForRegistration = new EnumMap<>(LevelOfAssurance.class);
+        private final Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance = new HashMap<>();
+    }
 }
@@ -15,6 +15,7 @@ import uk.gov.ida.hub.policy.PolicyModule;
 import uk.gov.ida.hub.policy.configuration.PolicyConfiguration;
 import uk.gov.ida.hub.policy.domain.SessionId;
 import uk.gov.ida.hub.policy.domain.State;
+import uk.gov.ida.hub.policy.redis.SessionStateEncoding;
 import uk.gov.ida.hub.policy.redis.SessionStoreRedisCodec;
 import uk.gov.ida.hub.policy.session.RedisSessionStore;
 
@@ -43,6 +44,16 @@ public class PolicyAppRule extends DropwizardAppRule<PolicyConfiguration> {
                 config("clientTrustStoreConfiguration.path", clientTrustStore.getAbsolutePath()),
                 config("clientTrustStoreConfiguration.password", clientTrustStore.getPassword()),
                 config("eventEmitterConfiguration.enabled", "false"),
+                config("configProxyCache.assertionConsumerServiceUri", "0ms"),
+                config("configProxyCache.levelsOfAssurance", "0ms"),
+                config("configProxyCache.matchingProcess", "0ms"),
+                config("configProxyCache.usingMatching", "0ms"),
+                config("configProxyCache.matchingServiceEntityId", "0ms"),
+                config("configProxyCache.userAccountCreationAttributes", "0ms"),
+                config("configProxyCache.enabledIdentityProviders", "0ms"),
+                config("configProxyCache.identityProviderConfig", "0ms"),
+                config("configProxyCache.matchingService", "0ms"),
+                config("configProxyCache.journeyConfig", "0ms"),
                 config("sessionStore.redis.uri", "redis://localhost:" + REDIS_PORT)));
 
         if (configOverrides != null) {
@@ -76,7 +87,7 @@ public class PolicyAppRule extends DropwizardAppRule<PolicyConfiguration> {
     }
 
     public <T extends State> T getSessionState(SessionId sessionId, Class<T> stateClazz) {
-        StatefulRedisConnection<SessionId, State> redisConnection = RedisClient.create().connect(new SessionStoreRedisCodec(PolicyModule.getRedisObjectMapper()), new RedisURI("localhost", REDIS_PORT, Duration.ofSeconds(2)));
+        StatefulRedisConnection<SessionId, State> redisConnection = RedisClient.create().connect(new SessionStoreRedisCodec(PolicyModule.getRedisObjectMapper(), PolicyModule.getRedisSmileObjectMapper(), SessionStateEncoding.JSON), new RedisURI("localhost", REDIS_PORT, Duration.ofSeconds(2)));
         RedisSessionStore redisSessionStore = new RedisSessionStore(redisConnection.sync(), 3600L);
         return stateClazz.cast(redisSessionStore.get(sessionId));
     }
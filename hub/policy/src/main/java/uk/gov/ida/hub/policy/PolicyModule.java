@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
@@ -13,8 +14,10 @@ import com.google.inject.Scopes;
 import io.dropwizard.setup.Environment;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.masterslave.MasterSlave;
 import io.lettuce.core.masterslave.StatefulRedisMasterSlaveConnection;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import uk.gov.ida.common.ServiceInfoConfiguration;
 import uk.gov.ida.common.shared.security.IdGenerator;
 import uk.gov.ida.eventemitter.Configuration;
@@ -22,6 +25,7 @@ import uk.gov.ida.hub.policy.annotations.Config;
 import uk.gov.ida.hub.policy.annotations.SamlEngine;
 import uk.gov.ida.hub.policy.annotations.SamlSoapProxy;
 import uk.gov.ida.hub.policy.configuration.AssertionLifetimeConfiguration;
+import uk.gov.ida.hub.policy.configuration.NearCacheConfiguration;
 import uk.gov.ida.hub.policy.configuration.PolicyConfiguration;
 import uk.gov.ida.hub.policy.configuration.RedisConfiguration;
 import uk.gov.ida.hub.policy.controllogic.AuthnRequestFromTransactionHandler;
@@ -35,6 +39,7 @@ import uk.gov.ida.hub.policy.domain.controller.StateControllerFactory;
 import uk.gov.ida.hub.policy.factories.SamlAuthnResponseTranslatorDtoFactory;
 import uk.gov.ida.hub.policy.logging.HubEventLogger;
 import uk.gov.ida.hub.policy.proxy.IdentityProvidersConfigProxy;
+import uk.gov.ida.hub.policy.proxy.JourneyConfigProxy;
 import uk.gov.ida.hub.policy.proxy.MatchingServiceConfigProxy;
 import uk.gov.ida.hub.policy.proxy.SamlEngineProxy;
 import uk.gov.ida.hub.policy.proxy.SamlSoapProxyProxy;
@@ -45,8 +50,14 @@ import uk.gov.ida.hub.policy.services.AuthnResponseFromIdpService;
 import uk.gov.ida.hub.policy.services.Cycle3Service;
 import uk.gov.ida.hub.policy.services.MatchingServiceResponseService;
 import uk.gov.ida.hub.policy.services.SessionService;
+import uk.gov.ida.hub.policy.session.AsyncSessionStore;
+import uk.gov.ida.hub.policy.session.NearCachingSessionStore;
+import uk.gov.ida.hub.policy.session.RedisAsyncSessionStore;
 import uk.gov.ida.hub.policy.session.RedisSessionStore;
 import uk.gov.ida.hub.policy.session.SessionStore;
+import uk.gov.ida.hub.policy.session.SessionStoreKeyspaceListener;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
+import uk.gov.ida.hub.shared.eventsink.AsyncEventSinkProxy;
 import uk.gov.ida.hub.shared.eventsink.EventSinkHttpProxy;
 import uk.gov.ida.hub.shared.eventsink.EventSinkProxy;
 import uk.gov.ida.jerseyclient.DefaultClientProvider;
@@ -64,6 +75,7 @@ import javax.inject.Singleton;
 import javax.ws.rs.client.Client;
 import java.net.URI;
 import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
 
 import static java.util.Collections.singletonList;
 
@@ -94,6 +106,7 @@ public class PolicyModule extends AbstractModule {
         bind(ResponseFromHubFactory.class);
         bind(AssertionRestrictionsFactory.class);
         bind(MatchingServiceConfigProxy.class);
+        bind(JourneyConfigProxy.class);
         bind(Cycle3Service.class);
         bind(MatchingServiceResponseService.class);
         bind(ResponseFromIdpHandler.class);
@@ -138,25 +151,72 @@ public class PolicyModule extends AbstractModule {
 
     @Provides
     @Singleton
-    public SessionStore getSessionStore(PolicyConfiguration configuration) {
-        return getRedisSessionStore(
-                configuration.getSessionStoreConfiguration().getRedisConfiguration());
+    public RedisClient getSessionStoreRedisClient(PolicyConfiguration configuration) {
+        RedisClient redisClient = RedisClient.create();
+        redisClient.setDefaultTimeout(configuration.getSessionStoreConfiguration().getRedisConfiguration().getTimeout());
+        return redisClient;
     }
 
-    private RedisSessionStore getRedisSessionStore(RedisConfiguration config) {
-        RedisClient redisClient = RedisClient.create();
-        redisClient.setDefaultTimeout(config.getTimeout());
-        StatefulRedisMasterSlaveConnection<SessionId, State> redisConnection = MasterSlave.connect(
+    @Provides
+    @Singleton
+    public StatefulRedisMasterSlaveConnection<SessionId, State> getSessionStoreRedisConnection(RedisClient redisClient, PolicyConfiguration configuration) {
+        RedisConfiguration config = configuration.getSessionStoreConfiguration().getRedisConfiguration();
+        return MasterSlave.connect(
                 redisClient,
-                new SessionStoreRedisCodec(getRedisObjectMapper()),
+                new SessionStoreRedisCodec(getRedisObjectMapper(), getRedisSmileObjectMapper(), config.getEncoding()),
                 singletonList(config.getUri())
         );
+    }
+
+    @Provides
+    @Singleton
+    public SessionStore getSessionStore(RedisClient redisClient, StatefulRedisMasterSlaveConnection<SessionId, State> redisConnection, PolicyConfiguration configuration) {
+        RedisConfiguration redisConfig = configuration.getSessionStoreConfiguration().getRedisConfiguration();
+        NearCacheConfiguration nearCacheConfig = configuration.getSessionStoreConfiguration().getNearCacheConfiguration();
         RedisCommands<SessionId, State> redisCommands = redisConnection.sync();
-        return new RedisSessionStore(redisCommands, config.getRecordTTL());
+        RedisSessionStore redisSessionStore = new RedisSessionStore(redisCommands, redisConfig.getRecordTTL());
+        if (!nearCacheConfig.isEnabled()) {
+            return redisSessionStore;
+        }
+
+        NearCachingSessionStore nearCachingSessionStore = new NearCachingSessionStore(
+                redisSessionStore,
+                nearCacheConfig.getMaximumSize(),
+                nearCacheConfig.getExpireAfterWrite());
+        StatefulRedisPubSubConnection<String, String> pubSubConnection = redisClient.connectPubSub(StringCodec.UTF8, redisConfig.getUri());
+        pubSubConnection.addListener(new SessionStoreKeyspaceListener(nearCachingSessionStore));
+        pubSubConnection.sync().psubscribe(SessionStoreKeyspaceListener.keyspaceChannelPattern(redisConfig.getUri().getDatabase()));
+        return nearCachingSessionStore;
+    }
+
+    @Provides
+    @Singleton
+    public AsyncSessionStore getAsyncSessionStore(StatefulRedisMasterSlaveConnection<SessionId, State> redisConnection) {
+        return new RedisAsyncSessionStore(redisConnection.async());
+    }
+
+    @Provides
+    @Singleton
+    @Named("AsyncSessionResponseExecutor")
+    public ExecutorService getAsyncSessionResponseExecutor(PolicyConfiguration configuration, Environment environment) {
+        int threads = configuration.getSessionStoreConfiguration().getRedisConfiguration().getAsyncResponseThreads();
+        return environment.lifecycle()
+                .executorService("async-session-response-%d")
+                .minThreads(threads)
+                .maxThreads(threads)
+                .build();
     }
 
     public static ObjectMapper getRedisObjectMapper() {
-        return new ObjectMapper()
+        return configureRedisObjectMapper(new ObjectMapper());
+    }
+
+    public static ObjectMapper getRedisSmileObjectMapper() {
+        return configureRedisObjectMapper(new ObjectMapper(new SmileFactory()));
+    }
+
+    private static ObjectMapper configureRedisObjectMapper(ObjectMapper objectMapper) {
+        return objectMapper
                 .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.NONE)
                 .setVisibility(PropertyAccessor.SETTER, JsonAutoDetect.Visibility.NONE)
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
@@ -184,12 +244,28 @@ public class PolicyModule extends AbstractModule {
        return policyConfiguration.getConfigUri();
     }
 
+    @Provides
+    @Singleton
+    public ConfigChangeFeed configChangeFeed(JsonClient jsonClient, PolicyConfiguration policyConfiguration, Environment environment) {
+        ConfigChangeFeed configChangeFeed = new ConfigChangeFeed(jsonClient, policyConfiguration.getConfigUri(), policyConfiguration.getConfigChangeFeed());
+        if (policyConfiguration.getConfigChangeFeed().isEnabled()) {
+            environment.lifecycle().manage(configChangeFeed);
+        }
+        return configChangeFeed;
+    }
+
     @Provides
     @Singleton
     public EventSinkProxy eventSinkProxy(JsonClient jsonClient, PolicyConfiguration policyConfiguration, Environment environment) {
         URI eventSinkUri = policyConfiguration.getEventSinkUri();
         if (eventSinkUri != null) {
-            return new EventSinkHttpProxy(jsonClient, eventSinkUri, environment);
+            EventSinkHttpProxy eventSinkHttpProxy = new EventSinkHttpProxy(jsonClient, eventSinkUri, environment);
+            if (policyConfiguration.getAsyncEventSink().isEnabled()) {
+                AsyncEventSinkProxy asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, policyConfiguration.getAsyncEventSink());
+                environment.lifecycle().manage(asyncEventSinkProxy);
+                return asyncEventSinkProxy;
+            }
+            return eventSinkHttpProxy;
         }
         return event -> {};
     }
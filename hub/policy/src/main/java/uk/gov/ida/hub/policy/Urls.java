@@ -139,6 +139,9 @@ public interface Urls {
 
         String MATCHING_ENABLED_FOR_TRANSACTION_PATH = ENTITY_ID_PATH_PARAM + "/matching-enabled";
         String MATCHING_ENABLED_FOR_TRANSACTION_RESOURCE = TRANSACTIONS_ROOT + MATCHING_ENABLED_FOR_TRANSACTION_PATH;
+
+        String JOURNEY_CONFIG_ROOT = CONFIG_ROOT + "/journey-config";
+        String JOURNEY_CONFIG_RESOURCE = JOURNEY_CONFIG_ROOT + ENTITY_ID_PATH_PARAM;
     }
 
     interface FrontendUrls {
@@ -0,0 +1,116 @@
+package uk.gov.ida.hub.policy.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+/**
+ * How long policy's config proxies use a cached config value before reloading it in the
+ * background. A duration of zero turns caching off for that endpoint.
+ *
+ * A cached value is never served for longer than maximumStaleness, even if config can't be
+ * reached to reload it.
+ */
+public class ConfigProxyCacheConfiguration {
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration maximumStaleness = Duration.minutes(30);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration assertionConsumerServiceUri = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration levelsOfAssurance = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration matchingProcess = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration usingMatching = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration matchingServiceEntityId = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration userAccountCreationAttributes = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration enabledIdentityProviders = Duration.minutes(1);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration identityProviderConfig = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration matchingService = Duration.minutes(5);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration journeyConfig = Duration.minutes(1);
+
+    public Duration getMaximumStaleness() {
+        return maximumStaleness;
+    }
+
+    public Duration getAssertionConsumerServiceUri() {
+        return assertionConsumerServiceUri;
+    }
+
+    public Duration getLevelsOfAssurance() {
+        return levelsOfAssurance;
+    }
+
+    public Duration getMatchingProcess() {
+        return matchingProcess;
+    }
+
+    public Duration getUsingMatching() {
+        return usingMatching;
+    }
+
+    public Duration getMatchingServiceEntityId() {
+        return matchingServiceEntityId;
+    }
+
+    public Duration getUserAccountCreationAttributes() {
+        return userAccountCreationAttributes;
+    }
+
+    public Duration getEnabledIdentityProviders() {
+        return enabledIdentityProviders;
+    }
+
+    public Duration getIdentityProviderConfig() {
+        return identityProviderConfig;
+    }
+
+    public Duration getMatchingService() {
+        return matchingService;
+    }
+
+    public Duration getJourneyConfig() {
+        return journeyConfig;
+    }
+}
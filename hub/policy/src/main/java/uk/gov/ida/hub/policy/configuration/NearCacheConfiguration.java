@@ -0,0 +1,43 @@
+package uk.gov.ida.hub.policy.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import java.time.Duration;
+
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+/**
+ * Configures the optional in-process cache of session states in front of Redis.
+ *
+ * The cache is invalidated by Redis keyspace notifications, so the Redis server must be
+ * configured with notify-keyspace-events including at least "Kg$x".
+ */
+public class NearCacheConfiguration {
+
+    @Valid
+    @JsonProperty
+    private boolean enabled = false;
+
+    @Valid
+    @Min(1)
+    @JsonProperty
+    private long maximumSize = 10_000;
+
+    @Valid
+    @JsonProperty
+    private Duration expireAfterWrite = Duration.of(10, SECONDS);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+}
@@ -8,6 +8,8 @@ import io.dropwizard.client.JerseyClientConfiguration;
 import io.dropwizard.util.Duration;
 import uk.gov.ida.common.ServiceInfoConfiguration;
 import uk.gov.ida.configuration.ServiceNameConfiguration;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeedConfiguration;
+import uk.gov.ida.hub.shared.eventsink.AsyncEventSinkConfiguration;
 import uk.gov.ida.restclient.RestfulClientConfiguration;
 import uk.gov.ida.truststore.ClientTrustStoreConfiguration;
 
@@ -57,6 +59,11 @@ public class PolicyConfiguration extends Configuration implements RestfulClientC
     @JsonProperty
     public URI eventSinkUri;
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    public AsyncEventSinkConfiguration asyncEventSink = new AsyncEventSinkConfiguration();
+
     @Valid
     @NotNull
     @JsonProperty
@@ -86,6 +93,16 @@ public class PolicyConfiguration extends Configuration implements RestfulClientC
     @JsonProperty
     public EventEmitterConfiguration eventEmitterConfiguration;
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected ConfigProxyCacheConfiguration configProxyCache = new ConfigProxyCacheConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected ConfigChangeFeedConfiguration configChangeFeed = new ConfigChangeFeedConfiguration();
+
     protected PolicyConfiguration() {}
 
     public URI getSamlSoapProxyUri() { return samlSoapProxyUri;  }
@@ -116,6 +133,18 @@ public class PolicyConfiguration extends Configuration implements RestfulClientC
         return eventSinkUri;
     }
 
+    public AsyncEventSinkConfiguration getAsyncEventSink() {
+        return asyncEventSink;
+    }
+
+    public ConfigProxyCacheConfiguration getConfigProxyCache() {
+        return configProxyCache;
+    }
+
+    public ConfigChangeFeedConfiguration getConfigChangeFeed() {
+        return configChangeFeed;
+    }
+
     public URI getSamlEngineUri() {
         return samlEngineUri;
     }
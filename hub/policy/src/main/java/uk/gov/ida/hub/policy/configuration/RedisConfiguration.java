@@ -2,8 +2,10 @@ package uk.gov.ida.hub.policy.configuration;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.lettuce.core.RedisURI;
+import uk.gov.ida.hub.policy.redis.SessionStateEncoding;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import java.net.URI;
 import java.time.Duration;
 
@@ -24,6 +26,17 @@ public class RedisConfiguration {
     @JsonProperty
     private Duration timeout = Duration.of(20L, SECONDS);
 
+    @JsonProperty
+    private SessionStateEncoding encoding = SessionStateEncoding.JSON;
+
+    /**
+     * Threads that finish asynchronous session lookups, so that responses aren't written on the
+     * Redis connection's event loop.
+     */
+    @Min(1)
+    @JsonProperty
+    private int asyncResponseThreads = 8;
+
     public Long getRecordTTL() {
         return recordTTL.getSeconds();
     }
@@ -35,4 +48,12 @@ public class RedisConfiguration {
     public Duration getTimeout() {
         return timeout;
     }
+
+    public SessionStateEncoding getEncoding() {
+        return encoding;
+    }
+
+    public int getAsyncResponseThreads() {
+        return asyncResponseThreads;
+    }
 }
@@ -7,7 +7,14 @@ public class SessionStoreConfiguration {
     @JsonProperty
     private RedisConfiguration redis;
 
+    @JsonProperty
+    private NearCacheConfiguration nearCache = new NearCacheConfiguration();
+
     public RedisConfiguration getRedisConfiguration() {
         return redis;
     }
+
+    public NearCacheConfiguration getNearCacheConfiguration() {
+        return nearCache;
+    }
 }
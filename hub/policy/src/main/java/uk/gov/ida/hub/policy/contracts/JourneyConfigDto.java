@@ -0,0 +1,68 @@
+package uk.gov.ida.hub.policy.contracts;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
+
+import java.util.List;
+import java.util.Map;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JourneyConfigDto {
+
+    private String transactionEntityId;
+    private boolean usingMatching;
+    private String matchingServiceEntityId;
+    private MatchingServiceConfigEntityDataDto matchingService;
+    private List<String> enabledIdentityProvidersForSignIn;
+    private Map<LevelOfAssurance, List<String>> enabledIdentityProvidersForRegistration;
+    private Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance;
+
+    @SuppressWarnings("unused")
+    private JourneyConfigDto() {
+    }
+
+    public JourneyConfigDto(
+            String transactionEntityId,
+            boolean usingMatching,
+            String matchingServiceEntityId,
+            MatchingServiceConfigEntityDataDto matchingService,
+            List<String> enabledIdentityProvidersForSignIn,
+            Map<LevelOfAssurance, List<String>> enabledIdentityProvidersForRegistration,
+            Map<String, List<LevelOfAssurance>> identityProviderLevelsOfAssurance) {
+        this.transactionEntityId = transactionEntityId;
+        this.usingMatching = usingMatching;
+        this.matchingServiceEntityId = matchingServiceEntityId;
+        this.matchingService = matchingService;
+        this.enabledIdentityProvidersForSignIn = enabledIdentityProvidersForSignIn;
+        this.enabledIdentityProvidersForRegistration = enabledIdentityProvidersForRegistration;
+        this.identityProviderLevelsOfAssurance = identityProviderLevelsOfAssurance;
+    }
+
+    public String getTransactionEntityId() {
+        return transactionEntityId;
+    }
+
+    public boolean isUsingMatching() {
+        return usingMatching;
+    }
+
+    public String getMatchingServiceEntityId() {
+        return matchingServiceEntityId;
+    }
+
+    public MatchingServiceConfigEntityDataDto getMatchingService() {
+        return matchingService;
+    }
+
+    public List<String> getEnabledIdentityProvidersForSignIn() {
+        return enabledIdentityProvidersForSignIn;
+    }
+
+    public Map<LevelOfAssurance, List<String>> getEnabledIdentityProvidersForRegistration() {
+        return enabledIdentityProvidersForRegistration;
+    }
+
+    public Map<String, List<LevelOfAssurance>> getIdentityProviderLevelsOfAssurance() {
+        return identityProviderLevelsOfAssurance;
+    }
+}
@@ -16,10 +16,12 @@ import uk.gov.ida.hub.policy.domain.state.TimeoutState;
 import uk.gov.ida.hub.policy.domain.state.UserAccountCreatedState;
 import uk.gov.ida.hub.policy.exception.InvalidSessionStateException;
 import uk.gov.ida.hub.policy.exception.SessionTimeoutException;
+import uk.gov.ida.hub.policy.session.AsyncSessionStore;
 import uk.gov.ida.hub.policy.session.SessionStore;
 
 import javax.inject.Inject;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 import static java.text.MessageFormat.format;
 
@@ -28,13 +30,16 @@ public class SessionRepository {
     private static final Logger LOG = LoggerFactory.getLogger(SessionRepository.class);
 
     private final SessionStore dataStore;
+    private final AsyncSessionStore asyncDataStore;
     private final StateControllerFactory controllerFactory;
 
     @Inject
     public SessionRepository(
             SessionStore dataStore,
+            AsyncSessionStore asyncDataStore,
             StateControllerFactory controllerFactory) {
         this.dataStore = dataStore;
+        this.asyncDataStore = asyncDataStore;
         this.controllerFactory = controllerFactory;
     }
 
@@ -52,8 +57,6 @@ public class SessionRepository {
             final SessionId sessionId,
             final Class<T> expectedStateClass) {
 
-        validateSessionExists(sessionId);
-
         State currentState = getCurrentState(sessionId);
         Class<? extends State> currentStateClass = currentState.getClass();
 
@@ -71,11 +74,25 @@ public class SessionRepository {
         return dataStore.hasSession(sessionId);
     }
 
+    public CompletionStage<Boolean> sessionExistsAsync(SessionId sessionId) {
+        return asyncDataStore.hasSession(sessionId);
+    }
+
     @Timed(name =Urls.SESSION_REPO_TIMED_GROUP)
     public Optional<LevelOfAssurance> getLevelOfAssuranceFromIdp(SessionId sessionId){
+        return getLevelOfAssuranceFromIdp(getCurrentState(sessionId));
+    }
 
-        State currentState = getCurrentState(sessionId);
+    public CompletionStage<Optional<LevelOfAssurance>> getLevelOfAssuranceFromIdpAsync(SessionId sessionId) {
+        return asyncDataStore.get(sessionId).thenApply(currentState -> {
+            if (currentState == null) {
+                throw new SessionNotFoundException(sessionId);
+            }
+            return getLevelOfAssuranceFromIdp(currentState);
+        });
+    }
 
+    private Optional<LevelOfAssurance> getLevelOfAssuranceFromIdp(State currentState) {
         if(currentState instanceof Cycle0And1MatchRequestSentState){ // initial match request - no response received
             return Optional.of(((Cycle0And1MatchRequestSentState) currentState).getIdpLevelOfAssurance());
         }
@@ -108,7 +125,11 @@ public class SessionRepository {
     }
 
     private State getCurrentState(SessionId sessionId) {
-        return dataStore.get(sessionId);
+        State state = dataStore.get(sessionId);
+        if (state == null) {
+            throw new SessionNotFoundException(sessionId);
+        }
+        return state;
     }
 
     public void validateSessionExists(SessionId sessionId) {
@@ -118,7 +139,7 @@ public class SessionRepository {
     }
 
     private void handleTimeout(SessionId sessionId, State state, Class<? extends State> stateClass, Class<? extends State> expectedStateClass) {
-        boolean needsStateChangedToTimeout = isTimedOut(sessionId) && !stateClass.equals(TimeoutState.class);
+        boolean needsStateChangedToTimeout = isTimedOut(state) && !stateClass.equals(TimeoutState.class);
         if (needsStateChangedToTimeout) {
             TimeoutState timeoutState = new TimeoutState(
                     state.getRequestId(),
@@ -142,12 +163,7 @@ public class SessionRepository {
                 || clazz.equals(TimeoutState.class);
     }
 
-    private boolean isTimedOut(SessionId sessionId) {
-        if (dataStore.hasSession(sessionId)) {
-            DateTime expiryTime = dataStore.get(sessionId).getSessionExpiryTimestamp();
-            return DateTime.now().isAfter(expiryTime);
-        } else {
-            throw new SessionNotFoundException(sessionId);
-        }
+    private boolean isTimedOut(State state) {
+        return DateTime.now().isAfter(state.getSessionExpiryTimestamp());
     }
 }
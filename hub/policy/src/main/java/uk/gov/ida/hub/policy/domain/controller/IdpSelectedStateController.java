@@ -29,7 +29,7 @@ import uk.gov.ida.hub.policy.domain.state.SessionStartedState;
 import uk.gov.ida.hub.policy.exception.IdpDisabledException;
 import uk.gov.ida.hub.policy.logging.HubEventLogger;
 import uk.gov.ida.hub.policy.proxy.IdentityProvidersConfigProxy;
-import uk.gov.ida.hub.policy.proxy.MatchingServiceConfigProxy;
+import uk.gov.ida.hub.policy.proxy.JourneyConfigProxy;
 import uk.gov.ida.hub.policy.proxy.TransactionsConfigProxy;
 
 import java.util.Arrays;
@@ -50,7 +50,7 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
     private final TransactionsConfigProxy transactionsConfigProxy;
     private final ResponseFromHubFactory responseFromHubFactory;
     private final AssertionRestrictionsFactory assertionRestrictionFactory;
-    private final MatchingServiceConfigProxy matchingServiceConfigProxy;
+    private final JourneyConfigProxy journeyConfigProxy;
     private final PolicyConfiguration policyConfiguration;
 
     public IdpSelectedStateController(
@@ -62,7 +62,7 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
             final ResponseFromHubFactory responseFromHubFactory,
             final PolicyConfiguration policyConfiguration,
             final AssertionRestrictionsFactory assertionRestrictionsFactory,
-            final MatchingServiceConfigProxy matchingServiceConfigProxy) {
+            final JourneyConfigProxy journeyConfigProxy) {
 
         this.state = state;
         this.hubEventLogger = hubEventLogger;
@@ -71,7 +71,7 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
         this.transactionsConfigProxy = transactionsConfigProxy;
         this.responseFromHubFactory = responseFromHubFactory;
         this.assertionRestrictionFactory = assertionRestrictionsFactory;
-        this.matchingServiceConfigProxy = matchingServiceConfigProxy;
+        this.journeyConfigProxy = journeyConfigProxy;
         this.policyConfiguration = policyConfiguration;
     }
 
@@ -91,7 +91,7 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
     }
 
     private void validateIdpIsEnabledAndWasIssuedWithRequest(String responseIdpEntityId, boolean registering, LevelOfAssurance levelOfAssurance, String requestIssuerEntityId) {
-        final List<String> enabledIdentityProviders = identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(
+        final List<String> enabledIdentityProviders = journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(
                 requestIssuerEntityId, registering, levelOfAssurance);
 
         if (!enabledIdentityProviders.contains(responseIdpEntityId)) {
@@ -110,7 +110,7 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
     }
 
     private void validateReturnedLevelOfAssuranceFromIdpIsConsistentWithIdpConfig(LevelOfAssurance levelOfAssurance, String issuer, String requestId) {
-        if(!identityProvidersConfigProxy.getIdpConfig(issuer).getSupportedLevelsOfAssurance().contains(levelOfAssurance)) {
+        if(!journeyConfigProxy.getIdpSupportedLevelsOfAssurance(state.getRequestIssuerEntityId(), issuer).contains(levelOfAssurance)) {
             throw StateProcessingValidationException.idpReturnedUnsupportedLevelOfAssurance(levelOfAssurance, requestId, issuer);
         }
     }
@@ -298,7 +298,7 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
     public AttributeQueryRequestDto createAttributeQuery(SuccessFromIdp successFromIdp) {
 
         String matchingServiceEntityId = getMatchingServiceEntityId();
-        MatchingServiceConfigEntityDataDto matchingServiceConfig = matchingServiceConfigProxy.getMatchingService(matchingServiceEntityId);
+        MatchingServiceConfigEntityDataDto matchingServiceConfig = journeyConfigProxy.getMatchingService(state.getRequestIssuerEntityId());
         return AttributeQueryRequestDto.createCycle01MatchingServiceRequest(
                 state.getRequestId(),
                 successFromIdp.getEncryptedMatchingDatasetAssertion(),
@@ -329,11 +329,11 @@ public class IdpSelectedStateController implements ErrorResponsePreparedStateCon
     }
 
     public String getMatchingServiceEntityId() {
-        return transactionsConfigProxy.getMatchingServiceEntityId(state.getRequestIssuerEntityId());
+        return journeyConfigProxy.getMatchingServiceEntityId(state.getRequestIssuerEntityId());
     }
 
     public boolean isMatchingJourney() {
-        return transactionsConfigProxy.isUsingMatching(state.getRequestIssuerEntityId());
+        return journeyConfigProxy.isUsingMatching(state.getRequestIssuerEntityId());
     }
 
     @Override
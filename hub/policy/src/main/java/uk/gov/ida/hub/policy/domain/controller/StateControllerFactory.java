@@ -27,6 +27,7 @@ import uk.gov.ida.hub.policy.domain.state.UserAccountCreationFailedState;
 import uk.gov.ida.hub.policy.domain.state.UserAccountCreationRequestSentState;
 import uk.gov.ida.hub.policy.logging.HubEventLogger;
 import uk.gov.ida.hub.policy.proxy.IdentityProvidersConfigProxy;
+import uk.gov.ida.hub.policy.proxy.JourneyConfigProxy;
 import uk.gov.ida.hub.policy.proxy.MatchingServiceConfigProxy;
 import uk.gov.ida.hub.policy.proxy.TransactionsConfigProxy;
 import uk.gov.ida.hub.policy.services.AttributeQueryService;
@@ -68,7 +69,7 @@ public class StateControllerFactory {
                         injector.getInstance(ResponseFromHubFactory.class),
                         injector.getInstance(PolicyConfiguration.class),
                         injector.getInstance(AssertionRestrictionsFactory.class),
-                        injector.getInstance(MatchingServiceConfigProxy.class));
+                        injector.getInstance(JourneyConfigProxy.class));
 
             case CYCLE_0_AND_1_MATCH_REQUEST_SENT:
                 return new Cycle0And1MatchRequestSentStateController(
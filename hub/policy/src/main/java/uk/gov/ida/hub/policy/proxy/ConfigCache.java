@@ -0,0 +1,72 @@
+package uk.gov.ida.hub.policy.proxy;
+
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.dropwizard.util.Duration;
+import io.prometheus.client.Counter;
+
+import javax.annotation.Nonnull;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches config values by request URI. Once a value is older than its refresh interval the
+ * next lookup still returns it, but triggers a reload in the background. Concurrent lookups
+ * of a missing value share a single request to config. Config answers some lookups with no
+ * value, so values are held as optionals; the cache itself can't hold nulls.
+ */
+public class ConfigCache<V> {
+
+    static final Counter lookups = Counter.build(
+            "verify_policy_config_cache_lookups_total",
+            "Total number of config lookups by policy, by cache and whether the value was already cached")
+            .labelNames("cache", "result")
+            .register();
+
+    private final String name;
+    private final Function<URI, V> loader;
+    private final LoadingCache<URI, Optional<V>> cache;
+
+    ConfigCache(String name, Duration refreshAfter, Duration maximumStaleness, Executor refreshExecutor, Ticker ticker, Function<URI, V> loader) {
+        this.name = name;
+        this.loader = loader;
+        this.cache = refreshAfter.toMilliseconds() == 0 ? null : CacheBuilder.newBuilder()
+                .ticker(ticker)
+                .refreshAfterWrite(refreshAfter.toMilliseconds(), TimeUnit.MILLISECONDS)
+                .expireAfterWrite(Math.max(refreshAfter.toMilliseconds(), maximumStaleness.toMilliseconds()), TimeUnit.MILLISECONDS)
+                .build(CacheLoader.asyncReloading(new CacheLoader<>() {
+                    @Override
+                    public Optional<V> load(@Nonnull URI uri) {
+                        return Optional.ofNullable(loader.apply(uri));
+                    }
+                }, refreshExecutor));
+    }
+
+    public V get(URI uri) {
+        if (cache == null) {
+            lookups.labels(name, "miss").inc();
+            return loader.apply(uri);
+        }
+
+        lookups.labels(name, cache.getIfPresent(uri) == null ? "miss" : "hit").inc();
+        try {
+            return cache.getUnchecked(uri).orElse(null);
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.ida.hub.policy.proxy;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.util.Duration;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
+import uk.gov.ida.hub.policy.configuration.PolicyConfiguration;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+@Singleton
+public class ConfigCacheFactory {
+
+    private static final int REFRESH_THREADS = 2;
+
+    private final ConfigProxyCacheConfiguration configuration;
+    private final ExecutorService refreshExecutor;
+    private final List<ConfigCache<?>> caches = new CopyOnWriteArrayList<>();
+
+    @Inject
+    public ConfigCacheFactory(PolicyConfiguration policyConfiguration, ConfigChangeFeed configChangeFeed) {
+        this(policyConfiguration.getConfigProxyCache());
+        configChangeFeed.addListener(this::invalidateAll);
+    }
+
+    public ConfigCacheFactory(ConfigProxyCacheConfiguration configuration) {
+        this.configuration = configuration;
+        this.refreshExecutor = Executors.newFixedThreadPool(
+                REFRESH_THREADS,
+                new ThreadFactoryBuilder().setNameFormat("config-cache-refresh-%d").setDaemon(true).build());
+    }
+
+    public <V> ConfigCache<V> create(String name, Function<ConfigProxyCacheConfiguration, Duration> refreshAfter, Function<URI, V> loader) {
+        ConfigCache<V> cache = new ConfigCache<>(name, refreshAfter.apply(configuration), configuration.getMaximumStaleness(), refreshExecutor, Ticker.systemTicker(), loader);
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Drops everything cached by this factory's caches, so the next lookups go to config.
+     */
+    public void invalidateAll() {
+        caches.forEach(ConfigCache::invalidateAll);
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.ida.hub.policy.proxy;
 import com.codahale.metrics.annotation.Timed;
 import uk.gov.ida.hub.policy.Urls;
 import uk.gov.ida.hub.policy.annotations.Config;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
 import uk.gov.ida.hub.policy.domain.IdpConfigDto;
 import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
 import uk.gov.ida.jerseyclient.JsonClient;
@@ -19,16 +20,23 @@ import java.util.List;
 @Singleton
 public class IdentityProvidersConfigProxy {
 
-    private final JsonClient jsonClient;
     private final URI configUri;
+    private final ConfigCache<List<String>> enabledIdentityProviders;
+    private final ConfigCache<IdpConfigDto> identityProviderConfigs;
 
     @Inject
     public IdentityProvidersConfigProxy(
             JsonClient jsonClient,
-            @Config URI configUri) {
+            @Config URI configUri,
+            ConfigCacheFactory configCacheFactory) {
 
-        this.jsonClient = jsonClient;
         this.configUri = configUri;
+        this.enabledIdentityProviders = configCacheFactory.create("enabled_identity_providers",
+                ConfigProxyCacheConfiguration::getEnabledIdentityProviders,
+                uri -> jsonClient.get(uri, new GenericType<List<String>>() {}));
+        this.identityProviderConfigs = configCacheFactory.create("identity_provider_config",
+                ConfigProxyCacheConfiguration::getIdentityProviderConfig,
+                uri -> jsonClient.get(uri, IdpConfigDto.class));
     }
 
     @Timed
@@ -58,7 +66,7 @@ public class IdentityProvidersConfigProxy {
                 .path(Urls.ConfigUrls.IDENTITY_PROVIDER_CONFIG_DATA_RESOURCE)
                 .buildFromEncoded(StringEncoding.urlEncode(identityProviderEntityId));
 
-        return jsonClient.get(uri, IdpConfigDto.class);
+        return identityProviderConfigs.get(uri);
     }
 
     @Timed
@@ -75,12 +83,12 @@ public class IdentityProvidersConfigProxy {
 
         final UriBuilder uriBuilder = UriBuilder.fromUri(configUri).path(enabledIdpConfigServiceResourceUrl);
         final URI uri = uriBuilder.buildFromEncoded(StringEncoding.urlEncode(transactionEntityId), levelOfAssurance.toString());
-        return jsonClient.get(uri, new GenericType<List<String>>() {});
+        return enabledIdentityProviders.get(uri);
     }
 
     private List<String> getEnabledIdentityProvidersForSignIn(String transactionEntityId) {
         final UriBuilder uriBuilder = UriBuilder.fromUri(configUri).path(Urls.ConfigUrls.ENABLED_ID_PROVIDERS_FOR_SIGN_IN_RESOURCE);
         final URI uri = uriBuilder.buildFromEncoded(StringEncoding.urlEncode(transactionEntityId));
-        return jsonClient.get(uri, new GenericType<List<String>>() {});
+        return enabledIdentityProviders.get(uri);
     }
 }
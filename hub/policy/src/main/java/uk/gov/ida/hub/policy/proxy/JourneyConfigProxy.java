@@ -0,0 +1,94 @@
+package uk.gov.ida.hub.policy.proxy;
+
+import com.codahale.metrics.annotation.Timed;
+import com.google.inject.Singleton;
+import uk.gov.ida.hub.policy.Urls;
+import uk.gov.ida.hub.policy.annotations.Config;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
+import uk.gov.ida.hub.policy.contracts.JourneyConfigDto;
+import uk.gov.ida.hub.policy.contracts.MatchingServiceConfigEntityDataDto;
+import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
+import uk.gov.ida.jerseyclient.JsonClient;
+import uk.gov.ida.shared.utils.string.StringEncoding;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fetches everything needed to process an IdP response for a transaction from config in a
+ * single request, instead of one request per question.
+ */
+@Singleton
+public class JourneyConfigProxy {
+
+    private final URI configUri;
+    private final MatchingServiceConfigProxy matchingServiceConfigProxy;
+    private final ConfigCache<JourneyConfigDto> journeyConfigs;
+
+    @Inject
+    public JourneyConfigProxy(
+            JsonClient jsonClient,
+            @Config URI configUri,
+            MatchingServiceConfigProxy matchingServiceConfigProxy,
+            ConfigCacheFactory configCacheFactory) {
+
+        this.configUri = configUri;
+        this.matchingServiceConfigProxy = matchingServiceConfigProxy;
+        this.journeyConfigs = configCacheFactory.create("journey_config",
+                ConfigProxyCacheConfiguration::getJourneyConfig,
+                uri -> jsonClient.get(uri, JourneyConfigDto.class));
+    }
+
+    @Timed
+    public List<String> getEnabledIdentityProvidersForAuthenticationResponseProcessing(String transactionEntityId, boolean registering, LevelOfAssurance loa) {
+        if (transactionEntityId == null) {
+            return Collections.emptyList();
+        }
+
+        JourneyConfigDto journeyConfig = getJourneyConfig(transactionEntityId);
+        List<String> enabledIdentityProviders = registering ?
+                journeyConfig.getEnabledIdentityProvidersForRegistration().get(loa) :
+                journeyConfig.getEnabledIdentityProvidersForSignIn();
+        return enabledIdentityProviders == null ? Collections.emptyList() : enabledIdentityProviders;
+    }
+
+    @Timed
+    public List<LevelOfAssurance> getIdpSupportedLevelsOfAssurance(String transactionEntityId, String identityProviderEntityId) {
+        return getJourneyConfig(transactionEntityId).getIdentityProviderLevelsOfAssurance()
+                .getOrDefault(identityProviderEntityId, Collections.emptyList());
+    }
+
+    @Timed
+    public String getMatchingServiceEntityId(String transactionEntityId) {
+        return getJourneyConfig(transactionEntityId).getMatchingServiceEntityId();
+    }
+
+    @Timed
+    public boolean isUsingMatching(String transactionEntityId) {
+        return getJourneyConfig(transactionEntityId).isUsingMatching();
+    }
+
+    /**
+     * Config leaves the matching service out of the bundle when it can't find it, so in that case
+     * it is asked for directly, which fails with config's not-found error.
+     */
+    @Timed
+    public MatchingServiceConfigEntityDataDto getMatchingService(String transactionEntityId) {
+        JourneyConfigDto journeyConfig = getJourneyConfig(transactionEntityId);
+        if (journeyConfig.getMatchingService() == null) {
+            return matchingServiceConfigProxy.getMatchingService(journeyConfig.getMatchingServiceEntityId());
+        }
+        return journeyConfig.getMatchingService();
+    }
+
+    private JourneyConfigDto getJourneyConfig(String transactionEntityId) {
+        URI uri = UriBuilder
+                .fromUri(configUri)
+                .path(Urls.ConfigUrls.JOURNEY_CONFIG_RESOURCE)
+                .buildFromEncoded(StringEncoding.urlEncode(transactionEntityId));
+        return journeyConfigs.get(uri);
+    }
+}
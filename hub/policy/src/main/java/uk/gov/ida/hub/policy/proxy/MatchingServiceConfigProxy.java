@@ -1,12 +1,10 @@
 package uk.gov.ida.hub.policy.proxy;
 
 import com.codahale.metrics.annotation.Timed;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.inject.Singleton;
 import uk.gov.ida.hub.policy.Urls;
 import uk.gov.ida.hub.policy.annotations.Config;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
 import uk.gov.ida.hub.policy.contracts.MatchingServiceConfigEntityDataDto;
 import uk.gov.ida.jerseyclient.JsonClient;
 import uk.gov.ida.shared.utils.string.StringEncoding;
@@ -16,39 +14,34 @@ import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.Collection;
-import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class MatchingServiceConfigProxy {
 
     private final JsonClient jsonClient;
     private final URI configUri;
+    private final ConfigCache<MatchingServiceConfigEntityDataDto> matchingServices;
 
     @Inject
     public MatchingServiceConfigProxy(
             JsonClient jsonClient,
-            @Config URI configUri) {
+            @Config URI configUri,
+            ConfigCacheFactory configCacheFactory) {
 
         this.jsonClient = jsonClient;
         this.configUri = configUri;
+        this.matchingServices = configCacheFactory.create("matching_service",
+                ConfigProxyCacheConfiguration::getMatchingService,
+                uri -> jsonClient.get(uri, MatchingServiceConfigEntityDataDto.class));
     }
 
-    private LoadingCache<URI, MatchingServiceConfigEntityDataDto> matchingServiceConfigEntityDataDto = CacheBuilder.newBuilder()
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build(new CacheLoader<>() {
-                @Override
-                public MatchingServiceConfigEntityDataDto load(URI key) {
-                    return jsonClient.get(key, MatchingServiceConfigEntityDataDto.class);
-                }
-            });
-
     @Timed
     public MatchingServiceConfigEntityDataDto getMatchingService(String entityId) {
         final UriBuilder uriBuilder = UriBuilder
                 .fromUri(configUri)
                 .path(Urls.ConfigUrls.MATCHING_SERVICE_RESOURCE);
         URI uri = uriBuilder.buildFromEncoded(StringEncoding.urlEncode(entityId).replace("+", "%20"));
-        return matchingServiceConfigEntityDataDto.getUnchecked(uri);
+        return matchingServices.get(uri);
     }
 
     @Timed
@@ -1,13 +1,9 @@
 package uk.gov.ida.hub.policy.proxy;
 
 import com.codahale.metrics.annotation.Timed;
-import com.google.common.base.Throwables;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 import uk.gov.ida.hub.policy.Urls;
 import uk.gov.ida.hub.policy.annotations.Config;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
 import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
 import uk.gov.ida.hub.policy.domain.MatchingProcess;
 import uk.gov.ida.hub.policy.domain.ResourceLocation;
@@ -15,7 +11,6 @@ import uk.gov.ida.hub.policy.domain.UserAccountCreationAttribute;
 import uk.gov.ida.jerseyclient.JsonClient;
 import uk.gov.ida.shared.utils.string.StringEncoding;
 
-import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.GenericType;
@@ -24,32 +19,45 @@ import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.emptyMap;
 
 @Singleton
 public class TransactionsConfigProxy {
 
-    private final JsonClient jsonClient;
     private final URI configUri;
-
-    private LoadingCache<URI, ResourceLocation> resourceLocation = CacheBuilder.newBuilder()
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build(new CacheLoader<>() {
-                @Override
-                public ResourceLocation load(@Nonnull URI key) {
-                    return jsonClient.get(key, ResourceLocation.class);
-                }
-            });
+    private final ConfigCache<ResourceLocation> assertionConsumerServiceUris;
+    private final ConfigCache<MatchingProcess> matchingProcesses;
+    private final ConfigCache<Boolean> usingMatching;
+    private final ConfigCache<List<LevelOfAssurance>> levelsOfAssurance;
+    private final ConfigCache<String> matchingServiceEntityIds;
+    private final ConfigCache<List<UserAccountCreationAttribute>> userAccountCreationAttributes;
 
     @Inject
     public TransactionsConfigProxy(
             JsonClient jsonClient,
-            @Config URI configUri) {
+            @Config URI configUri,
+            ConfigCacheFactory configCacheFactory) {
 
-        this.jsonClient = jsonClient;
         this.configUri = configUri;
+        this.assertionConsumerServiceUris = configCacheFactory.create("assertion_consumer_service_uri",
+                ConfigProxyCacheConfiguration::getAssertionConsumerServiceUri,
+                uri -> jsonClient.get(uri, ResourceLocation.class));
+        this.matchingProcesses = configCacheFactory.create("matching_process",
+                ConfigProxyCacheConfiguration::getMatchingProcess,
+                uri -> jsonClient.get(uri, MatchingProcess.class));
+        this.usingMatching = configCacheFactory.create("using_matching",
+                ConfigProxyCacheConfiguration::getUsingMatching,
+                uri -> jsonClient.get(uri, boolean.class));
+        this.levelsOfAssurance = configCacheFactory.create("levels_of_assurance",
+                ConfigProxyCacheConfiguration::getLevelsOfAssurance,
+                uri -> jsonClient.get(uri, new GenericType<List<LevelOfAssurance>>() {}));
+        this.matchingServiceEntityIds = configCacheFactory.create("matching_service_entity_id",
+                ConfigProxyCacheConfiguration::getMatchingServiceEntityId,
+                uri -> jsonClient.get(uri, String.class));
+        this.userAccountCreationAttributes = configCacheFactory.create("user_account_creation_attributes",
+                ConfigProxyCacheConfiguration::getUserAccountCreationAttributes,
+                uri -> jsonClient.get(uri, new GenericType<List<UserAccountCreationAttribute>>() {}));
     }
 
     @Timed
@@ -63,63 +71,32 @@ public class TransactionsConfigProxy {
                     assertionConsumerServiceIndex.get().toString());
         }
         final URI uri = getEncodedUri(Urls.ConfigUrls.TRANSACTIONS_ASSERTION_CONSUMER_SERVICE_URI_RESOURCE, queryParams, entityId);
-        try {
-            return resourceLocation.getUnchecked(uri);
-        } catch (UncheckedExecutionException e) {
-            Throwables.throwIfUnchecked(e.getCause());
-            throw new RuntimeException(e.getCause());
-        }
+        return assertionConsumerServiceUris.get(uri);
     }
 
     @Timed
     public MatchingProcess getMatchingProcess(String entityId) {
-        return getConfigItem(
-                entityId,
-                Urls.ConfigUrls.MATCHING_PROCESS_RESOURCE,
-                MatchingProcess.class,
-                emptyMap());
+        return matchingProcesses.get(getEncodedUri(Urls.ConfigUrls.MATCHING_PROCESS_RESOURCE, emptyMap(), entityId));
     }
 
     @Timed
     public boolean isUsingMatching( String entityId ) {
-       return  getConfigItem(
-                entityId,
-                Urls.ConfigUrls.MATCHING_ENABLED_FOR_TRANSACTION_RESOURCE,
-                boolean.class,
-                emptyMap());
+        return usingMatching.get(getEncodedUri(Urls.ConfigUrls.MATCHING_ENABLED_FOR_TRANSACTION_RESOURCE, emptyMap(), entityId));
     }
 
     @Timed
     public List<LevelOfAssurance> getLevelsOfAssurance(String entityId) {
-        final URI uriBuilder = getEncodedUri(Urls.ConfigUrls.LEVELS_OF_ASSURANCE_RESOURCE, emptyMap(), entityId);
-        return jsonClient.get(uriBuilder, new GenericType<List<LevelOfAssurance>>() {});
+        return levelsOfAssurance.get(getEncodedUri(Urls.ConfigUrls.LEVELS_OF_ASSURANCE_RESOURCE, emptyMap(), entityId));
     }
 
     @Timed
     public String getMatchingServiceEntityId(String entityId) {
-        return getConfigItem(
-                entityId,
-                Urls.ConfigUrls.MATCHING_SERVICE_ENTITY_ID_RESOURCE,
-                String.class,
-                emptyMap());
+        return matchingServiceEntityIds.get(getEncodedUri(Urls.ConfigUrls.MATCHING_SERVICE_ENTITY_ID_RESOURCE, emptyMap(), entityId));
     }
 
     @Timed
     public List<UserAccountCreationAttribute> getUserAccountCreationAttributes(String entityId) {
-        final URI uri = getEncodedUri(Urls.ConfigUrls.USER_ACCOUNT_CREATION_ATTRIBUTES_RESOURCE, emptyMap(), entityId);
-
-        return jsonClient.get(uri, new GenericType<List<UserAccountCreationAttribute>>() {
-        });
-    }
-
-    private <T> T getConfigItem(String entityId, String path, Class<T> clazz, Map<String, String> queryParams) {
-        final URI uriBuilder = getEncodedUri(path, queryParams, entityId);
-        return jsonClient.get(uriBuilder, clazz);
-    }
-
-    private <T> T getConfigItem(String entityId, String path, GenericType<T> type, Map<String, String> queryParams) {
-        final URI uriBuilder = getEncodedUri(path, queryParams, entityId);
-        return jsonClient.get(uriBuilder, type);
+        return userAccountCreationAttributes.get(getEncodedUri(Urls.ConfigUrls.USER_ACCOUNT_CREATION_ATTRIBUTES_RESOURCE, emptyMap(), entityId));
     }
 
     private URI getEncodedUri(final String path, final Map<String, String> queryParams, final String entityId) {
@@ -3,6 +3,7 @@ package uk.gov.ida.hub.policy.redis;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
 import com.google.common.io.ByteStreams;
 import io.lettuce.core.codec.RedisCodec;
 import uk.gov.ida.hub.policy.domain.SessionId;
@@ -14,11 +15,21 @@ import java.nio.ByteBuffer;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+/**
+ * Encodes States as either JSON or Smile (binary JSON) depending on the configured encoding.
+ *
+ * Values are always decoded according to their own format, so states written by a node using
+ * the other encoding can still be read. This allows the encoding to be switched without an outage.
+ */
 public class SessionStoreRedisCodec implements RedisCodec<SessionId, State> {
-    private final ObjectMapper objectMapper;
+    private final ObjectMapper jsonObjectMapper;
+    private final ObjectMapper smileObjectMapper;
+    private final ObjectMapper writer;
 
-    public SessionStoreRedisCodec(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public SessionStoreRedisCodec(ObjectMapper jsonObjectMapper, ObjectMapper smileObjectMapper, SessionStateEncoding encoding) {
+        this.jsonObjectMapper = jsonObjectMapper;
+        this.smileObjectMapper = smileObjectMapper;
+        this.writer = encoding == SessionStateEncoding.SMILE ? smileObjectMapper : jsonObjectMapper;
     }
 
     @Override
@@ -34,9 +45,10 @@ public class SessionStoreRedisCodec implements RedisCodec<SessionId, State> {
 
     @Override
     public State decodeValue(ByteBuffer valueBytes) {
+        ObjectMapper reader = isSmile(valueBytes) ? smileObjectMapper : jsonObjectMapper;
         try {
             InputStream inputStream = new ByteBufferBackedInputStream(valueBytes);
-            return objectMapper.readValue(inputStream, State.class);
+            return reader.readValue(inputStream, State.class);
         } catch (IOException e) {
             throw new RedisSerializationException("Error decoding State", e);
         }
@@ -50,9 +62,17 @@ public class SessionStoreRedisCodec implements RedisCodec<SessionId, State> {
     @Override
     public ByteBuffer encodeValue(State state) {
         try {
-            return ByteBuffer.wrap(objectMapper.writeValueAsBytes(state));
+            return ByteBuffer.wrap(writer.writeValueAsBytes(state));
         } catch (JsonProcessingException e) {
             throw new RedisSerializationException("Error encoding State", e);
         }
     }
+
+    private static boolean isSmile(ByteBuffer valueBytes) {
+        int position = valueBytes.position();
+        return valueBytes.remaining() >= 3
+                && valueBytes.get(position) == SmileConstants.HEADER_BYTE_1
+                && valueBytes.get(position + 1) == SmileConstants.HEADER_BYTE_2
+                && valueBytes.get(position + 2) == SmileConstants.HEADER_BYTE_3;
+    }
 }
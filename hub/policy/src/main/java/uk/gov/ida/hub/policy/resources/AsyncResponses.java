@@ -0,0 +1,27 @@
+package uk.gov.ida.hub.policy.resources;
+
+import javax.ws.rs.container.AsyncResponse;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+final class AsyncResponses {
+
+    private AsyncResponses() {
+    }
+
+    /**
+     * Resumes the suspended request with the result of a completion stage, or with its underlying
+     * failure so that it is handled by the usual exception mappers.
+     */
+    static <T> BiConsumer<T, Throwable> resumeWith(AsyncResponse asyncResponse) {
+        return (result, throwable) -> {
+            if (throwable == null) {
+                asyncResponse.resume(result);
+            } else if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                asyncResponse.resume(throwable.getCause());
+            } else {
+                asyncResponse.resume(throwable);
+            }
+        };
+    }
+}
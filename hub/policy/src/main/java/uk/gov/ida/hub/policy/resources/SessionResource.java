@@ -3,7 +3,6 @@ package uk.gov.ida.hub.policy.resources;
 import com.codahale.metrics.annotation.Timed;
 import uk.gov.ida.hub.policy.Urls;
 import uk.gov.ida.hub.policy.contracts.SamlAuthnResponseContainerDto;
-import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
 import uk.gov.ida.hub.policy.domain.ResponseAction;
 import uk.gov.ida.hub.policy.domain.SamlAuthnRequestContainerDto;
 import uk.gov.ida.hub.policy.domain.SessionId;
@@ -11,16 +10,20 @@ import uk.gov.ida.hub.policy.services.AuthnResponseFromIdpService;
 import uk.gov.ida.hub.policy.services.SessionService;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
-import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import static uk.gov.ida.hub.policy.Urls.PolicyUrls.IDP_AUTHN_REQUEST_PATH;
 import static uk.gov.ida.hub.policy.Urls.PolicyUrls.IDP_AUTHN_RESPONSE_PATH;
@@ -29,6 +32,7 @@ import static uk.gov.ida.hub.policy.Urls.PolicyUrls.RP_AUTHN_RESPONSE_PATH;
 import static uk.gov.ida.hub.policy.Urls.PolicyUrls.RP_ERROR_RESPONSE_PATH;
 import static uk.gov.ida.hub.policy.Urls.SharedUrls.SESSION_ID_PARAM;
 import static uk.gov.ida.hub.policy.Urls.SharedUrls.SESSION_ID_PARAM_PATH;
+import static uk.gov.ida.hub.policy.resources.AsyncResponses.resumeWith;
 
 @Path(Urls.PolicyUrls.SESSION_RESOURCE_ROOT)
 @Produces(MediaType.APPLICATION_JSON)
@@ -36,24 +40,27 @@ public class SessionResource {
 
     private final SessionService sessionService;
     private final AuthnResponseFromIdpService authnResponseFromIdpService;
+    private final Executor asyncResponseExecutor;
 
     @Inject
     public SessionResource(SessionService service,
-                           AuthnResponseFromIdpService authnResponseFromIdpService) {
+                           AuthnResponseFromIdpService authnResponseFromIdpService,
+                           @Named("AsyncSessionResponseExecutor") ExecutorService asyncResponseExecutor) {
         this.sessionService = service;
         this.authnResponseFromIdpService = authnResponseFromIdpService;
+        this.asyncResponseExecutor = asyncResponseExecutor;
     }
 
     @GET
     @Path(SESSION_ID_PARAM_PATH)
-    public SessionId getSession(@PathParam(SESSION_ID_PARAM) SessionId sessionIdParameter) {
-        return sessionService.getSessionIfItExists(sessionIdParameter);
+    public void getSession(@PathParam(SESSION_ID_PARAM) SessionId sessionIdParameter, @Suspended AsyncResponse asyncResponse) {
+        sessionService.getSessionIfItExistsAsync(sessionIdParameter).whenCompleteAsync(resumeWith(asyncResponse), asyncResponseExecutor);
     }
 
     @GET
     @Path(LOA_FOR_SESSION_PATH)
-    public Optional<LevelOfAssurance> getLevelOfAssurance(@PathParam(SESSION_ID_PARAM) SessionId sessionIdParameter) {
-        return sessionService.getLevelOfAssurance(sessionIdParameter);
+    public void getLevelOfAssurance(@PathParam(SESSION_ID_PARAM) SessionId sessionIdParameter, @Suspended AsyncResponse asyncResponse) {
+        sessionService.getLevelOfAssuranceAsync(sessionIdParameter).whenCompleteAsync(resumeWith(asyncResponse), asyncResponseExecutor);
     }
 
     @POST
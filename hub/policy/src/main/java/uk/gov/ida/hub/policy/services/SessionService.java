@@ -23,6 +23,7 @@ import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 public class SessionService {
     private final SamlEngineProxy samlEngineProxy;
@@ -60,11 +61,24 @@ public class SessionService {
         throw new SessionNotFoundException(sessionId);
     }
 
+    public CompletionStage<SessionId> getSessionIfItExistsAsync(SessionId sessionId) {
+        return sessionRepository.sessionExistsAsync(sessionId).thenApply(exists -> {
+            if (exists) {
+                return sessionId;
+            }
+            throw new SessionNotFoundException(sessionId);
+        });
+    }
+
     public Optional<LevelOfAssurance> getLevelOfAssurance(SessionId sessionId){
         getSessionIfItExists(sessionId);
         return sessionRepository.getLevelOfAssuranceFromIdp(sessionId);
     }
 
+    public CompletionStage<Optional<LevelOfAssurance>> getLevelOfAssuranceAsync(SessionId sessionId) {
+        return sessionRepository.getLevelOfAssuranceFromIdpAsync(sessionId);
+    }
+
     public AuthnRequestFromHubContainerDto getIdpAuthnRequest(SessionId sessionId) {
         getSessionIfItExists(sessionId);
         final AuthnRequestFromHub request = authnRequestHandler.getIdaAuthnRequestFromHub(sessionId);
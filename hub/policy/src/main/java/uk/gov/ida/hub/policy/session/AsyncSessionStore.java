@@ -0,0 +1,12 @@
+package uk.gov.ida.hub.policy.session;
+
+import uk.gov.ida.hub.policy.domain.SessionId;
+import uk.gov.ida.hub.policy.domain.State;
+
+import java.util.concurrent.CompletionStage;
+
+public interface AsyncSessionStore {
+    CompletionStage<Boolean> hasSession(SessionId sessionId);
+
+    CompletionStage<State> get(SessionId sessionId);
+}
@@ -0,0 +1,126 @@
+package uk.gov.ida.hub.policy.session;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import uk.gov.ida.hub.policy.domain.SessionId;
+import uk.gov.ida.hub.policy.domain.State;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps recently used session states in memory in front of another SessionStore.
+ *
+ * Writes go through to the delegate and update the cache. Writes made by other nodes, and
+ * expiry or deletion of sessions, are reported by Redis keyspace notifications via
+ * {@link #onKeyspaceEvent(SessionId, String)} and evict the cached state. The notification for
+ * this node's own write is recognised and skipped for a short while after the write, so it does
+ * not evict the state just written. If notifications are missed, for example while reconnecting,
+ * a cached state is still only served until its expire-after-write duration has passed.
+ */
+public class NearCachingSessionStore implements SessionStore {
+
+    // How long to wait for the notification of our own write before treating the next one as
+    // someone else's
+    static final Duration OWN_WRITE_NOTIFICATION_WINDOW = Duration.ofSeconds(2);
+
+    private final SessionStore delegate;
+    private final Cache<SessionId, State> cache;
+    private final Cache<SessionId, Long> pendingWrites;
+    private final Cache<SessionId, AtomicLong> generations;
+    private final AtomicLong writeTokens = new AtomicLong();
+
+    public NearCachingSessionStore(SessionStore delegate, long maximumSize, Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.pendingWrites = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(OWN_WRITE_NOTIFICATION_WINDOW.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.generations = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterWrite.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public void insert(SessionId sessionId, State state) {
+        long writeToken = writeThrough(sessionId, state);
+        try {
+            delegate.insert(sessionId, state);
+        } catch (RuntimeException e) {
+            abandonWrite(sessionId, writeToken);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean replace(SessionId sessionId, State state) {
+        long writeToken = writeThrough(sessionId, state);
+        try {
+            boolean replaced = delegate.replace(sessionId, state);
+            if (!replaced) {
+                abandonWrite(sessionId, writeToken);
+            }
+            return replaced;
+        } catch (RuntimeException e) {
+            abandonWrite(sessionId, writeToken);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasSession(SessionId sessionId) {
+        return cache.getIfPresent(sessionId) != null || delegate.hasSession(sessionId);
+    }
+
+    @Override
+    public State get(SessionId sessionId) {
+        State cached = cache.getIfPresent(sessionId);
+        if (cached != null) {
+            return cached;
+        }
+        AtomicLong generation = generations.asMap().computeIfAbsent(sessionId, id -> new AtomicLong());
+        long generationBeforeLoad = generation.get();
+        State loaded = delegate.get(sessionId);
+        // Only cache what we loaded if the session wasn't invalidated meanwhile, as it may already be stale
+        if (loaded != null && generations.getIfPresent(sessionId) == generation && generation.get() == generationBeforeLoad) {
+            cache.asMap().putIfAbsent(sessionId, loaded);
+        }
+        return loaded;
+    }
+
+    public void onKeyspaceEvent(SessionId sessionId, String event) {
+        if ("expire".equals(event)) {
+            // Setting a TTL does not change the stored state
+            return;
+        }
+        if ("set".equals(event) && pendingWrites.asMap().remove(sessionId) != null) {
+            // Our own write, the cache already holds the new state
+            return;
+        }
+        AtomicLong generation = generations.getIfPresent(sessionId);
+        if (generation != null) {
+            generation.incrementAndGet();
+        }
+        cache.invalidate(sessionId);
+    }
+
+    private long writeThrough(SessionId sessionId, State state) {
+        // The cache is updated before writing so that a notification for a concurrent write
+        // from another node can never be overtaken by this node caching an older state
+        long writeToken = writeTokens.incrementAndGet();
+        cache.put(sessionId, state);
+        pendingWrites.put(sessionId, writeToken);
+        return writeToken;
+    }
+
+    private void abandonWrite(SessionId sessionId, long writeToken) {
+        pendingWrites.asMap().remove(sessionId, writeToken);
+        cache.invalidate(sessionId);
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.ida.hub.policy.session;
+
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import uk.gov.ida.hub.policy.domain.SessionId;
+import uk.gov.ida.hub.policy.domain.State;
+
+import java.util.concurrent.CompletionStage;
+
+import static uk.gov.ida.hub.policy.session.RedisSessionStore.redisCommands;
+
+public class RedisAsyncSessionStore implements AsyncSessionStore {
+    private final RedisAsyncCommands<SessionId, State> dataStore;
+
+    public RedisAsyncSessionStore(RedisAsyncCommands<SessionId, State> dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasSession(SessionId sessionId) {
+        redisCommands.labels("exists").inc();
+        return dataStore.exists(sessionId).thenApply(count -> count > 0);
+    }
+
+    @Override
+    public CompletionStage<State> get(SessionId sessionId) {
+        redisCommands.labels("get").inc();
+        return dataStore.get(sessionId);
+    }
+}
@@ -1,10 +1,26 @@
 package uk.gov.ida.hub.policy.session;
 
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.prometheus.client.Counter;
 import uk.gov.ida.hub.policy.domain.SessionId;
 import uk.gov.ida.hub.policy.domain.State;
 
 public class RedisSessionStore implements SessionStore {
+
+    // Overwrites the session while keeping its remaining TTL, in a single round trip.
+    // Does nothing if the session has already expired or has no TTL.
+    static final String REPLACE_KEEPING_TTL_SCRIPT =
+            "local ttl = redis.call('PTTL', KEYS[1]) " +
+            "if ttl > 0 then return redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl) end " +
+            "return false";
+
+    static final Counter redisCommands = Counter.build(
+            "verify_policy_session_store_redis_commands_total",
+            "Total number of Redis commands issued by the policy session store")
+            .labelNames("command")
+            .register();
+
     private final RedisCommands<SessionId, State> dataStore;
     private final Long recordTTL;
 
@@ -15,22 +31,26 @@ public class RedisSessionStore implements SessionStore {
 
     @Override
     public void insert(SessionId sessionId, State value) {
+        redisCommands.labels("setex").inc();
         dataStore.setex(sessionId, recordTTL, value);
     }
 
     @Override
-    public void replace(SessionId sessionId, State value) {
-        Long ttl = dataStore.ttl(sessionId);
-        dataStore.setex(sessionId, ttl, value);
+    public boolean replace(SessionId sessionId, State value) {
+        redisCommands.labels("eval").inc();
+        String result = dataStore.eval(REPLACE_KEEPING_TTL_SCRIPT, ScriptOutputType.STATUS, new SessionId[]{sessionId}, value);
+        return "OK".equals(result);
     }
 
     @Override
     public boolean hasSession(SessionId sessionId) {
+        redisCommands.labels("exists").inc();
         return dataStore.exists(sessionId) > 0;
     }
 
     @Override
     public State get(SessionId sessionId) {
+        redisCommands.labels("get").inc();
         return dataStore.get(sessionId);
     }
 }
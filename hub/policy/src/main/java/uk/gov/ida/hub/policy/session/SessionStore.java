@@ -6,7 +6,10 @@ import uk.gov.ida.hub.policy.domain.State;
 public interface SessionStore {
     void insert(SessionId sessionId, State state);
 
-    void replace(SessionId sessionId, State state);
+    /**
+     * @return false if there was no session to replace
+     */
+    boolean replace(SessionId sessionId, State state);
 
     boolean hasSession(SessionId sessionId);
 
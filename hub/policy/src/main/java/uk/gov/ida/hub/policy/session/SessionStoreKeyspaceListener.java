@@ -0,0 +1,37 @@
+package uk.gov.ida.hub.policy.session;
+
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import uk.gov.ida.hub.policy.domain.SessionId;
+
+/**
+ * Forwards Redis keyspace notifications (channels of the form __keyspace@&lt;db&gt;__:&lt;key&gt;)
+ * for session keys to a NearCachingSessionStore.
+ */
+public class SessionStoreKeyspaceListener extends RedisPubSubAdapter<String, String> {
+
+    // Session keys are bare session ids, which are UUIDs
+    private static final String SESSION_ID_GLOB = "????????-????-????-????-????????????";
+    private static final String KEY_SEPARATOR = "__:";
+
+    private final NearCachingSessionStore nearCachingSessionStore;
+
+    public SessionStoreKeyspaceListener(NearCachingSessionStore nearCachingSessionStore) {
+        this.nearCachingSessionStore = nearCachingSessionStore;
+    }
+
+    /**
+     * The channels for notifications about session keys in the given database only.
+     */
+    public static String keyspaceChannelPattern(int database) {
+        return "__keyspace@" + database + KEY_SEPARATOR + SESSION_ID_GLOB;
+    }
+
+    @Override
+    public void message(String pattern, String channel, String event) {
+        int keyStart = channel.indexOf(KEY_SEPARATOR);
+        if (keyStart < 0) {
+            return;
+        }
+        nearCachingSessionStore.onKeyspaceEvent(new SessionId(channel.substring(keyStart + KEY_SEPARATOR.length())), event);
+    }
+}
@@ -9,27 +9,36 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.ida.hub.policy.domain.controller.StateControllerFactory;
+import uk.gov.ida.hub.policy.domain.exception.SessionNotFoundException;
 import uk.gov.ida.hub.policy.domain.state.ErrorResponsePreparedState;
 import uk.gov.ida.hub.policy.domain.state.IdpSelectedState;
 import uk.gov.ida.hub.policy.domain.state.ResponsePreparedState;
 import uk.gov.ida.hub.policy.domain.state.SessionStartedState;
+import uk.gov.ida.hub.policy.domain.state.SuccessfulMatchState;
 import uk.gov.ida.hub.policy.domain.state.TimeoutState;
 import uk.gov.ida.hub.policy.exception.InvalidSessionStateException;
 import uk.gov.ida.hub.policy.exception.SessionTimeoutException;
+import uk.gov.ida.hub.policy.session.AsyncSessionStore;
 import uk.gov.ida.hub.policy.session.SessionStore;
 import uk.gov.ida.shared.utils.datetime.DateTimeFreezer;
 
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 import static uk.gov.ida.hub.policy.builder.domain.SessionIdBuilder.aSessionId;
 import static uk.gov.ida.hub.policy.builder.state.SessionStartedStateBuilder.aSessionStartedState;
+import static uk.gov.ida.hub.policy.builder.state.SuccessfulMatchStateBuilder.aSuccessfulMatchState;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SessionRepositoryTest {
@@ -41,6 +50,9 @@ public class SessionRepositoryTest {
     @Mock
     private StateControllerFactory controllerFactory;
 
+    @Mock
+    private AsyncSessionStore asyncSessionStore;
+
     @Captor
     private ArgumentCaptor<StateTransitionAction> stateTransitionActionArgumentCaptor = null;
 
@@ -50,7 +62,7 @@ public class SessionRepositoryTest {
     @Before
     public void setup() {
         dataStore = new ConcurrentHashMap<>();
-        sessionRepository = new SessionRepository(new ConcurrentMapSessionStore(dataStore), controllerFactory);
+        sessionRepository = new SessionRepository(new ConcurrentMapSessionStore(dataStore), asyncSessionStore, controllerFactory);
     }
 
     @Test(expected = InvalidSessionStateException.class)
@@ -181,6 +193,25 @@ public class SessionRepositoryTest {
 
     }
 
+    @Test(expected = SessionNotFoundException.class)
+    public void getStateController_shouldThrowSessionNotFoundException_whenSessionDoesNotExist() {
+        sessionRepository.getStateController(aSessionId().build(), SessionStartedState.class);
+    }
+
+    @Test
+    public void getStateController_shouldOnlyReadTheSessionOnce() {
+        SessionStore sessionStore = mock(SessionStore.class);
+        SessionStartedState sessionStartedState = aSessionStartedState().withSessionExpiryTimestamp(defaultSessionExpiry).build();
+        SessionId sessionId = sessionStartedState.getSessionId();
+        when(sessionStore.get(sessionId)).thenReturn(sessionStartedState);
+        sessionRepository = new SessionRepository(sessionStore, asyncSessionStore, controllerFactory);
+
+        sessionRepository.getStateController(sessionId, SessionStartedState.class);
+
+        verify(sessionStore).get(sessionId);
+        verifyNoMoreInteractions(sessionStore);
+    }
+
     @Test
     public void getLevelOfAssuranceFromIdp(){
         SessionStartedState state = aSessionStartedState().build();
@@ -190,6 +221,27 @@ public class SessionRepositoryTest {
         assertThat(sessionRepository.getLevelOfAssuranceFromIdp(sessionId)).isEqualTo(Optional.empty());
     }
 
+    @Test
+    public void getLevelOfAssuranceFromIdpAsync() {
+        SessionId sessionId = aSessionId().build();
+        SuccessfulMatchState state = aSuccessfulMatchState().withSessionId(sessionId).build();
+        when(asyncSessionStore.get(sessionId)).thenReturn(CompletableFuture.completedFuture(state));
+
+        Optional<LevelOfAssurance> levelOfAssurance = sessionRepository.getLevelOfAssuranceFromIdpAsync(sessionId).toCompletableFuture().join();
+
+        assertThat(levelOfAssurance).isEqualTo(Optional.of(LevelOfAssurance.LEVEL_2));
+    }
+
+    @Test
+    public void getLevelOfAssuranceFromIdpAsync_shouldFailWithSessionNotFoundException_whenSessionDoesNotExist() {
+        SessionId sessionId = aSessionId().build();
+        when(asyncSessionStore.get(sessionId)).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Optional<LevelOfAssurance>> levelOfAssurance = sessionRepository.getLevelOfAssuranceFromIdpAsync(sessionId).toCompletableFuture();
+
+        assertThatThrownBy(levelOfAssurance::join).hasCauseInstanceOf(SessionNotFoundException.class);
+    }
+
     private class TestState extends AbstractState implements ResponsePreparedState {
         protected TestState() {
             super("smile", "requestIssuerId", defaultSessionExpiry, URI.create("/test-service-index"), aSessionId().build(), false);
@@ -215,8 +267,8 @@ public class SessionRepositoryTest {
         }
 
         @Override
-        public void replace(SessionId sessionId, State state) {
-            dataStore.replace(sessionId, state);
+        public boolean replace(SessionId sessionId, State state) {
+            return dataStore.replace(sessionId, state) != null;
         }
 
         @Override
@@ -32,7 +32,7 @@ import uk.gov.ida.hub.policy.domain.state.SessionStartedState;
 import uk.gov.ida.hub.policy.exception.IdpDisabledException;
 import uk.gov.ida.hub.policy.logging.HubEventLogger;
 import uk.gov.ida.hub.policy.proxy.IdentityProvidersConfigProxy;
-import uk.gov.ida.hub.policy.proxy.MatchingServiceConfigProxy;
+import uk.gov.ida.hub.policy.proxy.JourneyConfigProxy;
 import uk.gov.ida.hub.policy.proxy.TransactionsConfigProxy;
 
 import java.net.URI;
@@ -57,7 +57,6 @@ import static org.mockito.Mockito.when;
 import static uk.gov.ida.hub.policy.builder.MatchingServiceConfigEntityDataDtoBuilder.aMatchingServiceConfigEntityDataDto;
 import static uk.gov.ida.hub.policy.builder.domain.AuthenticationErrorResponseBuilder.anAuthenticationErrorResponse;
 import static uk.gov.ida.hub.policy.builder.domain.FraudFromIdpBuilder.aFraudFromIdp;
-import static uk.gov.ida.hub.policy.builder.domain.IdpConfigDtoBuilder.anIdpConfigDto;
 import static uk.gov.ida.hub.policy.builder.domain.PersistentIdBuilder.aPersistentId;
 import static uk.gov.ida.hub.policy.builder.domain.RequesterErrorResponseBuilder.aRequesterErrorResponse;
 import static uk.gov.ida.hub.policy.builder.domain.SessionIdBuilder.aSessionId;
@@ -95,7 +94,7 @@ public class IdpSelectedStateControllerTest {
     @Mock
     private AssertionRestrictionsFactory assertionRestrictionsFactory;
     @Mock
-    private MatchingServiceConfigProxy matchingServiceConfigProxy;
+    private JourneyConfigProxy journeyConfigProxy;
 
     private IdpSelectedStateController controller;
     private IdpSelectedState idpSelectedState;
@@ -117,8 +116,8 @@ public class IdpSelectedStateControllerTest {
         IdpSelectedState state = idpSelectedState;
 
         String matchingServiceEntityId = "matching-service-entity-id";
-        when(transactionsConfigProxy.getMatchingServiceEntityId(state.getRequestIssuerEntityId())).thenReturn(matchingServiceEntityId);
-        when(matchingServiceConfigProxy.getMatchingService(matchingServiceEntityId)).thenReturn(aMatchingServiceConfigEntityDataDto().withUri(ATTRIBUTE_QUERY_URI).build());
+        when(journeyConfigProxy.getMatchingServiceEntityId(state.getRequestIssuerEntityId())).thenReturn(matchingServiceEntityId);
+        when(journeyConfigProxy.getMatchingService(state.getRequestIssuerEntityId())).thenReturn(aMatchingServiceConfigEntityDataDto().withUri(ATTRIBUTE_QUERY_URI).build());
 
         return new IdpSelectedStateController(
                 state,
@@ -129,7 +128,7 @@ public class IdpSelectedStateControllerTest {
                 responseFromHubFactory,
                 policyConfiguration,
                 assertionRestrictionsFactory,
-                matchingServiceConfigProxy
+                journeyConfigProxy
         );
     }
 
@@ -141,7 +140,7 @@ public class IdpSelectedStateControllerTest {
 
     @Test
     public void handleResponseFromIdp_shouldTransitionToAuthnFailedStateWhenFraudHasOccurred() {
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
         FraudFromIdp fraudFromIdp = aFraudFromIdp()
                 .withIssuerId(IDP_ENTITY_ID)
@@ -157,7 +156,7 @@ public class IdpSelectedStateControllerTest {
 
     @Test
     public void handleResponseFromIfp_whenFraudHasOccurred_shouldSendFraudHubEvent() {
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
         FraudDetectedDetails idpFraudDetectedDetails = new FraudDetectedDetails("id", "IT01");
         FraudFromIdp fraudFromIdp = aFraudFromIdp()
@@ -188,7 +187,7 @@ public class IdpSelectedStateControllerTest {
 
     @Test
     public void handleResponseFromIdp_shouldTransitionToAuthnFailedStateWhenAGenericAuthenticationFailureHasOccurred() {
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
         AuthenticationErrorResponse authenticationErrorResponse = anAuthenticationErrorResponse()
                 .withIssuerId(IDP_ENTITY_ID)
@@ -203,7 +202,7 @@ public class IdpSelectedStateControllerTest {
 
     @Test
     public void handleResponseFromIdp_shouldTransitionToAuthnPendingStateWhenSaveAndContinue() {
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
 
         controller.handlePausedRegistrationResponseFromIdp(IDP_ENTITY_ID, PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB, java.util.Optional.of(PROVIDED_LOA), ANALYTICS_SESSION_ID, JOURNEY_TYPE);
@@ -229,7 +228,7 @@ public class IdpSelectedStateControllerTest {
     @Test(expected = IdpDisabledException.class)
     public void handleSuccessResponseFromIdp_shouldThrowExceptionWhenIdpIsDisabled() {
         SuccessFromIdp successFromIdp = aSuccessFromIdp().build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(emptyList());
         controller.handleMatchingJourneySuccessResponseFromIdp(successFromIdp);
     }
@@ -244,7 +243,7 @@ public class IdpSelectedStateControllerTest {
                 .withPrincipalIpAddressAsSeenByHub(PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB)
                 .withLevelOfAssurance(LevelOfAssurance.LEVEL_3)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
 
         controller.handleMatchingJourneySuccessResponseFromIdp(successFromIdp);
@@ -253,7 +252,7 @@ public class IdpSelectedStateControllerTest {
     @Test(expected = IdpDisabledException.class)
     public void handleAuthenticationFailedResponseFromIdp_shouldThrowExceptionWhenIdpIsDisabled() {
         AuthenticationErrorResponse authenticationErrorResponse = anAuthenticationErrorResponse().build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(emptyList());
         controller.handleAuthenticationFailedResponseFromIdp(authenticationErrorResponse);
     }
@@ -263,7 +262,7 @@ public class IdpSelectedStateControllerTest {
         controller = idpSelectedStateBuilder(true);
 
         AuthenticationErrorResponse authenticationErrorResponse = anAuthenticationErrorResponse().withIssuerId(IDP_ENTITY_ID).build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(any(String.class), eq(controller.isRegistrationContext()), eq(PROVIDED_LOA)))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(any(String.class), eq(controller.isRegistrationContext()), eq(PROVIDED_LOA)))
                 .thenReturn(singletonList(authenticationErrorResponse.getIssuer()));
         controller.handleNoAuthenticationContextResponseFromIdp(authenticationErrorResponse);
         verify(stateTransitionAction).transitionTo(isA(AuthnFailedErrorState.class));
@@ -272,7 +271,7 @@ public class IdpSelectedStateControllerTest {
     @Test
     public void handleNoAuthenticationContextResponseFromIdp_shouldTransitionToSessionCreatedStateWhenSigninCancelled() {
         AuthenticationErrorResponse authenticationErrorResponse = anAuthenticationErrorResponse().withIssuerId(IDP_ENTITY_ID).build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(any(String.class), eq(controller.isRegistrationContext()), eq(PROVIDED_LOA)))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(any(String.class), eq(controller.isRegistrationContext()), eq(PROVIDED_LOA)))
                 .thenReturn(singletonList(authenticationErrorResponse.getIssuer()));
         controller.handleNoAuthenticationContextResponseFromIdp(authenticationErrorResponse);
         verify(stateTransitionAction).transitionTo(isA(SessionStartedState.class));
@@ -281,7 +280,7 @@ public class IdpSelectedStateControllerTest {
     @Test(expected = IdpDisabledException.class)
     public void handleNoAuthenticationContextResponseFromIdp_shouldThrowExceptionWhenIdpIsDisabled() {
         AuthenticationErrorResponse authenticationErrorResponse = anAuthenticationErrorResponse().build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(emptyList());
         controller.handleNoAuthenticationContextResponseFromIdp(authenticationErrorResponse);
     }
@@ -289,7 +288,7 @@ public class IdpSelectedStateControllerTest {
     @Test(expected = IdpDisabledException.class)
     public void handleFraudResponseFromIdp_shouldThrowExceptionWhenIdpIsDisabled() {
         FraudFromIdp fraudFromIdp = aFraudFromIdp().build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(emptyList());
         controller.handleFraudResponseFromIdp(fraudFromIdp);
     }
@@ -297,14 +296,14 @@ public class IdpSelectedStateControllerTest {
     @Test(expected = IdpDisabledException.class)
     public void handleRequesterErrorResponseFromIdp_shouldThrowExceptionWhenIdpIsDisabled() {
         RequesterErrorResponse requesterErrorResponse = aRequesterErrorResponse().build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(emptyList());
         controller.handleRequesterErrorResponseFromIdp(requesterErrorResponse);
     }
 
     @Test(expected = IdpDisabledException.class)
     public void handleRequesterPendingResponseFromIdp_shouldThrowExceptionWhenIdpIsDisabled() {
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(emptyList());
         controller.handlePausedRegistrationResponseFromIdp(IDP_ENTITY_ID, PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB, java.util.Optional.of(PROVIDED_LOA), ANALYTICS_SESSION_ID, JOURNEY_TYPE);
     }
@@ -322,9 +321,9 @@ public class IdpSelectedStateControllerTest {
                 .withLevelOfAssurance(PROVIDED_LOA)
                 .withEncryptedMatchingDatasetAssertion(encryptedMatchingDatasetAssertion)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
-        when(identityProvidersConfigProxy.getIdpConfig(IDP_ENTITY_ID)).thenReturn(anIdpConfigDto().withLevelsOfAssurance(LEVELS_OF_ASSURANCE).build());
+        when(journeyConfigProxy.getIdpSupportedLevelsOfAssurance(TRANSACTION_ENTITY_ID, IDP_ENTITY_ID)).thenReturn(LEVELS_OF_ASSURANCE);
 
         controller.handleMatchingJourneySuccessResponseFromIdp(successFromIdp);
 
@@ -348,9 +347,9 @@ public class IdpSelectedStateControllerTest {
             .withEncryptedMatchingDatasetAssertion(encryptedMatchingDatasetAssertion)
             .withAuthnStatementAssertion(authnStatementAssertion)
             .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
             .thenReturn(singletonList(IDP_ENTITY_ID));
-        when(identityProvidersConfigProxy.getIdpConfig(IDP_ENTITY_ID)).thenReturn(anIdpConfigDto().withLevelsOfAssurance(LEVELS_OF_ASSURANCE).build());
+        when(journeyConfigProxy.getIdpSupportedLevelsOfAssurance(TRANSACTION_ENTITY_ID, IDP_ENTITY_ID)).thenReturn(LEVELS_OF_ASSURANCE);
 
         controller.handleNonMatchingJourneySuccessResponseFromIdp(successFromIdp);
 
@@ -372,9 +371,9 @@ public class IdpSelectedStateControllerTest {
                 .withAnalyticsSessionId(ANALYTICS_SESSION_ID)
                 .withJourneyType(JOURNEY_TYPE)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
-        when(identityProvidersConfigProxy.getIdpConfig(IDP_ENTITY_ID)).thenReturn(anIdpConfigDto().withLevelsOfAssurance(LEVELS_OF_ASSURANCE).build());
+        when(journeyConfigProxy.getIdpSupportedLevelsOfAssurance(TRANSACTION_ENTITY_ID, IDP_ENTITY_ID)).thenReturn(LEVELS_OF_ASSURANCE);
         controller.handleMatchingJourneySuccessResponseFromIdp(successFromIdp);
         verify(hubEventLogger).logIdpAuthnSucceededEvent(
                 NEW_SESSION_ID,
@@ -395,7 +394,7 @@ public class IdpSelectedStateControllerTest {
 
     @Test
     public void handleRequesterPendingResponseFromIdp_shouldLogEvent() {
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
 
         controller.handlePausedRegistrationResponseFromIdp(IDP_ENTITY_ID, PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB, java.util.Optional.of(PROVIDED_LOA), ANALYTICS_SESSION_ID, JOURNEY_TYPE);
@@ -419,7 +418,7 @@ public class IdpSelectedStateControllerTest {
                 .withErrorMessage(errorMessage)
                 .withPrincipalIpAddressAsSeenByHub(PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
 
         controller.handleRequesterErrorResponseFromIdp(requesterErrorResponse);
@@ -442,7 +441,7 @@ public class IdpSelectedStateControllerTest {
                 .withIssuerId(IDP_ENTITY_ID)
                 .withPrincipalIpAddressAsSeenByHub(PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
 
         controller.handleAuthenticationFailedResponseFromIdp(authenticationErrorResponse);
@@ -464,7 +463,7 @@ public class IdpSelectedStateControllerTest {
                 .withIssuerId(IDP_ENTITY_ID)
                 .withPrincipalIpAddressAsSeenByHub(PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(singletonList(IDP_ENTITY_ID));
 
         controller.handleNoAuthenticationContextResponseFromIdp(authenticationErrorResponse);
@@ -483,7 +482,7 @@ public class IdpSelectedStateControllerTest {
     @Test
     public void shouldReturnMatchingServiceEntityIdWhenAsked() {
        controller.getMatchingServiceEntityId();
-        verify(transactionsConfigProxy).getMatchingServiceEntityId(idpSelectedState.getRequestIssuerEntityId());
+        verify(journeyConfigProxy).getMatchingServiceEntityId(idpSelectedState.getRequestIssuerEntityId());
     }
 
     @Test(expected = StateProcessingValidationException.class)
@@ -496,7 +495,7 @@ public class IdpSelectedStateControllerTest {
                 .withPrincipalIpAddressAsSeenByHub(PRINCIPAL_IP_ADDRESS_AS_SEEN_BY_HUB)
                 .withLevelOfAssurance(PROVIDED_LOA)
                 .build();
-        when(identityProvidersConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
+        when(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(TRANSACTION_ENTITY_ID, controller.isRegistrationContext(), PROVIDED_LOA))
                 .thenReturn(asList(IDP_ENTITY_ID, "differentIDP"));
 
         controller.handleMatchingJourneySuccessResponseFromIdp(successFromIdp);
@@ -18,6 +18,7 @@ import uk.gov.ida.hub.policy.domain.StateController;
 import uk.gov.ida.hub.policy.domain.StateTransitionAction;
 import uk.gov.ida.hub.policy.logging.HubEventLogger;
 import uk.gov.ida.hub.policy.proxy.IdentityProvidersConfigProxy;
+import uk.gov.ida.hub.policy.proxy.JourneyConfigProxy;
 import uk.gov.ida.hub.policy.proxy.MatchingServiceConfigProxy;
 import uk.gov.ida.hub.policy.proxy.TransactionsConfigProxy;
 import uk.gov.ida.hub.policy.services.AttributeQueryService;
@@ -65,6 +66,7 @@ public class StateControllerFactoryTest {
         when(injector.getInstance(AttributeQueryService.class)).thenReturn(null);
         when(injector.getInstance(HubEventLogger.class)).thenReturn(null);
         when(injector.getInstance(IdentityProvidersConfigProxy.class)).thenReturn(null);
+        when(injector.getInstance(JourneyConfigProxy.class)).thenReturn(null);
         when(injector.getInstance(MatchingServiceConfigProxy.class)).thenReturn(null);
         when(injector.getInstance(PolicyConfiguration.class)).thenReturn(null);
         when(injector.getInstance(ResponseFromHubFactory.class)).thenReturn(null);
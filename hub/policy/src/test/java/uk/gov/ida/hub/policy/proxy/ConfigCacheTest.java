@@ -0,0 +1,103 @@
+package uk.gov.ida.hub.policy.proxy;
+
+import com.google.common.base.Ticker;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConfigCacheTest {
+
+    private static final URI CONFIG_URI = URI.create("http://config/transactions/rp-entity-id/levels-of-assurance");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void shouldLoadOnceAndCountHitsAndMisses() {
+        ConfigCache<String> cache = aConfigCache("hits_and_misses", Duration.minutes(5));
+
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-1");
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-1");
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-1");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(ConfigCache.lookups.labels("hits_and_misses", "miss").get()).isEqualTo(1);
+        assertThat(ConfigCache.lookups.labels("hits_and_misses", "hit").get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldServeStaleValueWhileRefreshingInBackground() {
+        ConfigCache<String> cache = aConfigCache("refresh_ahead", Duration.minutes(5));
+        cache.get(CONFIG_URI);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-1");
+        assertThat(refreshTasks).hasSize(1);
+
+        refreshTasks.forEach(Runnable::run);
+
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-2");
+    }
+
+    @Test
+    public void shouldReloadAfterMaximumStaleness() {
+        ConfigCache<String> cache = aConfigCache("maximum_staleness", Duration.minutes(5));
+        cache.get(CONFIG_URI);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(31));
+
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-2");
+        assertThat(refreshTasks).isEmpty();
+    }
+
+    @Test
+    public void shouldNotCacheWhenRefreshIntervalIsZero() {
+        ConfigCache<String> cache = aConfigCache("disabled", Duration.milliseconds(0));
+
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-1");
+        assertThat(cache.get(CONFIG_URI)).isEqualTo("value-2");
+    }
+
+    @Test
+    public void shouldPropagateLoaderExceptionsUnwrapped() {
+        ConfigCache<String> cache = new ConfigCache<>("failing", Duration.minutes(5), Duration.minutes(30), refreshTasks::add, ticker, uri -> {
+            throw new IllegalStateException("config unavailable");
+        });
+
+        assertThatThrownBy(() -> cache.get(CONFIG_URI)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldCacheAMissingValue() {
+        ConfigCache<String> cache = new ConfigCache<>("missing_value", Duration.minutes(5), Duration.minutes(30), refreshTasks::add, ticker, uri -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertThat(cache.get(CONFIG_URI)).isNull();
+        assertThat(cache.get(CONFIG_URI)).isNull();
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private ConfigCache<String> aConfigCache(String name, Duration refreshAfter) {
+        return new ConfigCache<>(name, refreshAfter, Duration.minutes(30), refreshTasks::add, ticker, uri -> "value-" + loads.incrementAndGet());
+    }
+}
@@ -0,0 +1,111 @@
+package uk.gov.ida.hub.policy.proxy;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.ida.common.ExceptionType;
+import uk.gov.ida.exceptions.ApplicationException;
+import uk.gov.ida.hub.policy.Urls;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
+import uk.gov.ida.hub.policy.contracts.JourneyConfigDto;
+import uk.gov.ida.hub.policy.contracts.MatchingServiceConfigEntityDataDto;
+import uk.gov.ida.hub.policy.domain.LevelOfAssurance;
+import uk.gov.ida.jerseyclient.JsonClient;
+import uk.gov.ida.shared.utils.string.StringEncoding;
+
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JourneyConfigProxyTest {
+
+    private static final String ENTITY_ID = "test-entity-id";
+    private static final String IDP_ENTITY_ID = "idp-entity-id";
+    private static final String MS_ENTITY_ID = "ms-entity-id";
+    private static final URI CONFIG_BASE_URI = URI.create("http://not-a-real-server");
+
+    @Mock
+    private JsonClient client;
+
+    @Mock
+    private MatchingServiceConfigProxy matchingServiceConfigProxy;
+
+    private JourneyConfigProxy journeyConfigProxy;
+    private URI journeyConfigUri;
+
+    @Before
+    public void setUp() {
+        journeyConfigProxy = new JourneyConfigProxy(client, CONFIG_BASE_URI, matchingServiceConfigProxy, new ConfigCacheFactory(new ConfigProxyCacheConfiguration()));
+        journeyConfigUri = UriBuilder.fromUri(CONFIG_BASE_URI)
+                .path(Urls.ConfigUrls.JOURNEY_CONFIG_RESOURCE)
+                .buildFromEncoded(StringEncoding.urlEncode(ENTITY_ID));
+    }
+
+    @Test
+    public void shouldAnswerAllJourneyQuestionsFromOneRequest() {
+        JourneyConfigDto journeyConfig = new JourneyConfigDto(
+                ENTITY_ID,
+                true,
+                MS_ENTITY_ID,
+                null,
+                List.of(IDP_ENTITY_ID),
+                Map.of(LevelOfAssurance.LEVEL_2, List.of(IDP_ENTITY_ID)),
+                Map.of(IDP_ENTITY_ID, List.of(LevelOfAssurance.LEVEL_2)));
+        when(client.get(journeyConfigUri, JourneyConfigDto.class)).thenReturn(journeyConfig);
+
+        assertThat(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(ENTITY_ID, false, LevelOfAssurance.LEVEL_2)).containsOnly(IDP_ENTITY_ID);
+        assertThat(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(ENTITY_ID, true, LevelOfAssurance.LEVEL_2)).containsOnly(IDP_ENTITY_ID);
+        assertThat(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(ENTITY_ID, true, LevelOfAssurance.LEVEL_1)).isEmpty();
+        assertThat(journeyConfigProxy.getIdpSupportedLevelsOfAssurance(ENTITY_ID, IDP_ENTITY_ID)).containsOnly(LevelOfAssurance.LEVEL_2);
+        assertThat(journeyConfigProxy.getMatchingServiceEntityId(ENTITY_ID)).isEqualTo(MS_ENTITY_ID);
+        assertThat(journeyConfigProxy.isUsingMatching(ENTITY_ID)).isTrue();
+
+        verify(client, times(1)).get(journeyConfigUri, JourneyConfigDto.class);
+        verifyNoMoreInteractions(client);
+    }
+
+    @Test
+    public void shouldReturnTheMatchingServiceFromTheJourneyConfig() {
+        MatchingServiceConfigEntityDataDto matchingService = aMatchingService();
+        when(client.get(journeyConfigUri, JourneyConfigDto.class)).thenReturn(aJourneyConfigWithMatchingService(matchingService));
+
+        assertThat(journeyConfigProxy.getMatchingService(ENTITY_ID)).isSameAs(matchingService);
+
+        verifyNoInteractions(matchingServiceConfigProxy);
+    }
+
+    @Test
+    public void shouldFailWithConfigsErrorWhenTheMatchingServiceIsMissingFromTheJourneyConfig() {
+        ApplicationException notFound = ApplicationException.createUnauditedException(ExceptionType.CLIENT_ERROR, UUID.randomUUID());
+        when(client.get(journeyConfigUri, JourneyConfigDto.class)).thenReturn(aJourneyConfigWithMatchingService(null));
+        when(matchingServiceConfigProxy.getMatchingService(MS_ENTITY_ID)).thenThrow(notFound);
+
+        assertThatThrownBy(() -> journeyConfigProxy.getMatchingService(ENTITY_ID)).isSameAs(notFound);
+    }
+
+    @Test
+    public void shouldReturnNoEnabledIdpsWithoutTransaction() {
+        assertThat(journeyConfigProxy.getEnabledIdentityProvidersForAuthenticationResponseProcessing(null, false, LevelOfAssurance.LEVEL_2)).isEmpty();
+    }
+
+    private static JourneyConfigDto aJourneyConfigWithMatchingService(MatchingServiceConfigEntityDataDto matchingService) {
+        return new JourneyConfigDto(ENTITY_ID, true, MS_ENTITY_ID, matchingService, List.of(), Map.of(), Map.of());
+    }
+
+    private static MatchingServiceConfigEntityDataDto aMatchingService() {
+        return new MatchingServiceConfigEntityDataDto(MS_ENTITY_ID, URI.create("http://matching-service"), ENTITY_ID, true, false, null);
+    }
+}
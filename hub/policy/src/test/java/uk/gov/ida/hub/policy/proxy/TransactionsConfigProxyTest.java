@@ -6,6 +6,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.ida.hub.policy.Urls;
+import uk.gov.ida.hub.policy.configuration.ConfigProxyCacheConfiguration;
 import uk.gov.ida.jerseyclient.JsonClient;
 import uk.gov.ida.shared.utils.string.StringEncoding;
 
@@ -39,7 +40,8 @@ public class TransactionsConfigProxyTest {
 
         configProxy = new TransactionsConfigProxy(
                 client,
-                CONFIG_BASE_URI
+                CONFIG_BASE_URI,
+                new ConfigCacheFactory(new ConfigProxyCacheConfiguration())
         );
 
         URI isUsingMatchingUri = UriBuilder
@@ -60,7 +62,8 @@ public class TransactionsConfigProxyTest {
 
         configProxy = new TransactionsConfigProxy(
                 client,
-                CONFIG_BASE_URI
+                CONFIG_BASE_URI,
+                new ConfigCacheFactory(new ConfigProxyCacheConfiguration())
         );
 
         URI isUsingMatchingUri = UriBuilder
@@ -79,7 +82,8 @@ public class TransactionsConfigProxyTest {
 
         configProxy = new TransactionsConfigProxy(
                 client,
-                CONFIG_BASE_URI
+                CONFIG_BASE_URI,
+                new ConfigCacheFactory(new ConfigProxyCacheConfiguration())
         );
 
         when(client.get(any(), eq(boolean.class))).thenThrow(new RuntimeException());
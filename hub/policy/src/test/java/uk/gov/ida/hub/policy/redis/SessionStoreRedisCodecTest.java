@@ -0,0 +1,71 @@
+package uk.gov.ida.hub.policy.redis;
+
+import org.junit.Test;
+import uk.gov.ida.hub.policy.PolicyModule;
+import uk.gov.ida.hub.policy.domain.State;
+import uk.gov.ida.hub.policy.domain.state.AwaitingCycle3DataState;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.ida.hub.policy.builder.state.AwaitingCycle3DataStateBuilder.anAwaitingCycle3DataState;
+
+public class SessionStoreRedisCodecTest {
+
+    private final SessionStoreRedisCodec jsonCodec = codecFor(SessionStateEncoding.JSON);
+    private final SessionStoreRedisCodec smileCodec = codecFor(SessionStateEncoding.SMILE);
+
+    @Test
+    public void shouldRoundTripStateAsJson() {
+        AwaitingCycle3DataState state = anAwaitingCycle3DataState().build();
+
+        State decoded = jsonCodec.decodeValue(jsonCodec.encodeValue(state));
+
+        assertThat(asJson(decoded)).isEqualTo(asJson(state));
+    }
+
+    @Test
+    public void shouldRoundTripStateAsSmile() {
+        AwaitingCycle3DataState state = anAwaitingCycle3DataState().build();
+
+        State decoded = smileCodec.decodeValue(smileCodec.encodeValue(state));
+
+        assertThat(asJson(decoded)).isEqualTo(asJson(state));
+    }
+
+    @Test
+    public void shouldDecodeJsonStatesWhenEncodingAsSmile() {
+        AwaitingCycle3DataState state = anAwaitingCycle3DataState().build();
+
+        State decoded = smileCodec.decodeValue(jsonCodec.encodeValue(state));
+
+        assertThat(asJson(decoded)).isEqualTo(asJson(state));
+    }
+
+    @Test
+    public void shouldDecodeSmileStatesWhenEncodingAsJson() {
+        AwaitingCycle3DataState state = anAwaitingCycle3DataState().build();
+
+        State decoded = jsonCodec.decodeValue(smileCodec.encodeValue(state));
+
+        assertThat(asJson(decoded)).isEqualTo(asJson(state));
+    }
+
+    @Test
+    public void smileEncodedStateShouldBeSmallerThanJson() {
+        AwaitingCycle3DataState state = anAwaitingCycle3DataState().build();
+
+        ByteBuffer json = jsonCodec.encodeValue(state);
+        ByteBuffer smile = smileCodec.encodeValue(state);
+
+        assertThat(smile.remaining()).isLessThan(json.remaining());
+    }
+
+    private ByteBuffer asJson(State state) {
+        return jsonCodec.encodeValue(state);
+    }
+
+    private static SessionStoreRedisCodec codecFor(SessionStateEncoding encoding) {
+        return new SessionStoreRedisCodec(PolicyModule.getRedisObjectMapper(), PolicyModule.getRedisSmileObjectMapper(), encoding);
+    }
+}
@@ -33,8 +33,10 @@ import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static uk.gov.ida.hub.policy.builder.AuthnResponseFromHubContainerDtoBuilder.anAuthnResponseFromHubContainerDto;
@@ -142,6 +144,21 @@ public class SessionServiceTest {
         assertThat(service.getSessionIfItExists(sessionId)).isEqualTo(sessionId);
     }
 
+    @Test
+    public void getSessionAsync_ReturnSessionIdWhenSessionExists() {
+        SessionId sessionId = createNewSessionId();
+        when(sessionRepository.sessionExistsAsync(sessionId)).thenReturn(CompletableFuture.completedFuture(true));
+        assertThat(service.getSessionIfItExistsAsync(sessionId).toCompletableFuture().join()).isEqualTo(sessionId);
+    }
+
+    @Test
+    public void getSessionAsync_FailsWhenSessionDoesNotExists() {
+        SessionId sessionId = createNewSessionId();
+        when(sessionRepository.sessionExistsAsync(sessionId)).thenReturn(CompletableFuture.completedFuture(false));
+        assertThatThrownBy(service.getSessionIfItExistsAsync(sessionId).toCompletableFuture()::join)
+                .hasCauseInstanceOf(SessionNotFoundException.class);
+    }
+
     @Test(expected = SessionNotFoundException.class)
     public void shouldThrowSessionNotFoundWhenSessionDoesNotExistAndAResponseFromHubIsRequested() {
         SessionId sessionId = createNewSessionId();
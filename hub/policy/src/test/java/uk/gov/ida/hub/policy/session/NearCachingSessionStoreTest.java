@@ -0,0 +1,178 @@
+package uk.gov.ida.hub.policy.session;
+
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.ida.hub.policy.domain.SessionId;
+import uk.gov.ida.hub.policy.domain.State;
+import uk.gov.ida.hub.policy.domain.state.SessionStartedState;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.ida.hub.policy.builder.domain.SessionIdBuilder.aSessionId;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NearCachingSessionStoreTest {
+
+    private NearCachingSessionStore nearCachingSessionStore;
+
+    @Mock
+    private SessionStore delegate;
+
+    private final SessionId sessionId = aSessionId().build();
+
+    @Before
+    public void setUp() {
+        nearCachingSessionStore = new NearCachingSessionStore(delegate, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void shouldOnlyLoadAStateFromTheDelegateOnce() {
+        State state = getRandomState();
+        when(delegate.get(sessionId)).thenReturn(state);
+
+        assertThat(nearCachingSessionStore.get(sessionId)).isEqualTo(state);
+        assertThat(nearCachingSessionStore.get(sessionId)).isEqualTo(state);
+
+        verify(delegate).get(sessionId);
+    }
+
+    @Test
+    public void shouldWriteThroughOnReplace() {
+        State state = getRandomState();
+        when(delegate.replace(sessionId, state)).thenReturn(true);
+
+        nearCachingSessionStore.replace(sessionId, state);
+
+        assertThat(nearCachingSessionStore.get(sessionId)).isEqualTo(state);
+        assertThat(nearCachingSessionStore.hasSession(sessionId)).isTrue();
+        verify(delegate).replace(sessionId, state);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void shouldNotCacheAStateThatWasNotReplaced() {
+        State state = getRandomState();
+        when(delegate.replace(sessionId, state)).thenReturn(false);
+
+        nearCachingSessionStore.replace(sessionId, state);
+
+        assertThat(nearCachingSessionStore.get(sessionId)).isNull();
+        verify(delegate).get(sessionId);
+    }
+
+    @Test
+    public void shouldKeepCachedStateOnNotificationsForItsOwnWrite() {
+        State state = getRandomState();
+        nearCachingSessionStore.insert(sessionId, state);
+
+        nearCachingSessionStore.onKeyspaceEvent(sessionId, "set");
+        nearCachingSessionStore.onKeyspaceEvent(sessionId, "expire");
+
+        assertThat(nearCachingSessionStore.get(sessionId)).isEqualTo(state);
+        verify(delegate).insert(sessionId, state);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void shouldInvalidateOnWritesFromOtherNodes() {
+        State state = getRandomState();
+        State newState = getRandomState();
+        nearCachingSessionStore.insert(sessionId, state);
+        nearCachingSessionStore.onKeyspaceEvent(sessionId, "set");
+        when(delegate.get(sessionId)).thenReturn(newState);
+
+        nearCachingSessionStore.onKeyspaceEvent(sessionId, "set");
+
+        assertThat(nearCachingSessionStore.get(sessionId)).isEqualTo(newState);
+    }
+
+    @Test
+    public void shouldInvalidateWhenSessionExpires() {
+        State state = getRandomState();
+        when(delegate.get(sessionId)).thenReturn(state);
+        nearCachingSessionStore.get(sessionId);
+
+        nearCachingSessionStore.onKeyspaceEvent(sessionId, "expired");
+        nearCachingSessionStore.get(sessionId);
+
+        verify(delegate, times(2)).get(sessionId);
+    }
+
+    @Test
+    public void shouldForwardKeyspaceNotificationsForSessionKeys() {
+        State state = getRandomState();
+        when(delegate.get(sessionId)).thenReturn(state);
+        nearCachingSessionStore.get(sessionId);
+
+        new SessionStoreKeyspaceListener(nearCachingSessionStore)
+                .message(SessionStoreKeyspaceListener.keyspaceChannelPattern(0), "__keyspace@0__:" + sessionId.getSessionId(), "del");
+        nearCachingSessionStore.get(sessionId);
+
+        verify(delegate, times(2)).get(sessionId);
+    }
+
+    @Test
+    public void shouldCacheALoadedStateWhenOtherSessionsAreInvalidatedMeanwhile() {
+        State state = getRandomState();
+        when(delegate.get(sessionId)).thenAnswer(invocation -> {
+            nearCachingSessionStore.onKeyspaceEvent(aSessionId().build(), "set");
+            return state;
+        });
+
+        nearCachingSessionStore.get(sessionId);
+        nearCachingSessionStore.get(sessionId);
+
+        verify(delegate).get(sessionId);
+    }
+
+    @Test
+    public void shouldNotCacheALoadedStateWhenTheSessionIsInvalidatedMeanwhile() {
+        State state = getRandomState();
+        when(delegate.get(sessionId)).thenAnswer(invocation -> {
+            nearCachingSessionStore.onKeyspaceEvent(sessionId, "set");
+            return state;
+        });
+
+        nearCachingSessionStore.get(sessionId);
+        nearCachingSessionStore.get(sessionId);
+
+        verify(delegate, times(2)).get(sessionId);
+    }
+
+    @Test
+    public void shouldNotMistakeAnotherNodesWriteForAnAbandonedWrite() {
+        State state = getRandomState();
+        when(delegate.replace(sessionId, state)).thenReturn(false);
+        when(delegate.get(sessionId)).thenReturn(state);
+        nearCachingSessionStore.replace(sessionId, state);
+        nearCachingSessionStore.get(sessionId);
+
+        nearCachingSessionStore.onKeyspaceEvent(sessionId, "set");
+        nearCachingSessionStore.get(sessionId);
+
+        verify(delegate, times(2)).get(sessionId);
+    }
+
+    @Test
+    public void shouldOnlyListenToSessionKeysInTheConfiguredDatabase() {
+        assertThat(SessionStoreKeyspaceListener.keyspaceChannelPattern(3))
+                .isEqualTo("__keyspace@3__:????????-????-????-????-????????????");
+    }
+
+    private State getRandomState() {
+        return new SessionStartedState(
+                UUID.randomUUID().toString(), "a-relay-state", "a-request-issuer", URI.create("/an-endpoint"), false,
+                DateTime.now().plusMinutes(5), sessionId);
+    }
+}
@@ -0,0 +1,76 @@
+package uk.gov.ida.hub.policy.session;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.ida.hub.policy.domain.SessionId;
+import uk.gov.ida.hub.policy.domain.State;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.gov.ida.hub.policy.builder.domain.SessionIdBuilder.aSessionId;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RedisAsyncSessionStoreTest {
+
+    private RedisAsyncSessionStore redisAsyncSessionStore;
+
+    @Mock
+    private RedisAsyncCommands<SessionId, State> redis;
+
+    @Before
+    public void setUp() {
+        redisAsyncSessionStore = new RedisAsyncSessionStore(redis);
+    }
+
+    @Test
+    public void shouldReportThatASessionExists() {
+        SessionId sessionId = aSessionId().build();
+        when(redis.exists(sessionId)).thenReturn(completedRedisFuture(1L));
+
+        assertThat(redisAsyncSessionStore.hasSession(sessionId).toCompletableFuture()).isCompletedWithValue(true);
+    }
+
+    @Test
+    public void shouldReportThatASessionDoesNotExist() {
+        SessionId sessionId = aSessionId().build();
+        when(redis.exists(sessionId)).thenReturn(completedRedisFuture(0L));
+
+        assertThat(redisAsyncSessionStore.hasSession(sessionId).toCompletableFuture()).isCompletedWithValue(false);
+    }
+
+    @Test
+    public void shouldGetASessionFromRedis() {
+        SessionId sessionId = aSessionId().build();
+        State state = mock(State.class);
+        when(redis.get(sessionId)).thenReturn(completedRedisFuture(state));
+
+        assertThat(redisAsyncSessionStore.get(sessionId).toCompletableFuture()).isCompletedWithValue(state);
+    }
+
+    private static <T> RedisFuture<T> completedRedisFuture(T value) {
+        CompletedRedisFuture<T> future = new CompletedRedisFuture<>();
+        future.complete(value);
+        return future;
+    }
+
+    private static class CompletedRedisFuture<T> extends CompletableFuture<T> implements RedisFuture<T> {
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public boolean await(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
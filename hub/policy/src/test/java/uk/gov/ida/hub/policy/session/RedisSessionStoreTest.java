@@ -1,5 +1,6 @@
 package uk.gov.ida.hub.policy.session;
 
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.api.sync.RedisCommands;
 import org.joda.time.DateTime;
 import org.junit.Before;
@@ -14,9 +15,8 @@ import uk.gov.ida.hub.policy.domain.state.SessionStartedState;
 import java.net.URI;
 import java.util.UUID;
 
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static uk.gov.ida.hub.policy.builder.domain.SessionIdBuilder.aSessionId;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -43,12 +43,13 @@ public class RedisSessionStoreTest {
     }
 
     @Test
-    public void shouldReplaceSessionInRedis() {
+    public void shouldReplaceSessionInRedisKeepingTtlInASingleCommand() {
         SessionId sessionId = aSessionId().build();
         State state = getRandomState();
         redisSessionStore.replace(sessionId, state);
 
-        verify(redis).setex(eq(sessionId), anyLong(), eq(state));
+        verify(redis).eval(RedisSessionStore.REPLACE_KEEPING_TTL_SCRIPT, ScriptOutputType.STATUS, new SessionId[]{sessionId}, state);
+        verifyNoMoreInteractions(redis);
     }
 
     @Test
@@ -0,0 +1,83 @@
+package uk.gov.ida.integrationtest.hub.samlengine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.joda.time.DateTime;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+import uk.gov.ida.hub.samlengine.redis.AssertionExpirationCacheRedisCodec;
+import uk.gov.ida.hub.samlengine.security.RedisIdExpirationCache;
+import uk.gov.ida.integrationtest.hub.samlengine.apprule.support.RedisTestRule;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedisIdExpirationCacheIntegrationTest {
+
+    private static final int REDIS_PORT = 6384;
+    private static final long RECORD_TTL = 3600L;
+
+    @ClassRule
+    public static ExternalResource redis = new RedisTestRule(REDIS_PORT);
+
+    private static RedisClient redisClient;
+    private static StatefulRedisConnection<String, DateTime> connection;
+    private static RedisIdExpirationCache<String> idExpirationCache;
+
+    @BeforeClass
+    public static void connect() {
+        redisClient = RedisClient.create();
+        connection = redisClient.connect(
+                new AssertionExpirationCacheRedisCodec(new ObjectMapper().registerModule(new JodaModule())),
+                new RedisURI("localhost", REDIS_PORT, Duration.ofSeconds(2)));
+        idExpirationCache = new RedisIdExpirationCache<>(connection.sync(), RECORD_TTL);
+    }
+
+    @AfterClass
+    public static void disconnect() {
+        connection.close();
+        redisClient.shutdown();
+    }
+
+    @Test
+    public void shouldRecordAnIdTheFirstTimeItIsSeen() {
+        String id = UUID.randomUUID().toString();
+        DateTime expiration = DateTime.now().plusMinutes(5);
+
+        assertThat(idExpirationCache.setExpirationIfAbsent(id, expiration)).isTrue();
+
+        assertThat(idExpirationCache.getExpiration(id).getMillis()).isEqualTo(expiration.getMillis());
+        assertThat(connection.sync().ttl(id)).isPositive().isLessThanOrEqualTo(RECORD_TTL);
+    }
+
+    @Test
+    public void shouldRejectAReplayedIdWhileItsExpirationIsInTheFuture() {
+        String id = UUID.randomUUID().toString();
+        DateTime expiration = DateTime.now().plusMinutes(5);
+        idExpirationCache.setExpirationIfAbsent(id, expiration);
+
+        assertThat(idExpirationCache.setExpirationIfAbsent(id, DateTime.now().plusMinutes(10))).isFalse();
+
+        assertThat(idExpirationCache.getExpiration(id).getMillis()).isEqualTo(expiration.getMillis());
+    }
+
+    @Test
+    public void shouldRecordAnIdAgainOnceItsExpirationHasPassed() {
+        String id = UUID.randomUUID().toString();
+        idExpirationCache.setExpiration(id, DateTime.now().minusMinutes(1));
+        DateTime expiration = DateTime.now().plusMinutes(5);
+
+        assertThat(idExpirationCache.setExpirationIfAbsent(id, expiration)).isTrue();
+
+        assertThat(idExpirationCache.getExpiration(id).getMillis()).isEqualTo(expiration.getMillis());
+        assertThat(connection.sync().ttl(id)).isPositive().isLessThanOrEqualTo(RECORD_TTL);
+    }
+}
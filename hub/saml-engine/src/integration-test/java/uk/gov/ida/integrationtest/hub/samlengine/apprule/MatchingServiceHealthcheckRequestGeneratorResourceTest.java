@@ -17,9 +17,11 @@ import uk.gov.ida.integrationtest.hub.samlengine.apprule.support.SamlEngineAppRu
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.net.URI;
+import java.util.List;
 
 import static io.dropwizard.testing.ConfigOverride.config;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -67,6 +69,23 @@ public class MatchingServiceHealthcheckRequestGeneratorResourceTest {
         assertThat(entity.getExceptionType()).isEqualTo(ExceptionType.INVALID_INPUT);
     }
 
+    @Test
+    public void should_createAHealthcheckAttributeQueryRequestForEachRequestInABatch() throws Exception {
+        configStub.setupCertificatesForEntity(TEST_RP_MS);
+
+        final URI uri = samlEngineAppRule.getUri(Urls.SamlEngineUrls.GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERIES_RESOURCE);
+        Response response = client.target(uri)
+                .request(MediaType.APPLICATION_JSON_TYPE)
+                .post(Entity.json(List.of(
+                        new MatchingServiceHealthCheckerRequestDto(TEST_RP, TEST_RP_MS),
+                        new MatchingServiceHealthCheckerRequestDto(TEST_RP, TEST_RP_MS))));
+        List<SamlMessageDto> entities = response.readEntity(new GenericType<List<SamlMessageDto>>() {});
+
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+        assertThat(entities).hasSize(2);
+        assertThat(entities.get(0).getSamlMessage()).isNotNull().isNotEqualTo(entities.get(1).getSamlMessage());
+    }
+
     private Response getAttributeQuery(MatchingServiceHealthCheckerRequestDto dto) {
         final URI uri = samlEngineAppRule.getUri(Urls.SamlEngineUrls.GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESOURCE);
         return client.target(uri)
@@ -25,6 +25,7 @@ import uk.gov.ida.hub.samlengine.filters.SessionIdQueryParamLoggingFilter;
 import uk.gov.ida.hub.samlengine.resources.translators.IdpAuthnRequestGeneratorResource;
 import uk.gov.ida.hub.samlengine.resources.translators.IdpAuthnResponseTranslatorResource;
 import uk.gov.ida.hub.samlengine.resources.translators.MatchingServiceHealthcheckRequestGeneratorResource;
+import uk.gov.ida.hub.samlengine.resources.translators.MatchingServiceHealthcheckRequestsGeneratorResource;
 import uk.gov.ida.hub.samlengine.resources.translators.MatchingServiceHealthcheckResponseTranslatorResource;
 import uk.gov.ida.hub.samlengine.resources.translators.MatchingServiceRequestGeneratorResource;
 import uk.gov.ida.hub.samlengine.resources.translators.MatchingServiceResponseTranslatorResource;
@@ -106,6 +107,7 @@ public class SamlEngineApplication extends Application<SamlEngineConfiguration>
         environment.jersey().register(MatchingServiceRequestGeneratorResource.class);
         environment.jersey().register(MatchingServiceResponseTranslatorResource.class);
         environment.jersey().register(MatchingServiceHealthcheckRequestGeneratorResource.class);
+        environment.jersey().register(MatchingServiceHealthcheckRequestsGeneratorResource.class);
         environment.jersey().register(MatchingServiceHealthcheckResponseTranslatorResource.class);
     }
 
@@ -11,6 +11,7 @@ import uk.gov.ida.common.shared.configuration.PrivateKeyConfiguration;
 import uk.gov.ida.configuration.ServiceNameConfiguration;
 import uk.gov.ida.hub.samlengine.config.RedisConfiguration;
 import uk.gov.ida.hub.samlengine.config.SamlConfiguration;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeedConfiguration;
 import uk.gov.ida.restclient.RestfulClientConfiguration;
 import uk.gov.ida.saml.hub.configuration.SamlAuthnRequestValidityDurationConfiguration;
 import uk.gov.ida.saml.hub.configuration.SamlDuplicateRequestValidationConfiguration;
@@ -88,6 +89,11 @@ public class SamlEngineConfiguration extends Configuration implements RestfulCli
     @JsonProperty
     protected Duration certificatesConfigCacheExpiry = Duration.minutes(5);
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected ConfigChangeFeedConfiguration configChangeFeed = new ConfigChangeFeedConfiguration();
+
     @Valid
     @NotNull
     @JsonProperty
@@ -141,6 +147,10 @@ public class SamlEngineConfiguration extends Configuration implements RestfulCli
         return certificatesConfigCacheExpiry;
     }
 
+    public ConfigChangeFeedConfiguration getConfigChangeFeed() {
+        return configChangeFeed;
+    }
+
     public ServiceInfoConfiguration getServiceInfo() {
         return serviceInfo;
     }
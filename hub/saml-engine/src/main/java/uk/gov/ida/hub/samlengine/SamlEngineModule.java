@@ -59,6 +59,7 @@ import uk.gov.ida.hub.samlengine.services.MatchingServiceResponseTranslatorServi
 import uk.gov.ida.hub.samlengine.services.RpAuthnRequestTranslatorService;
 import uk.gov.ida.hub.samlengine.services.RpAuthnResponseGeneratorService;
 import uk.gov.ida.hub.samlengine.services.RpErrorResponseGeneratorService;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
 import uk.gov.ida.jerseyclient.DefaultClientProvider;
 import uk.gov.ida.jerseyclient.ErrorHandlingClient;
 import uk.gov.ida.jerseyclient.JsonClient;
@@ -277,6 +278,17 @@ public class SamlEngineModule extends AbstractModule {
         return configurations.getConfigUri();
     }
 
+    @Provides
+    @Singleton
+    @SuppressWarnings("unused")
+    private ConfigChangeFeed configChangeFeed(JsonClient jsonClient, SamlEngineConfiguration configuration, Environment environment) {
+        ConfigChangeFeed configChangeFeed = new ConfigChangeFeed(jsonClient, configuration.getConfigUri(), configuration.getConfigChangeFeed());
+        if (configuration.getConfigChangeFeed().isEnabled()) {
+            environment.lifecycle().manage(configChangeFeed);
+        }
+        return configChangeFeed;
+    }
+
     @Provides
     @Singleton
     @Config
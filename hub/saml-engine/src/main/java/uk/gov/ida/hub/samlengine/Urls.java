@@ -28,6 +28,7 @@ public interface Urls {
         String TRANSLATE_MATCHING_SERVICE_RESPONSE_RESOURCE = SAML_ENGINE_ROOT + "/translate-attribute-query";
 
         String GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESOURCE = SAML_ENGINE_ROOT + "/generate-msa-healthcheck-attribute-query";
+        String GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERIES_RESOURCE = SAML_ENGINE_ROOT + "/generate-msa-healthcheck-attribute-queries";
         String TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE = SAML_ENGINE_ROOT + "/translate-msa-healthcheck-attribute-query";
 
         // End of new saml-engine is a real microservice resources
@@ -10,6 +10,7 @@ import com.google.inject.Singleton;
 import uk.gov.ida.hub.samlengine.Urls;
 import uk.gov.ida.hub.samlengine.annotations.Config;
 import uk.gov.ida.hub.samlengine.domain.CertificateDto;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
 import uk.gov.ida.jerseyclient.JsonClient;
 import uk.gov.ida.shared.utils.string.StringEncoding;
 
@@ -33,7 +34,8 @@ public class CertificatesConfigProxy {
     public CertificatesConfigProxy(
             JsonClient jsonClient,
             @Config URI configUri,
-            @Config long certificatesConfigCacheExpiryInSeconds) {
+            @Config long certificatesConfigCacheExpiryInSeconds,
+            ConfigChangeFeed configChangeFeed) {
 
         this.jsonClient = jsonClient;
         this.configUri = configUri;
@@ -56,6 +58,11 @@ public class CertificatesConfigProxy {
                         });
                     }
                 });
+
+        configChangeFeed.addListener(() -> {
+            encryptionCertificates.invalidateAll();
+            signingCertificates.invalidateAll();
+        });
     }
 
     @Timed
@@ -1,9 +1,12 @@
 package uk.gov.ida.hub.samlengine.config;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import uk.gov.ida.common.shared.security.X509CertificateFactory;
 import uk.gov.ida.common.shared.security.verification.CertificateChainValidator;
 import uk.gov.ida.common.shared.security.verification.CertificateValidity;
 import uk.gov.ida.common.shared.security.verification.exceptions.CertificateChainValidationException;
+import uk.gov.ida.hub.samlengine.annotations.Config;
 import uk.gov.ida.hub.samlengine.domain.CertificateDto;
 
 import javax.inject.Inject;
@@ -12,7 +15,11 @@ import java.security.PublicKey;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static java.text.MessageFormat.format;
 
@@ -23,28 +30,32 @@ public class ConfigServiceKeyStore {
     private final TrustStoreForCertificateProvider trustStoreForCertificateProvider;
     private final X509CertificateFactory x509CertificateFactory;
 
+    // Parsed keys that passed chain validation, keyed by the certificate and the trust store it was validated against.
+    // Entries expire with the CertificatesConfigProxy cache so that a refresh of the config is always re-validated.
+    private final Cache<ValidatedKeyCacheKey, ValidatedKey> validatedKeys;
+
     @Inject
     public ConfigServiceKeyStore(
             CertificatesConfigProxy certificatesConfigProxy,
             CertificateChainValidator certificateChainValidator,
             TrustStoreForCertificateProvider trustStoreForCertificateProvider,
-            X509CertificateFactory x509CertificateFactory) {
+            X509CertificateFactory x509CertificateFactory,
+            @Config long certificatesConfigCacheExpiryInSeconds) {
 
         this.certificatesConfigProxy = certificatesConfigProxy;
         this.certificateChainValidator = certificateChainValidator;
         this.trustStoreForCertificateProvider = trustStoreForCertificateProvider;
         this.x509CertificateFactory = x509CertificateFactory;
+        this.validatedKeys = CacheBuilder.newBuilder()
+                .expireAfterWrite(certificatesConfigCacheExpiryInSeconds, TimeUnit.SECONDS)
+                .build();
     }
 
     public List<PublicKey> getVerifyingKeysForEntity(String entityId) {
         Collection<CertificateDto> certificates = certificatesConfigProxy.getSignatureVerificationCertificates(entityId);
         List<PublicKey> publicKeys = new ArrayList<>();
         for (CertificateDto keyFromConfig : certificates) {
-            String base64EncodedCertificateValue = keyFromConfig.getCertificate();
-            final X509Certificate certificate = x509CertificateFactory.createCertificate(base64EncodedCertificateValue);
-            trustStoreForCertificateProvider.getTrustStoreFor(keyFromConfig.getFederationEntityType())
-                    .ifPresent(keyStore -> validate(certificate, keyStore));
-            publicKeys.add(certificate.getPublicKey());
+            publicKeys.add(getValidatedKey(keyFromConfig));
         }
 
         return publicKeys;
@@ -52,11 +63,22 @@ public class ConfigServiceKeyStore {
 
     public PublicKey getEncryptionKeyForEntity(String entityId) {
         CertificateDto certificateDto = certificatesConfigProxy.getEncryptionCertificate(entityId);
-        String base64EncodedCertificateValue = certificateDto.getCertificate();
-        final X509Certificate certificate = x509CertificateFactory.createCertificate(base64EncodedCertificateValue);
-        trustStoreForCertificateProvider.getTrustStoreFor(certificateDto.getFederationEntityType())
-                .ifPresent(keyStore -> validate(certificate, keyStore));
-        return certificate.getPublicKey();
+        return getValidatedKey(certificateDto);
+    }
+
+    private PublicKey getValidatedKey(CertificateDto certificateDto) {
+        Optional<KeyStore> trustStore = trustStoreForCertificateProvider.getTrustStoreFor(certificateDto.getFederationEntityType());
+        ValidatedKeyCacheKey cacheKey = new ValidatedKeyCacheKey(certificateDto.getCertificate(), trustStore.orElse(null));
+        ValidatedKey cached = validatedKeys.getIfPresent(cacheKey);
+        if (cached != null && cached.isStillValid()) {
+            return cached.publicKey;
+        }
+
+        final X509Certificate certificate = x509CertificateFactory.createCertificate(certificateDto.getCertificate());
+        trustStore.ifPresent(keyStore -> validate(certificate, keyStore));
+        ValidatedKey validatedKey = new ValidatedKey(certificate.getPublicKey(), certificate.getNotAfter());
+        validatedKeys.put(cacheKey, validatedKey);
+        return validatedKey.publicKey;
     }
 
     private void validate(final X509Certificate certificate, final KeyStore trustStore) {
@@ -74,4 +96,41 @@ public class ConfigServiceKeyStore {
         }
         return "Unable to get DN";
     }
+
+    private static class ValidatedKeyCacheKey {
+        private final String base64EncodedCertificate;
+        private final KeyStore trustStore;
+
+        private ValidatedKeyCacheKey(String base64EncodedCertificate, KeyStore trustStore) {
+            this.base64EncodedCertificate = base64EncodedCertificate;
+            this.trustStore = trustStore;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ValidatedKeyCacheKey that = (ValidatedKeyCacheKey) o;
+            return base64EncodedCertificate.equals(that.base64EncodedCertificate) && trustStore == that.trustStore;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(base64EncodedCertificate, System.identityHashCode(trustStore));
+        }
+    }
+
+    private static class ValidatedKey {
+        private final PublicKey publicKey;
+        private final Date notAfter;
+
+        private ValidatedKey(PublicKey publicKey, Date notAfter) {
+            this.publicKey = publicKey;
+            this.notAfter = notAfter;
+        }
+
+        private boolean isStillValid() {
+            return notAfter != null && new Date().before(notAfter);
+        }
+    }
 }
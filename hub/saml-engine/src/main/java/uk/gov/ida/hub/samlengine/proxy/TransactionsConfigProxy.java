@@ -8,6 +8,7 @@ import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Singleton;
 import uk.gov.ida.hub.samlengine.Urls;
 import uk.gov.ida.hub.samlengine.annotations.Config;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
 import uk.gov.ida.jerseyclient.JsonClient;
 import uk.gov.ida.shared.utils.string.StringEncoding;
 
@@ -24,10 +25,12 @@ public class TransactionsConfigProxy {
     @Inject
     public TransactionsConfigProxy(
             JsonClient jsonClient,
-            @Config URI configUri) {
+            @Config URI configUri,
+            ConfigChangeFeed configChangeFeed) {
 
         this.jsonClient = jsonClient;
         this.configUri = configUri;
+        configChangeFeed.addListener(booleanCache::invalidateAll);
     }
 
     private LoadingCache<URI, Boolean> booleanCache = CacheBuilder.newBuilder()
@@ -0,0 +1,34 @@
+package uk.gov.ida.hub.samlengine.resources.translators;
+
+
+import com.codahale.metrics.annotation.Timed;
+import uk.gov.ida.hub.samlengine.Urls;
+import uk.gov.ida.hub.samlengine.contracts.MatchingServiceHealthCheckerRequestDto;
+import uk.gov.ida.hub.samlengine.services.MatchingServiceHealthcheckRequestGeneratorService;
+
+import javax.inject.Inject;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+@Produces(MediaType.APPLICATION_JSON)
+@Path(Urls.SamlEngineUrls.GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERIES_RESOURCE)
+public class MatchingServiceHealthcheckRequestsGeneratorResource {
+
+    private final MatchingServiceHealthcheckRequestGeneratorService service;
+
+    @Inject
+    public MatchingServiceHealthcheckRequestsGeneratorResource(MatchingServiceHealthcheckRequestGeneratorService service) {
+        this.service = service;
+    }
+
+    @POST
+    @Timed
+    public Response generateAttributeQueries(final List<MatchingServiceHealthCheckerRequestDto> dtos) {
+        return Response.ok().entity(service.generate(dtos)).build();
+    }
+
+}
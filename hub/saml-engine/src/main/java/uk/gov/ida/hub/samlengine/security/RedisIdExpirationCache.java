@@ -1,17 +1,28 @@
 package uk.gov.ida.hub.samlengine.security;
 
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.api.sync.RedisCommands;
 import org.joda.time.DateTime;
 import uk.gov.ida.saml.hub.validators.authnrequest.IdExpirationCache;
 
 public class RedisIdExpirationCache<T> implements IdExpirationCache<T> {
+    // Expirations are stored as epoch millis, so the script can compare the existing one with now (ARGV[2])
+    // and record the new expiration (ARGV[1]) in the same round trip.
+    private static final String SET_EXPIRATION_IF_ABSENT_SCRIPT =
+            "local existing = tonumber(redis.call('GET', KEYS[1])) " +
+            "if existing and existing > tonumber(ARGV[2]) then return 0 end " +
+            "redis.call('SETEX', KEYS[1], %d, ARGV[1]) " +
+            "return 1";
+
     private final RedisCommands<T, DateTime> redis;
     private final Long recordTTL;
+    private final String setExpirationIfAbsentScript;
 
     public RedisIdExpirationCache(RedisCommands<T, DateTime> redis,
                                   Long recordTTL) {
         this.redis = redis;
         this.recordTTL = recordTTL;
+        this.setExpirationIfAbsentScript = String.format(SET_EXPIRATION_IF_ABSENT_SCRIPT, recordTTL);
     }
 
     @Override
@@ -28,4 +39,11 @@ public class RedisIdExpirationCache<T> implements IdExpirationCache<T> {
     public void setExpiration(T key, DateTime expirationTime) {
         redis.setex(key, recordTTL, expirationTime);
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean setExpirationIfAbsent(T key, DateTime expirationTime) {
+        Long recorded = redis.eval(setExpirationIfAbsentScript, ScriptOutputType.INTEGER, (T[]) new Object[]{key}, expirationTime, DateTime.now());
+        return recorded != null && recorded == 1L;
+    }
 }
@@ -34,7 +34,6 @@ public class IdpAuthnResponseTranslatorService {
     private static final String AUTHN_STATEMENT = "AuthnStatement";
     private static final String MATCHING_DATASET = "MatchingDataset";
     private final StringToOpenSamlObjectTransformer<Response> stringToOpenSamlResponseTransformer;
-    private final StringToOpenSamlObjectTransformer<Assertion> stringToAssertionTransformer;
     private final DecoratedSamlResponseToIdaResponseIssuedByIdpTransformer samlResponseToIdaResponseIssuedByIdpTransformer;
     private InboundResponseFromIdpDataGenerator inboundResponseFromIdpDataGenerator;
     private final IdpAssertionMetricsCollector idpAssertionMetricsCollector;
@@ -42,13 +41,11 @@ public class IdpAuthnResponseTranslatorService {
 
     @Inject
     public IdpAuthnResponseTranslatorService(StringToOpenSamlObjectTransformer<Response> stringToOpenSamlResponseTransformer,
-                                             StringToOpenSamlObjectTransformer<Assertion> stringToAssertionTransformer,
                                              @Named("IdpSamlResponseTransformer") DecoratedSamlResponseToIdaResponseIssuedByIdpTransformer samlResponseToIdaResponseIssuedByIdpTransformer,
                                              InboundResponseFromIdpDataGenerator inboundResponseFromIdpDataGenerator,
                                              IdpAssertionMetricsCollector idpAssertionMetricsCollector,
                                              TransactionsConfigProxy transactionsConfigProxy) {
         this.stringToOpenSamlResponseTransformer = stringToOpenSamlResponseTransformer;
-        this.stringToAssertionTransformer = stringToAssertionTransformer;
         this.samlResponseToIdaResponseIssuedByIdpTransformer = samlResponseToIdaResponseIssuedByIdpTransformer;
         this.inboundResponseFromIdpDataGenerator = inboundResponseFromIdpDataGenerator;
         this.idpAssertionMetricsCollector = idpAssertionMetricsCollector;
@@ -61,14 +58,11 @@ public class IdpAuthnResponseTranslatorService {
         try {
             InboundResponseFromIdp idaResponseFromIdp = samlResponseToIdaResponseIssuedByIdpTransformer.apply(response);
             UnknownMethodAlgorithmLogger.probeResponseForMethodAlgorithm(idaResponseFromIdp);
-            if (idaResponseFromIdp.getAuthnStatementAssertion().isPresent()) {
-                Assertion authnStatementAssertion = stringToAssertionTransformer.apply(idaResponseFromIdp.getAuthnStatementAssertion().get().getUnderlyingAssertionBlob());
-                logAnalytics(authnStatementAssertion, AUTHN_STATEMENT);
-            }
+            idaResponseFromIdp.getValidatedAuthnStatementAssertion()
+                    .ifPresent(authnStatementAssertion -> logAnalytics(authnStatementAssertion, AUTHN_STATEMENT));
 
-            Assertion matchingDatasetAssertion = null;
-            if (idaResponseFromIdp.getMatchingDatasetAssertion().isPresent()) {
-                matchingDatasetAssertion = stringToAssertionTransformer.apply(idaResponseFromIdp.getMatchingDatasetAssertion().get().getUnderlyingAssertionBlob());
+            Assertion matchingDatasetAssertion = idaResponseFromIdp.getValidatedMatchingDatasetAssertion().orElse(null);
+            if (matchingDatasetAssertion != null) {
                 logAnalytics(matchingDatasetAssertion, MATCHING_DATASET);
             }
 
@@ -11,8 +11,11 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.net.URI;
 import java.text.MessageFormat;
+import java.util.List;
 import java.util.UUID;
 
+import static java.util.stream.Collectors.toList;
+
 public class MatchingServiceHealthcheckRequestGeneratorService {
 
     private final AttributeQueryGenerator<MatchingServiceHealthCheckRequest> attributeQueryGenerator;
@@ -37,4 +40,12 @@ public class MatchingServiceHealthcheckRequestGeneratorService {
 
         return attributeQueryGenerator.createAttributeQueryContainer(matchingServiceRequest, dto.getMatchingServiceEntityId());
     }
+
+    /**
+     * Generates a signed health check query for each request, in the same order, so that a
+     * sweep across all matching services needs one call rather than one per matching service.
+     */
+    public List<SamlMessageDto> generate(List<MatchingServiceHealthCheckerRequestDto> dtos) {
+        return dtos.stream().map(this::generate).collect(toList());
+    }
 }
@@ -1,5 +1,6 @@
 package uk.gov.ida.hub.samlengine.config;
 
+import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -52,6 +54,8 @@ public class ConfigServiceKeyStoreTest {
     @Mock
     private KeyStore trustStore;
 
+    private static final long CACHE_EXPIRY_IN_SECONDS = 300;
+
     private String issuerId;
     private ConfigServiceKeyStore configServiceKeyStore;
 
@@ -62,7 +66,8 @@ public class ConfigServiceKeyStoreTest {
                 certificatesConfigProxy,
                 certificateChainValidator,
                 trustStoreForCertificateProvider,
-                x509CertificateFactory);
+                x509CertificateFactory,
+                CACHE_EXPIRY_IN_SECONDS);
     }
 
     @Test
@@ -182,6 +187,54 @@ public class ConfigServiceKeyStoreTest {
         verify(certificateChainValidator, times(0)).validate(x509Certificate, trustStore);
     }
 
+    @Test
+    public void getEncryptionKeyForEntity_shouldNotRevalidateACertificateThatWasAlreadyValidated() {
+        final CertificateDto certOneDto = getX509Certificate(IDP_ENTITY_ID);
+        when(certificatesConfigProxy.getEncryptionCertificate(issuerId)).thenReturn(certOneDto);
+        when(x509CertificateFactory.createCertificate(certOneDto.getCertificate())).thenReturn(x509Certificate);
+        when(x509Certificate.getNotAfter()).thenReturn(DateTime.now().plusDays(1).toDate());
+        when(trustStoreForCertificateProvider.getTrustStoreFor(any(FederationEntityType.class))).thenReturn(Optional.of(trustStore));
+        when(certificateChainValidator.validate(x509Certificate, trustStore)).thenReturn(valid());
+
+        configServiceKeyStore.getEncryptionKeyForEntity(issuerId);
+        configServiceKeyStore.getEncryptionKeyForEntity(issuerId);
+
+        verify(x509CertificateFactory, times(1)).createCertificate(certOneDto.getCertificate());
+        verify(certificateChainValidator, times(1)).validate(x509Certificate, trustStore);
+    }
+
+    @Test
+    public void getEncryptionKeyForEntity_shouldRevalidateACertificateThatHasExpired() {
+        final CertificateDto certOneDto = getX509Certificate(IDP_ENTITY_ID);
+        when(certificatesConfigProxy.getEncryptionCertificate(issuerId)).thenReturn(certOneDto);
+        when(x509CertificateFactory.createCertificate(certOneDto.getCertificate())).thenReturn(x509Certificate);
+        when(x509Certificate.getNotAfter()).thenReturn(DateTime.now().minusSeconds(1).toDate());
+        when(trustStoreForCertificateProvider.getTrustStoreFor(any(FederationEntityType.class))).thenReturn(Optional.of(trustStore));
+        when(certificateChainValidator.validate(x509Certificate, trustStore)).thenReturn(valid());
+
+        configServiceKeyStore.getEncryptionKeyForEntity(issuerId);
+        configServiceKeyStore.getEncryptionKeyForEntity(issuerId);
+
+        verify(certificateChainValidator, times(2)).validate(x509Certificate, trustStore);
+    }
+
+    @Test
+    public void getVerifyingKeysForEntity_shouldValidateACertificateAgainstEachTrustStore() {
+        final CertificateDto certOneDto = getX509Certificate(IDP_ENTITY_ID);
+        final KeyStore otherTrustStore = mock(KeyStore.class);
+        when(certificatesConfigProxy.getSignatureVerificationCertificates(issuerId)).thenReturn(List.of(certOneDto));
+        when(x509CertificateFactory.createCertificate(certOneDto.getCertificate())).thenReturn(x509Certificate);
+        when(x509Certificate.getNotAfter()).thenReturn(DateTime.now().plusDays(1).toDate());
+        when(trustStoreForCertificateProvider.getTrustStoreFor(any(FederationEntityType.class))).thenReturn(Optional.of(trustStore), Optional.of(otherTrustStore));
+        when(certificateChainValidator.validate(any(X509Certificate.class), any(KeyStore.class))).thenReturn(valid());
+
+        configServiceKeyStore.getVerifyingKeysForEntity(issuerId);
+        configServiceKeyStore.getVerifyingKeysForEntity(issuerId);
+
+        verify(certificateChainValidator).validate(x509Certificate, trustStore);
+        verify(certificateChainValidator).validate(x509Certificate, otherTrustStore);
+    }
+
     private static CertificateDto getX509Certificate(String entityId) {
         return new CertificateDtoBuilder().withIssuerId(entityId).withCertificate(PUBLIC_SIGNING_CERTS.get(entityId)).build();
     }
@@ -81,8 +81,6 @@ public class IdpAuthnResponseTranslatorServiceTest {
     @Mock
     private PersistentId authnStatementPersistentId;
     @Mock
-    private StringToOpenSamlObjectTransformer<Assertion> stringToAssertionTransformer;
-    @Mock
     private Assertion authnStatementAssertion;
     @Mock
     private Assertion matchingDatasetAssertion;
@@ -157,13 +155,10 @@ public class IdpAuthnResponseTranslatorServiceTest {
         when(responseFromIdp.getAuthnStatementAssertion()).thenReturn(empty());
         when(responseFromIdp.getSignature()).thenReturn(signature);
         when(samlResponse.getIssuer()).thenReturn(issuer);
-        when(stringToAssertionTransformer.apply(authStatementUnderlyingAssertionBlob)).thenReturn(authnStatementAssertion);
-        when(stringToAssertionTransformer.apply(matchingDatasetUnderlyingAssertionBlob)).thenReturn(matchingDatasetAssertion);
 
         InboundResponseFromIdpDataGenerator inboundResponseFromIdpDataGenerator = new InboundResponseFromIdpDataGenerator(assertionBlobEncrypter);
         service = new IdpAuthnResponseTranslatorService(
                 stringToOpenSamlResponseTransformer,
-                stringToAssertionTransformer,
                 samlResponseToIdaResponseIssuedByIdpTransformer,
                 inboundResponseFromIdpDataGenerator,
                 idpAssertionMetricsCollector,
@@ -236,6 +231,7 @@ public class IdpAuthnResponseTranslatorServiceTest {
     @Test
     public void shouldCallUpdateMetricsForNotOnOrAfterWhenHasAuthnStatementAssertion() {
         when(responseFromIdp.getAuthnStatementAssertion()).thenReturn(of(authStatementAssertion));
+        when(responseFromIdp.getValidatedAuthnStatementAssertion()).thenReturn(of(authnStatementAssertion));
 
         service.translate(responseContainer);
 
@@ -246,6 +242,7 @@ public class IdpAuthnResponseTranslatorServiceTest {
     public void shouldCallUpdateMetricsForNotOnOrAfterWhenHasMatchingDatasetAssertion() {
         when(passThroughAssertion.getUnderlyingAssertionBlob()).thenReturn(matchingDatasetUnderlyingAssertionBlob);
         when(responseFromIdp.getMatchingDatasetAssertion()).thenReturn(Optional.of(passThroughAssertion));
+        when(responseFromIdp.getValidatedMatchingDatasetAssertion()).thenReturn(Optional.of(matchingDatasetAssertion));
 
         service.translate(responseContainer);
 
@@ -10,6 +10,7 @@ import io.dropwizard.util.Duration;
 import uk.gov.ida.common.ServiceInfoConfiguration;
 import uk.gov.ida.configuration.ServiceNameConfiguration;
 import uk.gov.ida.hub.samlproxy.config.SamlConfiguration;
+import uk.gov.ida.hub.shared.eventsink.AsyncEventSinkConfiguration;
 import uk.gov.ida.restclient.RestfulClientConfiguration;
 import uk.gov.ida.saml.metadata.MetadataResolverConfiguration;
 import uk.gov.ida.saml.metadata.MultiTrustStoresBackedMetadataConfiguration;
@@ -57,6 +58,11 @@ public class SamlProxyConfiguration extends Configuration implements RestfulClie
     @JsonProperty
     protected URI eventSinkUri;
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected AsyncEventSinkConfiguration asyncEventSink = new AsyncEventSinkConfiguration();
+
     @Deprecated
     @Valid
     @JsonProperty
@@ -122,6 +128,10 @@ public class SamlProxyConfiguration extends Configuration implements RestfulClie
         return eventSinkUri;
     }
 
+    public AsyncEventSinkConfiguration getAsyncEventSink() {
+        return asyncEventSink;
+    }
+
     public URI getConfigUri() {
         return configUri;
     }
@@ -44,6 +44,7 @@ import uk.gov.ida.hub.samlproxy.proxy.SessionProxy;
 import uk.gov.ida.hub.samlproxy.security.AuthnRequestKeyStore;
 import uk.gov.ida.hub.samlproxy.security.AuthnResponseKeyStore;
 import uk.gov.ida.hub.samlproxy.security.HubSigningKeyStore;
+import uk.gov.ida.hub.shared.eventsink.AsyncEventSinkProxy;
 import uk.gov.ida.hub.shared.eventsink.EventSinkHttpProxy;
 import uk.gov.ida.hub.shared.eventsink.EventSinkMessageSender;
 import uk.gov.ida.hub.shared.eventsink.EventSinkProxy;
@@ -330,7 +331,13 @@ public class SamlProxyModule extends AbstractModule {
     public EventSinkProxy eventSinkProxy(JsonClient jsonClient, SamlProxyConfiguration samlProxyConfiguration, Environment environment) {
         URI eventSinkUri = samlProxyConfiguration.getEventSinkUri();
         if (eventSinkUri != null) {
-            return new EventSinkHttpProxy(jsonClient, eventSinkUri, environment);
+            EventSinkHttpProxy eventSinkHttpProxy = new EventSinkHttpProxy(jsonClient, eventSinkUri, environment);
+            if (samlProxyConfiguration.getAsyncEventSink().isEnabled()) {
+                AsyncEventSinkProxy asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, samlProxyConfiguration.getAsyncEventSink());
+                environment.lifecycle().manage(asyncEventSinkProxy);
+                return asyncEventSinkProxy;
+            }
+            return eventSinkHttpProxy;
         }
         return event -> {};
     }
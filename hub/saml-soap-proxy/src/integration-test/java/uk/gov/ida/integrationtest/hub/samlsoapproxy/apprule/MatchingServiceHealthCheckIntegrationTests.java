@@ -13,8 +13,6 @@ import org.opensaml.xmlsec.algorithm.SignatureAlgorithm;
 import org.opensaml.xmlsec.algorithm.descriptors.DigestSHA256;
 import org.opensaml.xmlsec.algorithm.descriptors.SignatureRSASHA1;
 import org.w3c.dom.Element;
-import uk.gov.ida.common.ErrorStatusDto;
-import uk.gov.ida.common.ExceptionType;
 import uk.gov.ida.common.shared.security.PrivateKeyFactory;
 import uk.gov.ida.common.shared.security.PublicKeyFactory;
 import uk.gov.ida.common.shared.security.X509CertificateFactory;
@@ -27,7 +25,6 @@ import uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.EventSinkStu
 import uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.MsaStubRule;
 import uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.SamlEngineStubRule;
 import uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.SamlSoapProxyAppRule;
-import uk.gov.ida.saml.hub.transformers.inbound.MatchingServiceIdaStatus;
 import uk.gov.ida.saml.msa.test.api.MsaTransformersFactory;
 import uk.gov.ida.saml.msa.test.outbound.HealthCheckResponseFromMatchingService;
 import uk.gov.ida.saml.security.IdaKeyStore;
@@ -42,18 +39,17 @@ import java.security.PublicKey;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
 import java.util.function.Function;
 
 import static io.dropwizard.testing.ConfigOverride.config;
 import static org.assertj.core.api.Assertions.assertThat;
-import static uk.gov.ida.hub.samlsoapproxy.builders.MatchingServiceHealthCheckerResponseDtoBuilder.anInboundResponseFromMatchingServiceDto;
 import static uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.MsaStubRule.msaStubRule;
 import static uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.SamlEngineStubRule.stackedSamlEngineStubRule;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PRIVATE_ENCRYPTION_KEY;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PRIVATE_SIGNING_KEY;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PUBLIC_ENCRYPTION_CERT;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PUBLIC_SIGNING_CERT;
+import static uk.gov.ida.saml.core.test.TestCertificateStrings.TEST_RP_MS_PRIVATE_SIGNING_KEY;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.TEST_RP_MS_PUBLIC_ENCRYPTION_CERT;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.TEST_RP_MS_PUBLIC_SIGNING_CERT;
 import static uk.gov.ida.saml.core.test.TestEntityIds.HUB_ENTITY_ID;
@@ -90,7 +86,8 @@ public class MatchingServiceHealthCheckIntegrationTests {
     public static SamlSoapProxyAppRule samlSoapProxyAppRule = new SamlSoapProxyAppRule(
             config("configUri", configStub.baseUri().build().toASCIIString()),
             config("eventSinkUri", eventSinkStub.baseUri().build().toASCIIString()),
-            config("samlEngineUri", samlEngineStub.baseUri().build().toASCIIString())
+            config("samlEngineUri", samlEngineStub.baseUri().build().toASCIIString()),
+            config("healthCheckResultMaxAge", "0s")
     );
 
     @BeforeClass
@@ -115,10 +112,6 @@ public class MatchingServiceHealthCheckIntegrationTests {
         String healthCheckResponse = aHealthyHealthCheckResponse(msaEntityId2, msaVersion2);
         msaStubRule1.prepareForHealthCheckRequest(healthCheckResponse);
         samlEngineStub.prepareForHealthCheckSamlGeneration();
-        samlEngineStub.setupStubForAttributeResponseTranslate(anInboundResponseFromMatchingServiceDto()
-                .withIssuer(msaEntityId2)
-                .withStatus(MatchingServiceIdaStatus.Healthy)
-                .build());
 
         final Response response = makeMatchingServiceHealthCheckRequest();
 
@@ -138,13 +131,9 @@ public class MatchingServiceHealthCheckIntegrationTests {
         
         msaStubRule1.prepareForHealthCheckRequest(anUnhealthyHealthCheckResponse(msaEntityId, msaVersion));
         samlEngineStub.prepareForHealthCheckSamlGeneration();
-        samlEngineStub.setupStubForAttributeResponseTranslateReturningError(ErrorStatusDto.createAuditedErrorStatus(UUID.randomUUID(),
-                ExceptionType.INVALID_SAML));
 
-        msaStubRule2.prepareForHealthCheckRequest(aHealthyHealthCheckResponse(msaEntityId2, msaVersion2));
+        msaStubRule2.prepareForHealthCheckRequest(anUnhealthyHealthCheckResponse(msaEntityId2, msaVersion2));
         samlEngineStub.prepareForHealthCheckSamlGeneration();
-        samlEngineStub.setupStubForAttributeResponseTranslateReturningError(ErrorStatusDto.createAuditedErrorStatus(UUID.randomUUID(),
-                ExceptionType.INVALID_SAML));
 
         final Response response = makeMatchingServiceHealthCheckRequest();
 
@@ -168,15 +157,9 @@ public class MatchingServiceHealthCheckIntegrationTests {
 
         msaStubRule1.prepareForHealthCheckRequest(anUnhealthyHealthCheckResponse(msaEntityId, msaVersion));
         samlEngineStub.prepareForHealthCheckSamlGeneration();
-        samlEngineStub.setupStubForAttributeResponseTranslateReturningError(ErrorStatusDto.createAuditedErrorStatus(UUID.randomUUID(),
-                ExceptionType.INVALID_SAML));
 
         msaStubRule2.prepareForHealthCheckRequest(aHealthyHealthCheckResponse(msaEntityId2, msaVersion2));
         samlEngineStub.prepareForHealthCheckSamlGeneration();
-        samlEngineStub.setupStubForAttributeResponseTranslate(anInboundResponseFromMatchingServiceDto()
-                .withIssuer(msaEntityId2)
-                .withStatus(MatchingServiceIdaStatus.Healthy)
-                .build());
 
         final Response response = makeMatchingServiceHealthCheckRequest();
 
@@ -195,7 +178,7 @@ public class MatchingServiceHealthCheckIntegrationTests {
     private String anUnhealthyHealthCheckResponse(String msaEntityId, String msaVersion) {
         Function<HealthCheckResponseFromMatchingService, Element> transformer = new MsaTransformersFactory().getHealthcheckResponseFromMatchingServiceToElementTransformer(
                 null,
-                getKeyStore(),
+                getKeyStore(HUB_TEST_PUBLIC_SIGNING_CERT, HUB_TEST_PRIVATE_SIGNING_KEY),
                 s -> "who-knows",
                 SIGNATURE_ALGORITHM,
                 DIGEST_ALGORITHM
@@ -212,7 +195,7 @@ public class MatchingServiceHealthCheckIntegrationTests {
     private String aHealthyHealthCheckResponse(String msaEntityId, String msaVersion) {
         Function<uk.gov.ida.saml.msa.test.outbound.HealthCheckResponseFromMatchingService, Element> transformer = new MsaTransformersFactory().getHealthcheckResponseFromMatchingServiceToElementTransformer(
                 null,
-                getKeyStore(),
+                getKeyStore(TEST_RP_MS_PUBLIC_SIGNING_CERT, TEST_RP_MS_PRIVATE_SIGNING_KEY),
                 s -> HUB_ENTITY_ID,
                 SIGNATURE_ALGORITHM,
                 DIGEST_ALGORITHM
@@ -232,16 +215,16 @@ public class MatchingServiceHealthCheckIntegrationTests {
                 .get();
     }
 
-    private IdaKeyStore getKeyStore() {
+    private IdaKeyStore getKeyStore(String publicSigningCert, String privateSigningKey) {
         List<KeyPair> encryptionKeyPairs = new ArrayList<>();
         PublicKeyFactory publicKeyFactory = new PublicKeyFactory(new X509CertificateFactory());
         PrivateKeyFactory privateKeyFactory = new PrivateKeyFactory();
         PublicKey encryptionPublicKey = publicKeyFactory.createPublicKey(HUB_TEST_PUBLIC_ENCRYPTION_CERT);
         PrivateKey encryptionPrivateKey = privateKeyFactory.createPrivateKey(Base64.getDecoder().decode(HUB_TEST_PRIVATE_ENCRYPTION_KEY.getBytes()));
         encryptionKeyPairs.add(new KeyPair(encryptionPublicKey, encryptionPrivateKey));
-        PublicKey publicSigningKey = publicKeyFactory.createPublicKey(HUB_TEST_PUBLIC_SIGNING_CERT);
-        PrivateKey privateSigningKey = privateKeyFactory.createPrivateKey(Base64.getDecoder().decode(HUB_TEST_PRIVATE_SIGNING_KEY.getBytes()));
-        KeyPair signingKeyPair = new KeyPair(publicSigningKey, privateSigningKey);
+        KeyPair signingKeyPair = new KeyPair(
+                publicKeyFactory.createPublicKey(publicSigningCert),
+                privateKeyFactory.createPrivateKey(Base64.getDecoder().decode(privateSigningKey.getBytes())));
 
         return new IdaKeyStore(signingKeyPair, encryptionKeyPairs);
     }
@@ -20,7 +20,6 @@ import uk.gov.ida.common.shared.security.PrivateKeyFactory;
 import uk.gov.ida.common.shared.security.PublicKeyFactory;
 import uk.gov.ida.common.shared.security.X509CertificateFactory;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerRequestDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
 import uk.gov.ida.hub.samlsoapproxy.soap.SoapMessageManager;
 import uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.ConfigStubRule;
 import uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.EventSinkStubRule;
@@ -49,8 +48,6 @@ import java.util.function.Function;
 
 import static io.dropwizard.testing.ConfigOverride.config;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.glassfish.jersey.internal.util.Base64.encodeAsString;
-import static uk.gov.ida.hub.samlsoapproxy.builders.MatchingServiceHealthCheckerResponseDtoBuilder.anInboundResponseFromMatchingServiceDto;
 import static uk.gov.ida.hub.samlsoapproxy.client.PrometheusClient.VERIFY_SAML_SOAP_PROXY_MSA_HEALTH_STATUS;
 import static uk.gov.ida.hub.samlsoapproxy.client.PrometheusClient.VERIFY_SAML_SOAP_PROXY_MSA_HEALTH_STATUS_HELP;
 import static uk.gov.ida.hub.samlsoapproxy.client.PrometheusClient.VERIFY_SAML_SOAP_PROXY_MSA_HEALTH_STATUS_LAST_UPDATED;
@@ -63,13 +60,11 @@ import static uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.MsaSt
 import static uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.MsaStubRule.sleepyMsaStubRule;
 import static uk.gov.ida.integrationtest.hub.samlsoapproxy.apprule.support.SamlEngineStubRule.samlEngineStubRule;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PRIVATE_ENCRYPTION_KEY;
-import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PRIVATE_SIGNING_KEY;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PUBLIC_ENCRYPTION_CERT;
-import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PUBLIC_SIGNING_CERT;
+import static uk.gov.ida.saml.core.test.TestCertificateStrings.TEST_RP_MS_PRIVATE_SIGNING_KEY;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.TEST_RP_MS_PUBLIC_ENCRYPTION_CERT;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.TEST_RP_MS_PUBLIC_SIGNING_CERT;
 import static uk.gov.ida.saml.core.test.TestEntityIds.HUB_ENTITY_ID;
-import static uk.gov.ida.saml.hub.transformers.inbound.MatchingServiceIdaStatus.Healthy;
 
 public class PrometheusMetricsIntegrationTest {
     private static Client client;
@@ -161,9 +156,6 @@ public class PrometheusMetricsIntegrationTest {
         final Element msaOneResponse = aHealthyHealthCheckResponse(MSA_ONE_ENTITY_ID, MSA_ONE_RESPONSE_ID, MSA_ONE_VERSION);
         final Element msaTwoResponse = aHealthyHealthCheckResponse(MSA_TWO_ENTITY_ID, MSA_TWO_RESPONSE_ID, MSA_TWO_VERSION);
         final Element msaFourResponse = aHealthyHealthCheckResponse(MSA_FOUR_ENTITY_ID, MSA_FOUR_RESPONSE_ID, MSA_FOUR_VERSION);
-        final SamlMessageDto msaOneSamlMessage = new SamlMessageDto(encodeAsString(XmlUtils.writeToString(msaOneResponse)));
-        final SamlMessageDto msaTwoSamlMessage = new SamlMessageDto(encodeAsString(XmlUtils.writeToString(msaTwoResponse)));
-        final SamlMessageDto msaFourSamlMessage = new SamlMessageDto(encodeAsString(XmlUtils.writeToString(msaFourResponse)));
         final MatchingServiceHealthCheckerRequestDto msaOneHealthCheckerRequest = new MatchingServiceHealthCheckerRequestDto(RP_ONE_ENTITY_ID, MSA_ONE_ENTITY_ID);
         final MatchingServiceHealthCheckerRequestDto msaTwoHealthCheckerRequest = new MatchingServiceHealthCheckerRequestDto(RP_TWO_ENTITY_ID, MSA_TWO_ENTITY_ID);
         final MatchingServiceHealthCheckerRequestDto msaThreeHealthCheckerRequest = new MatchingServiceHealthCheckerRequestDto(RP_THREE_ENTITY_ID, MSA_THREE_ENTITY_ID);
@@ -184,21 +176,6 @@ public class PrometheusMetricsIntegrationTest {
         samlEngineStub.prepareForHealthCheckSamlGeneration(msaTwoHealthCheckerRequest);
         samlEngineStub.prepareForHealthCheckSamlGeneration(msaThreeHealthCheckerRequest);
         samlEngineStub.prepareForHealthCheckSamlGeneration(msaFourHealthCheckerRequest);
-        samlEngineStub.setupStubForAttributeResponseTranslate(
-            msaOneSamlMessage,
-            anInboundResponseFromMatchingServiceDto().withIssuer(MSA_ONE_ENTITY_ID)
-                                                     .withStatus(Healthy)
-                                                     .build());
-        samlEngineStub.setupStubForAttributeResponseTranslate(
-            msaTwoSamlMessage,
-            anInboundResponseFromMatchingServiceDto().withIssuer(MSA_TWO_ENTITY_ID)
-                                                     .withStatus(Healthy)
-                                                     .build());
-        samlEngineStub.setupStubForAttributeResponseTranslate(
-            msaFourSamlMessage,
-            anInboundResponseFromMatchingServiceDto().withIssuer(MSA_FOUR_ENTITY_ID)
-                                                     .withStatus(Healthy)
-                                                     .build());
     }
 
     @Test
@@ -309,8 +286,8 @@ public class PrometheusMetricsIntegrationTest {
         PublicKey encryptionPublicKey = publicKeyFactory.createPublicKey(HUB_TEST_PUBLIC_ENCRYPTION_CERT);
         PrivateKey encryptionPrivateKey = privateKeyFactory.createPrivateKey(Base64.getDecoder().decode(HUB_TEST_PRIVATE_ENCRYPTION_KEY.getBytes()));
         encryptionKeyPairs.add(new KeyPair(encryptionPublicKey, encryptionPrivateKey));
-        PublicKey publicSigningKey = publicKeyFactory.createPublicKey(HUB_TEST_PUBLIC_SIGNING_CERT);
-        PrivateKey privateSigningKey = privateKeyFactory.createPrivateKey(Base64.getDecoder().decode(HUB_TEST_PRIVATE_SIGNING_KEY.getBytes()));
+        PublicKey publicSigningKey = publicKeyFactory.createPublicKey(TEST_RP_MS_PUBLIC_SIGNING_CERT);
+        PrivateKey privateSigningKey = privateKeyFactory.createPrivateKey(Base64.getDecoder().decode(TEST_RP_MS_PRIVATE_SIGNING_KEY.getBytes()));
         KeyPair signingKeyPair = new KeyPair(publicSigningKey, privateSigningKey);
 
         return new IdaKeyStore(signingKeyPair, encryptionKeyPairs);
@@ -8,20 +8,16 @@ import httpstub.RequestAndResponse;
 import httpstub.StackedHttpStub;
 import org.opensaml.saml.saml2.core.AttributeQuery;
 import org.opensaml.security.credential.Credential;
-import uk.gov.ida.common.ErrorStatusDto;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerRequestDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
 import uk.gov.ida.saml.core.test.TestCredentialFactory;
 import uk.gov.ida.shared.utils.xml.XmlUtils;
 
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 
 import static httpstub.builders.ExpectedRequestBuilder.expectRequest;
 import static javax.ws.rs.core.Response.Status.OK;
 import static uk.gov.ida.hub.samlsoapproxy.Urls.SamlEngineUrls.GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESOURCE;
-import static uk.gov.ida.hub.samlsoapproxy.Urls.SamlEngineUrls.TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PRIVATE_SIGNING_KEY;
 import static uk.gov.ida.saml.core.test.TestCertificateStrings.HUB_TEST_PUBLIC_SIGNING_CERT;
 import static uk.gov.ida.saml.core.test.TestEntityIds.HUB_ENTITY_ID;
@@ -46,14 +42,6 @@ public class SamlEngineStubRule extends HttpStubRule {
         return new SamlEngineStubRule(new HttpStub());
     }
 
-    public void setupStubForAttributeResponseTranslate(MatchingServiceHealthCheckerResponseDto msaHealthCheckerResponseDto) throws JsonProcessingException {
-        register(TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE, OK.getStatusCode(), msaHealthCheckerResponseDto);
-    }
-
-    public void setupStubForAttributeResponseTranslateReturningError(ErrorStatusDto errorStatusDto) throws JsonProcessingException {
-        register(TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE, Response.Status.BAD_REQUEST.getStatusCode(), errorStatusDto);
-    }
-
     public void prepareForHealthCheckSamlGeneration() throws JsonProcessingException {
         AttributeQuery attributeQuery = anAttributeQuery().withSignature(aSignature().withSigningCredential(signingCredential).build())
                                                           .withIssuer(anIssuer().withIssuerId(HUB_ENTITY_ID).build())
@@ -79,18 +67,4 @@ public class SamlEngineStubRule extends HttpStubRule {
                                                                      .build();
         register(requestAndResponse);
     }
-
-    public void setupStubForAttributeResponseTranslate(final SamlMessageDto samlMessage,
-                                                       final MatchingServiceHealthCheckerResponseDto msaHealthCheckerResponse) throws JsonProcessingException {
-
-        final RequestAndResponse requestAndResponse = expectRequest().withPath(TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE)
-                                                                     .withMethod("POST")
-                                                                     .withBody(samlMessage)
-                                                                     .andWillRespondWith()
-                                                                     .withStatus(OK.getStatusCode())
-                                                                     .withContentType(MediaType.APPLICATION_JSON)
-                                                                     .withBody(msaHealthCheckerResponse)
-                                                                     .build();
-        register(requestAndResponse);
-    }
 }
@@ -9,8 +9,11 @@ import io.dropwizard.util.Duration;
 import uk.gov.ida.common.ServiceInfoConfiguration;
 import uk.gov.ida.configuration.JerseyClientWithRetryBackoffConfiguration;
 import uk.gov.ida.configuration.ServiceNameConfiguration;
+import uk.gov.ida.hub.samlsoapproxy.config.MatchingServiceBulkheadConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.config.PrometheusClientServiceConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.config.SamlConfiguration;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeedConfiguration;
+import uk.gov.ida.hub.shared.eventsink.AsyncEventSinkConfiguration;
 import uk.gov.ida.restclient.RestfulClientConfiguration;
 import uk.gov.ida.saml.metadata.MetadataResolverConfiguration;
 import uk.gov.ida.saml.metadata.MultiTrustStoresBackedMetadataConfiguration;
@@ -40,6 +43,11 @@ public class SamlSoapProxyConfiguration extends Configuration implements Restful
     @JsonProperty
     protected JerseyClientWithRetryBackoffConfiguration soapHttpClient;
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected MatchingServiceBulkheadConfiguration matchingServiceBulkhead = new MatchingServiceBulkheadConfiguration();
+
     @Valid
     @NotNull
     @JsonProperty
@@ -64,6 +72,11 @@ public class SamlSoapProxyConfiguration extends Configuration implements Restful
     @JsonProperty
     protected URI eventSinkUri;
 
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected AsyncEventSinkConfiguration asyncEventSink = new AsyncEventSinkConfiguration();
+
     @Valid
     @NotNull
     @JsonProperty
@@ -88,6 +101,27 @@ public class SamlSoapProxyConfiguration extends Configuration implements Restful
     @JsonProperty
     protected Duration certificatesConfigCacheExpiry = Duration.minutes(5);
 
+    /**
+     * How long a signed health check query from saml-engine may be sent again before a new one is needed.
+     */
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration healthCheckRequestReuseWindow = Duration.minutes(1);
+
+    /**
+     * How long a matching service health check result is reported before the matching service is checked again.
+     */
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration healthCheckResultMaxAge = Duration.minutes(1);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected ConfigChangeFeedConfiguration configChangeFeed = new ConfigChangeFeedConfiguration();
+
     @Valid
     @NotNull
     @JsonProperty
@@ -117,6 +151,10 @@ public class SamlSoapProxyConfiguration extends Configuration implements Restful
         return soapHttpClient;
     }
 
+    public MatchingServiceBulkheadConfiguration getMatchingServiceBulkhead() {
+        return matchingServiceBulkhead;
+    }
+
     public JerseyClientConfiguration getHealthCheckSoapHttpClient() {
         return healthCheckSoapHttpClient;
     }
@@ -138,6 +176,10 @@ public class SamlSoapProxyConfiguration extends Configuration implements Restful
         return eventSinkUri;
     }
 
+    public AsyncEventSinkConfiguration getAsyncEventSink() {
+        return asyncEventSink;
+    }
+
     public URI getSamlEngineUri() {
         return samlEngineUri;
     }
@@ -150,6 +192,18 @@ public class SamlSoapProxyConfiguration extends Configuration implements Restful
         return certificatesConfigCacheExpiry;
     }
 
+    public Duration getHealthCheckRequestReuseWindow() {
+        return healthCheckRequestReuseWindow;
+    }
+
+    public Duration getHealthCheckResultMaxAge() {
+        return healthCheckResultMaxAge;
+    }
+
+    public ConfigChangeFeedConfiguration getConfigChangeFeed() {
+        return configChangeFeed;
+    }
+
     public ServiceInfoConfiguration getServiceInfo() {
         return serviceInfo;
     }
@@ -21,6 +21,8 @@ import uk.gov.ida.common.shared.security.X509CertificateFactory;
 import uk.gov.ida.common.shared.security.verification.CertificateChainValidator;
 import uk.gov.ida.common.shared.security.verification.PKIXParametersProvider;
 import uk.gov.ida.eventemitter.Configuration;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
+import uk.gov.ida.hub.shared.eventsink.AsyncEventSinkProxy;
 import uk.gov.ida.hub.shared.eventsink.EventSinkHttpProxy;
 import uk.gov.ida.hub.shared.eventsink.EventSinkProxy;
 import uk.gov.ida.hub.samlsoapproxy.annotations.Config;
@@ -29,15 +31,20 @@ import uk.gov.ida.hub.samlsoapproxy.annotations.Policy;
 import uk.gov.ida.hub.samlsoapproxy.annotations.SamlEngine;
 import uk.gov.ida.hub.samlsoapproxy.client.AttributeQueryRequestClient;
 import uk.gov.ida.hub.samlsoapproxy.client.HealthCheckSoapRequestClient;
+import uk.gov.ida.hub.samlsoapproxy.client.MatchingServiceBulkheads;
 import uk.gov.ida.hub.samlsoapproxy.client.MatchingServiceHealthCheckClient;
 import uk.gov.ida.hub.samlsoapproxy.client.PrometheusClient;
+import uk.gov.ida.hub.samlsoapproxy.client.SoapHttpClient;
 import uk.gov.ida.hub.samlsoapproxy.client.SoapRequestClient;
 import uk.gov.ida.hub.samlsoapproxy.config.CertificatesConfigProxy;
 import uk.gov.ida.hub.samlsoapproxy.config.ConfigServiceKeyStore;
+import uk.gov.ida.hub.samlsoapproxy.config.PrometheusClientServiceConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.config.SamlConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.config.TrustStoreForCertificateProvider;
 import uk.gov.ida.hub.samlsoapproxy.domain.TimeoutEvaluator;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckHandler;
+import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckRequests;
+import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckResults;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChecker;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.SupportedMsaVersions;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.SupportedMsaVersionsBootstrap;
@@ -60,6 +67,8 @@ import uk.gov.ida.jerseyclient.JsonResponseProcessor;
 import uk.gov.ida.restclient.ClientProvider;
 import uk.gov.ida.restclient.RestfulClientConfiguration;
 import uk.gov.ida.saml.core.api.CoreTransformersFactory;
+import uk.gov.ida.saml.hub.api.HubTransformersFactory;
+import uk.gov.ida.saml.hub.transformers.inbound.providers.DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer;
 import uk.gov.ida.saml.metadata.ExpiredCertificateMetadataFilter;
 import uk.gov.ida.saml.metadata.MetadataRefreshTask;
 import uk.gov.ida.saml.metadata.MetadataResolverConfiguration;
@@ -114,6 +123,8 @@ public class SamlSoapProxyModule extends AbstractModule {
         bind(KeyStoreLoader.class).toInstance(new KeyStoreLoader());
         bind(MatchingServiceHealthCheckHandler.class);
         bind(MatchingServiceHealthChecker.class);
+        bind(MatchingServiceHealthCheckRequests.class);
+        bind(MatchingServiceHealthCheckResults.class);
         bind(MatchingServiceConfigProxy.class);
         bind(MatchingServiceHealthCheckClient.class);
         bind(HealthCheckEventLogger.class);
@@ -122,6 +133,7 @@ public class SamlSoapProxyModule extends AbstractModule {
         bind(AttributeQueryRequestRunnableFactory.class);
         bind(ExecuteAttributeQueryRequest.class);
         bind(AttributeQueryRequestClient.class);
+        bind(MatchingServiceBulkheads.class);
         bind(ProtectiveMonitoringLogger.class).toInstance(new ProtectiveMonitoringLogger());
         bind(SoapRequestClient.class);
         bind(HubMatchingServiceResponseReceiverProxy.class);
@@ -137,13 +149,15 @@ public class SamlSoapProxyModule extends AbstractModule {
         Environment environment,
         SamlSoapProxyConfiguration configConfiguration,
         MatchingServiceConfigProxy matchingServiceConfigProxy,
-        MatchingServiceHealthChecker matchingServiceHealthChecker) {
+        MatchingServiceHealthChecker matchingServiceHealthChecker,
+        MatchingServiceHealthCheckResults matchingServiceHealthCheckResults) {
 
         PrometheusClient prometheusClientService = new PrometheusClient(
             environment,
             configConfiguration,
             matchingServiceConfigProxy,
-            matchingServiceHealthChecker);
+            matchingServiceHealthChecker,
+            matchingServiceHealthCheckResults);
         prometheusClientService.createMatchingServiceHealthCheckMetrics();
         return prometheusClientService;
     }
@@ -196,6 +210,14 @@ public class SamlSoapProxyModule extends AbstractModule {
                 .get();
     }
 
+    @Provides
+    @Singleton
+    private SoapHttpClient soapHttpClientProvider(SamlSoapProxyConfiguration samlSoapProxyConfiguration) {
+        return SoapHttpClient.fromConfiguration(
+                samlSoapProxyConfiguration.getSoapJerseyClientConfiguration(),
+                samlSoapProxyConfiguration.getEnableRetryTimeOutConnections());
+    }
+
     @Provides
     @Singleton
     @Named("HealthCheckClient")
@@ -238,6 +260,12 @@ public class SamlSoapProxyModule extends AbstractModule {
         return new SamlMessageSignatureValidator(new CredentialFactorySignatureValidator(signingCredentialFactory));
     }
 
+    @Provides
+    @Singleton
+    public DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer getHealthCheckResponseTransformer(ConfigServiceKeyStore configServiceKeyStore) {
+        return new HubTransformersFactory().getResponseInboundHealthCheckResponseFromMatchingServiceTransformer(new MatchingResponseSigningKeyStore(configServiceKeyStore));
+    }
+
     @Provides
     @Singleton
     public SamlConfiguration samlConfiguration(SamlSoapProxyConfiguration samlSoapProxyConfiguration) {
@@ -270,12 +298,28 @@ public class SamlSoapProxyModule extends AbstractModule {
         return configuration.getCertificatesConfigCacheExpiry().toSeconds();
     }
 
+    @Provides
+    @Singleton
+    public ConfigChangeFeed configChangeFeed(JsonClient jsonClient, SamlSoapProxyConfiguration configuration, Environment environment) {
+        ConfigChangeFeed configChangeFeed = new ConfigChangeFeed(jsonClient, configuration.getConfigUri(), configuration.getConfigChangeFeed());
+        if (configuration.getConfigChangeFeed().isEnabled()) {
+            environment.lifecycle().manage(configChangeFeed);
+        }
+        return configChangeFeed;
+    }
+
     @Provides
     @Singleton
     public EventSinkProxy eventSinkProxy(JsonClient jsonClient, SamlSoapProxyConfiguration samlSoapProxyConfiguration, Environment environment) {
         URI eventSinkUri = samlSoapProxyConfiguration.getEventSinkUri();
         if (eventSinkUri != null) {
-            return new EventSinkHttpProxy(jsonClient, eventSinkUri, environment);
+            EventSinkHttpProxy eventSinkHttpProxy = new EventSinkHttpProxy(jsonClient, eventSinkUri, environment);
+            if (samlSoapProxyConfiguration.getAsyncEventSink().isEnabled()) {
+                AsyncEventSinkProxy asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, samlSoapProxyConfiguration.getAsyncEventSink());
+                environment.lifecycle().manage(asyncEventSinkProxy);
+                return asyncEventSinkProxy;
+            }
+            return eventSinkHttpProxy;
         }
         return event -> {};
     }
@@ -304,6 +348,18 @@ public class SamlSoapProxyModule extends AbstractModule {
                 .build();
     }
 
+    @Provides @Singleton @Named("MatchingServiceHealthCheckExecutor")
+    public ExecutorService getMatchingServiceHealthCheckExecutorService(Environment environment, SamlSoapProxyConfiguration configuration) {
+        final PrometheusClientServiceConfiguration healthCheckConfiguration = configuration.getMatchingServiceHealthCheckServiceConfiguration();
+        return environment.lifecycle()
+                .executorService("Matching service health check %s")
+                .minThreads(healthCheckConfiguration.getMaxNumOfThreads())
+                .maxThreads(healthCheckConfiguration.getMaxNumOfThreads())
+                .allowCoreThreadTimeOut(true)
+                .keepAliveTime(healthCheckConfiguration.getKeepAliveTime())
+                .build();
+    }
+
 
     @Provides @Singleton @MatchingServiceRequestExecutorBacklog
     public Counter matchingServiceRequestExecutorBacklogCounter(Environment environment) {
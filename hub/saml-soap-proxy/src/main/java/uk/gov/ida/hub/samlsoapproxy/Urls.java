@@ -15,7 +15,7 @@ public interface Urls {
         String SAML_ENGINE_ROOT = "/saml-engine";
 
         String GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESOURCE = SAML_ENGINE_ROOT + "/generate-msa-healthcheck-attribute-query";
-        String TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE = SAML_ENGINE_ROOT + "/translate-msa-healthcheck-attribute-query";
+        String GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERIES_RESOURCE = SAML_ENGINE_ROOT + "/generate-msa-healthcheck-attribute-queries";
 
     }
 
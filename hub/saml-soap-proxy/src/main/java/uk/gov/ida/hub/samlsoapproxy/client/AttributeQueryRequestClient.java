@@ -2,8 +2,6 @@ package uk.gov.ida.hub.samlsoapproxy.client;
 
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
-import java.util.Optional;
-
 import io.prometheus.client.Counter;
 import io.prometheus.client.Summary;
 import org.slf4j.Logger;
@@ -16,6 +14,8 @@ import javax.inject.Inject;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.ResponseProcessingException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static java.text.MessageFormat.format;
 
@@ -54,34 +54,46 @@ public class AttributeQueryRequestClient {
     private final SoapRequestClient soapRequestClient;
     private final ExternalCommunicationEventLogger externalCommunicationEventLogger;
     private final MetricRegistry metricsRegistry;
+    private final MatchingServiceBulkheads matchingServiceBulkheads;
 
     @Inject
     public AttributeQueryRequestClient(
             SoapRequestClient soapRequestClient,
-            ExternalCommunicationEventLogger externalCommunicationEventLogger, MetricRegistry metricsRegistry) {
+            ExternalCommunicationEventLogger externalCommunicationEventLogger, MetricRegistry metricsRegistry,
+            MatchingServiceBulkheads matchingServiceBulkheads) {
 
         this.soapRequestClient = soapRequestClient;
         this.externalCommunicationEventLogger = externalCommunicationEventLogger;
         this.metricsRegistry = metricsRegistry;
+        this.matchingServiceBulkheads = matchingServiceBulkheads;
     }
 
-    public Element sendQuery(Element matchingServiceRequest, String messageId, SessionId sessionId, URI matchingServiceUri) {
+    /**
+     * Sends the query to the matching service without holding a thread while it waits for the
+     * response. The returned stage completes on one of the SOAP HTTP client's threads once the
+     * response has arrived, and fails with a {@link MatchingServiceException} if the matching
+     * service can't be reached or doesn't give a usable response, or if the matching service's
+     * bulkhead turns the query away.
+     */
+    public CompletableFuture<Element> sendQuery(Element matchingServiceRequest, String messageId, SessionId sessionId, URI matchingServiceUri) {
         LOG.info("Sending attribute query to {}", matchingServiceUri);
         totalQueries.labels(matchingServiceUri.toString()).inc();
-        Optional<Element> response = sendSingleQuery(
+        return matchingServiceBulkheads.submit(matchingServiceUri, () -> sendSingleQuery(
                 matchingServiceRequest,
                 messageId,
                 sessionId,
                 matchingServiceUri
-        );
-        if (response.isPresent()) {
+        )).thenApply(response -> {
+            if (response == null) {
+                throw new MatchingServiceException(format("Attribute query failed"));
+            }
             successfulQueries.labels(matchingServiceUri.toString()).inc();
-            return response.get();
-        }
-        throw new MatchingServiceException(format("Attribute query failed"));
+            return response;
+        });
     }
 
-    private Optional<Element> sendSingleQuery(Element serialisedQuery, String messageId, SessionId sessionId, URI matchingServiceUri) {
+    private CompletableFuture<Element> sendSingleQuery(Element serialisedQuery, String messageId, SessionId sessionId, URI matchingServiceUri) {
+        CompletableFuture<Element> response;
         try {
             externalCommunicationEventLogger.logMatchingServiceRequest(messageId, sessionId, matchingServiceUri);
 
@@ -91,36 +103,49 @@ public class AttributeQueryRequestClient {
             final Timer timer = metricsRegistry.timer(MetricRegistry.name(AttributeQueryRequestClient.class, "sendSingleQuery", scope));
             final Timer.Context context = timer.time();
             Summary.Timer prometheusTimer = msaRequestDuration.labels(matchingServiceUri.toString()).startTimer();
-            try {
-                return Optional.ofNullable(soapRequestClient.makeSoapRequest(serialisedQuery, matchingServiceUri));
-            } finally {
-                context.stop();
-                prometheusTimer.observeDuration();
+            response = soapRequestClient.makeSoapRequestAsync(serialisedQuery, matchingServiceUri)
+                    .whenComplete((element, e) -> {
+                        context.stop();
+                        prometheusTimer.observeDuration();
+                    });
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.handle((element, e) -> {
+            if (e != null) {
+                throw toMatchingServiceException(e instanceof CompletionException ? e.getCause() : e, matchingServiceUri);
             }
-        } catch (SOAPRequestError e) {
-            if(e.getEntity().isPresent()) {
-                final String responseBody = e.getEntity().get();
-                LOG.info(format("Error received from MSA (URI ''{0}'') following HTTP response {1}; response body:\n{2}", matchingServiceUri, e.getResponseStatus(), responseBody));
+            return element;
+        });
+    }
+
+    private MatchingServiceException toMatchingServiceException(Throwable e, URI matchingServiceUri) {
+        if (e instanceof SOAPRequestError) {
+            SOAPRequestError soapRequestError = (SOAPRequestError) e;
+            if(soapRequestError.getEntity().isPresent()) {
+                final String responseBody = soapRequestError.getEntity().get();
+                LOG.info(format("Error received from MSA (URI ''{0}'') following HTTP response {1}; response body:\n{2}", matchingServiceUri, soapRequestError.getResponseStatus(), responseBody));
 
                 // The MSA sometimes returns 500s with a singularly unhelpful body. Special case handling to get Sentry
                 // to split out these errors. See https://trello.com/c/N7edPMiO/
                 if (responseBody.startsWith("uk.gov.ida.exceptions.ApplicationException")) {
-                    throw new MatchingServiceException(format("Unknown internal Matching Service error from {0} with status {1} ",
-                            matchingServiceUri, e.getResponseStatus()), e);
+                    return new MatchingServiceException(format("Unknown internal Matching Service error from {0} with status {1} ",
+                            matchingServiceUri, soapRequestError.getResponseStatus()), soapRequestError);
                 }
             }
-            throw new MatchingServiceException(format("Matching Service response from {0} was status {1}",
-                    matchingServiceUri, e.getResponseStatus()), e);
-        } catch (ResponseProcessingException e) {
+            return new MatchingServiceException(format("Matching Service response from {0} was status {1}",
+                    matchingServiceUri, soapRequestError.getResponseStatus()), soapRequestError);
+        } else if (e instanceof ResponseProcessingException) {
             LOG.error(format("Matching service attribute query to {0} failed during response processing ({1})",
                     matchingServiceUri, e
                     .getMessage()), e);
-            throw new MatchingServiceException("Request to Matching Service Failed during response processing", e);
-        } catch (ProcessingException e) {
+            return new MatchingServiceException("Request to Matching Service Failed during response processing", (Exception) e);
+        } else if (e instanceof ProcessingException) {
             LOG.error(format("Matching service attribute query to {0} experienced a connection level failure ({1})", matchingServiceUri, e.getMessage()), e);
-            throw new MatchingServiceException("Request to Matching Service Failed At Http Layer", e);
-        } catch (Exception e) {
-            throw new MatchingServiceException(format("The matching service attribute query to {0} failed for an unknown reason ({1}).", matchingServiceUri, e.getMessage()), e);
+            return new MatchingServiceException("Request to Matching Service Failed At Http Layer", (Exception) e);
+        } else if (e instanceof Exception) {
+            return new MatchingServiceException(format("The matching service attribute query to {0} failed for an unknown reason ({1}).", matchingServiceUri, e.getMessage()), (Exception) e);
         }
+        throw new RuntimeException(e);
     }
 }
@@ -0,0 +1,223 @@
+package uk.gov.ida.hub.samlsoapproxy.client;
+
+import io.dropwizard.util.Duration;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import org.joda.time.DateTimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.ida.hub.samlsoapproxy.SamlSoapProxyConfiguration;
+import uk.gov.ida.hub.samlsoapproxy.client.AttributeQueryRequestClient.MatchingServiceException;
+import uk.gov.ida.hub.samlsoapproxy.config.MatchingServiceBulkheadConfiguration;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Keeps the attribute queries for each matching service apart, so that one slow or broken
+ * matching service can't hold up matching for everyone else. Each matching service gets a
+ * limited number of queries in flight and a limited queue behind them, and a circuit breaker
+ * that makes its queries fail straight away once it has failed too many times in a row.
+ */
+@Singleton
+public class MatchingServiceBulkheads {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MatchingServiceBulkheads.class);
+
+    static final Gauge activeQueries = Gauge.build(
+            "verify_saml_soap_proxy_attribute_query_active",
+            "Number of AttributeQuery requests currently waiting on the matching service")
+            .labelNames("uri")
+            .register();
+    static final Gauge queuedQueries = Gauge.build(
+            "verify_saml_soap_proxy_attribute_query_queued",
+            "Number of AttributeQuery requests queued behind those already waiting on the matching service")
+            .labelNames("uri")
+            .register();
+    static final Gauge circuitState = Gauge.build(
+            "verify_saml_soap_proxy_attribute_query_circuit_state",
+            "State of the matching service's circuit breaker (0 = closed, 1 = half open, 2 = open)")
+            .labelNames("uri")
+            .register();
+    static final Counter rejectedQueries = Counter.build(
+            "verify_saml_soap_proxy_attribute_query_rejected_total",
+            "Total number of AttributeQuery requests failed without being sent, by reason")
+            .labelNames("uri", "reason")
+            .register();
+
+    private enum CircuitState {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int maxConcurrentQueries;
+    private final int maxQueuedQueries;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final ConcurrentMap<URI, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Inject
+    public MatchingServiceBulkheads(SamlSoapProxyConfiguration configuration) {
+        this(configuration.getMatchingServiceBulkhead());
+    }
+
+    MatchingServiceBulkheads(MatchingServiceBulkheadConfiguration configuration) {
+        this(configuration.getMaxConcurrentQueries(), configuration.getMaxQueuedQueries(), configuration.getFailureThreshold(), configuration.getOpenDuration());
+    }
+
+    MatchingServiceBulkheads(int maxConcurrentQueries, int maxQueuedQueries, int failureThreshold, Duration openDuration) {
+        this.maxConcurrentQueries = maxConcurrentQueries;
+        this.maxQueuedQueries = maxQueuedQueries;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMilliseconds();
+    }
+
+    /**
+     * Starts the query once the matching service has room for it. The returned stage fails with a
+     * {@link MatchingServiceException} without the query being started if the matching service's
+     * circuit breaker is open or its queue is full.
+     */
+    public <T> CompletableFuture<T> submit(URI matchingServiceUri, Supplier<CompletableFuture<T>> query) {
+        return bulkheads.computeIfAbsent(matchingServiceUri, Bulkhead::new).submit(query);
+    }
+
+    private class Bulkhead {
+        private final URI matchingServiceUri;
+        private final String uri;
+        private final Deque<PendingQuery<?>> queue = new ArrayDeque<>();
+        private int active;
+        private CircuitState state = CircuitState.CLOSED;
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean trialInFlight;
+
+        Bulkhead(URI matchingServiceUri) {
+            this.matchingServiceUri = matchingServiceUri;
+            this.uri = matchingServiceUri.toString();
+            publish();
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> query) {
+            PendingQuery<T> pendingQuery = new PendingQuery<>(query);
+            String rejection;
+            synchronized (this) {
+                rejection = admit();
+                if (rejection == null) {
+                    if (active < maxConcurrentQueries) {
+                        active++;
+                    } else if (queue.size() < maxQueuedQueries) {
+                        queue.add(pendingQuery);
+                        publish();
+                        return pendingQuery.result;
+                    } else {
+                        rejection = "bulkhead_full";
+                    }
+                }
+                publish();
+            }
+            if (rejection != null) {
+                reject(pendingQuery, rejection);
+            } else {
+                start(pendingQuery);
+            }
+            return pendingQuery.result;
+        }
+
+        private String admit() {
+            if (state == CircuitState.OPEN) {
+                if (DateTimeUtils.currentTimeMillis() < openUntil) {
+                    return "circuit_open";
+                }
+                state = CircuitState.HALF_OPEN;
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (trialInFlight) {
+                    return "circuit_open";
+                }
+                trialInFlight = true;
+            }
+            return null;
+        }
+
+        private <T> void start(PendingQuery<T> pendingQuery) {
+            CompletableFuture<T> response;
+            try {
+                response = pendingQuery.query.get();
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((value, e) -> {
+                finished(e == null);
+                if (e != null) {
+                    pendingQuery.result.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                } else {
+                    pendingQuery.result.complete(value);
+                }
+            });
+        }
+
+        private void finished(boolean succeeded) {
+            PendingQuery<?> next = null;
+            List<PendingQuery<?>> rejected = new ArrayList<>();
+            synchronized (this) {
+                active--;
+                trialInFlight = false;
+                if (succeeded) {
+                    consecutiveFailures = 0;
+                    state = CircuitState.CLOSED;
+                } else if (state == CircuitState.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+                    if (state != CircuitState.OPEN) {
+                        LOG.warn("Matching service {} has failed {} queries in a row; failing its queries for the next {}ms", uri, consecutiveFailures, openDurationMillis);
+                    }
+                    state = CircuitState.OPEN;
+                    openUntil = DateTimeUtils.currentTimeMillis() + openDurationMillis;
+                    rejected.addAll(queue);
+                    queue.clear();
+                }
+                if (!queue.isEmpty() && admit() == null) {
+                    next = queue.poll();
+                    active++;
+                }
+                publish();
+            }
+            rejected.forEach(pendingQuery -> reject(pendingQuery, "circuit_open"));
+            if (next != null) {
+                start(next);
+            }
+        }
+
+        private void reject(PendingQuery<?> pendingQuery, String reason) {
+            rejectedQueries.labels(uri, reason).inc();
+            String message = "circuit_open".equals(reason)
+                    ? format("Matching service {0} is failing; not sending attribute query while its circuit breaker is open", matchingServiceUri)
+                    : format("Matching service {0} has too many attribute queries waiting; not sending attribute query", matchingServiceUri);
+            pendingQuery.result.completeExceptionally(new MatchingServiceException(message));
+        }
+
+        private void publish() {
+            activeQueries.labels(uri).set(active);
+            queuedQueries.labels(uri).set(queue.size());
+            circuitState.labels(uri).set(state.ordinal());
+        }
+    }
+
+    private static class PendingQuery<T> {
+        private final Supplier<CompletableFuture<T>> query;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        PendingQuery(Supplier<CompletableFuture<T>> query) {
+            this.query = query;
+        }
+    }
+}
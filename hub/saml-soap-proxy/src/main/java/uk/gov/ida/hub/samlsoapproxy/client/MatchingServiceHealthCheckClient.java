@@ -8,7 +8,6 @@ import org.w3c.dom.Element;
 import uk.gov.ida.exceptions.ApplicationException;
 import uk.gov.ida.hub.samlsoapproxy.domain.MatchingServiceHealthCheckResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.rest.HealthCheckResponse;
-import uk.gov.ida.shared.utils.xml.XmlUtils;
 
 import javax.inject.Inject;
 import java.net.URI;
@@ -47,7 +46,6 @@ public class MatchingServiceHealthCheckClient {
             context.stop();
         }
 
-        return new MatchingServiceHealthCheckResponseDto(
-                    Optional.of(XmlUtils.writeToString(healthCheckResponse.getResponseElement())));
+        return new MatchingServiceHealthCheckResponseDto(Optional.of(healthCheckResponse.getResponseElement()));
     }
 }
@@ -5,6 +5,7 @@ import io.dropwizard.setup.Environment;
 import io.prometheus.client.Gauge;
 import uk.gov.ida.hub.samlsoapproxy.SamlSoapProxyConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.config.PrometheusClientServiceConfiguration;
+import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckResults;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChecker;
 import uk.gov.ida.hub.samlsoapproxy.proxy.MatchingServiceConfigProxy;
 import uk.gov.ida.hub.samlsoapproxy.service.MatchingServiceInfoMetric;
@@ -29,16 +30,19 @@ public class PrometheusClient {
     private final SamlSoapProxyConfiguration samlSoapProxyConfiguration;
     private final MatchingServiceConfigProxy matchingServiceConfigProxy;
     private final MatchingServiceHealthChecker matchingServiceHealthChecker;
+    private final MatchingServiceHealthCheckResults matchingServiceHealthCheckResults;
 
     @Inject
     public PrometheusClient(final Environment environment,
                             final SamlSoapProxyConfiguration samlSoapProxyConfiguration,
                             final MatchingServiceConfigProxy matchingServiceConfigProxy,
-                            final MatchingServiceHealthChecker matchingServiceHealthChecker) {
+                            final MatchingServiceHealthChecker matchingServiceHealthChecker,
+                            final MatchingServiceHealthCheckResults matchingServiceHealthCheckResults) {
         this.environment = environment;
         this.samlSoapProxyConfiguration = samlSoapProxyConfiguration;
         this.matchingServiceConfigProxy = matchingServiceConfigProxy;
         this.matchingServiceHealthChecker = matchingServiceHealthChecker;
+        this.matchingServiceHealthCheckResults = matchingServiceHealthCheckResults;
     }
 
     public void createMatchingServiceHealthCheckMetrics() {
@@ -66,6 +70,7 @@ public class PrometheusClient {
                 samlSoapProxyConfiguration.getHealthCheckSoapHttpClient().getTimeout(),
                 matchingServiceConfigProxy,
                 matchingServiceHealthChecker,
+                matchingServiceHealthCheckResults,
                 healthStatusGauge,
                 healthStatusLastUpdatedGauge,
                 infoMetric);
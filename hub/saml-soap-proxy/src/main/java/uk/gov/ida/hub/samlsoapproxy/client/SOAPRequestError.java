@@ -13,13 +13,17 @@ public class SOAPRequestError extends Exception {
     }
 
     public SOAPRequestError(Response response, BadRequestException e) {
+        this(response.getStatus(), response.hasEntity() ? Optional.of(response.readEntity(String.class)) : Optional.empty(), e);
+    }
+
+    public SOAPRequestError(int status, Optional<String> entity) {
+        this(status, entity, null);
+    }
+
+    public SOAPRequestError(int status, Optional<String> entity, Exception e) {
         super(e);
-        status = response.getStatus();
-        if (response.hasEntity()) {
-            entity = Optional.of(response.readEntity(String.class));
-        } else {
-            entity = Optional.empty();
-        }
+        this.status = status;
+        this.entity = entity;
     }
 
     public int getResponseStatus() {
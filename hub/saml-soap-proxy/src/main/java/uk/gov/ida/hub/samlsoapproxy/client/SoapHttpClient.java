@@ -0,0 +1,171 @@
+package uk.gov.ida.hub.samlsoapproxy.client;
+
+import io.dropwizard.client.ssl.TlsConfiguration;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import uk.gov.ida.configuration.JerseyClientWithRetryBackoffConfiguration;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.gov.ida.shared.utils.xml.XmlUtils.writeToString;
+
+/**
+ * Posts SOAP messages with the JDK's HTTP client, which doesn't hold a thread while it waits for
+ * a response: the connection is watched by the client's selector, and a thread is only needed
+ * again once the response has arrived. The Jersey client blocks one of its async threads for every
+ * request in flight, however it's called.
+ *
+ * <p>It's set up from the same configuration as the Jersey SOAP client. Requests that fail with one
+ * of the configured exceptions are retried after a backoff that grows with each attempt. The JDK
+ * client reports timeouts as {@link HttpTimeoutException}, so those are retried if either kind of
+ * timeout the Apache connector throws is configured. Host names are always verified.
+ */
+public class SoapHttpClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SoapHttpClient.class);
+
+    private static final List<String> TIMEOUT_EXCEPTION_NAMES = List.of(
+            SocketTimeoutException.class.getName(),
+            "org.apache.http.conn.ConnectTimeoutException");
+
+    private final HttpClient httpClient;
+    private final java.time.Duration timeout;
+    private final int retries;
+    private final long retryBackoffMillis;
+    private final Set<String> retryExceptionNames;
+
+    public SoapHttpClient(HttpClient httpClient, Duration timeout, int retries, Duration retryBackoffPeriod, Collection<String> retryExceptionNames) {
+        this.httpClient = httpClient;
+        this.timeout = java.time.Duration.ofMillis(timeout.toMilliseconds());
+        this.retries = retries;
+        this.retryBackoffMillis = Optional.ofNullable(retryBackoffPeriod).map(Duration::toMilliseconds).orElse(0L);
+        this.retryExceptionNames = Set.copyOf(Optional.ofNullable(retryExceptionNames).orElse(List.of()));
+    }
+
+    public static SoapHttpClient fromConfiguration(JerseyClientWithRetryBackoffConfiguration configuration, boolean enableRetryTimeOutConnections) {
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(java.time.Duration.ofMillis(configuration.getConnectionTimeout().toMilliseconds()));
+        TlsConfiguration tlsConfiguration = configuration.getTlsConfiguration();
+        if (tlsConfiguration != null) {
+            httpClient.sslContext(sslContext(tlsConfiguration));
+        }
+        return new SoapHttpClient(
+                httpClient.build(),
+                configuration.getTimeout(),
+                enableRetryTimeOutConnections ? configuration.getRetries() : 0,
+                configuration.getRetryBackoffPeriod(),
+                configuration.getRetryExceptionNames());
+    }
+
+    /**
+     * Posts the SOAP message without waiting for the response. The returned stage completes on one
+     * of the HTTP client's threads once the whole response has arrived, or fails with the
+     * {@link IOException} that ended the last attempt.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> post(URI uri, Document soapMessage) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_XML)
+                .POST(HttpRequest.BodyPublishers.ofString(writeToString(soapMessage), UTF_8))
+                .build();
+        return send(request, 1);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, int attempt) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, e) -> {
+                    if (e == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable failure = e instanceof CompletionException ? e.getCause() : e;
+                    if (attempt > retries || !shouldRetry(failure)) {
+                        return CompletableFuture.<HttpResponse<byte[]>>failedFuture(failure);
+                    }
+                    long backoffMillis = retryBackoffMillis * attempt;
+                    LOG.warn("SOAP request to {} failed ({}); retrying in {}ms", request.uri(), failure, backoffMillis);
+                    return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> send(request, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private boolean shouldRetry(Throwable failure) {
+        if (failure instanceof HttpTimeoutException && TIMEOUT_EXCEPTION_NAMES.stream().anyMatch(retryExceptionNames::contains)) {
+            return true;
+        }
+        for (Class<?> type = failure.getClass(); type != null; type = type.getSuperclass()) {
+            if (retryExceptionNames.contains(type.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SSLContext sslContext(TlsConfiguration tls) {
+        try {
+            SSLContext sslContext = SSLContext.getInstance(tls.getProtocol());
+            sslContext.init(keyManagers(tls), trustManagers(tls), null);
+            return sslContext;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Unable to set up TLS for the SOAP client", e);
+        }
+    }
+
+    private static KeyManager[] keyManagers(TlsConfiguration tls) throws GeneralSecurityException, IOException {
+        if (tls.getKeyStorePath() == null) {
+            return null;
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(
+                loadKeyStore(tls.getKeyStorePath(), tls.getKeyStoreType(), tls.getKeyStorePassword()),
+                tls.getKeyStorePassword() == null ? null : tls.getKeyStorePassword().toCharArray());
+        return keyManagerFactory.getKeyManagers();
+    }
+
+    private static TrustManager[] trustManagers(TlsConfiguration tls) throws GeneralSecurityException, IOException {
+        if (tls.getTrustStorePath() == null) {
+            return null;
+        }
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(loadKeyStore(tls.getTrustStorePath(), tls.getTrustStoreType(), tls.getTrustStorePassword()));
+        return trustManagerFactory.getTrustManagers();
+    }
+
+    private static KeyStore loadKeyStore(File path, String type, String password) throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance(type);
+        try (InputStream inputStream = new FileInputStream(path)) {
+            keyStore.load(inputStream, password == null ? null : password.toCharArray());
+        }
+        return keyStore;
+    }
+}
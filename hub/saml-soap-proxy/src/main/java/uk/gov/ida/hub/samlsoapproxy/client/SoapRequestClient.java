@@ -4,8 +4,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
 import uk.gov.ida.hub.samlsoapproxy.soap.SoapMessageManager;
 import uk.gov.ida.hub.samlsoapproxy.soap.SoapResponse;
+import uk.gov.ida.shared.utils.xml.XmlUtils;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -18,20 +20,36 @@ import javax.ws.rs.client.ResponseProcessingException;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
 import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.text.MessageFormat.format;
 
 public class SoapRequestClient {
     private final Client client;
     private final SoapMessageManager soapMessageManager;
+    private final SoapHttpClient soapHttpClient;
 
     private static final Logger LOG = LoggerFactory.getLogger(SoapRequestClient.class);
 
     @Inject
-    public SoapRequestClient(SoapMessageManager soapMessageManager, @Named("SoapClient") Client client) {
+    public SoapRequestClient(SoapMessageManager soapMessageManager, @Named("SoapClient") Client client, SoapHttpClient soapHttpClient) {
         this.soapMessageManager = soapMessageManager;
         this.client = client;
+        this.soapHttpClient = soapHttpClient;
+    }
+
+    /**
+     * For clients that only make blocking requests, with {@link #makePost(URI, Element)}.
+     */
+    protected SoapRequestClient(SoapMessageManager soapMessageManager, Client client) {
+        this(soapMessageManager, client, null);
     }
 
     public Element makeSoapRequest(Element requestElement, URI uri) throws SOAPRequestError {
@@ -56,6 +74,41 @@ public class SoapRequestClient {
         final Invocation.Builder request = target.request();
         final Response response = request.post(Entity.entity(requestDocument, MediaType.TEXT_XML_TYPE));
 
+        return readSoapResponse(uri, response);
+    }
+
+    /**
+     * Wrap the supplied element in a SOAP wrapper and post it to the specified end-point without
+     * waiting for the response. No thread is held while the remote server works on the request;
+     * the returned stage completes on one of the HTTP client's threads once the response arrives.
+     *
+     * @return the body of the response from the remote server, or a failure with the same exceptions
+     *         that {@link #makePost(URI, Element)} throws
+     */
+    public CompletableFuture<Element> makeSoapRequestAsync(Element requestElement, URI uri) {
+        LOG.info(format("Making asynchronous SOAP request to: {0}", uri));
+
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            Document requestDocument = soapMessageManager.wrapWithSoapEnvelope(requestElement);
+            response = soapHttpClient.post(uri, requestDocument);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.handle((httpResponse, e) -> {
+            if (e != null) {
+                Throwable failure = e instanceof CompletionException ? e.getCause() : e;
+                throw new CompletionException(failure instanceof IOException ? new ProcessingException(failure) : failure);
+            }
+            try {
+                return readSoapResponse(uri, httpResponse);
+            } catch (SOAPRequestError soapRequestError) {
+                throw new CompletionException(soapRequestError);
+            }
+        });
+    }
+
+    private SoapResponse readSoapResponse(URI uri, Response response) throws SOAPRequestError {
         try {
             if (response.getStatus() != 200) {
                 LOG.warn(format("Unexpected status code ({0}) when contacting ({1}))", response.getStatus(), uri));
@@ -80,6 +133,23 @@ public class SoapRequestClient {
         }
     }
 
+    private Element readSoapResponse(URI uri, HttpResponse<byte[]> response) throws SOAPRequestError {
+        Optional<String> entity = response.body().length == 0 ? Optional.empty() : Optional.of(new String(response.body(), UTF_8));
+        if (response.statusCode() != 200) {
+            LOG.warn(format("Unexpected status code ({0}) when contacting ({1}))", response.statusCode(), uri));
+            // let the calling code handle this issue appropriately
+            throw new SOAPRequestError(response.statusCode(), entity);
+        }
+        Document document;
+        try {
+            document = XmlUtils.convertToElement(entity.orElse("")).getOwnerDocument();
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            LOG.warn(format("Couldn't parse SOAP response when contacting ({0}))", uri), e);
+            throw new SOAPRequestError(response.statusCode(), entity, e);
+        }
+        return soapMessageManager.unwrapSoapMessage(document);
+    }
+
     private SoapResponse giveMeMySoap(Response response) {
         Document document = response.readEntity(Document.class);
         Element unwrappedSoap = soapMessageManager.unwrapSoapMessage(document);
@@ -0,0 +1,57 @@
+package uk.gov.ida.hub.samlsoapproxy.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class MatchingServiceBulkheadConfiguration {
+    /**
+     * Most attribute queries that may be waiting on a single matching service at once.
+     */
+    @Min(1)
+    @JsonProperty
+    private int maxConcurrentQueries = 20;
+
+    /**
+     * Most attribute queries that may wait for one of those slots before further queries are rejected.
+     */
+    @Min(0)
+    @JsonProperty
+    private int maxQueuedQueries = 100;
+
+    /**
+     * Consecutive failed queries after which queries to the matching service fail straight away.
+     */
+    @Min(1)
+    @JsonProperty
+    private int failureThreshold = 5;
+
+    /**
+     * How long queries fail straight away before a single query is let through to try the matching service again.
+     */
+    @NotNull
+    @Valid
+    @JsonProperty
+    private Duration openDuration = Duration.seconds(30);
+
+    public MatchingServiceBulkheadConfiguration() { }
+
+    public int getMaxConcurrentQueries() {
+        return maxConcurrentQueries;
+    }
+
+    public int getMaxQueuedQueries() {
+        return maxQueuedQueries;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+}
@@ -1,20 +1,22 @@
 package uk.gov.ida.hub.samlsoapproxy.domain;
 
+import org.w3c.dom.Element;
+
 import java.util.Optional;
 
 public class MatchingServiceHealthCheckResponseDto {
 
-    private Optional<String> response;
+    private Optional<Element> response;
 
     @SuppressWarnings("unused") //Needed for JAXB
     private MatchingServiceHealthCheckResponseDto() {
     }
 
-    public MatchingServiceHealthCheckResponseDto(Optional<String> response) {
+    public MatchingServiceHealthCheckResponseDto(Optional<Element> response) {
         this.response = response;
     }
 
-    public Optional<String> getResponse() {
+    public Optional<Element> getResponse() {
         return response;
     }
 
@@ -1,30 +1,77 @@
 package uk.gov.ida.hub.samlsoapproxy.healthcheck;
 
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.ida.hub.samlsoapproxy.SamlSoapProxyConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
 import uk.gov.ida.hub.samlsoapproxy.proxy.MatchingServiceConfigProxy;
 
 import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static java.text.MessageFormat.format;
+import static uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChecker.UNDEFINED;
+import static uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChecker.UNDEFINED_VERSION;
+
 public class MatchingServiceHealthCheckHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(MatchingServiceHealthCheckHandler.class);
+    private static final long WAIT_FOR_THREAD_TO_MARK_TIMEOUT_MATCHING_SERVICE_UNHEALTHY_MILLIS = 1000L;
+
     private final MatchingServiceConfigProxy matchingServiceConfigProxy;
     private final MatchingServiceHealthChecker matchingServiceHealthChecker;
+    private final MatchingServiceHealthCheckResults recentResults;
+    private final ExecutorService healthCheckExecutor;
+    private final long deadlineMillis;
 
     @Inject
     public MatchingServiceHealthCheckHandler(final MatchingServiceConfigProxy matchingServiceConfigProxy,
-                                             final MatchingServiceHealthChecker matchingServiceHealthChecker) {
+                                             final MatchingServiceHealthChecker matchingServiceHealthChecker,
+                                             final MatchingServiceHealthCheckResults recentResults,
+                                             @Named("MatchingServiceHealthCheckExecutor") final ExecutorService healthCheckExecutor,
+                                             final SamlSoapProxyConfiguration configuration) {
+        this(matchingServiceConfigProxy, matchingServiceHealthChecker, recentResults, healthCheckExecutor,
+                Duration.milliseconds(configuration.getHealthCheckSoapHttpClient().getTimeout().toMilliseconds() + WAIT_FOR_THREAD_TO_MARK_TIMEOUT_MATCHING_SERVICE_UNHEALTHY_MILLIS));
+    }
+
+    MatchingServiceHealthCheckHandler(final MatchingServiceConfigProxy matchingServiceConfigProxy,
+                                      final MatchingServiceHealthChecker matchingServiceHealthChecker,
+                                      final MatchingServiceHealthCheckResults recentResults,
+                                      final ExecutorService healthCheckExecutor,
+                                      final Duration deadline) {
         this.matchingServiceConfigProxy = matchingServiceConfigProxy;
         this.matchingServiceHealthChecker = matchingServiceHealthChecker;
+        this.recentResults = recentResults;
+        this.healthCheckExecutor = healthCheckExecutor;
+        this.deadlineMillis = deadline.toMilliseconds();
     }
 
+    /**
+     * Reports recent results where there are any, and checks the other matching services.
+     */
     public AggregatedMatchingServicesHealthCheckResult handle() {
         return handle(false);
     }
 
+    /**
+     * Checks every matching service now, including those with health checks disabled.
+     */
     public AggregatedMatchingServicesHealthCheckResult forceCheckAllMSAs() {
         return handle(true);
     }
@@ -49,15 +96,80 @@ public class MatchingServiceHealthCheckHandler {
             matchingServicesToHealthCheck = getMatchingServicesWithEnabledHealthCheck(uniqueMatchingServices);
         }
 
+        final Map<String, MatchingServiceHealthCheckResult> results = new HashMap<>();
+        final List<MatchingServiceConfigEntityDataDto> matchingServicesWithoutRecentResult = new ArrayList<>();
         for (MatchingServiceConfigEntityDataDto matchingServiceInfo : matchingServicesToHealthCheck) {
-            MatchingServiceHealthCheckResult healthCheckResult = matchingServiceHealthChecker.performHealthCheck(matchingServiceInfo);
+            Optional<MatchingServiceHealthCheckResult> recentResult = forceCheckOnAllMSAs ? Optional.empty() : recentResults.getRecent(matchingServiceInfo.getEntityId());
+            if (recentResult.isPresent()) {
+                results.put(matchingServiceInfo.getEntityId(), recentResult.get());
+            } else {
+                matchingServicesWithoutRecentResult.add(matchingServiceInfo);
+            }
+        }
+        results.putAll(performHealthChecks(matchingServicesWithoutRecentResult));
 
-            aggregatedResult.addResult(healthCheckResult);
+        for (MatchingServiceConfigEntityDataDto matchingServiceInfo : matchingServicesToHealthCheck) {
+            aggregatedResult.addResult(results.get(matchingServiceInfo.getEntityId()));
         }
 
         return aggregatedResult;
     }
 
+    /**
+     * Checks the matching services at the same time, reporting any that haven't responded by the
+     * deadline as unhealthy.
+     */
+    private Map<String, MatchingServiceHealthCheckResult> performHealthChecks(final List<MatchingServiceConfigEntityDataDto> matchingServices) {
+        if (matchingServices.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        matchingServiceHealthChecker.prepareHealthChecks(matchingServices);
+
+        final List<Callable<MatchingServiceHealthCheckResult>> healthChecks = matchingServices.stream()
+                .map(matchingServiceInfo -> (Callable<MatchingServiceHealthCheckResult>) () -> matchingServiceHealthChecker.performHealthCheck(matchingServiceInfo))
+                .collect(Collectors.toList());
+        List<Future<MatchingServiceHealthCheckResult>> futures = Collections.emptyList();
+        try {
+            futures = healthCheckExecutor.invokeAll(healthChecks, deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final Map<String, MatchingServiceHealthCheckResult> results = new HashMap<>();
+        for (int i = 0; i < matchingServices.size(); i++) {
+            final MatchingServiceConfigEntityDataDto matchingServiceInfo = matchingServices.get(i);
+            final MatchingServiceHealthCheckResult result = i < futures.size() ? resultOf(matchingServiceInfo, futures.get(i)) : notChecked(matchingServiceInfo, "health check was interrupted");
+            recentResults.record(matchingServiceInfo.getEntityId(), result);
+            results.put(matchingServiceInfo.getEntityId(), result);
+        }
+        return results;
+    }
+
+    private MatchingServiceHealthCheckResult resultOf(final MatchingServiceConfigEntityDataDto matchingServiceInfo, final Future<MatchingServiceHealthCheckResult> future) {
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return notChecked(matchingServiceInfo, format("no response within {0}ms", deadlineMillis));
+        } catch (ExecutionException e) {
+            LOG.warn("Health check of {} failed", matchingServiceInfo.getEntityId(), e.getCause());
+            return notChecked(matchingServiceInfo, format("health check failed: {0}", e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return notChecked(matchingServiceInfo, "health check was interrupted");
+        }
+    }
+
+    private static MatchingServiceHealthCheckResult notChecked(final MatchingServiceConfigEntityDataDto matchingServiceInfo, final String message) {
+        return MatchingServiceHealthCheckResult.unhealthy(new MatchingServiceHealthCheckDetails(
+                matchingServiceInfo.getUri(),
+                message,
+                UNDEFINED_VERSION,
+                false,
+                matchingServiceInfo.isOnboarding(),
+                UNDEFINED,
+                UNDEFINED));
+    }
+
     private Collection<MatchingServiceConfigEntityDataDto> getMatchingServicesWithEnabledHealthCheck(
             final Collection<MatchingServiceConfigEntityDataDto> matchingServices) {
         return matchingServices.stream()
@@ -0,0 +1,152 @@
+package uk.gov.ida.hub.samlsoapproxy.healthcheck;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dropwizard.util.Duration;
+import org.opensaml.saml.saml2.core.AttributeQuery;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+import uk.gov.ida.exceptions.ApplicationException;
+import uk.gov.ida.hub.samlsoapproxy.SamlSoapProxyConfiguration;
+import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
+import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerRequestDto;
+import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
+import uk.gov.ida.hub.samlsoapproxy.proxy.SamlEngineProxy;
+import uk.gov.ida.saml.core.validation.SamlTransformationErrorException;
+import uk.gov.ida.saml.core.validation.SamlValidationResponse;
+import uk.gov.ida.saml.core.validation.SamlValidationSpecificationFailure;
+import uk.gov.ida.saml.security.SamlMessageSignatureValidator;
+import uk.gov.ida.shared.utils.xml.XmlUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Signed health check queries from saml-engine, checked once and then sent again for the reuse
+ * window, so that each health check sweep doesn't need a new signature and signature check for
+ * every matching service. Queries that are missing are generated in a single call to saml-engine.
+ */
+@Singleton
+public class MatchingServiceHealthCheckRequests {
+    private static final Logger LOG = LoggerFactory.getLogger(MatchingServiceHealthCheckRequests.class);
+
+    private final SamlEngineProxy samlEngineProxy;
+    private final Function<Element, AttributeQuery> elementToAttributeQueryTransformer;
+    private final SamlMessageSignatureValidator matchingRequestSignatureValidator;
+    private final boolean reuseRequests;
+    private final Cache<String, String> verifiedRequests;
+
+    @Inject
+    public MatchingServiceHealthCheckRequests(
+            final SamlEngineProxy samlEngineProxy,
+            final Function<Element, AttributeQuery> elementToAttributeQueryTransformer,
+            @Named("matchingRequestSignatureValidator") SamlMessageSignatureValidator matchingRequestSignatureValidator,
+            final SamlSoapProxyConfiguration configuration) {
+        this(samlEngineProxy, elementToAttributeQueryTransformer, matchingRequestSignatureValidator, configuration.getHealthCheckRequestReuseWindow());
+    }
+
+    MatchingServiceHealthCheckRequests(
+            final SamlEngineProxy samlEngineProxy,
+            final Function<Element, AttributeQuery> elementToAttributeQueryTransformer,
+            final SamlMessageSignatureValidator matchingRequestSignatureValidator,
+            final Duration reuseWindow) {
+        this.samlEngineProxy = samlEngineProxy;
+        this.elementToAttributeQueryTransformer = elementToAttributeQueryTransformer;
+        this.matchingRequestSignatureValidator = matchingRequestSignatureValidator;
+        this.reuseRequests = reuseWindow.toMilliseconds() > 0;
+        this.verifiedRequests = CacheBuilder.newBuilder()
+                .expireAfterWrite(reuseWindow.toMilliseconds(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Gets queries for all of the given matching services that don't already have one in a single
+     * call to saml-engine. Any that can't be got this way are left to {@link #get}.
+     */
+    public void prepare(final Collection<MatchingServiceConfigEntityDataDto> matchingServices) {
+        if (!reuseRequests) {
+            return;
+        }
+        final List<MatchingServiceHealthCheckerRequestDto> missing = matchingServices.stream()
+                .map(MatchingServiceHealthCheckRequests::toRequestDto)
+                .filter(dto -> verifiedRequests.getIfPresent(keyFor(dto)) == null)
+                .collect(toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        final List<SamlMessageDto> samlMessages;
+        try {
+            samlMessages = samlEngineProxy.generateHealthcheckAttributeQueries(missing);
+        } catch (ApplicationException e) {
+            LOG.warn("Saml-engine was unable to generate health check queries in a batch; generating them one at a time", e);
+            return;
+        }
+        if (samlMessages.size() != missing.size()) {
+            LOG.warn("Saml-engine generated {} health check queries for {} matching services; generating them one at a time", samlMessages.size(), missing.size());
+            return;
+        }
+
+        for (int i = 0; i < missing.size(); i++) {
+            final String samlMessage = samlMessages.get(i).getSamlMessage();
+            try {
+                validateRequestSignature(XmlUtils.convertToElement(samlMessage));
+                verifiedRequests.put(keyFor(missing.get(i)), samlMessage);
+            } catch (ParserConfigurationException | SAXException | IOException | SamlTransformationErrorException e) {
+                LOG.warn("Health check query generated for {} could not be used", missing.get(i).getMatchingServiceEntityId(), e);
+            }
+        }
+    }
+
+    /**
+     * A signed health check query for the matching service, generated now if there isn't one that
+     * can be sent again. A new query is parsed each time because sending it moves it into the SOAP
+     * envelope's document.
+     */
+    public Element get(final MatchingServiceConfigEntityDataDto matchingService) throws ParserConfigurationException, SAXException, IOException {
+        final MatchingServiceHealthCheckerRequestDto dto = toRequestDto(matchingService);
+        final String key = keyFor(dto);
+        final String verifiedRequest = verifiedRequests.getIfPresent(key);
+        if (verifiedRequest != null) {
+            return XmlUtils.convertToElement(verifiedRequest);
+        }
+
+        final String samlMessage = samlEngineProxy.generateHealthcheckAttributeQuery(dto).getSamlMessage();
+        final Element matchingServiceHealthCheckRequest = XmlUtils.convertToElement(samlMessage);
+        validateRequestSignature(matchingServiceHealthCheckRequest);
+        if (reuseRequests) {
+            verifiedRequests.put(key, samlMessage);
+        }
+        return matchingServiceHealthCheckRequest;
+    }
+
+    private void validateRequestSignature(Element matchingServiceRequest) {
+        AttributeQuery attributeQuery = elementToAttributeQueryTransformer.apply(matchingServiceRequest);
+        SamlValidationResponse signatureValidationResponse = matchingRequestSignatureValidator.validate(attributeQuery, SPSSODescriptor.DEFAULT_ELEMENT_NAME);
+        if (!signatureValidationResponse.isOK()) {
+            SamlValidationSpecificationFailure failure = signatureValidationResponse.getSamlValidationSpecificationFailure();
+            throw new SamlTransformationErrorException(failure.getErrorMessage(), signatureValidationResponse.getCause(), Level.ERROR);
+        }
+    }
+
+    private static MatchingServiceHealthCheckerRequestDto toRequestDto(MatchingServiceConfigEntityDataDto matchingService) {
+        return new MatchingServiceHealthCheckerRequestDto(matchingService.getTransactionEntityId(), matchingService.getEntityId());
+    }
+
+    private static String keyFor(MatchingServiceHealthCheckerRequestDto dto) {
+        return dto.getTransactionEntityId() + "|" + dto.getMatchingServiceEntityId();
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.ida.hub.samlsoapproxy.healthcheck;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dropwizard.util.Duration;
+import uk.gov.ida.hub.samlsoapproxy.SamlSoapProxyConfiguration;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The most recent health check result for each matching service, from either the scheduled sweep
+ * or an on-demand check, so that repeated polls of the health check endpoint don't each send a
+ * new query to every matching service.
+ */
+@Singleton
+public class MatchingServiceHealthCheckResults {
+
+    private final Cache<String, MatchingServiceHealthCheckResult> recentResults;
+
+    @Inject
+    public MatchingServiceHealthCheckResults(SamlSoapProxyConfiguration configuration) {
+        this(configuration.getHealthCheckResultMaxAge());
+    }
+
+    MatchingServiceHealthCheckResults(Duration maxAge) {
+        this.recentResults = CacheBuilder.newBuilder()
+                .expireAfterWrite(maxAge.toMilliseconds(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public void record(String matchingServiceEntityId, MatchingServiceHealthCheckResult result) {
+        recentResults.put(matchingServiceEntityId, result);
+    }
+
+    public Optional<MatchingServiceHealthCheckResult> getRecent(String matchingServiceEntityId) {
+        return Optional.ofNullable(recentResults.getIfPresent(matchingServiceEntityId));
+    }
+}
@@ -1,36 +1,23 @@
 package uk.gov.ida.hub.samlsoapproxy.healthcheck;
 
-import org.opensaml.saml.saml2.core.AttributeQuery;
 import org.opensaml.saml.saml2.core.Response;
-import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.event.Level;
 import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
+import uk.gov.ida.common.ExceptionType;
 import uk.gov.ida.exceptions.ApplicationException;
 import uk.gov.ida.hub.samlsoapproxy.client.MatchingServiceHealthCheckClient;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerRequestDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerResponseDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
 import uk.gov.ida.hub.samlsoapproxy.domain.MatchingServiceHealthCheckResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.logging.HealthCheckEventLogger;
-import uk.gov.ida.hub.samlsoapproxy.proxy.SamlEngineProxy;
-import uk.gov.ida.saml.core.validation.SamlTransformationErrorException;
-import uk.gov.ida.saml.core.validation.SamlValidationResponse;
-import uk.gov.ida.saml.core.validation.SamlValidationSpecificationFailure;
+import uk.gov.ida.saml.hub.domain.InboundHealthCheckResponseFromMatchingService;
 import uk.gov.ida.saml.hub.transformers.inbound.MatchingServiceIdaStatus;
-import uk.gov.ida.saml.security.SamlMessageSignatureValidator;
-import uk.gov.ida.shared.utils.xml.XmlUtils;
+import uk.gov.ida.saml.hub.transformers.inbound.providers.DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer;
 
 import javax.inject.Inject;
-import javax.inject.Named;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.Charset;
-import java.util.Base64;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -44,46 +31,43 @@ import static uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChec
  * from saml-soap-proxy to the matching services.
  */
 public class MatchingServiceHealthChecker {
-    private static final Logger LOG = LoggerFactory.getLogger(MatchingServiceHealthChecker.class);
-    private static final String UNDEFINED_VERSION = "0";
-    private static final String UNDEFINED = "UNDEFINED";
+    static final String UNDEFINED_VERSION = "0";
+    static final String UNDEFINED = "UNDEFINED";
 
-    private final Function<Element, AttributeQuery> elementToAttributeQueryTransformer;
     private final Function<Element, Response> elementToResponseTransformer;
-    private final SamlMessageSignatureValidator matchingRequestSignatureValidator;
     private final SupportedMsaVersionsRepository supportedMsaVersionsRepository;
-    private final SamlEngineProxy samlEngineProxy;
+    private final MatchingServiceHealthCheckRequests healthCheckRequests;
+    private final DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer healthCheckResponseTransformer;
     private final MatchingServiceHealthCheckClient matchingServiceHealthCheckClient;
     private final HealthCheckEventLogger eventLogger;
 
     @Inject
     public MatchingServiceHealthChecker(
-            final Function<Element, AttributeQuery> elementToAttributeQueryTransformer,
             final Function<Element, Response> elementToResponseTransformer,
-            @Named("matchingRequestSignatureValidator") SamlMessageSignatureValidator matchingRequestSignatureValidator,
             final SupportedMsaVersionsRepository supportedMsaVersionsRepository,
-            final SamlEngineProxy samlEngineProxy,
+            final DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer healthCheckResponseTransformer,
+            final MatchingServiceHealthCheckRequests healthCheckRequests,
             final MatchingServiceHealthCheckClient matchingServiceHealthCheckClient,
             HealthCheckEventLogger eventLogger) {
-        this.elementToAttributeQueryTransformer = elementToAttributeQueryTransformer;
         this.elementToResponseTransformer = elementToResponseTransformer;
-        this.matchingRequestSignatureValidator = matchingRequestSignatureValidator;
         this.supportedMsaVersionsRepository = supportedMsaVersionsRepository;
+        this.healthCheckRequests = healthCheckRequests;
         this.matchingServiceHealthCheckClient = matchingServiceHealthCheckClient;
-        this.samlEngineProxy = samlEngineProxy;
+        this.healthCheckResponseTransformer = healthCheckResponseTransformer;
         this.eventLogger = eventLogger;
     }
 
-    public MatchingServiceHealthCheckResult performHealthCheck(final MatchingServiceConfigEntityDataDto configEntity) {
-        MatchingServiceHealthCheckerRequestDto matchingServiceHealthCheckerRequestDto =
-                new MatchingServiceHealthCheckerRequestDto(configEntity.getTransactionEntityId(), configEntity.getEntityId());
+    /**
+     * Gets the health check queries for a sweep of the given matching services ready up front.
+     */
+    public void prepareHealthChecks(final Collection<MatchingServiceConfigEntityDataDto> configEntities) {
+        healthCheckRequests.prepare(configEntities);
+    }
 
+    public MatchingServiceHealthCheckResult performHealthCheck(final MatchingServiceConfigEntityDataDto configEntity) {
         MatchingServiceHealthCheckResponseDto responseDto;
         try {
-            SamlMessageDto samlMessageDto = samlEngineProxy.generateHealthcheckAttributeQuery(matchingServiceHealthCheckerRequestDto);
-
-            final Element matchingServiceHealthCheckRequest = XmlUtils.convertToElement(samlMessageDto.getSamlMessage());
-            validateRequestSignature(matchingServiceHealthCheckRequest);
+            final Element matchingServiceHealthCheckRequest = healthCheckRequests.get(configEntity);
             responseDto = matchingServiceHealthCheckClient.sendHealthCheckRequest(matchingServiceHealthCheckRequest,
                     configEntity.getUri()
             );
@@ -100,9 +84,10 @@ public class MatchingServiceHealthChecker {
     }
 
     private MatchingServiceHealthCheckResult buildMatchingServiceHealthCheckResult(final MatchingServiceConfigEntityDataDto configEntity,
-                                                                                   final Optional<String> responseBody) throws ParserConfigurationException, SAXException, IOException {
+                                                                                   final Optional<Element> responseElement) {
 
-        final HealthCheckData healthCheckData = getHealthCheckData(responseBody);
+        final Optional<Response> responseBody = responseElement.map(elementToResponseTransformer);
+        final HealthCheckData healthCheckData = HealthCheckData.extractFrom(responseBody.map(Response::getID).orElse(null));
 
         final String versionNumber = healthCheckData.getVersion()
                 .filter(Predicate.not(String::isEmpty))
@@ -135,25 +120,6 @@ public class MatchingServiceHealthChecker {
         }
     }
 
-    private HealthCheckData getHealthCheckData(Optional<String> responseBody) throws IOException, SAXException, ParserConfigurationException {
-
-        if (responseBody.isPresent()) {
-            Response response = elementToResponseTransformer.apply(XmlUtils.convertToElement(responseBody.get()));
-            return HealthCheckData.extractFrom(response.getID());
-        }
-
-        return HealthCheckData.extractFrom(null);
-    }
-
-    private void validateRequestSignature(Element matchingServiceRequest) {
-        AttributeQuery attributeQuery = elementToAttributeQueryTransformer.apply(matchingServiceRequest);
-        SamlValidationResponse signatureValidationResponse = matchingRequestSignatureValidator.validate(attributeQuery, SPSSODescriptor.DEFAULT_ELEMENT_NAME);
-        if (!signatureValidationResponse.isOK()) {
-            SamlValidationSpecificationFailure failure = signatureValidationResponse.getSamlValidationSpecificationFailure();
-            throw new SamlTransformationErrorException(failure.getErrorMessage(), signatureValidationResponse.getCause(), Level.ERROR);
-        }
-    }
-
     private MatchingServiceHealthCheckResult logAndCreateUnhealthyResponse(MatchingServiceConfigEntityDataDto configEntity, String message) {
         return unhealthy(generateHealthCheckDescription(
                 message,
@@ -189,7 +155,7 @@ public class MatchingServiceHealthChecker {
     private MatchingServiceHealthCheckDetails generateHealthCheckFailureDescription(
             final URI matchingServiceUri,
             final boolean isOnboarding,
-            Optional<String> response,
+            Optional<Response> response,
             String versionNumber,
             String eidasEnabled,
             String shouldSignWithSha1) {
@@ -204,7 +170,7 @@ public class MatchingServiceHealthChecker {
 
     private boolean isHealthyResponse(
             final URI matchingServiceUri,
-            Optional<String> response) {
+            Optional<Response> response) {
 
         if (response.isEmpty()) {
             return false;
@@ -212,21 +178,16 @@ public class MatchingServiceHealthChecker {
 
         String exceptionMessage = format("Matching service health check failed for URI {0}", matchingServiceUri);
         try {
-            // Saml-engine expects the saml to be base64 encoded
-
-            String base64Response = Base64.getEncoder().encodeToString(response.get().getBytes(Charset.defaultCharset()));
-            final SamlMessageDto samlMessageDto = new SamlMessageDto(base64Response);
-            final MatchingServiceHealthCheckerResponseDto responseFromMatchingService =
-                    samlEngineProxy.translateHealthcheckMatchingServiceResponse(samlMessageDto);
+            // The response is validated here rather than in saml-engine, using the signing keys we already have
+            final InboundHealthCheckResponseFromMatchingService responseFromMatchingService =
+                    healthCheckResponseTransformer.transform(response.get());
 
             if (responseFromMatchingService.getStatus() != MatchingServiceIdaStatus.Healthy) {
                 return false;
             }
-        } catch (ApplicationException e) {
-            eventLogger.logException(e, exceptionMessage);
-            return false;
         } catch (RuntimeException e) {
-            LOG.warn(format("Matching service health check failed for URI {0}", matchingServiceUri), e);
+            // Audited as an error event, as it was when saml-engine validated the response
+            eventLogger.logException(ApplicationException.createUnauditedException(ExceptionType.INVALID_SAML, e.getMessage(), e), exceptionMessage);
             return false;
         }
 
@@ -8,6 +8,7 @@ import com.google.inject.Singleton;
 import uk.gov.ida.hub.samlsoapproxy.Urls;
 import uk.gov.ida.hub.samlsoapproxy.annotations.Config;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
+import uk.gov.ida.hub.shared.configchanges.ConfigChangeFeed;
 import uk.gov.ida.jerseyclient.JsonClient;
 import uk.gov.ida.shared.utils.string.StringEncoding;
 
@@ -27,10 +28,12 @@ public class MatchingServiceConfigProxy {
     @Inject
     public MatchingServiceConfigProxy(
             JsonClient jsonClient,
-            @Config URI configUri) {
+            @Config URI configUri,
+            ConfigChangeFeed configChangeFeed) {
 
         this.jsonClient = jsonClient;
         this.configUri = configUri;
+        configChangeFeed.addListener(matchingServiceConfigEntityDataDto::invalidateAll);
     }
 
     private LoadingCache<URI, MatchingServiceConfigEntityDataDto> matchingServiceConfigEntityDataDto = CacheBuilder.newBuilder()
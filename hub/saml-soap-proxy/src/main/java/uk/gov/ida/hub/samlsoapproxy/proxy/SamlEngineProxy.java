@@ -3,13 +3,14 @@ package uk.gov.ida.hub.samlsoapproxy.proxy;
 import uk.gov.ida.hub.samlsoapproxy.Urls;
 import uk.gov.ida.hub.samlsoapproxy.annotations.SamlEngine;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerRequestDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
 import uk.gov.ida.jerseyclient.JsonClient;
 
 import javax.inject.Inject;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
 
 public class SamlEngineProxy {
 
@@ -31,12 +32,13 @@ public class SamlEngineProxy {
         return jsonClient.post(matchingServiceHealthCheckerRequestDto, uri, SamlMessageDto.class);
     }
 
-    public MatchingServiceHealthCheckerResponseDto translateHealthcheckMatchingServiceResponse(SamlMessageDto samlMessageDto) {
+    public List<SamlMessageDto> generateHealthcheckAttributeQueries(List<MatchingServiceHealthCheckerRequestDto> matchingServiceHealthCheckerRequestDtos) {
         URI uri = UriBuilder
                 .fromUri(samlEngineUri)
-                .path(Urls.SamlEngineUrls.TRANSLATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERY_RESPONSE_RESOURCE)
+                .path(Urls.SamlEngineUrls.GENERATE_MSA_HEALTHCHECK_ATTRIBUTE_QUERIES_RESOURCE)
                 .build();
-        return jsonClient.post(samlMessageDto, uri, MatchingServiceHealthCheckerResponseDto.class);
+
+        return Arrays.asList(jsonClient.post(matchingServiceHealthCheckerRequestDtos, uri, SamlMessageDto[].class));
     }
 
 }
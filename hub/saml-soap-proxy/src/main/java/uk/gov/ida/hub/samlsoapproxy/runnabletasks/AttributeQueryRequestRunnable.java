@@ -1,7 +1,7 @@
 package uk.gov.ida.hub.samlsoapproxy.runnabletasks;
 
 import com.codahale.metrics.Counter;
-import org.glassfish.jersey.internal.util.Base64;
+import io.prometheus.client.Gauge;
 import org.jboss.logging.MDC;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,11 +20,25 @@ import uk.gov.ida.hub.samlsoapproxy.exceptions.AttributeQueryTimeoutException;
 import uk.gov.ida.hub.samlsoapproxy.exceptions.MatchingServiceRequestExceptionErrorMessageMapper;
 import uk.gov.ida.hub.samlsoapproxy.proxy.HubMatchingServiceResponseReceiverProxy;
 import uk.gov.ida.shared.utils.logging.LogFormatter;
-import uk.gov.ida.shared.utils.xml.XmlUtils;
 
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static java.text.MessageFormat.format;
 import static uk.gov.ida.eventemitter.EventDetailsKey.error_id;
@@ -34,6 +48,12 @@ import static uk.gov.ida.eventemitter.EventDetailsKey.message;
 public class AttributeQueryRequestRunnable implements Runnable {
 
     private static final Logger LOG = LoggerFactory.getLogger(AttributeQueryRequestRunnable.class);
+    // Looking up a TransformerFactory is slow and Transformers aren't thread safe, so each thread keeps its own
+    private static final ThreadLocal<Transformer> responseSerialiser = ThreadLocal.withInitial(AttributeQueryRequestRunnable::newResponseSerialiser);
+    private static final Gauge inFlightQueries = Gauge.build(
+            "verify_saml_soap_proxy_attribute_queries_in_flight",
+            "Number of attribute queries waiting for a response from a matching service")
+            .register();
 
     private final SessionId sessionId;
     private final AttributeQueryContainerDto attributeQueryContainerDto;
@@ -44,6 +64,7 @@ public class AttributeQueryRequestRunnable implements Runnable {
     private final ServiceInfoConfiguration serviceInfo;
     private final EventSinkProxy eventSinkProxy;
     private final EventEmitter eventEmitter;
+    private final Executor executor;
 
     public AttributeQueryRequestRunnable(SessionId sessionId,
                                          AttributeQueryContainerDto attributeQueryContainerDto,
@@ -53,7 +74,8 @@ public class AttributeQueryRequestRunnable implements Runnable {
                                          HubMatchingServiceResponseReceiverProxy hubMatchingServiceResponseReceiverProxy,
                                          ServiceInfoConfiguration serviceInfo,
                                          EventSinkProxy eventSinkProxy,
-                                         EventEmitter eventEmitter) {
+                                         EventEmitter eventEmitter,
+                                         Executor executor) {
         this.counter = counter;
         this.sessionId = sessionId;
         this.attributeQueryContainerDto = attributeQueryContainerDto;
@@ -63,6 +85,7 @@ public class AttributeQueryRequestRunnable implements Runnable {
         this.serviceInfo = serviceInfo;
         this.eventSinkProxy = eventSinkProxy;
         this.eventEmitter = eventEmitter;
+        this.executor = executor;
         this.counter.inc();
     }
 
@@ -80,17 +103,72 @@ public class AttributeQueryRequestRunnable implements Runnable {
             auditAndLogTimeoutException(sessionId, attributeQueryContainerDto, e, "Matching service attribute timed out before even being sent.");
             return;
         }
+
+        CompletableFuture<Element> response;
         try {
-            Element response = executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto);
-            timeoutEvaluator.hasAttributeQueryTimedOut(attributeQueryContainerDto);
-            final String base64EncodedSamlResponse = Base64.encodeAsString(XmlUtils.writeToString(response).getBytes());
-            hubMatchingServiceResponseReceiverProxy.notifyHubOfAResponseFromMatchingService(
-                    sessionId,
-                    base64EncodedSamlResponse);
-        } catch (AttributeQueryTimeoutException e) {
-            auditAndLogTimeoutException(sessionId, attributeQueryContainerDto, e, "Matching service attribute query has timed out, therefore not sending failure notification to saml engine.");
+            response = executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto);
         } catch (Exception e) {
-            logAndAuditMessageError(e, attributeQueryContainerDto, sessionId);
+            handleFailure(e);
+            return;
+        }
+
+        // No thread is held while the matching service works on the query, since the SOAP HTTP
+        // client only needs one once the response has arrived; the rest of the work then carries
+        // on here on the executor.
+        inFlightQueries.inc();
+        response.whenCompleteAsync((matchingServiceResponse, e) -> {
+            inFlightQueries.dec();
+            addSessionIdToLoggingContext(sessionId);
+            if (e != null) {
+                handleFailure(e instanceof CompletionException ? e.getCause() : e);
+                return;
+            }
+            try {
+                forwardResponse(matchingServiceResponse);
+            } catch (Exception forwardingException) {
+                handleFailure(forwardingException);
+            }
+        }, executor);
+    }
+
+    private void forwardResponse(Element response) {
+        timeoutEvaluator.hasAttributeQueryTimedOut(attributeQueryContainerDto);
+        final String base64EncodedSamlResponse = base64Encode(response);
+        hubMatchingServiceResponseReceiverProxy.notifyHubOfAResponseFromMatchingService(
+                sessionId,
+                base64EncodedSamlResponse);
+    }
+
+    /**
+     * Serialises the response straight into its base64 encoding, rather than through a string and
+     * a byte array copy of it first.
+     */
+    private static String base64Encode(Element response) {
+        final ByteArrayOutputStream base64EncodedResponse = new ByteArrayOutputStream();
+        try (OutputStream encoder = Base64.getEncoder().wrap(base64EncodedResponse)) {
+            responseSerialiser.get().transform(new DOMSource(response), new StreamResult(encoder));
+        } catch (TransformerException | IOException e) {
+            throw new RuntimeException("Unable to serialise matching service response", e);
+        }
+        return new String(base64EncodedResponse.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static Transformer newResponseSerialiser() {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, StandardCharsets.UTF_8.name());
+            return transformer;
+        } catch (TransformerConfigurationException e) {
+            throw new IllegalStateException("Unable to create matching service response serialiser", e);
+        }
+    }
+
+    private void handleFailure(Throwable e) {
+        if (e instanceof AttributeQueryTimeoutException) {
+            auditAndLogTimeoutException(sessionId, attributeQueryContainerDto, (AttributeQueryTimeoutException) e, "Matching service attribute query has timed out, therefore not sending failure notification to saml engine.");
+        } else {
+            logAndAuditMessageError(e instanceof Exception ? (Exception) e : new RuntimeException(e), attributeQueryContainerDto, sessionId);
             checkTimeoutAndForwardErrorResponse(sessionId, attributeQueryContainerDto);
         }
     }
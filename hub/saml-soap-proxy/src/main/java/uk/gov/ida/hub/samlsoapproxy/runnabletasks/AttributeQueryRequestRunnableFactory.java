@@ -13,6 +13,7 @@ import uk.gov.ida.hub.samlsoapproxy.domain.TimeoutEvaluator;
 import uk.gov.ida.hub.samlsoapproxy.proxy.HubMatchingServiceResponseReceiverProxy;
 
 import javax.inject.Inject;
+import java.util.concurrent.ExecutorService;
 
 public class AttributeQueryRequestRunnableFactory {
 
@@ -33,6 +34,7 @@ public class AttributeQueryRequestRunnableFactory {
                 injector.getInstance(HubMatchingServiceResponseReceiverProxy.class),
                 injector.getInstance(ServiceInfoConfiguration.class),
                 injector.getInstance(EventSinkProxy.class),
-                injector.getInstance(EventEmitter.class));
+                injector.getInstance(EventEmitter.class),
+                injector.getInstance(ExecutorService.class));
     }
 }
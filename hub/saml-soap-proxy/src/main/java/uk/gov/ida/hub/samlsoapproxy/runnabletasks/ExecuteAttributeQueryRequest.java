@@ -26,6 +26,9 @@ import javax.inject.Named;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 public class ExecuteAttributeQueryRequest {
@@ -38,6 +41,7 @@ public class ExecuteAttributeQueryRequest {
     private final SamlMessageSignatureValidator matchingResponseSignatureValidator;
     private final AttributeQueryRequestClient attributeQueryRequestClient;
     private final ProtectiveMonitoringLogger protectiveMonitoringLogger;
+    private final Executor responseValidationExecutor;
 
     @Inject
     public ExecuteAttributeQueryRequest(Function<Element, AttributeQuery> elementToAttributeQueryTransformer,
@@ -45,30 +49,38 @@ public class ExecuteAttributeQueryRequest {
                                         @Named("matchingRequestSignatureValidator") SamlMessageSignatureValidator matchingRequestSignatureValidator,
                                         @Named("matchingResponseSignatureValidator") SamlMessageSignatureValidator matchingResponseSignatureValidator,
                                         AttributeQueryRequestClient attributeQueryRequestClient,
-                                        ProtectiveMonitoringLogger protectiveMonitoringLogger) {
+                                        ProtectiveMonitoringLogger protectiveMonitoringLogger,
+                                        ExecutorService responseValidationExecutor) {
         this.elementToAttributeQueryTransformer = elementToAttributeQueryTransformer;
         this.elementToSamlResponseTransformer = elementToSamlResponseTransformer;
         this.matchingRequestSignatureValidator = matchingRequestSignatureValidator;
         this.matchingResponseSignatureValidator = matchingResponseSignatureValidator;
         this.attributeQueryRequestClient = attributeQueryRequestClient;
         this.protectiveMonitoringLogger = protectiveMonitoringLogger;
+        this.responseValidationExecutor = responseValidationExecutor;
     }
 
-    public Element execute(SessionId sessionId, AttributeQueryContainerDto attributeQueryContainerDto) {
+    /**
+     * Validates the query and sends it to the matching service. Invalid queries are rejected
+     * straight away with an exception; everything after that, including validating the matching
+     * service's response, happens once the response arrives and is reported through the returned
+     * stage.
+     */
+    public CompletableFuture<Element> execute(SessionId sessionId, AttributeQueryContainerDto attributeQueryContainerDto) {
 
         LOG.info("Validating attribute query {}", attributeQueryContainerDto.getId());
         Element matchingServiceRequest = convertToElementAndValidate(attributeQueryContainerDto);
 
         LOG.info("Sending attribute query {}", attributeQueryContainerDto.getId());
-        final Element responseFromMatchingService = attributeQueryRequestClient.sendQuery(
+        return attributeQueryRequestClient.sendQuery(
                 matchingServiceRequest,
                 attributeQueryContainerDto.getId(),
                 sessionId,
-                attributeQueryContainerDto.getMatchingServiceUri());
-
-        validateResponseSignature(responseFromMatchingService);
-
-        return responseFromMatchingService;
+                attributeQueryContainerDto.getMatchingServiceUri())
+                .thenApplyAsync(responseFromMatchingService -> {
+                    validateResponseSignature(responseFromMatchingService);
+                    return responseFromMatchingService;
+                }, responseValidationExecutor);
     }
 
     private Element convertToElementAndValidate(AttributeQueryContainerDto attributeQueryContainerDto) {
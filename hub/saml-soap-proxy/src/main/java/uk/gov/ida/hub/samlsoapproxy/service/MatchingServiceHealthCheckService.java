@@ -5,6 +5,7 @@ import io.prometheus.client.Gauge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
+import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckResults;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChecker;
 import uk.gov.ida.hub.samlsoapproxy.proxy.MatchingServiceConfigProxy;
 
@@ -21,6 +22,7 @@ public class MatchingServiceHealthCheckService implements Runnable {
     private final Duration timeout;
     private final MatchingServiceConfigProxy matchingServiceConfigProxy;
     private final MatchingServiceHealthChecker matchingServiceHealthChecker;
+    private final MatchingServiceHealthCheckResults matchingServiceHealthCheckResults;
     private final Gauge healthStatusGauge;
     private final Gauge healthStatusLastUpdatedGauge;
     private final MatchingServiceInfoMetric infoMetric;
@@ -29,6 +31,7 @@ public class MatchingServiceHealthCheckService implements Runnable {
                                              final Duration timeout,
                                              final MatchingServiceConfigProxy matchingServiceConfigProxy,
                                              final MatchingServiceHealthChecker matchingServiceHealthChecker,
+                                             final MatchingServiceHealthCheckResults matchingServiceHealthCheckResults,
                                              final Gauge healthStatusGauge,
                                              final Gauge healthStatusLastUpdatedGauge,
                                              final MatchingServiceInfoMetric infoMetric) {
@@ -36,6 +39,7 @@ public class MatchingServiceHealthCheckService implements Runnable {
         this.timeout = timeout;
         this.matchingServiceConfigProxy = matchingServiceConfigProxy;
         this.matchingServiceHealthChecker = matchingServiceHealthChecker;
+        this.matchingServiceHealthCheckResults = matchingServiceHealthCheckResults;
         this.healthStatusGauge = healthStatusGauge;
         this.healthStatusLastUpdatedGauge = healthStatusLastUpdatedGauge;
         this.infoMetric = infoMetric;
@@ -51,6 +55,7 @@ public class MatchingServiceHealthCheckService implements Runnable {
                                 new MatchingServiceHealthCheckTask(
                                         matchingServiceHealthChecker,
                                         matchingServiceInformation,
+                                        matchingServiceHealthCheckResults,
                                         healthStatusGauge,
                                         healthStatusLastUpdatedGauge,
                                         infoMetric))
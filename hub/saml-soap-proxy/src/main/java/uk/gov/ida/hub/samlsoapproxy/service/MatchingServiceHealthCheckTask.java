@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckResult;
+import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthCheckResults;
 import uk.gov.ida.hub.samlsoapproxy.healthcheck.MatchingServiceHealthChecker;
 
 import java.util.Objects;
@@ -16,6 +17,7 @@ public class MatchingServiceHealthCheckTask implements Callable<String> {
     private static final Logger LOG = LoggerFactory.getLogger(MatchingServiceHealthCheckTask.class);
     private final MatchingServiceHealthChecker matchingServiceHealthChecker;
     private final MatchingServiceConfigEntityDataDto matchingServiceConfig;
+    private final MatchingServiceHealthCheckResults matchingServiceHealthCheckResults;
     private final Gauge healthStatusGauge;
     private final Gauge healthStatusLastUpdatedGauge;
     private MatchingServiceInfoMetric infoMetric;
@@ -24,11 +26,13 @@ public class MatchingServiceHealthCheckTask implements Callable<String> {
 
     public MatchingServiceHealthCheckTask(final MatchingServiceHealthChecker matchingServiceHealthChecker,
                                           final MatchingServiceConfigEntityDataDto matchingServiceConfig,
+                                          final MatchingServiceHealthCheckResults matchingServiceHealthCheckResults,
                                           final Gauge healthStatusGauge,
                                           final Gauge healthStatusLastUpdatedGauge,
                                           final MatchingServiceInfoMetric infoMetric) {
         this.matchingServiceHealthChecker = matchingServiceHealthChecker;
         this.matchingServiceConfig = matchingServiceConfig;
+        this.matchingServiceHealthCheckResults = matchingServiceHealthCheckResults;
         this.healthStatusGauge = healthStatusGauge;
         this.healthStatusLastUpdatedGauge = healthStatusLastUpdatedGauge;
         this.infoMetric = infoMetric;
@@ -38,6 +42,7 @@ public class MatchingServiceHealthCheckTask implements Callable<String> {
     public String call() {
         try {
             final MatchingServiceHealthCheckResult matchingServiceHealthCheckResult = matchingServiceHealthChecker.performHealthCheck(matchingServiceConfig);
+            matchingServiceHealthCheckResults.record(matchingServiceConfig.getEntityId(), matchingServiceHealthCheckResult);
             final double timestamp = DateTime.now(DateTimeZone.UTC).getMillis();
             infoMetric.recordDetails(matchingServiceHealthCheckResult.getDetails());
             healthStatusGauge.labels(matchingServiceHealthCheckResult.getDetails().getMatchingService().toString())
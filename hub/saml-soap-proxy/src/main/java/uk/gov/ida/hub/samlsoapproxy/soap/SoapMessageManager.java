@@ -1,41 +1,32 @@
 package uk.gov.ida.hub.samlsoapproxy.soap;
 
-import org.apache.ws.commons.util.NamespaceContextImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import org.w3c.dom.Node;
 
 import static java.text.MessageFormat.format;
-import static uk.gov.ida.shared.utils.xml.XmlUtils.newDocumentBuilder;
 import static uk.gov.ida.shared.utils.xml.XmlUtils.writeToString;
 
+/**
+ * Wraps and unwraps SOAP envelopes by working on the DOM directly. This runs for every attribute
+ * query and health check, so it doesn't create a document builder or an XPath for each message.
+ */
 public class SoapMessageManager {
     private static final String NEW_LINE = System.getProperty("line.separator");
     private static final Logger LOG = LoggerFactory.getLogger(SoapMessageManager.class);
+    private static final String SOAP_ENVELOPE_NAMESPACE = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String SAML_PROTOCOL_NAMESPACE = "urn:oasis:names:tc:SAML:2.0:protocol";
+    private static final String RESPONSE_PATH = "/soapenv:Envelope/soapenv:Body/samlp:Response";
 
     public Document wrapWithSoapEnvelope(Element element) {
-        DocumentBuilder documentBuilder;
-        try {
-            documentBuilder = newDocumentBuilder();
-        } catch (ParserConfigurationException e) {
-            LOG.error("*** ALERT: Failed to create a document builder when trying to construct the the soap message. ***", e);
-            throw new RuntimeException(e);
-        }
-        Document document = documentBuilder.newDocument();
+        Document document = element.getOwnerDocument().getImplementation().createDocument(SOAP_ENVELOPE_NAMESPACE, "soapenv:Envelope", null);
         document.adoptNode(element);
-        Element envelope = document.createElementNS("http://schemas.xmlsoap.org/soap/envelope/", "soapenv:Envelope");
-        Element body = document.createElementNS("http://schemas.xmlsoap.org/soap/envelope/", "soapenv:Body");
+        Element envelope = document.getDocumentElement();
+        Element body = document.createElementNS(SOAP_ENVELOPE_NAMESPACE, "soapenv:Body");
         envelope.appendChild(body);
         body.appendChild(element);
-        document.appendChild(envelope);
 
         return document;
     }
@@ -45,28 +36,33 @@ public class SoapMessageManager {
     }
 
     public Element unwrapSoapMessage(Element soapElement) {
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        NamespaceContextImpl context = new NamespaceContextImpl();
-        context.startPrefixMapping("soapenv", "http://schemas.xmlsoap.org/soap/envelope/");
-        context.startPrefixMapping("samlp", "urn:oasis:names:tc:SAML:2.0:protocol");
-        context.startPrefixMapping("saml", "urn:oasis:names:tc:SAML:2.0:assertion");
-        context.startPrefixMapping("ds", "http://www.w3.org/2000/09/xmldsig#");
-        xpath.setNamespaceContext(context);
-        try {
-            final String expression = "/soapenv:Envelope/soapenv:Body/samlp:Response";
-            Element element = (Element) xpath.evaluate(expression, soapElement, XPathConstants.NODE);
+        Element envelope = soapElement.getOwnerDocument().getDocumentElement();
+        Element body = isElement(envelope, SOAP_ENVELOPE_NAMESPACE, "Envelope") ? firstChildElement(envelope, SOAP_ENVELOPE_NAMESPACE, "Body") : null;
+        Element element = body != null ? firstChildElement(body, SAML_PROTOCOL_NAMESPACE, "Response") : null;
 
-            if (element == null) {
-                String errorMessage = format("Document{0}{1}{0}does not have element {2} inside it.", NEW_LINE,
-                        writeToString(soapElement), expression);
-                LOG.error(errorMessage);
-                throw new IllegalArgumentException(errorMessage);
-            }
+        if (element == null) {
+            String errorMessage = format("Document{0}{1}{0}does not have element {2} inside it.", NEW_LINE,
+                    writeToString(soapElement), RESPONSE_PATH);
+            LOG.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
 
-            return element;
-        } catch (XPathExpressionException e) {
-            throw new RuntimeException(e);
+        return element;
+    }
+
+    private static Element firstChildElement(Element parent, String namespace, String localName) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (isElement(child, namespace, localName)) {
+                return (Element) child;
+            }
         }
+        return null;
     }
 
+    private static boolean isElement(Node node, String namespace, String localName) {
+        return node != null
+                && node.getNodeType() == Node.ELEMENT_NODE
+                && namespace.equals(node.getNamespaceURI())
+                && localName.equals(node.getLocalName());
+    }
 }
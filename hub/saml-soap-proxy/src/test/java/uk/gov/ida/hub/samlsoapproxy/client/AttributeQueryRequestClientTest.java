@@ -12,21 +12,22 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 import uk.gov.ida.common.SessionId;
+import uk.gov.ida.hub.samlsoapproxy.config.MatchingServiceBulkheadConfiguration;
 import uk.gov.ida.hub.samlsoapproxy.logging.ExternalCommunicationEventLogger;
 import uk.gov.ida.hub.samlsoapproxy.soap.SoapMessageManager;
 import uk.gov.ida.shared.utils.xml.XmlUtils;
 
-import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.client.Invocation;
-import javax.ws.rs.client.WebTarget;
-import javax.ws.rs.core.Response;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.URI;
+import java.net.http.HttpResponse;
 import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.SEE_OTHER;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,9 +55,7 @@ public class AttributeQueryRequestClientTest {
     @Mock
     private Client client;
     @Mock
-    private WebTarget resource;
-    @Mock
-    private Invocation.Builder builder;
+    private SoapHttpClient soapHttpClient;
     @Mock
     private SoapMessageManager soapMessageManager;
 
@@ -67,52 +66,45 @@ public class AttributeQueryRequestClientTest {
     @Before
     public void setUp() throws Exception {
         matchingServiceUri = new URI("http://heyyeyaaeyaaaeyaeyaa.com/" + SOME_MESSAGE_ID);
-        SoapRequestClient soapRequestClient = new SoapRequestClient(soapMessageManager, client);
-        attributeQueryRequestClientWithRealSoapRequestClient = new AttributeQueryRequestClient(soapRequestClient, externalCommunicationEventLogger, metricsRegistry);
-        attributeQueryRequestClientWithMockSoapRequestClient = new AttributeQueryRequestClient(mockSoapRequestClient, externalCommunicationEventLogger, metricsRegistry);
+        SoapRequestClient soapRequestClient = new SoapRequestClient(soapMessageManager, client, soapHttpClient);
+        MatchingServiceBulkheads bulkheads = new MatchingServiceBulkheads(new MatchingServiceBulkheadConfiguration());
+        attributeQueryRequestClientWithRealSoapRequestClient = new AttributeQueryRequestClient(soapRequestClient, externalCommunicationEventLogger, metricsRegistry, bulkheads);
+        attributeQueryRequestClientWithMockSoapRequestClient = new AttributeQueryRequestClient(mockSoapRequestClient, externalCommunicationEventLogger, metricsRegistry, bulkheads);
 
         when(soapMessageManager.wrapWithSoapEnvelope(any())).thenReturn(mock(Document.class));
         when(soapMessageManager.unwrapSoapMessage(ArgumentMatchers.<Document>any())).thenReturn(mock(Element.class));
-
-        when(client.target(ArgumentMatchers.<URI>any())).thenReturn(resource);
-        when(resource.request()).thenReturn(builder);
     }
 
     @Test
     public void sendQuery_expectingSuccessWithStatusCode200() throws IOException, SAXException, ParserConfigurationException {
         Element matchingServiceRequest = XmlUtils.convertToElement("<someElement/>");
-        Response response = mock(Response.class);
-        when(response.getStatus()).thenReturn(200);
-        when(builder.post(any(Entity.class))).thenReturn(response);
+        respondWith(200, "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\"/>");
 
-        final Element element = attributeQueryRequestClientWithRealSoapRequestClient.sendQuery(matchingServiceRequest, SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri);
+        final Element element = attributeQueryRequestClientWithRealSoapRequestClient.sendQuery(matchingServiceRequest, SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri).join();
 
         assertThat(element).isNotNull();
     }
 
     @Test
     public void sendQuery_expectingFailureWithStatusCode303() {
-        Response response = new TestResponse(SEE_OTHER.getStatusCode(), "http://see-other");
         String expectedMessage = MessageFormat.format("Matching Service response from {0} was status 303", matchingServiceUri);
-        when(builder.post(any(Entity.class))).thenReturn(response);
+        respondWith(SEE_OTHER.getStatusCode(), "");
 
         assertExceptionWithMessageAndInnerException(attributeQueryRequestClientWithRealSoapRequestClient, expectedMessage);
     }
 
     @Test
     public void sendQuery_expectingFailureWithStatusCode500() {
-        Response response = new TestResponse(INTERNAL_SERVER_ERROR.getStatusCode(), "something bad happened");
         String expectedMessage = MessageFormat.format("Matching Service response from {0} was status 500", matchingServiceUri);
-        when(builder.post(any(Entity.class))).thenReturn(response);
+        respondWith(INTERNAL_SERVER_ERROR.getStatusCode(), "something bad happened");
 
         assertExceptionWithMessageAndInnerException(attributeQueryRequestClientWithRealSoapRequestClient, expectedMessage);
     }
 
     @Test
-    public void sendQuery_shouldThrowExceptionWithMatchingServiceConnectivityExceptionWhenSoapClientThrowsClientHandlerException() {
-        ProcessingException expectedInnerException = mock(ProcessingException.class);
+    public void sendQuery_shouldThrowExceptionWithMatchingServiceConnectivityExceptionWhenTheConnectionFails() {
         String expectedMessage = "Request to Matching Service Failed At Http Layer";
-        when(builder.post(any(Entity.class))).thenThrow(expectedInnerException);
+        when(soapHttpClient.post(any(URI.class), any(Document.class))).thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection refused")));
 
         assertExceptionWithMessageAndInnerException(attributeQueryRequestClientWithRealSoapRequestClient, expectedMessage);
     }
@@ -120,10 +112,10 @@ public class AttributeQueryRequestClientTest {
     @Test
     public void sendQuery_shouldSendAuditHubEvent() throws Exception {
         Element matchingServiceRequest = XmlUtils.convertToElement("<someElement/>");
-        when(mockSoapRequestClient.makeSoapRequest(eq(matchingServiceRequest), any(URI.class)))
-                .thenReturn(mock(Element.class));
+        when(mockSoapRequestClient.makeSoapRequestAsync(eq(matchingServiceRequest), any(URI.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(Element.class)));
 
-        attributeQueryRequestClientWithMockSoapRequestClient.sendQuery(matchingServiceRequest, SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri);
+        attributeQueryRequestClientWithMockSoapRequestClient.sendQuery(matchingServiceRequest, SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri).join();
 
         verify(externalCommunicationEventLogger).logMatchingServiceRequest(SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri);
     }
@@ -133,11 +125,19 @@ public class AttributeQueryRequestClientTest {
         String expectedMessage) {
 
         try {
-            attributeQueryRequestClient.sendQuery(mock(Element.class), SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri);
+            attributeQueryRequestClient.sendQuery(mock(Element.class), SOME_MESSAGE_ID, SOME_SESSION_ID, matchingServiceUri).join();
             fail("Expected exception not thrown");
-        } catch (Exception e) {
-            assertThat(e).isInstanceOf(AttributeQueryRequestClient.MatchingServiceException.class);
-            assertThat(e.getMessage()).isEqualTo(expectedMessage);
+        } catch (CompletionException e) {
+            assertThat(e.getCause()).isInstanceOf(AttributeQueryRequestClient.MatchingServiceException.class);
+            assertThat(e.getCause().getMessage()).isEqualTo(expectedMessage);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private void respondWith(int status, String body) {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body.getBytes(UTF_8));
+        when(soapHttpClient.post(any(URI.class), any(Document.class))).thenReturn(CompletableFuture.completedFuture(response));
+    }
 }
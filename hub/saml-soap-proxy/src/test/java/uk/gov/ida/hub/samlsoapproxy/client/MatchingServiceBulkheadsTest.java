@@ -0,0 +1,144 @@
+package uk.gov.ida.hub.samlsoapproxy.client;
+
+import io.dropwizard.util.Duration;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.ida.hub.samlsoapproxy.client.AttributeQueryRequestClient.MatchingServiceException;
+import uk.gov.ida.shared.utils.datetime.DateTimeFreezer;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MatchingServiceBulkheadsTest {
+
+    private static final URI MATCHING_SERVICE_URI = URI.create("http://msa.test/matching-service/POST");
+    private static final URI OTHER_MATCHING_SERVICE_URI = URI.create("http://other-msa.test/matching-service/POST");
+
+    private MatchingServiceBulkheads bulkheads;
+    private final AtomicInteger queriesStarted = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        DateTimeFreezer.freezeTime();
+        bulkheads = new MatchingServiceBulkheads(2, 1, 2, Duration.seconds(30));
+    }
+
+    @After
+    public void tearDown() {
+        DateTimeFreezer.unfreezeTime();
+    }
+
+    @Test
+    public void shouldQueueQueriesOverTheConcurrencyLimitUntilAnEarlierQueryFinishes() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        submit(MATCHING_SERVICE_URI, first);
+        submit(MATCHING_SERVICE_URI, new CompletableFuture<>());
+        CompletableFuture<String> queued = submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("queued"));
+
+        assertThat(queriesStarted.get()).isEqualTo(2);
+        assertThat(queued).isNotDone();
+
+        first.complete("first");
+
+        assertThat(queriesStarted.get()).isEqualTo(3);
+        assertThat(queued.join()).isEqualTo("queued");
+    }
+
+    @Test
+    public void shouldRejectQueriesWhenTheQueueIsFull() {
+        submit(MATCHING_SERVICE_URI, new CompletableFuture<>());
+        submit(MATCHING_SERVICE_URI, new CompletableFuture<>());
+        submit(MATCHING_SERVICE_URI, new CompletableFuture<>());
+
+        CompletableFuture<String> rejected = submit(MATCHING_SERVICE_URI, new CompletableFuture<>());
+
+        assertThat(queriesStarted.get()).isEqualTo(2);
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatFailsWith(rejected, "too many attribute queries waiting");
+    }
+
+    @Test
+    public void shouldFailFastOnceTheFailureThresholdIsReachedAndLetATrialQueryThroughAfterTheOpenDuration() {
+        submit(MATCHING_SERVICE_URI, failed());
+        submit(MATCHING_SERVICE_URI, failed());
+
+        CompletableFuture<String> whileOpen = submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("not sent"));
+
+        assertThat(queriesStarted.get()).isEqualTo(2);
+        assertThatFailsWith(whileOpen, "circuit breaker is open");
+
+        DateTimeFreezer.freezeTime(DateTime.now().plusSeconds(31));
+        CompletableFuture<String> trial = new CompletableFuture<>();
+        submit(MATCHING_SERVICE_URI, trial);
+        CompletableFuture<String> duringTrial = submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("not sent"));
+
+        assertThat(queriesStarted.get()).isEqualTo(3);
+        assertThatFailsWith(duringTrial, "circuit breaker is open");
+
+        trial.complete("recovered");
+
+        assertThat(submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("sent")).join()).isEqualTo("sent");
+    }
+
+    @Test
+    public void shouldOpenAgainIfTheTrialQueryFails() {
+        submit(MATCHING_SERVICE_URI, failed());
+        submit(MATCHING_SERVICE_URI, failed());
+
+        DateTimeFreezer.freezeTime(DateTime.now().plusSeconds(31));
+        submit(MATCHING_SERVICE_URI, failed());
+
+        assertThatFailsWith(submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("not sent")), "circuit breaker is open");
+        assertThat(queriesStarted.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRejectQueuedQueriesWhenTheCircuitBreakerOpens() {
+        bulkheads = new MatchingServiceBulkheads(1, 2, 1, Duration.seconds(30));
+        CompletableFuture<String> first = new CompletableFuture<>();
+        submit(MATCHING_SERVICE_URI, first);
+        CompletableFuture<String> queued = submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("not sent"));
+        CompletableFuture<String> alsoQueued = submit(MATCHING_SERVICE_URI, CompletableFuture.completedFuture("not sent"));
+
+        first.completeExceptionally(new MatchingServiceException("down"));
+
+        assertThat(queriesStarted.get()).isEqualTo(1);
+        assertThatFailsWith(queued, "circuit breaker is open");
+        assertThatFailsWith(alsoQueued, "circuit breaker is open");
+    }
+
+    @Test
+    public void shouldKeepEachMatchingServiceSeparate() {
+        submit(MATCHING_SERVICE_URI, failed());
+        submit(MATCHING_SERVICE_URI, failed());
+        submit(OTHER_MATCHING_SERVICE_URI, new CompletableFuture<>());
+        submit(OTHER_MATCHING_SERVICE_URI, new CompletableFuture<>());
+
+        CompletableFuture<String> other = submit(OTHER_MATCHING_SERVICE_URI, CompletableFuture.completedFuture("queued"));
+
+        assertThat(other).isNotDone();
+        assertThat(queriesStarted.get()).isEqualTo(4);
+    }
+
+    private CompletableFuture<String> submit(URI uri, CompletableFuture<String> response) {
+        return bulkheads.submit(uri, () -> {
+            queriesStarted.incrementAndGet();
+            return response;
+        });
+    }
+
+    private static CompletableFuture<String> failed() {
+        return CompletableFuture.failedFuture(new MatchingServiceException("Request to Matching Service Failed At Http Layer"));
+    }
+
+    private static void assertThatFailsWith(CompletableFuture<String> result, String message) {
+        assertThat(result).hasFailedWithThrowableThat()
+                .isInstanceOf(MatchingServiceException.class)
+                .hasMessageContaining(message);
+    }
+}
@@ -12,7 +12,6 @@ import uk.gov.ida.common.ExceptionType;
 import uk.gov.ida.exceptions.ApplicationException;
 import uk.gov.ida.hub.samlsoapproxy.domain.MatchingServiceHealthCheckResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.rest.HealthCheckResponse;
-import uk.gov.ida.shared.utils.xml.XmlUtils;
 
 import java.net.URI;
 import java.util.Optional;
@@ -53,7 +52,7 @@ public class MatchingServiceHealthCheckClientTest {
         final MatchingServiceHealthCheckResponseDto matchingServiceHealthCheckResponseDto =
                 matchingServiceHealthCheckClient.sendHealthCheckRequest(healthCheckRequest, healthCheckUri);
 
-        assertThat(matchingServiceHealthCheckResponseDto.getResponse()).isEqualTo(Optional.of(XmlUtils.writeToString(healthCheckResponseElement)));
+        assertThat(matchingServiceHealthCheckResponseDto.getResponse()).isEqualTo(Optional.of(healthCheckResponseElement));
     }
 
     @Test
@@ -0,0 +1,196 @@
+package uk.gov.ida.hub.samlsoapproxy.client;
+
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import uk.gov.ida.shared.utils.xml.XmlUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SoapHttpClientTest {
+
+    private static final int UNANSWERED_REQUESTS = 20;
+
+    private final ServerSocket server;
+    private final List<Socket> connections = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requestsReceived = new AtomicInteger();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    private final Document soapMessage;
+
+    public SoapHttpClientTest() throws Exception {
+        server = new ServerSocket(0);
+        soapMessage = XmlUtils.convertToElement("<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\"/>").getOwnerDocument();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldNotTieUpAnExecutorThreadWhileTheMatchingServiceHasNotAnswered() throws Exception {
+        CountDownLatch allRequestsReceived = new CountDownLatch(UNANSWERED_REQUESTS);
+        serve(connection -> {
+            readRequest(connection);
+            allRequestsReceived.countDown();
+        });
+        SoapHttpClient soapHttpClient = soapHttpClient(Duration.minutes(1), 0, List.of());
+
+        List<CompletableFuture<HttpResponse<byte[]>>> responses = IntStream.range(0, UNANSWERED_REQUESTS)
+                .mapToObj(i -> soapHttpClient.post(serverUri(), soapMessage))
+                .collect(Collectors.toList());
+
+        // The client has only the one executor thread, so all of these requests can only have been
+        // sent if none of them is holding it while it waits
+        assertThat(allRequestsReceived.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(CompletableFuture.runAsync(() -> { }, executor).get(10, TimeUnit.SECONDS)).isNull();
+        assertThat(responses).noneMatch(CompletableFuture::isDone);
+    }
+
+    @Test
+    public void shouldRetryARequestThatFailsWithAConfiguredException() throws Exception {
+        serve(connection -> {
+            if (requestsReceived.incrementAndGet() == 1) {
+                connection.close();
+            } else {
+                readRequest(connection);
+                respond(connection, "<response/>");
+            }
+        });
+        SoapHttpClient soapHttpClient = soapHttpClient(Duration.minutes(1), 1, List.of(IOException.class.getName()));
+
+        HttpResponse<byte[]> response = soapHttpClient.post(serverUri(), soapMessage).get(10, TimeUnit.SECONDS);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(new String(response.body(), UTF_8)).isEqualTo("<response/>");
+        assertThat(requestsReceived.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotRetryARequestThatFailsWithAnotherException() throws Exception {
+        serve(connection -> {
+            requestsReceived.incrementAndGet();
+            connection.close();
+        });
+        SoapHttpClient soapHttpClient = soapHttpClient(Duration.minutes(1), 1, List.of(HttpTimeoutException.class.getName()));
+
+        Throwable failure = catchThrowable(() -> soapHttpClient.post(serverUri(), soapMessage).join());
+
+        assertThat(failure).hasCauseInstanceOf(IOException.class);
+        assertThat(requestsReceived.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRetryATimedOutRequestWhenSocketTimeoutsAreRetried() throws Exception {
+        serve(connection -> {
+            readRequest(connection);
+            requestsReceived.incrementAndGet();
+        });
+        SoapHttpClient soapHttpClient = soapHttpClient(Duration.milliseconds(200), 1, List.of("java.net.SocketTimeoutException"));
+
+        Throwable failure = catchThrowable(() -> soapHttpClient.post(serverUri(), soapMessage).join());
+
+        assertThat(failure).hasCauseInstanceOf(HttpTimeoutException.class);
+        assertThat(requestsReceived.get()).isEqualTo(2);
+    }
+
+    private SoapHttpClient soapHttpClient(Duration timeout, int retries, List<String> retryExceptionNames) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        return new SoapHttpClient(httpClient, timeout, retries, Duration.milliseconds(10), retryExceptionNames);
+    }
+
+    private URI serverUri() {
+        return URI.create("http://localhost:" + server.getLocalPort() + "/matching-service/POST");
+    }
+
+    /**
+     * Hands each connection to the stub matching service on a thread of its own, and leaves the
+     * connection open once it's done unless it closes it itself.
+     */
+    private void serve(ConnectionHandler handler) {
+        Thread acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket connection = server.accept();
+                    connections.add(connection);
+                    Thread handlerThread = new Thread(() -> {
+                        try {
+                            handler.handle(connection);
+                        } catch (IOException ignored) {
+                        }
+                    });
+                    handlerThread.setDaemon(true);
+                    handlerThread.start();
+                } catch (IOException ignored) {
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private static void readRequest(Socket connection) throws IOException {
+        InputStream inputStream = connection.getInputStream();
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        while (!head.toString(US_ASCII).endsWith("\r\n\r\n")) {
+            int b = inputStream.read();
+            if (b < 0) {
+                throw new IOException("Connection closed before the end of the request");
+            }
+            head.write(b);
+        }
+        int contentLength = head.toString(US_ASCII).lines()
+                .filter(line -> line.toLowerCase().startsWith("content-length:"))
+                .map(line -> Integer.parseInt(line.substring("content-length:".length()).trim()))
+                .findFirst()
+                .orElse(0);
+        inputStream.readNBytes(contentLength);
+    }
+
+    private static void respond(Socket connection, String body) throws IOException {
+        byte[] content = body.getBytes(UTF_8);
+        String head = "HTTP/1.1 200 OK\r\n"
+                + "Content-Type: text/xml\r\n"
+                + "Content-Length: " + content.length + "\r\n"
+                + "Connection: close\r\n"
+                + "\r\n";
+        connection.getOutputStream().write(head.getBytes(US_ASCII));
+        connection.getOutputStream().write(content);
+        connection.getOutputStream().flush();
+    }
+
+    private interface ConnectionHandler {
+        void handle(Socket connection) throws IOException;
+    }
+}
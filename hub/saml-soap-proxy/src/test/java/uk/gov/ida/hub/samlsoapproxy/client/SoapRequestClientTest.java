@@ -21,10 +21,16 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.net.ConnectException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -46,6 +52,10 @@ public class SoapRequestClientTest {
     private Document document;
     @Mock
     private Response response;
+    @Mock
+    private SoapHttpClient soapHttpClient;
+    @Mock
+    private HttpResponse<byte[]> httpResponse;
 
     private SoapRequestClient soapRequestClient;
 
@@ -61,7 +71,7 @@ public class SoapRequestClientTest {
         when(soapMessageManager.unwrapSoapMessage(ArgumentMatchers.<Document>any())).thenReturn(soapElement);
         when(client.target(any(URI.class))).thenReturn(webResource);
         when(webResource.request()).thenReturn(webResourceBuilder);
-        soapRequestClient = new SoapRequestClient(soapMessageManager, client);
+        soapRequestClient = new SoapRequestClient(soapMessageManager, client, soapHttpClient);
     }
 
     @Test
@@ -137,4 +147,53 @@ public class SoapRequestClientTest {
 
         assertThat(element).isEqualTo(soapElement);
     }
+
+    @Test
+    public void makeSoapRequestAsync_completesWithTheUnwrappedResponse() throws Exception {
+        respondWith(200, "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\"/>");
+
+        CompletableFuture<Element> element = soapRequestClient.makeSoapRequestAsync(soapElement, new URI("http://heyyeyaaeyaaaeyaeyaa.com/abc1"));
+
+        assertThat(element.join()).isEqualTo(soapElement);
+        verify(soapHttpClient).post(new URI("http://heyyeyaaeyaaaeyaeyaa.com/abc1"), document);
+    }
+
+    @Test
+    public void makeSoapRequestAsync_failsWithSOAPRequestErrorOnNon200StatusCode() throws Exception {
+        respondWith(502, "Bad Gateway");
+
+        CompletableFuture<Element> element = soapRequestClient.makeSoapRequestAsync(soapElement, new URI("http://heyyeyaaeyaaaeyaeyaa.com/abc1"));
+
+        Throwable failure = catchThrowable(element::join).getCause();
+        assertThat(failure).isInstanceOf(SOAPRequestError.class);
+        SOAPRequestError error = (SOAPRequestError) failure;
+        assertThat(error.getResponseStatus()).isEqualTo(502);
+        assertThat(error.getEntity()).contains("Bad Gateway");
+    }
+
+    @Test
+    public void makeSoapRequestAsync_failsWithSOAPRequestErrorWhenNotValidXML() throws Exception {
+        respondWith(200, "not xml");
+
+        CompletableFuture<Element> element = soapRequestClient.makeSoapRequestAsync(soapElement, new URI("http://heyyeyaaeyaaaeyaeyaa.com/abc1"));
+
+        assertThatThrownBy(element::join).hasCauseInstanceOf(SOAPRequestError.class);
+    }
+
+    @Test
+    public void makeSoapRequestAsync_failsWithAProcessingExceptionWhenTheConnectionFails() throws Exception {
+        ConnectException exception = new ConnectException("Connection refused");
+        when(soapHttpClient.post(any(URI.class), any(Document.class))).thenReturn(CompletableFuture.failedFuture(exception));
+
+        CompletableFuture<Element> element = soapRequestClient.makeSoapRequestAsync(soapElement, new URI("http://heyyeyaaeyaaaeyaeyaa.com/abc1"));
+
+        Throwable failure = catchThrowable(element::join).getCause();
+        assertThat(failure).isInstanceOf(ProcessingException.class).hasCause(exception);
+    }
+
+    private void respondWith(int status, String body) {
+        when(httpResponse.statusCode()).thenReturn(status);
+        when(httpResponse.body()).thenReturn(body.getBytes(UTF_8));
+        when(soapHttpClient.post(any(URI.class), any(Document.class))).thenReturn(CompletableFuture.completedFuture(httpResponse));
+    }
 }
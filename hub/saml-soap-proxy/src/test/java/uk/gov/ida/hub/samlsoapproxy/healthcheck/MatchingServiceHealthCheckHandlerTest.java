@@ -1,5 +1,7 @@
 package uk.gov.ida.hub.samlsoapproxy.healthcheck;
 
+import io.dropwizard.util.Duration;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -12,11 +14,15 @@ import uk.gov.ida.hub.samlsoapproxy.proxy.MatchingServiceConfigProxy;
 
 import java.net.URI;
 import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -30,13 +36,24 @@ public class MatchingServiceHealthCheckHandlerTest {
     @Mock
     private MatchingServiceConfigProxy matchingServiceConfigProxy;
 
+    private final ExecutorService healthCheckExecutor = Executors.newCachedThreadPool();
     private MatchingServiceHealthCheckHandler matchingServiceHealthCheckHandler;
 
     @Before
     public void setUp() throws Exception {
+        lenient().when(matchingServiceHealthChecker.performHealthCheck(any(MatchingServiceConfigEntityDataDto.class)))
+                .thenReturn(MatchingServiceHealthCheckResult.healthy(MatchingServiceHealthCheckDetailsBuilder.aMatchingServiceHealthCheckDetails().build()));
         matchingServiceHealthCheckHandler = new MatchingServiceHealthCheckHandler(
                 matchingServiceConfigProxy,
-                matchingServiceHealthChecker);
+                matchingServiceHealthChecker,
+                new MatchingServiceHealthCheckResults(Duration.minutes(1)),
+                healthCheckExecutor,
+                Duration.seconds(5));
+    }
+
+    @After
+    public void tearDown() {
+        healthCheckExecutor.shutdownNow();
     }
 
     @Test
@@ -125,4 +142,58 @@ public class MatchingServiceHealthCheckHandlerTest {
                 .performHealthCheck(any(MatchingServiceConfigEntityDataDto.class));
     }
 
+    @Test
+    public void handle_shouldReportARecentResultWithoutCheckingTheMatchingServiceAgain() {
+        MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto = aMatchingServiceConfigEntityDataDto().build();
+        when(matchingServiceConfigProxy.getMatchingServices()).thenReturn(singletonList(matchingServiceConfigEntityDataDto));
+        when(matchingServiceHealthChecker.performHealthCheck(matchingServiceConfigEntityDataDto))
+                .thenReturn(MatchingServiceHealthCheckResult.healthy(MatchingServiceHealthCheckDetailsBuilder.aMatchingServiceHealthCheckDetails().build()));
+
+        matchingServiceHealthCheckHandler.handle();
+        AggregatedMatchingServicesHealthCheckResult result = matchingServiceHealthCheckHandler.handle();
+
+        assertThat(result.isHealthy()).isTrue();
+        verify(matchingServiceHealthChecker, times(1)).performHealthCheck(matchingServiceConfigEntityDataDto);
+    }
+
+    @Test
+    public void forceCheckAllMSAs_shouldCheckTheMatchingServiceEvenWithARecentResult() {
+        MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto = aMatchingServiceConfigEntityDataDto().build();
+        when(matchingServiceConfigProxy.getMatchingServices()).thenReturn(singletonList(matchingServiceConfigEntityDataDto));
+        when(matchingServiceHealthChecker.performHealthCheck(matchingServiceConfigEntityDataDto))
+                .thenReturn(MatchingServiceHealthCheckResult.healthy(MatchingServiceHealthCheckDetailsBuilder.aMatchingServiceHealthCheckDetails().build()));
+
+        matchingServiceHealthCheckHandler.handle();
+        matchingServiceHealthCheckHandler.forceCheckAllMSAs();
+
+        verify(matchingServiceHealthChecker, times(2)).performHealthCheck(matchingServiceConfigEntityDataDto);
+    }
+
+    @Test
+    public void handle_shouldReportAMatchingServiceThatDoesNotRespondByTheDeadlineAsUnhealthy() {
+        matchingServiceHealthCheckHandler = new MatchingServiceHealthCheckHandler(
+                matchingServiceConfigProxy,
+                matchingServiceHealthChecker,
+                new MatchingServiceHealthCheckResults(Duration.minutes(1)),
+                healthCheckExecutor,
+                Duration.milliseconds(200));
+        MatchingServiceConfigEntityDataDto slowMatchingService = aMatchingServiceConfigEntityDataDto().withUri(URI.create("/slow-matching-service")).withEntityId("slow").build();
+        MatchingServiceConfigEntityDataDto fastMatchingService = aMatchingServiceConfigEntityDataDto().withUri(URI.create("/fast-matching-service")).withEntityId("fast").build();
+        when(matchingServiceConfigProxy.getMatchingServices()).thenReturn(asList(slowMatchingService, fastMatchingService));
+        CountDownLatch neverResponds = new CountDownLatch(1);
+        when(matchingServiceHealthChecker.performHealthCheck(slowMatchingService)).thenAnswer(invocation -> {
+            neverResponds.await();
+            return null;
+        });
+        when(matchingServiceHealthChecker.performHealthCheck(fastMatchingService))
+                .thenReturn(MatchingServiceHealthCheckResult.healthy(MatchingServiceHealthCheckDetailsBuilder.aMatchingServiceHealthCheckDetails().withMatchingServiceUri(URI.create("/fast-matching-service")).build()));
+
+        AggregatedMatchingServicesHealthCheckResult result = matchingServiceHealthCheckHandler.handle();
+
+        assertThat(result.getResults()).hasSize(2);
+        assertThat(result.getResults().get(0).isHealthy()).isFalse();
+        assertThat(result.getResults().get(0).getDetails().getMatchingService()).isEqualTo(URI.create("/slow-matching-service"));
+        assertThat(result.getResults().get(0).getDetails().getDetails()).contains("no response");
+        assertThat(result.getResults().get(1).isHealthy()).isTrue();
+    }
 }
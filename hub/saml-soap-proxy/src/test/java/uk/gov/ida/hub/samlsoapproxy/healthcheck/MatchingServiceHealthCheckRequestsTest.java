@@ -0,0 +1,106 @@
+package uk.gov.ida.hub.samlsoapproxy.healthcheck;
+
+import io.dropwizard.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opensaml.saml.saml2.core.AttributeQuery;
+import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
+import org.w3c.dom.Element;
+import uk.gov.ida.common.ExceptionType;
+import uk.gov.ida.exceptions.ApplicationException;
+import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
+import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
+import uk.gov.ida.hub.samlsoapproxy.proxy.SamlEngineProxy;
+import uk.gov.ida.saml.core.validation.SamlValidationResponse;
+import uk.gov.ida.saml.security.SamlMessageSignatureValidator;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.ida.hub.samlsoapproxy.builders.MatchingServiceConfigEntityDataDtoBuilder.aMatchingServiceConfigEntityDataDto;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MatchingServiceHealthCheckRequestsTest {
+
+    private final MatchingServiceConfigEntityDataDto firstMatchingService = aMatchingServiceConfigEntityDataDto().withEntityId("first-msa").build();
+    private final MatchingServiceConfigEntityDataDto secondMatchingService = aMatchingServiceConfigEntityDataDto().withEntityId("second-msa").build();
+
+    @Mock
+    private SamlEngineProxy samlEngineProxy;
+    @Mock
+    private Function<Element, AttributeQuery> elementToAttributeQueryTransformer;
+    @Mock
+    private SamlMessageSignatureValidator matchingRequestSignatureValidator;
+    @Mock
+    private AttributeQuery attributeQuery;
+
+    private MatchingServiceHealthCheckRequests healthCheckRequests;
+
+    @Before
+    public void setUp() {
+        when(elementToAttributeQueryTransformer.apply(any(Element.class))).thenReturn(attributeQuery);
+        when(matchingRequestSignatureValidator.validate(attributeQuery, SPSSODescriptor.DEFAULT_ELEMENT_NAME)).thenReturn(SamlValidationResponse.aValidResponse());
+        healthCheckRequests = new MatchingServiceHealthCheckRequests(samlEngineProxy, elementToAttributeQueryTransformer, matchingRequestSignatureValidator, Duration.minutes(1));
+    }
+
+    @Test
+    public void shouldGenerateAllMissingRequestsInOneCallToSamlEngine() throws Exception {
+        when(samlEngineProxy.generateHealthcheckAttributeQueries(anyList()))
+                .thenReturn(List.of(new SamlMessageDto("<first/>"), new SamlMessageDto("<second/>")));
+
+        healthCheckRequests.prepare(List.of(firstMatchingService, secondMatchingService));
+
+        assertThat(healthCheckRequests.get(firstMatchingService).getTagName()).isEqualTo("first");
+        assertThat(healthCheckRequests.get(secondMatchingService).getTagName()).isEqualTo("second");
+        verify(samlEngineProxy, never()).generateHealthcheckAttributeQuery(any());
+    }
+
+    @Test
+    public void shouldReuseAVerifiedRequestWithinTheReuseWindow() throws Exception {
+        when(samlEngineProxy.generateHealthcheckAttributeQuery(any())).thenReturn(new SamlMessageDto("<first/>"));
+
+        Element first = healthCheckRequests.get(firstMatchingService);
+        Element second = healthCheckRequests.get(firstMatchingService);
+        healthCheckRequests.prepare(List.of(firstMatchingService));
+
+        assertThat(second).isNotSameAs(first);
+        verify(samlEngineProxy, times(1)).generateHealthcheckAttributeQuery(any());
+        verify(samlEngineProxy, never()).generateHealthcheckAttributeQueries(anyList());
+        verify(matchingRequestSignatureValidator, times(1)).validate(attributeQuery, SPSSODescriptor.DEFAULT_ELEMENT_NAME);
+    }
+
+    @Test
+    public void shouldGenerateRequestsOneAtATimeIfTheBatchFails() throws Exception {
+        when(samlEngineProxy.generateHealthcheckAttributeQueries(anyList()))
+                .thenThrow(ApplicationException.createUnauditedException(ExceptionType.NETWORK_ERROR, UUID.randomUUID()));
+        when(samlEngineProxy.generateHealthcheckAttributeQuery(any())).thenReturn(new SamlMessageDto("<first/>"));
+
+        healthCheckRequests.prepare(List.of(firstMatchingService));
+
+        assertThat(healthCheckRequests.get(firstMatchingService).getTagName()).isEqualTo("first");
+    }
+
+    @Test
+    public void shouldNotReuseRequestsWhenTheReuseWindowIsZero() throws Exception {
+        healthCheckRequests = new MatchingServiceHealthCheckRequests(samlEngineProxy, elementToAttributeQueryTransformer, matchingRequestSignatureValidator, Duration.seconds(0));
+        when(samlEngineProxy.generateHealthcheckAttributeQuery(any())).thenReturn(new SamlMessageDto("<first/>"));
+
+        healthCheckRequests.prepare(List.of(firstMatchingService));
+        healthCheckRequests.get(firstMatchingService);
+        healthCheckRequests.get(firstMatchingService);
+
+        verify(samlEngineProxy, never()).generateHealthcheckAttributeQueries(anyList());
+        verify(samlEngineProxy, times(2)).generateHealthcheckAttributeQuery(any());
+    }
+}
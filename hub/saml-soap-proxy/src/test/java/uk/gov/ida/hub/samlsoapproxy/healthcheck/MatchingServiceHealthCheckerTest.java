@@ -1,10 +1,10 @@
 package uk.gov.ida.hub.samlsoapproxy.healthcheck;
 
-import org.glassfish.jersey.internal.util.Base64;
+import io.dropwizard.util.Duration;
+import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.opensaml.saml.saml2.core.AttributeQuery;
 import org.opensaml.saml.saml2.core.Response;
@@ -14,26 +14,29 @@ import uk.gov.ida.common.ExceptionType;
 import uk.gov.ida.exceptions.ApplicationException;
 import uk.gov.ida.hub.samlsoapproxy.client.MatchingServiceHealthCheckClient;
 import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceConfigEntityDataDto;
-import uk.gov.ida.hub.samlsoapproxy.contract.MatchingServiceHealthCheckerResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.contract.SamlMessageDto;
 import uk.gov.ida.hub.samlsoapproxy.domain.MatchingServiceHealthCheckResponseDto;
 import uk.gov.ida.hub.samlsoapproxy.logging.HealthCheckEventLogger;
 import uk.gov.ida.hub.samlsoapproxy.proxy.SamlEngineProxy;
+import uk.gov.ida.saml.core.errors.SamlTransformationErrorFactory;
 import uk.gov.ida.saml.core.test.OpenSAMLMockitoRunner;
 import uk.gov.ida.saml.core.validation.SamlTransformationErrorException;
 import uk.gov.ida.saml.core.validation.SamlValidationResponse;
 import uk.gov.ida.saml.core.validation.SamlValidationSpecificationFailure;
+import uk.gov.ida.saml.hub.domain.InboundHealthCheckResponseFromMatchingService;
+import uk.gov.ida.saml.hub.exception.SamlValidationException;
 import uk.gov.ida.saml.hub.transformers.inbound.MatchingServiceIdaStatus;
+import uk.gov.ida.saml.hub.transformers.inbound.providers.DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer;
 import uk.gov.ida.saml.security.SamlMessageSignatureValidator;
 
 import javax.xml.namespace.QName;
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
+import static java.text.MessageFormat.format;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -43,7 +46,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.ida.hub.samlsoapproxy.builders.MatchingServiceConfigEntityDataDtoBuilder.aMatchingServiceConfigEntityDataDto;
 import static uk.gov.ida.hub.samlsoapproxy.builders.MatchingServiceHealthCheckDetailsBuilder.aMatchingServiceHealthCheckDetails;
-import static uk.gov.ida.hub.samlsoapproxy.builders.MatchingServiceHealthCheckerResponseDtoBuilder.anInboundResponseFromMatchingServiceDto;
 import static uk.gov.ida.saml.hub.transformers.inbound.MatchingServiceIdaStatus.Healthy;
 import static uk.gov.ida.saml.hub.transformers.inbound.MatchingServiceIdaStatus.RequesterError;
 
@@ -71,6 +73,12 @@ public class MatchingServiceHealthCheckerTest {
     private AttributeQuery healthCheckAttributeQuery;
     @Mock
     private Function<Element, Response> elementToResponseTransformer;
+    @Mock
+    private DecoratedSamlResponseToInboundHealthCheckResponseFromMatchingServiceTransformer healthCheckResponseTransformer;
+    @Mock
+    private Element healthCheckResponseElement;
+    @Mock
+    private Response healthCheckResponse;
 
     @Before
     public void setUp() {
@@ -86,11 +94,10 @@ public class MatchingServiceHealthCheckerTest {
         mockHealthcheckResponseId("healthcheck-response-id");
 
         matchingServiceHealthChecker = new MatchingServiceHealthChecker(
-                elementToAttributeQueryTransformer,
                 elementToResponseTransformer,
-                matchingRequestSignatureValidator,
                 supportedMsaVersionsRepository,
-                samlEngineProxy,
+                healthCheckResponseTransformer,
+                new MatchingServiceHealthCheckRequests(samlEngineProxy, elementToAttributeQueryTransformer, matchingRequestSignatureValidator, Duration.seconds(0)),
                 matchingServiceHealthCheckClient,
                 eventLogger);
     }
@@ -131,20 +138,15 @@ public class MatchingServiceHealthCheckerTest {
     }
 
     @Test
-    public void shouldLogExceptionsWhenAFailureOccursInTranslatingHealthCheckRequest() {
-        String uri = "http://random";
-        ApplicationException unauditedException = ApplicationException.createUnauditedException(ExceptionType.INVALID_SAML, UUID.randomUUID());
-        when(samlEngineProxy.generateHealthcheckAttributeQuery(any())).thenReturn(new SamlMessageDto("<saml/>"));
-        when(samlEngineProxy.translateHealthcheckMatchingServiceResponse(any())).thenThrow(unauditedException);
-        MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto = aMatchingServiceConfigEntityDataDto().withUri(uri).build();
-        when(matchingServiceHealthCheckClient.sendHealthCheckRequest(any(),
-                eq(matchingServiceConfigEntityDataDto.getUri())
-        ))
-                .thenReturn(new MatchingServiceHealthCheckResponseDto(Optional.of("<saml/>")));
+    public void shouldValidateTheResponseFromTheMatchingServiceWithoutGoingToSamlEngine() {
+        MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto =
+                aMatchingServiceConfigEntityDataDto().build();
+        prepareForHealthyResponse(matchingServiceConfigEntityDataDto);
 
         matchingServiceHealthChecker.performHealthCheck(matchingServiceConfigEntityDataDto);
 
-        verify(eventLogger).logException(unauditedException, MessageFormat.format("Matching service health check failed for URI {0}", uri));
+        verify(healthCheckResponseTransformer).transform(healthCheckResponse);
+        verify(elementToResponseTransformer, times(1)).apply(healthCheckResponseElement);
     }
 
     @Test
@@ -322,9 +324,8 @@ public class MatchingServiceHealthCheckerTest {
     }
 
     private void mockHealthcheckResponseId(String version) {
-        Response response = mock(Response.class);
-        when(elementToResponseTransformer.apply(any())).thenReturn(response);
-        when(response.getID()).thenReturn(version);
+        when(elementToResponseTransformer.apply(any())).thenReturn(healthCheckResponse);
+        when(healthCheckResponse.getID()).thenReturn(version);
     }
 
     @Test
@@ -347,14 +348,16 @@ public class MatchingServiceHealthCheckerTest {
         when(matchingServiceHealthCheckClient.sendHealthCheckRequest(any(),
                 eq(matchingServiceConfigEntityDataDto.getUri())
         ))
-                .thenReturn(new MatchingServiceHealthCheckResponseDto(Optional.of("<saml/>")));
-        when(samlEngineProxy.translateHealthcheckMatchingServiceResponse(any()))
-                .thenThrow(ApplicationException.createAuditedException(ExceptionType.INVALID_SAML, UUID.randomUUID()));
+                .thenReturn(new MatchingServiceHealthCheckResponseDto(Optional.of(healthCheckResponseElement)));
+        when(healthCheckResponseTransformer.transform(healthCheckResponse))
+                .thenThrow(new SamlValidationException(SamlTransformationErrorFactory.missingSignature()));
 
         MatchingServiceHealthCheckResult result = matchingServiceHealthChecker.performHealthCheck(matchingServiceConfigEntityDataDto);
 
         assertThat(result.isHealthy()).isEqualTo(false);
         assertThat(result.getDetails().getDetails()).isEqualTo("responded with non-healthy status");
+        verify(eventLogger).logException(any(ApplicationException.class),
+                eq(format("Matching service health check failed for URI {0}", matchingServiceConfigEntityDataDto.getUri())));
     }
 
     @Test
@@ -442,36 +445,17 @@ public class MatchingServiceHealthCheckerTest {
         assertThat(result.getDetails().isOnboarding()).isFalse();
     }
 
-    @Test
-    public void shouldBase64EncodeSamlToBeSentToSamlEngine() {
-        final String saml = "<samlsamlsamlsamlsamlsamlsamlsamlsaml/>";
-        MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto =
-                aMatchingServiceConfigEntityDataDto().build();
-        prepareForHealthyResponse(matchingServiceConfigEntityDataDto);
-        when(matchingServiceHealthCheckClient.sendHealthCheckRequest(any(),
-                eq(matchingServiceConfigEntityDataDto.getUri())
-        ))
-                .thenReturn(new MatchingServiceHealthCheckResponseDto(Optional.of(saml)));
-
-        matchingServiceHealthChecker.performHealthCheck(aMatchingServiceConfigEntityDataDto().build());
-
-        ArgumentCaptor<SamlMessageDto> argumentCaptor = ArgumentCaptor.forClass(SamlMessageDto.class);
-        verify(samlEngineProxy, times(1)).translateHealthcheckMatchingServiceResponse(argumentCaptor.capture());
-        assertThat(Base64.encodeAsString(saml)).isEqualTo(argumentCaptor.getValue().getSamlMessage());
-    }
-
     private void prepareForHealthyResponse(MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto) {
         prepareForResponse(matchingServiceConfigEntityDataDto, Healthy);
     }
 
     private void prepareForResponse(MatchingServiceConfigEntityDataDto matchingServiceConfigEntityDataDto, MatchingServiceIdaStatus status) {
         when(samlEngineProxy.generateHealthcheckAttributeQuery(any())).thenReturn(new SamlMessageDto("<saml/>"));
-        final MatchingServiceHealthCheckerResponseDto inboundResponseFromMatchingServiceDto =
-                anInboundResponseFromMatchingServiceDto().withStatus(status).build();
         when(matchingServiceHealthCheckClient.sendHealthCheckRequest(any(),
                 eq(matchingServiceConfigEntityDataDto.getUri())
         ))
-                .thenReturn(new MatchingServiceHealthCheckResponseDto(Optional.of("<saml/>")));
-        when(samlEngineProxy.translateHealthcheckMatchingServiceResponse(any())).thenReturn(inboundResponseFromMatchingServiceDto);
+                .thenReturn(new MatchingServiceHealthCheckResponseDto(Optional.of(healthCheckResponseElement)));
+        when(healthCheckResponseTransformer.transform(healthCheckResponse)).thenReturn(
+                new InboundHealthCheckResponseFromMatchingService("healthcheck-response-id", "healthcheck-request-id", "msa-entity-id", DateTime.now(), status));
     }
 }
@@ -17,6 +17,7 @@ import uk.gov.ida.eventemitter.EventEmitter;
 import uk.gov.ida.eventemitter.EventDetailsKey;
 import uk.gov.ida.hub.shared.eventsink.EventSinkHubEvent;
 import uk.gov.ida.hub.shared.eventsink.EventSinkProxy;
+import uk.gov.ida.hub.samlsoapproxy.client.AttributeQueryRequestClient;
 import uk.gov.ida.hub.samlsoapproxy.domain.AttributeQueryContainerDto;
 import uk.gov.ida.hub.samlsoapproxy.domain.TimeoutEvaluator;
 import uk.gov.ida.hub.samlsoapproxy.exceptions.AttributeQueryTimeoutException;
@@ -29,6 +30,8 @@ import uk.gov.ida.shared.utils.xml.XmlUtils;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -80,7 +83,8 @@ public class AttributeQueryRequestRunnableTest {
                 hubMatchingServiceResponseReceiverProxy,
                 serviceInfoConfiguration,
                 eventSinkProxy,
-                eventEmitter);
+                eventEmitter,
+                Runnable::run);
     }
 
     @Test
@@ -120,7 +124,7 @@ public class AttributeQueryRequestRunnableTest {
     public void run_shouldNotSendResponse_IfAttributeQueryHasTimedOut_AfterSendingMessage() throws Exception {
         final Element matchingServiceResponse = XmlUtils.convertToElement("<someResponse/>");
         when(executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto))
-                .thenReturn(matchingServiceResponse);
+                .thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         doNothing().doThrow(new AttributeQueryTimeoutException()).when(timeoutEvaluator).hasAttributeQueryTimedOut(attributeQueryContainerDto);
 
         attributeQueryRequestRunnable.run();
@@ -139,7 +143,7 @@ public class AttributeQueryRequestRunnableTest {
         final Element matchingServiceResponse = XmlUtils.convertToElement("<someResponse/>");
 
         when(executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto))
-                .thenReturn(matchingServiceResponse);
+                .thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
 
         attributeQueryRequestRunnable.run();
 
@@ -151,6 +155,20 @@ public class AttributeQueryRequestRunnableTest {
         verify(timeoutEvaluator, times(2)).hasAttributeQueryTimedOut(attributeQueryContainerDto);
     }
 
+    @Test
+    public void run_shouldSendResponseEncodedAsUtf8() throws Exception {
+        final Element matchingServiceResponse = XmlUtils.convertToElement("<someResponse name=\"Zo\u00eb \u0141\u00f3d\u017a\"/>");
+        when(executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto))
+                .thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
+
+        attributeQueryRequestRunnable.run();
+
+        ArgumentCaptor<String> base64EncodedResponse = ArgumentCaptor.forClass(String.class);
+        verify(hubMatchingServiceResponseReceiverProxy).notifyHubOfAResponseFromMatchingService(eq(sessionId), base64EncodedResponse.capture());
+        String decodedResponse = new String(java.util.Base64.getDecoder().decode(base64EncodedResponse.getValue()), StandardCharsets.UTF_8);
+        assertThat(XmlUtils.convertToElement(decodedResponse).getAttribute("name")).isEqualTo("Zo\u00eb \u0141\u00f3d\u017a");
+    }
+
     @Test
     public void run_shouldSayIfTimeoutWasBeforeSendingMessage() {
         doThrow(new AttributeQueryTimeoutException()).when(timeoutEvaluator).hasAttributeQueryTimedOut(attributeQueryContainerDto);
@@ -264,7 +282,7 @@ public class AttributeQueryRequestRunnableTest {
     public void run_shouldNotNotifySamlEngineWhenMSAResponseIsReceivedAfterAttributeQueryHasTimedOut() throws IOException, SAXException, ParserConfigurationException {
         final Element matchingServiceResponse = XmlUtils.convertToElement("<someResponse/>");
         when(executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto))
-                .thenReturn(matchingServiceResponse);
+                .thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
 
         // this stubbing does nothing the first time it is called, and throws an exception the second time it is called
         doNothing().doThrow(new AttributeQueryTimeoutException("Attribute Query timed out by 1 seconds.")).when(timeoutEvaluator).hasAttributeQueryTimedOut(attributeQueryContainerDto);
@@ -282,4 +300,36 @@ public class AttributeQueryRequestRunnableTest {
         assertThat(loggedHubEvent.getValue().getDetails().get(message)).contains("Matching service attribute query has timed out, therefore not sending failure notification to saml engine.");
         assertThat(emitterLoggedHubEvent.getValue().getDetails().get(message)).contains("Matching service attribute query has timed out, therefore not sending failure notification to saml engine.");
     }
+
+    @Test
+    public void run_shouldNotifyPolicyOfFailureWhenTheMatchingServiceCannotBeReached() {
+        when(executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto))
+                .thenReturn(CompletableFuture.failedFuture(new AttributeQueryRequestClient.MatchingServiceException("Request to Matching Service Failed At Http Layer")));
+
+        attributeQueryRequestRunnable.run();
+
+        final ArgumentCaptor<EventSinkHubEvent> loggedHubEvent = ArgumentCaptor.forClass(EventSinkHubEvent.class);
+        verify(eventSinkProxy).logHubEvent(loggedHubEvent.capture());
+        assertThat(loggedHubEvent.getValue().getDetails().get(message)).contains("Request to Matching Service Failed At Http Layer");
+        verify(hubMatchingServiceResponseReceiverProxy).notifyHubOfMatchingServiceRequestFailure(sessionId);
+        verify(hubMatchingServiceResponseReceiverProxy, never()).notifyHubOfAResponseFromMatchingService(any(SessionId.class), any(String.class));
+    }
+
+    @Test
+    public void run_shouldNotHoldAThreadWhileWaitingForTheMatchingService() throws Exception {
+        final Element matchingServiceResponse = XmlUtils.convertToElement("<someResponse/>");
+        final CompletableFuture<Element> pendingResponse = new CompletableFuture<>();
+        when(executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto)).thenReturn(pendingResponse);
+
+        attributeQueryRequestRunnable.run();
+
+        verify(hubMatchingServiceResponseReceiverProxy, never()).notifyHubOfAResponseFromMatchingService(any(SessionId.class), any(String.class));
+
+        pendingResponse.complete(matchingServiceResponse);
+
+        verify(hubMatchingServiceResponseReceiverProxy).notifyHubOfAResponseFromMatchingService(
+                eq(sessionId),
+                eq(Base64.encodeAsString(XmlUtils.writeToString(matchingServiceResponse)))
+        );
+    }
 }
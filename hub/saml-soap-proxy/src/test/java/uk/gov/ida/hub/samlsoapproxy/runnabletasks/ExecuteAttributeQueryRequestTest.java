@@ -1,5 +1,6 @@
 package uk.gov.ida.hub.samlsoapproxy.runnabletasks;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import org.glassfish.jersey.internal.util.Base64;
 import org.junit.After;
 import org.junit.Before;
@@ -31,6 +32,7 @@ import uk.gov.ida.shared.utils.datetime.DateTimeFreezer;
 
 import javax.xml.namespace.QName;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -84,7 +86,8 @@ public class ExecuteAttributeQueryRequestTest {
                 matchingRequestSignatureValidator,
                 matchingResponseSignatureValidator,
                 attributeQueryRequestClient,
-                protectiveMonitoringLogger);
+                protectiveMonitoringLogger,
+                MoreExecutors.newDirectExecutorService());
 
        DateTimeFreezer.freezeTime();
 
@@ -100,7 +103,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldUseCorrectSignatureValidators() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         final Response response = aResponse().build();
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(response);
         executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto);
@@ -111,7 +114,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldSendToTheCorrectUri() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(aResponse().build());
         executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto);
 
@@ -124,7 +127,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldCallInboundMessageValidatorWithResponse() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         Response response = aResponse().build();
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(response);
 
@@ -135,7 +138,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldCallInboundMessageValidatorWithAttributeQuery() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         Response response = aResponse().build();
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(response);
 
@@ -146,7 +149,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldCallSamlMessageSignatureValidatorWithResponse() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         Response response = aResponse().withIssuer(anIssuer().withIssuerId("issuer-id").build()).build();
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(response);
         executeAttributeQueryRequest.execute(sessionId, attributeQueryContainerDto);
@@ -156,7 +159,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldCallSamlMessageSignatureValidatorWithRequest() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         Response response = aResponse().build();
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(response);
 
@@ -168,7 +171,7 @@ public class ExecuteAttributeQueryRequestTest {
     @Test
     public void run_shouldLogProtectiveMonitoringCorrectly() throws Exception {
         final Element matchingServiceResponse = mock(Element.class);
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         Response response = aResponse().build();
         when(elementToResponseTransformer.apply(matchingServiceResponse)).thenReturn(response);
 
@@ -181,7 +184,7 @@ public class ExecuteAttributeQueryRequestTest {
     @Test
     public void run_shouldLogStatusMessageIfItExists() throws MarshallingException, SignatureException {
         final Element matchingServiceResponse = mock(Element.class);
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         String message = "Some message";
         StatusMessage statusMessage = StatusMessageBuilder.aStatusMessage().withMessage(message).build();
         Response response = aResponse().withStatus(StatusBuilder.aStatus().withMessage(statusMessage).build()).build();
@@ -194,7 +197,7 @@ public class ExecuteAttributeQueryRequestTest {
 
     @Test
     public void run_shouldThrowCertChainValidationExceptionOnResponse() throws Exception {
-        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(matchingServiceResponse);
+        when(attributeQueryRequestClient.sendQuery(any(Element.class), anyString(), any(SessionId.class), any(URI.class))).thenReturn(CompletableFuture.completedFuture(matchingServiceResponse));
         final BasicX509Credential x509Credential = new BasicX509Credential(
                 new X509CertificateFactory().createCertificate(UNCHAINED_PUBLIC_CERT),
                 new PrivateKeyFactory().createPrivateKey(Base64.decode(UNCHAINED_PRIVATE_KEY.getBytes())));
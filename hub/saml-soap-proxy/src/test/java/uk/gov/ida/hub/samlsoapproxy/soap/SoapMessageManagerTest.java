@@ -4,6 +4,7 @@ import org.apache.ws.commons.util.NamespaceContextImpl;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import uk.gov.ida.shared.utils.xml.XmlUtils;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
@@ -12,6 +13,7 @@ import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static uk.gov.ida.shared.utils.xml.XmlUtils.newDocumentBuilder;
 
 public class SoapMessageManagerTest {
@@ -38,6 +40,31 @@ public class SoapMessageManagerTest {
         assertThat(unwrappedElement.getTagName()).isEqualTo("samlp:Response");
     }
 
+    @Test
+    public void unwrapSoapMessage_shouldFindResponseAfterOtherNodesInTheBody() throws Exception {
+        Document soapMessage = XmlUtils.convertToElement(
+                "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">" +
+                "<soapenv:Header/>" +
+                "<soapenv:Body>\n  <!-- comment -->\n  <samlp:Response xmlns:samlp=\"urn:oasis:names:tc:SAML:2.0:protocol\" ID=\"an-id\"/>\n</soapenv:Body>" +
+                "</soapenv:Envelope>").getOwnerDocument();
+
+        Element unwrappedElement = new SoapMessageManager().unwrapSoapMessage(soapMessage);
+
+        assertThat(unwrappedElement.getAttribute("ID")).isEqualTo("an-id");
+    }
+
+    @Test
+    public void unwrapSoapMessage_shouldRejectAResponseOutsideASoapEnvelope() throws Exception {
+        Document soapMessage = XmlUtils.convertToElement(
+                "<Envelope xmlns=\"urn:not-soap\"><Body>" +
+                "<samlp:Response xmlns:samlp=\"urn:oasis:names:tc:SAML:2.0:protocol\"/>" +
+                "</Body></Envelope>").getOwnerDocument();
+
+        assertThatThrownBy(() -> new SoapMessageManager().unwrapSoapMessage(soapMessage))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("/soapenv:Envelope/soapenv:Body/samlp:Response");
+    }
+
     private Element getTestElement() throws ParserConfigurationException {
         Document document = newDocumentBuilder().newDocument();
         return document.createElementNS("urn:oasis:names:tc:SAML:2.0:protocol", "samlp:Response");
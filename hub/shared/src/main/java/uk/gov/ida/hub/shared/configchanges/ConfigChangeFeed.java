@@ -0,0 +1,115 @@
+package uk.gov.ida.hub.shared.configchanges;
+
+import io.dropwizard.lifecycle.Managed;
+import io.prometheus.client.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.ida.jerseyclient.JsonClient;
+
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-polls config for its version from a background thread and tells listeners whenever it
+ * changes, so that services can keep config values cached for a long time yet drop them as
+ * soon as config changes. Listeners are not called for the first version seen.
+ *
+ * Only polls once started, so when the feed is disabled listeners are simply never called and
+ * caches fall back to expiring on their own.
+ */
+public class ConfigChangeFeed implements Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigChangeFeed.class);
+    private static final String CONFIG_VERSION_RESOURCE = "/config/version";
+
+    static final Counter changes = Counter.build(
+            "verify_config_change_feed_changes_total",
+            "Total number of config changes seen on the config change feed")
+            .register();
+
+    static final Counter pollFailures = Counter.build(
+            "verify_config_change_feed_poll_failures_total",
+            "Total number of failed polls of the config change feed")
+            .register();
+
+    private final JsonClient jsonClient;
+    private final URI configUri;
+    private final ConfigChangeFeedConfiguration configuration;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final Thread poller;
+    private volatile boolean running;
+
+    public ConfigChangeFeed(JsonClient jsonClient, URI configUri, ConfigChangeFeedConfiguration configuration) {
+        this.jsonClient = jsonClient;
+        this.configUri = configUri;
+        this.configuration = configuration;
+        this.poller = new Thread(this::poll, "config-change-feed");
+        this.poller.setDaemon(true);
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        poller.start();
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        poller.interrupt();
+        poller.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void poll() {
+        String knownVersion = null;
+        while (running) {
+            try {
+                String version = fetchVersion(knownVersion);
+                if (knownVersion != null && !knownVersion.equals(version)) {
+                    LOG.info("Config changed from version {} to {}", knownVersion, version);
+                    changes.inc();
+                    notifyListeners();
+                }
+                knownVersion = version;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                pollFailures.inc();
+                LOG.warn("Unable to poll config for changes; retrying in {}", configuration.getRetryBackoff(), e);
+                try {
+                    Thread.sleep(configuration.getRetryBackoff().toMilliseconds());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private String fetchVersion(String knownVersion) {
+        UriBuilder uri = UriBuilder.fromUri(configUri).path(CONFIG_VERSION_RESOURCE);
+        if (knownVersion != null) {
+            uri.queryParam("since", knownVersion)
+                    .queryParam("timeout", configuration.getPollTimeout().toSeconds());
+        }
+        return jsonClient.get(uri.build(), ConfigVersionDto.class).getVersion();
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                LOG.error("Config change listener failed", e);
+            }
+        }
+    }
+}
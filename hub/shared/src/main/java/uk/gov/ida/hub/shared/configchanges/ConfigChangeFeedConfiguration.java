@@ -0,0 +1,43 @@
+package uk.gov.ida.hub.shared.configchanges;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+public class ConfigChangeFeedConfiguration {
+
+    public ConfigChangeFeedConfiguration() {
+    }
+
+    @Valid
+    @JsonProperty
+    protected boolean enabled = false;
+
+    /**
+     * How long config holds each poll open waiting for a change. Keep this below the timeout of
+     * the HTTP client used to talk to config.
+     */
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration pollTimeout = Duration.seconds(20);
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration retryBackoff = Duration.seconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+}
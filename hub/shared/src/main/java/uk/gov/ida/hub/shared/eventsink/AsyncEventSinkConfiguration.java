@@ -0,0 +1,75 @@
+package uk.gov.ida.hub.shared.eventsink;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+public class AsyncEventSinkConfiguration {
+
+    public AsyncEventSinkConfiguration() {
+    }
+
+    @Valid
+    @JsonProperty
+    protected boolean enabled = false;
+
+    @Valid
+    @Min(1)
+    @JsonProperty
+    protected int queueCapacity = 10000;
+
+    /**
+     * Batches of one are sent to the single event endpoint, so the default works with event sinks
+     * that have no batch endpoint.
+     */
+    @Valid
+    @Min(1)
+    @JsonProperty
+    protected int maxBatchSize = 1;
+
+    @Valid
+    @Min(1)
+    @JsonProperty
+    protected int maxAttempts = 3;
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration initialBackoff = Duration.milliseconds(100);
+
+    /**
+     * How long stopping waits for queued events to be sent. Anything still queued after that is
+     * dropped and counted.
+     */
+    @Valid
+    @NotNull
+    @JsonProperty
+    protected Duration shutdownTimeout = Duration.seconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+}
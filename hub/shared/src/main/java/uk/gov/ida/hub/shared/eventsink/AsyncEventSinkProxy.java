@@ -0,0 +1,152 @@
+package uk.gov.ida.hub.shared.eventsink;
+
+import io.dropwizard.lifecycle.Managed;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.ida.eventemitter.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues hub events and sends them to the event sink in batches from a background thread, so
+ * that a slow event sink doesn't hold up the request thread. Events are dropped, and counted,
+ * when the queue is full, when a batch still fails after its retries, or when they are still
+ * queued at shutdown. Drops are logged as a periodic summary rather than one line per event, so
+ * an event sink outage doesn't flood the logs.
+ */
+public class AsyncEventSinkProxy implements EventSinkProxy, Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSinkProxy.class);
+    private static final long POLL_INTERVAL_MILLIS = 500;
+    private static final long DROPPED_EVENTS_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    static final Gauge queueDepth = Gauge.build(
+            "verify_event_sink_queue_depth",
+            "Number of hub events waiting to be sent to the event sink")
+            .register();
+
+    static final Counter sentEvents = Counter.build(
+            "verify_event_sink_sent_events_total",
+            "Total number of hub events sent to the event sink")
+            .register();
+
+    static final Counter droppedEvents = Counter.build(
+            "verify_event_sink_dropped_events_total",
+            "Total number of hub events dropped without being sent to the event sink")
+            .labelNames("reason")
+            .register();
+
+    private final EventSinkHttpProxy eventSinkHttpProxy;
+    private final AsyncEventSinkConfiguration configuration;
+    private final BlockingQueue<Event> queue;
+    private final Thread sender;
+    private final AtomicLong unreportedDroppedEvents = new AtomicLong();
+    private final AtomicLong nextDroppedEventsReport = new AtomicLong(System.nanoTime());
+    private volatile boolean running;
+
+    public AsyncEventSinkProxy(EventSinkHttpProxy eventSinkHttpProxy, AsyncEventSinkConfiguration configuration) {
+        this.eventSinkHttpProxy = eventSinkHttpProxy;
+        this.configuration = configuration;
+        this.queue = new ArrayBlockingQueue<>(configuration.getQueueCapacity());
+        this.sender = new Thread(this::sendQueuedEvents, "event-sink-sender");
+        this.sender.setDaemon(true);
+    }
+
+    @Override
+    public void logHubEvent(Event eventSinkHubEvent) {
+        if (queue.offer(eventSinkHubEvent)) {
+            queueDepth.set(queue.size());
+            return;
+        }
+        dropped("queue_full", 1, null);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        sender.start();
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        sender.join(configuration.getShutdownTimeout().toMilliseconds());
+        if (sender.isAlive()) {
+            sender.interrupt();
+            sender.join(POLL_INTERVAL_MILLIS);
+        }
+        List<Event> unsent = new ArrayList<>();
+        queue.drainTo(unsent);
+        queueDepth.set(queue.size());
+        if (!unsent.isEmpty()) {
+            dropped("shutdown", unsent.size(), null);
+        }
+        reportDroppedEvents(null);
+    }
+
+    private void sendQueuedEvents() {
+        List<Event> batch = new ArrayList<>(configuration.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, configuration.getMaxBatchSize() - 1);
+                queueDepth.set(queue.size());
+                sendWithRetries(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    dropped("shutdown", batch.size(), null);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendWithRetries(List<Event> batch) throws InterruptedException {
+        long backoffMillis = configuration.getInitialBackoff().toMilliseconds();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                eventSinkHttpProxy.sendHubEvents(batch);
+                sentEvents.inc(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= configuration.getMaxAttempts()) {
+                    dropped("send_failed", batch.size(), e);
+                    return;
+                }
+                Thread.sleep(backoffMillis);
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private void dropped(String reason, int count, Exception cause) {
+        droppedEvents.labels(reason).inc(count);
+        unreportedDroppedEvents.addAndGet(count);
+        long now = System.nanoTime();
+        long nextReport = nextDroppedEventsReport.get();
+        if (now - nextReport >= 0 && nextDroppedEventsReport.compareAndSet(nextReport, now + DROPPED_EVENTS_REPORT_INTERVAL_NANOS)) {
+            reportDroppedEvents(cause);
+        }
+    }
+
+    private void reportDroppedEvents(Exception lastCause) {
+        long count = unreportedDroppedEvents.getAndSet(0);
+        if (count > 0) {
+            LOG.error("Dropped {} events without sending them to the event sink since the last report", count, lastCause);
+        }
+    }
+}
@@ -13,9 +13,11 @@ import uk.gov.ida.jerseyclient.JsonClient;
 import javax.inject.Inject;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.List;
 
 public class EventSinkHttpProxy implements EventSinkProxy {
     private static final Logger LOG = LoggerFactory.getLogger(EventSinkProxy.class);
+    private static final String BATCH_PATH = "/batch";
     private final JsonClient jsonClient;
     private final Environment environment;
     private final URI eventSinkUri;
@@ -33,11 +35,7 @@ public class EventSinkHttpProxy implements EventSinkProxy {
     @Override
     @Timed
     public void logHubEvent(Event eventSinkHubEvent) {
-        String path = CommonUrls.HUB_SUPPORT_EVENT_SINK_RESOURCE;
-        URI uri = UriBuilder
-                .fromUri(eventSinkUri)
-                .path(path)
-                .build();
+        URI uri = hubEventsUri().build();
         try {
             jsonClient.post(eventSinkHubEvent, uri);
             LOG.info("Sent to Event Sink " + eventSinkHubEvent.getEventType() + " hub event to event-sink on " + uri);
@@ -49,7 +47,26 @@ public class EventSinkHttpProxy implements EventSinkProxy {
         }
     }
 
-    private String getEventAsString(Event eventSinkHubEvent) {
+    /**
+     * Sends the events in a single request, using the batch endpoint when there is more than one.
+     * Unlike {@link #logHubEvent} failures are thrown so the caller can retry.
+     */
+    @Timed
+    public void sendHubEvents(List<Event> eventSinkHubEvents) {
+        if (eventSinkHubEvents.size() == 1) {
+            jsonClient.post(eventSinkHubEvents.get(0), hubEventsUri().build());
+        } else {
+            jsonClient.post(eventSinkHubEvents, hubEventsUri().path(BATCH_PATH).build());
+        }
+    }
+
+    private UriBuilder hubEventsUri() {
+        return UriBuilder
+                .fromUri(eventSinkUri)
+                .path(CommonUrls.HUB_SUPPORT_EVENT_SINK_RESOURCE);
+    }
+
+    String getEventAsString(Event eventSinkHubEvent) {
         try {
             return environment.getObjectMapper().writeValueAsString(eventSinkHubEvent);
         } catch (JsonProcessingException e) {
@@ -0,0 +1,159 @@
+package uk.gov.ida.hub.shared.eventsink;
+
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.ida.eventemitter.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncEventSinkProxyTest {
+
+    @Mock
+    private EventSinkHttpProxy eventSinkHttpProxy;
+
+    private final AsyncEventSinkConfiguration configuration = new AsyncEventSinkConfiguration();
+    private final List<List<Event>> sentBatches = Collections.synchronizedList(new ArrayList<>());
+    private AsyncEventSinkProxy asyncEventSinkProxy;
+
+    @Before
+    public void setUp() {
+        configuration.initialBackoff = Duration.milliseconds(1);
+        configuration.shutdownTimeout = Duration.seconds(5);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (asyncEventSinkProxy != null) {
+            asyncEventSinkProxy.stop();
+        }
+    }
+
+    @Test
+    public void shouldDropAndCountEventsWhenTheQueueIsFull() {
+        configuration.queueCapacity = 2;
+        double droppedBefore = dropped("queue_full");
+        AsyncEventSinkProxy proxy = new AsyncEventSinkProxy(eventSinkHttpProxy, configuration);
+
+        proxy.logHubEvent(anEvent());
+        proxy.logHubEvent(anEvent());
+        proxy.logHubEvent(anEvent());
+
+        assertThat(dropped("queue_full") - droppedBefore).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSendBatchesOfNoMoreThanTheMaxBatchSize() throws Exception {
+        configuration.maxBatchSize = 2;
+        recordSentBatches();
+        asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, configuration);
+        for (int i = 0; i < 5; i++) {
+            asyncEventSinkProxy.logHubEvent(anEvent());
+        }
+
+        asyncEventSinkProxy.start();
+        asyncEventSinkProxy.stop();
+
+        assertThat(sentBatches).extracting(List::size).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    public void shouldSendABatchWhenARetrySucceeds() throws Exception {
+        double sentBefore = AsyncEventSinkProxy.sentEvents.get();
+        double droppedBefore = dropped("send_failed");
+        Event event = anEvent();
+        doThrow(new RuntimeException("event sink unavailable"))
+                .doAnswer(invocation -> sentBatches.add(new ArrayList<>(invocation.<List<Event>>getArgument(0))))
+                .when(eventSinkHttpProxy).sendHubEvents(anyList());
+        asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, configuration);
+
+        asyncEventSinkProxy.start();
+        asyncEventSinkProxy.logHubEvent(event);
+        verify(eventSinkHttpProxy, timeout(2000).times(2)).sendHubEvents(anyList());
+        asyncEventSinkProxy.stop();
+
+        assertThat(sentBatches).containsExactly(List.of(event));
+        assertThat(AsyncEventSinkProxy.sentEvents.get() - sentBefore).isEqualTo(1);
+        assertThat(dropped("send_failed") - droppedBefore).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldDropAndCountABatchWhenItsRetriesAreExhausted() throws Exception {
+        configuration.maxAttempts = 3;
+        configuration.maxBatchSize = 2;
+        double droppedBefore = dropped("send_failed");
+        doThrow(new RuntimeException("event sink unavailable")).when(eventSinkHttpProxy).sendHubEvents(anyList());
+        asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, configuration);
+        asyncEventSinkProxy.logHubEvent(anEvent());
+        asyncEventSinkProxy.logHubEvent(anEvent());
+
+        asyncEventSinkProxy.start();
+        asyncEventSinkProxy.stop();
+
+        verify(eventSinkHttpProxy, times(3)).sendHubEvents(anyList());
+        assertThat(dropped("send_failed") - droppedBefore).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldSendQueuedEventsWhenStopped() throws Exception {
+        recordSentBatches();
+        asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, configuration);
+        List<Event> events = List.of(anEvent(), anEvent(), anEvent());
+        events.forEach(asyncEventSinkProxy::logHubEvent);
+
+        asyncEventSinkProxy.start();
+        asyncEventSinkProxy.stop();
+
+        assertThat(sentBatches.stream().flatMap(List::stream).collect(toList())).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    public void shouldDropAndCountEventsStillQueuedAfterTheShutdownTimeout() throws Exception {
+        configuration.maxAttempts = 5;
+        configuration.initialBackoff = Duration.seconds(10);
+        configuration.shutdownTimeout = Duration.milliseconds(100);
+        double droppedBefore = dropped("shutdown");
+        doThrow(new RuntimeException("event sink unavailable")).when(eventSinkHttpProxy).sendHubEvents(anyList());
+        asyncEventSinkProxy = new AsyncEventSinkProxy(eventSinkHttpProxy, configuration);
+
+        asyncEventSinkProxy.start();
+        asyncEventSinkProxy.logHubEvent(anEvent());
+        verify(eventSinkHttpProxy, timeout(2000)).sendHubEvents(anyList());
+        asyncEventSinkProxy.logHubEvent(anEvent());
+        asyncEventSinkProxy.logHubEvent(anEvent());
+        asyncEventSinkProxy.stop();
+
+        assertThat(dropped("shutdown") - droppedBefore).isEqualTo(3);
+    }
+
+    private void recordSentBatches() {
+        // the proxy reuses its batch list, so keep a copy of each batch as it is sent
+        doAnswer(invocation -> sentBatches.add(new ArrayList<>(invocation.<List<Event>>getArgument(0))))
+                .when(eventSinkHttpProxy).sendHubEvents(anyList());
+    }
+
+    private static double dropped(String reason) {
+        return AsyncEventSinkProxy.droppedEvents.labels(reason).get();
+    }
+
+    private static Event anEvent() {
+        return mock(Event.class);
+    }
+}